@@ -0,0 +1,105 @@
+package Rendimiento;
+
+import AccesoDatos.AccesoDatos;
+import AccesoDatos.DiarioEscrituras;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// ================================================================================
+// CLASE AccesoDatosBenchmark
+// ================================================================================
+
+/**
+ * Benchmarks de la lectura y la reescritura de archivos CSV de
+ * {@link AccesoDatos} con 1 000, 100 000 y 1 000 000 de registros.
+ *
+ * <p>{@link #modificarRegistro()} espera a que el {@link DiarioEscrituras}
+ * aplique el cambio, de modo que mide la reescritura completa del archivo
+ * y no solo el registro en el diario. Cada modificación alterna el salario
+ * del registro del medio para que el archivo no crezca entre iteraciones.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccesoDatosBenchmark {
+
+    /** Cantidad de registros del archivo. */
+    @Param({"1000", "100000", "1000000"})
+    private int registros;
+
+    /** Instancia configurada sobre el archivo de prueba. */
+    private AccesoDatos accesoDatos;
+
+    /** Registro original del medio del archivo. */
+    private String registroOriginal;
+
+    /** Registro alternativo del medio del archivo. */
+    private String registroModificado;
+
+    /** Alterna entre el registro original y el modificado. */
+    private boolean alternar;
+
+    /**
+     * Genera el archivo de prueba.
+     *
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        String archivo = "bench_registros_" + registros + ".txt";
+        DatosPrueba.escribirEmpleados(archivo, registros);
+
+        int medio = registros / 2;
+        registroOriginal = DatosPrueba.registroEmpleado(medio);
+        registroModificado = registroOriginal.replace(",QUINCENAL,", ",MENSUAL,");
+
+        accesoDatos = new AccesoDatos();
+        accesoDatos.setNombreArchivo(archivo);
+        accesoDatos.setIdRegistro(medio);
+        accesoDatos.setEliminar(false);
+    }
+
+    /**
+     * Lee el archivo completo en memoria.
+     *
+     * @param bh consumidor de resultados de JMH
+     * @throws IOException si ocurre un error al leer
+     */
+    @Benchmark
+    public void listarRegistros(Blackhole bh) throws IOException {
+        accesoDatos.listarRegistros();
+        bh.consume(accesoDatos.getListaRegistros());
+    }
+
+    /**
+     * Reemplaza un registro y espera a que el archivo quede reescrito.
+     *
+     * @throws IOException si ocurre un error al reescribir
+     */
+    @Benchmark
+    public void modificarRegistro() throws IOException {
+        alternar = !alternar;
+        accesoDatos.setRegistro(alternar ? registroModificado : registroOriginal);
+        accesoDatos.modificarRegistro();
+        DiarioEscrituras.esperarAplicacion(accesoDatos.getNombreArchivo());
+    }
+}
@@ -0,0 +1,77 @@
+package Rendimiento;
+
+import Entidades.Empleado;
+import Entidades.Nomina;
+import LogicaNegocio.CalculadoraNomina;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ================================================================================
+// CLASE CalculadoraNominaBenchmark
+// ================================================================================
+
+/**
+ * Benchmark de {@link CalculadoraNomina#calcularNominaCompleta(Nomina)}.
+ *
+ * <p>Recorre de forma circular 1 024 empleados con salarios repartidos en
+ * todos los tramos de renta, para que el predictor de saltos no aprenda un
+ * único camino.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculadoraNominaBenchmark {
+
+    /** Cantidad de empleados distintos (potencia de dos). */
+    private static final int EMPLEADOS = 1024;
+
+    /** Calculadora con las tasas vigentes. */
+    private CalculadoraNomina calculadora;
+
+    /** Empleados de prueba. */
+    private Empleado[] empleados;
+
+    /** Posición del siguiente empleado. */
+    private int siguiente;
+
+    /**
+     * Crea la calculadora y los empleados.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        calculadora = new CalculadoraNomina();
+        empleados = new Empleado[EMPLEADOS];
+        for (int i = 0; i < EMPLEADOS; i++) {
+            empleados[i] = DatosPrueba.empleado(i + 1);
+        }
+    }
+
+    /**
+     * Calcula la nómina completa de un empleado.
+     *
+     * @return la nómina calculada
+     */
+    @Benchmark
+    public Nomina calcularNominaCompleta() {
+        Empleado empleado = empleados[siguiente++ & (EMPLEADOS - 1)];
+        Nomina nomina = new Nomina(0, empleado, DatosPrueba.PERIODO);
+        calculadora.calcularNominaCompleta(nomina);
+        return nomina;
+    }
+}
@@ -0,0 +1,113 @@
+package Rendimiento;
+
+import Entidades.Empleado;
+import Entidades.Nomina;
+import LogicaNegocio.CalculadoraNomina;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// ================================================================================
+// CLASE DatosPrueba
+// ================================================================================
+
+/**
+ * Datos sintéticos compartidos por los benchmarks.
+ *
+ * <p>Los registros tienen el mismo formato CSV que escribe
+ * {@link LogicaNegocio.LogicaEmpleado} y se generan de forma determinista a
+ * partir del ID, de modo que dos ejecuciones (o dos versiones del sistema)
+ * miden exactamente los mismos datos.</p>
+ *
+ * <p>Los archivos se crean en el directorio de ejecución, que el objetivo
+ * {@code run} de {@code rendimiento/build.xml} apunta a un directorio de
+ * trabajo aparte para no tocar los datos reales.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+final class DatosPrueba {
+
+    /** Período usado en las nóminas de prueba. */
+    static final String PERIODO = "2025-01-Q1";
+
+    /** Puestos asignados de forma rotativa. */
+    private static final String[] PUESTOS = {"Desarrollador", "Contador", "Ingeniero", "Asistente"};
+
+    /**
+     * Constructor privado para evitar la instanciación de la clase.
+     */
+    private DatosPrueba() {
+    }
+
+    /**
+     * Genera el registro CSV de un empleado.
+     *
+     * @param id el ID del empleado
+     * @return el registro, con fecha de ingreso (11 campos)
+     */
+    static String registroEmpleado(int id) {
+        return id + ",1-" + (1000 + id % 9000) + "-" + (1000 + id / 9000 % 9000)
+            + ",Nombre" + id + ",Apellido" + (id % 97) + ",Segundo" + (id % 89)
+            + ",empleado" + id + "@empresa.cr,8" + (1000000 + id % 9000000)
+            + "," + salario(id) + ",QUINCENAL," + PUESTOS[id % PUESTOS.length]
+            + ",01/0" + (1 + id % 9) + "/2020";
+    }
+
+    /**
+     * Escribe un archivo con empleados de ID 1 a {@code cantidad},
+     * reemplazando el contenido anterior.
+     *
+     * @param archivo nombre o ruta del archivo
+     * @param cantidad cantidad de registros
+     * @throws IOException si ocurre un error al escribir
+     */
+    static void escribirEmpleados(String archivo, int cantidad) throws IOException {
+        try (BufferedWriter bW = new BufferedWriter(new FileWriter(archivo))) {
+            for (int id = 1; id <= cantidad; id++) {
+                bW.append(registroEmpleado(id));
+                bW.newLine();
+            }
+        }
+    }
+
+    /**
+     * Crea un empleado en memoria con los mismos datos de su registro.
+     *
+     * @param id el ID del empleado
+     * @return el empleado
+     */
+    static Empleado empleado(int id) {
+        return new Empleado(id, "1-" + (1000 + id % 9000) + "-" + (1000 + id / 9000 % 9000),
+            "Nombre" + id, "Apellido" + (id % 97), "Segundo" + (id % 89),
+            "empleado" + id + "@empresa.cr", "8" + (1000000 + id % 9000000),
+            salario(id), "QUINCENAL", PUESTOS[id % PUESTOS.length], LocalDate.of(2020, 1 + id % 9, 1));
+    }
+
+    /**
+     * Crea nóminas ya calculadas para los empleados de ID 1 a {@code cantidad}.
+     *
+     * @param cantidad cantidad de nóminas
+     * @return las nóminas del {@link #PERIODO}
+     */
+    static List<Nomina> nominas(int cantidad) {
+        CalculadoraNomina calculadora = new CalculadoraNomina();
+        List<Nomina> nominas = new ArrayList<>(cantidad);
+        for (int id = 1; id <= cantidad; id++) {
+            Nomina nomina = new Nomina(id, empleado(id), PERIODO);
+            calculadora.calcularNominaCompleta(nomina);
+            nominas.add(nomina);
+        }
+        return nominas;
+    }
+
+    /**
+     * Salario bruto de un empleado, repartido entre todos los tramos de renta.
+     */
+    private static double salario(int id) {
+        return 450000 + (id * 7919L) % 3000000;
+    }
+}
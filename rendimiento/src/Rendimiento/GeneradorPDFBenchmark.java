@@ -0,0 +1,94 @@
+package Rendimiento;
+
+import Entidades.Nomina;
+import LogicaNegocio.GeneradorPDF;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ================================================================================
+// CLASE GeneradorPDFBenchmark
+// ================================================================================
+
+/**
+ * Benchmarks de los tres reportes de {@link GeneradorPDF}.
+ *
+ * <p>Cada llamada escribe el PDF completo en el directorio de trabajo
+ * (siempre el mismo archivo por reporte), por lo que el tiempo incluye la
+ * escritura a disco. El reporte consolidado se mide con 10, 100 y 1 000
+ * nóminas.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneradorPDFBenchmark {
+
+    /** Cantidad de nóminas del reporte consolidado. */
+    @Param({"10", "100", "1000"})
+    private int nominasMensual;
+
+    /** Generador de reportes. */
+    private GeneradorPDF generador;
+
+    /** Nóminas calculadas para el reporte consolidado. */
+    private List<Nomina> nominas;
+
+    /**
+     * Crea el generador y calcula las nóminas.
+     */
+    @Setup(Level.Trial)
+    public void preparar() {
+        generador = new GeneradorPDF();
+        nominas = DatosPrueba.nominas(nominasMensual);
+    }
+
+    /**
+     * Genera el comprobante de un empleado.
+     *
+     * @return el nombre del archivo generado
+     * @throws Exception si falla la generación
+     */
+    @Benchmark
+    public String generarReporteEmpleado() throws Exception {
+        return generador.generarReporteEmpleado(nominas.get(0));
+    }
+
+    /**
+     * Genera el reporte patronal individual.
+     *
+     * @return el nombre del archivo generado
+     * @throws Exception si falla la generación
+     */
+    @Benchmark
+    public String generarReportePatrono() throws Exception {
+        return generador.generarReportePatrono(nominas.get(0));
+    }
+
+    /**
+     * Genera el reporte patronal consolidado del período.
+     *
+     * @return el nombre del archivo generado
+     * @throws Exception si falla la generación
+     */
+    @Benchmark
+    public String generarReportePatronoMensual() throws Exception {
+        return generador.generarReportePatronoMensual(nominas, DatosPrueba.PERIODO);
+    }
+}
@@ -0,0 +1,60 @@
+package Rendimiento;
+
+import AccesoDatos.IdControl;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ================================================================================
+// CLASE IdControlBenchmark
+// ================================================================================
+
+/**
+ * Benchmark de {@link IdControl#getNextId(String)}, que reescribe y fuerza
+ * a disco el archivo de control en cada llamada.
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdControlBenchmark {
+
+    /** Control de IDs sobre el idControl.txt del directorio de trabajo. */
+    private IdControl idControl;
+
+    /**
+     * Crea el control de IDs.
+     *
+     * @throws IOException si ocurre un error al leer el archivo de control
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        idControl = new IdControl();
+    }
+
+    /**
+     * Obtiene el siguiente ID de un archivo.
+     *
+     * @return el ID obtenido
+     * @throws IOException si ocurre un error al reescribir el archivo de control
+     */
+    @Benchmark
+    public int getNextId() throws IOException {
+        return idControl.getNextId("bench_registros.txt");
+    }
+}
@@ -0,0 +1,191 @@
+package Rendimiento;
+
+import AccesoDatos.AccesoDatos;
+import Entidades.Empleado;
+import LogicaNegocio.CatalogoColumnarEmpleados;
+import LogicaNegocio.CodecEmpleado;
+import LogicaNegocio.LogicaEmpleado;
+import Utilidades.NombresArchivos;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// ================================================================================
+// CLASE LogicaEmpleadoBenchmark
+// ================================================================================
+
+/**
+ * Benchmarks de {@link LogicaEmpleado#listarEmpleados(Empleado)} y
+ * {@link LogicaEmpleado#leerCatalogoColumnar()}.
+ *
+ * <p>{@link #listarEmpleadosSinCache(Invalidacion)} cambia la fecha de
+ * modificación de empleados.txt antes de cada llamada, lo que invalida la
+ * caché de {@link LogicaNegocio.LogicaBase} y obliga a leer y convertir
+ * todo el archivo. {@link #listarEmpleadosEnCache()} mide el caso habitual, en
+ * que el archivo no cambió desde la última lectura.
+ * {@link #leerCatalogoColumnar()} siempre lee el archivo completo.</p>
+ *
+ * <p>El tiempo no muestra la otra diferencia entre ambas lecturas: la
+ * memoria que queda ocupada mientras se usan los empleados. Al terminar cada
+ * parámetro, {@link #reportarHeapRetenido()} imprime el heap que retienen los
+ * empleados como objetos {@code Empleado} y como catálogo columnar.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogicaEmpleadoBenchmark {
+
+    /** Cantidad de empleados del archivo. */
+    @Param({"1000", "100000"})
+    private int empleados;
+
+    /** Lógica de empleados del directorio de trabajo. */
+    private LogicaEmpleado logicaEmpleado;
+
+    /**
+     * Estado que invalida la caché antes de cada llamada; solo lo recibe
+     * {@link #listarEmpleadosSinCache(Invalidacion)}.
+     */
+    @State(Scope.Benchmark)
+    public static class Invalidacion {
+
+        /** El archivo de empleados. */
+        private final File archivo = new File(NombresArchivos.EMPLEADOS.getNombreArchivo());
+
+        /** Fecha de modificación que se asigna antes de cada lectura. */
+        private long fechaModificacion = System.currentTimeMillis();
+
+        /**
+         * Cambia la fecha de modificación de empleados.txt. Las fechas
+         * avanzan de a un segundo para que cualquier sistema de archivos
+         * note el cambio.
+         */
+        @Setup(Level.Invocation)
+        public void invalidarCache() {
+            fechaModificacion += 1000;
+            archivo.setLastModified(fechaModificacion);
+        }
+    }
+
+    /**
+     * Genera empleados.txt.
+     *
+     * @throws IOException si ocurre un error al escribir el archivo
+     */
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        DatosPrueba.escribirEmpleados(NombresArchivos.EMPLEADOS.getNombreArchivo(), empleados);
+        logicaEmpleado = new LogicaEmpleado();
+    }
+
+    /**
+     * Lee y convierte todo el archivo de empleados.
+     *
+     * @param invalidacion estado que invalidó la caché antes de la llamada
+     * @return el contenedor con los empleados
+     * @throws IOException si ocurre un error al leer
+     */
+    @Benchmark
+    public Empleado listarEmpleadosSinCache(Invalidacion invalidacion) throws IOException {
+        Empleado contenedor = new Empleado();
+        logicaEmpleado.listarEmpleados(contenedor);
+        return contenedor;
+    }
+
+    /**
+     * Lee todo el archivo de empleados en el catálogo columnar.
+     *
+     * @return el catálogo
+     * @throws IOException si ocurre un error al leer
+     */
+    @Benchmark
+    public CatalogoColumnarEmpleados leerCatalogoColumnar() throws IOException {
+        return logicaEmpleado.leerCatalogoColumnar();
+    }
+
+    /**
+     * Obtiene los empleados con la caché vigente.
+     *
+     * @return el contenedor con los empleados
+     * @throws IOException si ocurre un error al consultar el archivo
+     */
+    @Benchmark
+    public Empleado listarEmpleadosEnCache() throws IOException {
+        Empleado contenedor = new Empleado();
+        logicaEmpleado.listarEmpleados(contenedor);
+        return contenedor;
+    }
+
+    /**
+     * Imprime el heap que retienen los empleados leídos como objetos (como
+     * los guarda la instantánea de la caché) y como catálogo columnar.
+     *
+     * <p>Se mide el heap ocupado después de una recolección completa antes y
+     * después de cada lectura, por lo que es una aproximación; basta para
+     * comparar ambos formatos con la misma cantidad de empleados. Los objetos
+     * se leen en una lista propia y no con {@link LogicaEmpleado}, porque la
+     * instantánea en caché solo se libera cuando el archivo cambia, y
+     * cambiarlo haría que el vigilante de archivos la recargue en segundo
+     * plano durante la medición.</p>
+     *
+     * @throws IOException si ocurre un error al leer
+     */
+    @TearDown(Level.Trial)
+    public void reportarHeapRetenido() throws IOException {
+        long antes = heapOcupado();
+        List<Empleado> objetos = new ArrayList<>();
+        AccesoDatos.recorrer(NombresArchivos.EMPLEADOS.getNombreArchivo(), datos -> {
+            Empleado empleado = CodecEmpleado.leer(datos);
+            if (empleado != null) {
+                objetos.add(empleado);
+            }
+        });
+        long bytesObjetos = heapOcupado() - antes;
+        Reference.reachabilityFence(objetos);
+
+        antes = heapOcupado();
+        CatalogoColumnarEmpleados columnar = logicaEmpleado.leerCatalogoColumnar();
+        long bytesColumnar = heapOcupado() - antes;
+        Reference.reachabilityFence(columnar);
+
+        System.out.printf("%nHeap retenido con %d empleados: objetos %.1f MB (%d B/empleado),"
+                + " columnar %.1f MB (%d B/empleado)%n",
+            empleados, bytesObjetos / 1048576.0, bytesObjetos / empleados,
+            bytesColumnar / 1048576.0, bytesColumnar / empleados);
+    }
+
+    /**
+     * Obtiene el heap ocupado después de forzar la recolección de basura.
+     *
+     * @return bytes ocupados del heap
+     */
+    private static long heapOcupado() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
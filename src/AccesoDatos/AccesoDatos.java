@@ -5,7 +5,18 @@
 package AccesoDatos;
 
 import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import Utilidades.EventosJfr;
+import Utilidades.Histograma;
+import Utilidades.Metricas;
 
 /**
  * Clase de acceso a datos que gestiona operaciones CRUD sobre archivos de texto plano.
@@ -72,13 +83,36 @@ import java.util.ArrayList;
  *   <li>Las operaciones de modificación y eliminación crean archivos temporales</li>
  *   <li>No hay validación automática del formato de los registros</li>
  *   <li>El ID debe ser único y estar en la primera posición</li>
- *   <li>Los registros no pueden contener comas en sus valores</li>
+ *   <li>Esta clase no escapa los valores: un valor con comas debe llegar ya
+ *       escapado por el {@link EsquemaRegistro} de la entidad, que también
+ *       lee los registros anteriores sin escapar</li>
  * </ul>
  * 
- * <p><b>Nota de seguridad:</b> Esta clase no implementa bloqueo de archivos,
- * por lo que no es segura para acceso concurrente. Si múltiples procesos
- * necesitan acceder al mismo archivo simultáneamente, se recomienda implementar
- * un mecanismo de sincronización externo.</p>
+ * <h3>API sin estado (recomendada):</h3>
+ * <p>Los métodos estáticos {@link #agregar(String, String)},
+ * {@link #modificar(String, int, String)}, {@link #eliminar(String, int)},
+ * {@link #listar(String)} y {@link #recorrer(String, Consumer)} reciben
+ * todos sus datos como parámetros, por lo que pueden invocarse desde varios
+ * hilos a la vez sin compartir una instancia configurada con setters:</p>
+ * <pre>
+ * AccesoDatos.agregar("empleados.txt", "4,Pedro,Gómez,pedro@email.com,456789");
+ * AccesoDatos.modificar("empleados.txt", 4, "4,Pedro,Gómez,pedro.gomez@email.com,456789");
+ * AccesoDatos.eliminar("empleados.txt", 4);
+ * </pre>
+ * 
+ * <p><b>Concurrencia:</b> el acceso se coordina por archivo entre hilos y
+ * entre procesos (varias instancias de la aplicación pueden compartir el
+ * directorio de datos) mediante bloqueos del sistema operativo sobre un
+ * archivo auxiliar {@code <archivo>.lock} (ver {@link BloqueoArchivo}).
+ * Las lecturas se ejecutan en paralelo, las escrituras se serializan por
+ * archivo y los lectores solo esperan el instante en que un escritor publica
+ * su cambio. Las modificaciones generan un archivo temporal, lo fuerzan a
+ * disco y lo renombran de forma atómica sobre el original. Los métodos de
+ * instancia con setters se conservan por compatibilidad y delegan en la API
+ * sin estado; una misma instancia no debe compartirse entre hilos.</p>
+ * 
+ * <p><b>Nota de seguridad:</b> los bloqueos son cooperativos: no protegen
+ * contra programas que modifiquen el archivo sin utilizar esta clase.</p>
  * 
  * @author Justin Espinoza
  * @version 1.0
@@ -89,6 +123,29 @@ import java.util.ArrayList;
  */
 public class AccesoDatos {
     
+    // ========================================================================
+    // MÉTRICAS
+    // ========================================================================
+    
+    /**
+     * Latencia de las lecturas completas de un archivo ({@link #listarRegistros()},
+     * {@link #listar(String)} y {@link #recorrer(String, Consumer)}), incluido
+     * el procesamiento de cada registro por el consumidor.
+     */
+    private static final Histograma LATENCIA_LISTAR = Metricas.histograma("accesoDatos.listarRegistros");
+    
+    /**
+     * Latencia de las modificaciones y eliminaciones ({@link #modificarRegistro()},
+     * {@link #modificar(String, int, String)} y {@link #eliminar(String, int)}),
+     * hasta que el {@link DiarioEscrituras} confirma el cambio.
+     */
+    private static final Histograma LATENCIA_MODIFICAR = Metricas.histograma("accesoDatos.modificarRegistro");
+    
+    /**
+     * Latencia de las altas ({@link #agregarRegistro()} y {@link #agregar(String, String)}).
+     */
+    private static final Histograma LATENCIA_AGREGAR = Metricas.histograma("accesoDatos.agregarRegistro");
+    
     // ========================================================================
     // ATRIBUTOS PRIVADOS
     // ========================================================================
@@ -416,10 +473,7 @@ public class AccesoDatos {
      * @see #setNombreArchivo(String)
      */
     public void agregarRegistro() throws IOException {
-        try (BufferedWriter bW = new BufferedWriter(new FileWriter(this.nombreArchivo, true))) {
-            bW.append(this.registro);
-            bW.newLine();
-        }
+        agregar(this.nombreArchivo, this.registro);
     }
 
     /**
@@ -487,16 +541,34 @@ public class AccesoDatos {
      * @see #setNombreArchivo(String)
      */
     public void listarRegistros() throws IOException {
-        this.listaRegistros = new ArrayList<>(); // Limpiar lista antes de cargar
-        try (BufferedReader bR = new BufferedReader(new FileReader(this.nombreArchivo))) {
-            String linea;
-            while ((linea = bR.readLine()) != null) {
-                String[] datos = linea.split(",");
-                this.listaRegistros.add(datos);
-            }
-        } catch (FileNotFoundException e) {
-            // Si no existe el archivo, simplemente retorna lista vacía
-        }
+        ArrayList<String[]> registros = new ArrayList<>(); // Limpiar lista antes de cargar
+        recorrerRegistros(registros::add);
+        this.listaRegistros = registros;
+    }
+
+    /**
+     * Recorre los registros del archivo entregándolos uno a uno, sin
+     * acumularlos en memoria.
+     * 
+     * <p>Es la variante de lectura de {@link #listarRegistros()} pensada para
+     * procesos que consumen los registros de forma incremental (por ejemplo,
+     * para publicar filas en una tabla mientras el archivo se sigue leyendo).
+     * Cada línea se divide por comas igual que en {@link #listarRegistros()}.</p>
+     * 
+     * <p>Si el consumidor lanza una excepción no verificada (por ejemplo,
+     * {@link java.util.concurrent.CancellationException} para cancelar la
+     * lectura), el archivo se cierra y la excepción se propaga.</p>
+     * 
+     * <p><b>Archivo no encontrado:</b> no se entrega ningún registro
+     * (no lanza excepción).</p>
+     * 
+     * @param consumidor función que recibe cada registro dividido en campos
+     * @throws IOException si ocurre un error al leer el archivo
+     * 
+     * @see #listarRegistros()
+     */
+    public void recorrerRegistros(Consumer<String[]> consumidor) throws IOException {
+        recorrer(this.nombreArchivo, consumidor);
     }
 
     /**
@@ -522,9 +594,9 @@ public class AccesoDatos {
      *       </li>
      *     </ul>
      *   </li>
-     *   <li>Cierra ambos archivos</li>
-     *   <li>Elimina el archivo original</li>
-     *   <li>Renombra el archivo temporal al nombre original</li>
+     *   <li>Cierra ambos archivos y fuerza el temporal a disco</li>
+     *   <li>Reemplaza el original con un renombrado atómico
+     *       ({@link StandardCopyOption#ATOMIC_MOVE})</li>
      * </ol>
      * 
      * <h4>Ejemplo 1: Actualización de registro</h4>
@@ -583,7 +655,7 @@ public class AccesoDatos {
      *   <li>Debe haberse establecido {@link #nombreArchivo}</li>
      *   <li>Debe haberse establecido {@link #idRegistro}</li>
      *   <li>Si eliminar=false, debe haberse establecido {@link #registro}</li>
-     *   <li>El archivo debe existir y ser legible</li>
+     *   <li>Si el archivo no existe, se crea vacío (no hay registro que modificar)</li>
      *   <li>El directorio debe tener permisos de escritura</li>
      * </ul>
      * 
@@ -596,19 +668,16 @@ public class AccesoDatos {
      * 
      * <p><b>Advertencias importantes:</b></p>
      * <ul>
-     *   <li>Esta operación NO es atómica a nivel de sistema operativo</li>
      *   <li>Requiere espacio en disco para el archivo temporal</li>
-     *   <li>El archivo original se elimina permanentemente</li>
-     *   <li>No es segura para acceso concurrente sin sincronización externa</li>
+     *   <li>El contenido anterior del archivo se reemplaza permanentemente</li>
+     *   <li>Los métodos de instancia no deben compartirse entre hilos; use {@link #modificar(String, int, String)} o {@link #eliminar(String, int)}</li>
      * </ul>
      * 
      * @throws IOException si ocurre un error durante el proceso, incluyendo:
      *         <ul>
-     *           <li>Archivo original no encontrado</li>
      *           <li>Permisos insuficientes para leer/escribir</li>
      *           <li>Disco lleno al crear archivo temporal</li>
-     *           <li>No se puede eliminar el archivo original</li>
-     *           <li>No se puede renombrar el archivo temporal</li>
+     *           <li>No se puede reemplazar el archivo original</li>
      *         </ul>
      * @throws NumberFormatException si el primer campo del registro no es un número
      *         válido (lanzada por Integer.parseInt)
@@ -619,31 +688,297 @@ public class AccesoDatos {
      * @see #setNombreArchivo(String)
      */
     public void modificarRegistro() throws IOException {
-        File archivoOriginal = new File(this.nombreArchivo);
-        File archivoTemp = new File("temp_" + this.nombreArchivo);
-        try (BufferedReader bR = new BufferedReader(new FileReader(archivoOriginal));
-             BufferedWriter bW = new BufferedWriter(new FileWriter(archivoTemp))) {
+        if (this.eliminar) {
+            eliminar(this.nombreArchivo, this.idRegistro);
+        } else {
+            modificar(this.nombreArchivo, this.idRegistro, this.registro);
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS ESTÁTICOS - API SIN ESTADO
+    // ========================================================================
+    
+    /**
+     * Agrega un registro al final de un archivo.
+     * 
+     * <p>Equivalente a {@link #agregarRegistro()}, pero sin estado: puede
+     * invocarse desde varios hilos y procesos a la vez. El alta se registra
+     * en el {@link DiarioEscrituras} según su modo de durabilidad y se aplica
+     * al archivo de forma asíncrona; las lecturas posteriores ya la ven. Si
+     * el archivo no existe, se crea.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param registro el registro en formato CSV, con el ID en la primera posición
+     * @throws IOException si ocurre un error al registrar la escritura
+     * @throws NumberFormatException si el primer campo del registro no es un número
+     */
+    public static void agregar(String archivo, String registro) throws IOException {
+        long inicio = System.nanoTime();
+        try {
+            DiarioEscrituras.registrar(DiarioEscrituras.Tipo.INSERTAR, archivo,
+                                       Integer.parseInt(registro.split(",", 2)[0]), registro);
+        } finally {
+            LATENCIA_AGREGAR.registrarDesde(inicio);
+        }
+    }
+
+    /**
+     * Reemplaza el registro con el ID indicado.
+     * 
+     * <p>Equivalente a {@link #modificarRegistro()} con {@code eliminar = false}.
+     * El cambio se registra en el {@link DiarioEscrituras} y se aplica de
+     * forma asíncrona. Si no existe un registro con ese ID, el archivo queda
+     * sin cambios.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param id el ID del registro a reemplazar
+     * @param registro el nuevo contenido del registro en formato CSV
+     * @throws IOException si ocurre un error al registrar la escritura
+     */
+    public static void modificar(String archivo, int id, String registro) throws IOException {
+        long inicio = System.nanoTime();
+        try {
+            DiarioEscrituras.registrar(DiarioEscrituras.Tipo.MODIFICAR, archivo, id, registro);
+        } finally {
+            LATENCIA_MODIFICAR.registrarDesde(inicio);
+        }
+    }
+
+    /**
+     * Elimina el registro con el ID indicado.
+     * 
+     * <p>Equivalente a {@link #modificarRegistro()} con {@code eliminar = true}.
+     * El cambio se registra en el {@link DiarioEscrituras} y se aplica de
+     * forma asíncrona. Si no existe un registro con ese ID, el archivo queda
+     * sin cambios.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param id el ID del registro a eliminar
+     * @throws IOException si ocurre un error al registrar la escritura
+     */
+    public static void eliminar(String archivo, int id) throws IOException {
+        long inicio = System.nanoTime();
+        try {
+            DiarioEscrituras.registrar(DiarioEscrituras.Tipo.ELIMINAR, archivo, id, null);
+        } finally {
+            LATENCIA_MODIFICAR.registrarDesde(inicio);
+        }
+    }
+
+    /**
+     * Lee todos los registros de un archivo.
+     * 
+     * <p>Equivalente a {@link #listarRegistros()}, pero devuelve la lista en
+     * lugar de guardarla en la instancia.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @return los registros divididos en campos; lista vacía si el archivo no existe
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static ArrayList<String[]> listar(String archivo) throws IOException {
+        ArrayList<String[]> registros = new ArrayList<>();
+        recorrer(archivo, registros::add);
+        return registros;
+    }
+
+    /**
+     * Recorre los registros de un archivo entregándolos uno a uno.
+     * 
+     * <p>Equivalente a {@link #recorrerRegistros(Consumer)}. Otros lectores
+     * (de este u otro proceso) pueden recorrer el archivo en paralelo y los
+     * escritores pueden preparar sus cambios mientras tanto; solo la
+     * publicación de un cambio espera a que termine el recorrido. Por eso el
+     * consumidor no debe escribir en el mismo archivo. Antes de leer se
+     * espera a que el {@link DiarioEscrituras} aplique las escrituras ya
+     * confirmadas.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param consumidor función que recibe cada registro dividido en campos
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public static void recorrer(String archivo, Consumer<String[]> consumidor) throws IOException {
+        long inicio = System.nanoTime();
+        EventosJfr.LecturaArchivo evento = new EventosJfr.LecturaArchivo();
+        evento.begin();
+        int lineas = 0;
+        try {
+            lineas = recorrerSinMedir(archivo, consumidor);
+        } finally {
+            LATENCIA_LISTAR.registrarDesde(inicio);
+            if (evento.shouldCommit()) {
+                evento.archivo = archivo;
+                evento.lineas = lineas;
+                evento.bytes = new File(archivo).length();
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Implementación de {@link #recorrer(String, Consumer)}.
+     * 
+     * @return la cantidad de líneas leídas
+     */
+    private static int recorrerSinMedir(String archivo, Consumer<String[]> consumidor) throws IOException {
+        DiarioEscrituras.esperarAplicacion(archivo); // Ver las escrituras ya confirmadas
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarLectura();
+        int lineas = 0;
+        try (BufferedReader bR = new BufferedReader(new FileReader(archivo))) {
             String linea;
             while ((linea = bR.readLine()) != null) {
-                String[] datos = linea.split(",");
-                if (this.idRegistro == Integer.parseInt(datos[0])) {
-                    if (this.eliminar) {
-                        continue; // Elimina saltando esta línea
-                    } else {
-                        bW.append(this.registro);
+                consumidor.accept(linea.split(","));
+                lineas++;
+            }
+        } catch (FileNotFoundException e) {
+            // Si no existe el archivo, simplemente no hay registros
+        } finally {
+            bloqueo.terminarLectura();
+        }
+        return lineas;
+    }
+
+    // ========================================================================
+    // MÉTODOS DE PAQUETE - ESCRITURA DIRECTA
+    // ========================================================================
+    
+    /**
+     * Agrega registros al final de un archivo sin pasar por el diario.
+     * 
+     * <p>Todos los registros se escriben y se fuerzan a disco en una sola
+     * publicación, de modo que ningún lector ve una línea incompleta. Lo
+     * utiliza el {@link DiarioEscrituras} para aplicar un lote de altas.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param registros los registros en formato CSV
+     * @throws IOException si ocurre un error al escribir en el archivo
+     */
+    static void agregarDirecto(String archivo, List<String> registros) throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try {
+            bloqueo.iniciarPublicacion();
+            try {
+                try (FileOutputStream salida = new FileOutputStream(archivo, true);
+                     BufferedWriter bW = new BufferedWriter(new OutputStreamWriter(salida))) {
+                    for (String registro : registros) {
+                        bW.append(registro);
                         bW.newLine();
                     }
-                } else {
-                    bW.append(linea);
-                    bW.newLine();
+                    bW.flush();
+                    salida.getChannel().force(true);
                 }
+                VigilanteArchivos.sincronizar(archivo); // No notificar la escritura propia
+            } finally {
+                bloqueo.terminarPublicacion();
+            }
+        } finally {
+            bloqueo.terminarEscritura();
+        }
+    }
+
+    
+    /**
+     * Generador del nuevo contenido de un archivo a partir del contenido actual.
+     */
+    @FunctionalInterface
+    interface Reescritura {
+        
+        /**
+         * Escribe el nuevo contenido del archivo.
+         * 
+         * @param original lector del contenido actual (vacío si el archivo no existe)
+         * @param nuevo escritor del nuevo contenido
+         * @throws IOException si ocurre un error de lectura o escritura
+         */
+        void aplicar(BufferedReader original, BufferedWriter nuevo) throws IOException;
+    }
+
+    /**
+     * Reescribe un archivo completo de forma atómica y segura entre procesos.
+     * 
+     * <p><b>Protocolo:</b></p>
+     * <ol>
+     *   <li>Obtiene la exclusión de escritores ({@link BloqueoArchivo}); los
+     *       lectores siguen leyendo el archivo actual</li>
+     *   <li>Genera el nuevo contenido en {@code temp_<archivo>} (en el mismo
+     *       directorio) y lo fuerza a disco</li>
+     *   <li>Durante la publicación, reemplaza el original con
+     *       {@link Files#move} y {@link StandardCopyOption#ATOMIC_MOVE}: en
+     *       ningún momento deja de existir el archivo ni queda a medio escribir</li>
+     * </ol>
+     * 
+     * <p>Si falla la generación del temporal, el original queda intacto y el
+     * temporal se elimina.</p>
+     * 
+     * @param archivo nombre o ruta del archivo
+     * @param reescritura generador del nuevo contenido
+     * @throws IOException si ocurre un error al leer, escribir o reemplazar
+     */
+    static void reescribir(String archivo, Reescritura reescritura) throws IOException {
+        EventosJfr.ReescrituraArchivo evento = new EventosJfr.ReescrituraArchivo();
+        evento.begin();
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try {
+            Path original = new File(archivo).getAbsoluteFile().toPath();
+            Path temporal = original.resolveSibling("temp_" + original.getFileName());
+            try (BufferedReader bR = Files.exists(original)
+                        ? new BufferedReader(new FileReader(original.toFile()))
+                        : new BufferedReader(new StringReader(""));
+                 FileOutputStream salida = new FileOutputStream(temporal.toFile());
+                 BufferedWriter bW = new BufferedWriter(new OutputStreamWriter(salida))) {
+                reescritura.aplicar(bR, bW);
+                bW.flush();
+                salida.getChannel().force(true); // El contenido debe estar en disco antes de renombrar
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporal);
+                throw e;
+            }
+            bloqueo.iniciarPublicacion();
+            try {
+                reemplazar(temporal, original);
+                VigilanteArchivos.sincronizar(archivo); // No notificar la escritura propia
+            } finally {
+                bloqueo.terminarPublicacion();
             }
+            if (evento.shouldCommit()) {
+                evento.archivo = archivo;
+                evento.bytes = Files.size(original);
+                evento.commit();
+            }
+        } finally {
+            bloqueo.terminarEscritura();
         }
-        if (!archivoOriginal.delete()) {
-            throw new IOException("No se puede eliminar el archivo original");
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS
+    // ========================================================================
+    
+    /**
+     * Reemplaza un archivo por otro con un renombrado atómico.
+     * 
+     * <p>Si el sistema de archivos no soporta renombrados atómicos, se usa un
+     * reemplazo normal. Después se intenta forzar a disco el directorio para
+     * que el renombrado sobreviva a un corte de energía (no todos los
+     * sistemas operativos lo permiten).</p>
+     * 
+     * @param temporal el archivo con el nuevo contenido
+     * @param destino el archivo a reemplazar
+     * @throws IOException si no se puede reemplazar el archivo
+     */
+    static void reemplazar(Path temporal, Path destino) throws IOException {
+        try {
+            Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING);
         }
-        if (!archivoTemp.renameTo(archivoOriginal)) {
-            throw new IOException("No se puede renombrar el archivo temporal");
+        try (FileChannel directorio = FileChannel.open(destino.getParent(), StandardOpenOption.READ)) {
+            directorio.force(true);
+        } catch (IOException e) {
+            // Algunos sistemas (Windows) no permiten abrir un directorio como canal
         }
     }
 }
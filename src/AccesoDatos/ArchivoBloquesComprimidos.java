@@ -0,0 +1,401 @@
+package AccesoDatos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// ================================================================================
+// CLASE ArchivoBloquesComprimidos
+// ================================================================================
+
+/**
+ * Archivo de solo lectura con registros de ancho fijo comprimidos por bloques.
+ *
+ * <p>Es el formato de archivo histórico de los datos que ya no se modifican.
+ * Los registros se agrupan en bloques de {@link #REGISTROS_POR_BLOQUE} y cada
+ * bloque se comprime por separado con {@link Deflater}. Al final del archivo
+ * un índice disperso guarda, para cada bloque, la primera y la última clave
+ * que contiene, de modo que para buscar una clave solo se descomprimen los
+ * bloques que pueden contenerla.</p>
+ *
+ * <p><b>Formato:</b></p>
+ * <ul>
+ *   <li><b>Encabezado (16 bytes):</b> firma {@code "RBLQ"}, versión,
+ *       tamaño del registro y posición de la clave dentro del registro</li>
+ *   <li><b>Bloques:</b> los registros comprimidos, uno tras otro</li>
+ *   <li><b>Índice disperso:</b> por bloque, primera y última clave
+ *       ({@code int}), desplazamiento ({@code long}), largo comprimido y
+ *       cantidad de registros ({@code int})</li>
+ *   <li><b>Pie (24 bytes):</b> desplazamiento del índice, cantidad de
+ *       bloques, cantidad de registros y CRC32 del índice</li>
+ * </ul>
+ *
+ * <p>La clave es un {@code int} en una posición fija del registro, y los
+ * registros deben estar ordenados por ella al escribir el archivo. El archivo
+ * se escribe completo en un temporal y se publica con un renombrado atómico,
+ * por lo que los lectores nunca ven un archivo a medio escribir.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see ArchivoRegistrosFijos
+ */
+public class ArchivoBloquesComprimidos {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Cantidad de registros de cada bloque comprimido. */
+    public static final int REGISTROS_POR_BLOQUE = 64;
+
+    /** Firma del formato: los caracteres {@code "RBLQ"}. */
+    private static final int FIRMA = 0x52424C51;
+
+    /** Versión del formato. */
+    private static final int VERSION = 1;
+
+    /** Tamaño del encabezado en bytes. */
+    private static final int ENCABEZADO = 16;
+
+    /** Tamaño de cada entrada del índice disperso en bytes. */
+    private static final int ENTRADA = 24;
+
+    /** Tamaño del pie en bytes. */
+    private static final int PIE = 24;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Nombre o ruta del archivo. */
+    private final String archivo;
+
+    /** Tamaño de cada registro en bytes. */
+    private final int tamanoRegistro;
+
+    /** Posición de la clave ({@code int}) dentro de cada registro. */
+    private final int posicionClave;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea el acceso a un archivo de bloques comprimidos.
+     *
+     * @param archivo nombre o ruta del archivo
+     * @param tamanoRegistro tamaño de cada registro en bytes
+     * @param posicionClave posición de la clave dentro de cada registro
+     */
+    public ArchivoBloquesComprimidos(String archivo, int tamanoRegistro, int posicionClave) {
+        if (tamanoRegistro <= 0 || posicionClave < 0 || posicionClave + 4 > tamanoRegistro) {
+            throw new IllegalArgumentException("Formato de registro inválido");
+        }
+        this.archivo = archivo;
+        this.tamanoRegistro = tamanoRegistro;
+        this.posicionClave = posicionClave;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Indica si el archivo existe.
+     *
+     * @return true si el archivo existe
+     */
+    public boolean existe() {
+        return Files.exists(ruta());
+    }
+
+    /**
+     * Escribe (o reemplaza) el archivo con los registros indicados.
+     *
+     * @param registros los registros, ordenados por clave
+     * @throws IOException si ocurre un error al escribir o reemplazar el archivo
+     */
+    public void escribir(ByteBuffer registros) throws IOException {
+        int cantidad = registros.limit() / tamanoRegistro;
+        int bloques = (cantidad + REGISTROS_POR_BLOQUE - 1) / REGISTROS_POR_BLOQUE;
+        ByteBuffer indice = ByteBuffer.allocate(bloques * ENTRADA);
+        byte[] sinComprimir = new byte[REGISTROS_POR_BLOQUE * tamanoRegistro];
+        byte[] comprimido = new byte[sinComprimir.length + 64];
+
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try {
+            Path destino = ruta();
+            Path temporal = destino.resolveSibling("temp_" + destino.getFileName());
+            Deflater compresor = new Deflater(Deflater.BEST_COMPRESSION);
+            try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                                                      StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer encabezado = ByteBuffer.allocate(ENCABEZADO);
+                encabezado.putInt(FIRMA).putInt(VERSION).putInt(tamanoRegistro).putInt(posicionClave).flip();
+                escribirTodo(canal, encabezado);
+
+                long desplazamiento = ENCABEZADO;
+                for (int bloque = 0; bloque < bloques; bloque++) {
+                    int primero = bloque * REGISTROS_POR_BLOQUE;
+                    int enBloque = Math.min(REGISTROS_POR_BLOQUE, cantidad - primero);
+                    int largo = enBloque * tamanoRegistro;
+                    registros.get(primero * tamanoRegistro, sinComprimir, 0, largo);
+
+                    compresor.reset();
+                    compresor.setInput(sinComprimir, 0, largo);
+                    compresor.finish();
+                    int largoComprimido = 0;
+                    while (!compresor.finished()) {
+                        if (largoComprimido == comprimido.length) {
+                            comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+                        }
+                        largoComprimido += compresor.deflate(comprimido, largoComprimido,
+                                                             comprimido.length - largoComprimido);
+                    }
+                    escribirTodo(canal, ByteBuffer.wrap(comprimido, 0, largoComprimido));
+
+                    indice.putInt(clave(registros, primero))
+                          .putInt(clave(registros, primero + enBloque - 1))
+                          .putLong(desplazamiento)
+                          .putInt(largoComprimido)
+                          .putInt(enBloque);
+                    desplazamiento += largoComprimido;
+                }
+
+                indice.flip();
+                CRC32 crc = new CRC32();
+                crc.update(indice.duplicate());
+                escribirTodo(canal, indice);
+                ByteBuffer pie = ByteBuffer.allocate(PIE);
+                pie.putLong(desplazamiento).putInt(bloques).putLong(cantidad).putInt((int) crc.getValue()).flip();
+                escribirTodo(canal, pie);
+                canal.force(false);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temporal);
+                throw e;
+            } finally {
+                compresor.end();
+            }
+
+            bloqueo.iniciarPublicacion();
+            try {
+                AccesoDatos.reemplazar(temporal, destino);
+            } finally {
+                bloqueo.terminarPublicacion();
+            }
+        } finally {
+            bloqueo.terminarEscritura();
+        }
+    }
+
+    /**
+     * Obtiene los registros con una clave, descomprimiendo solo los bloques
+     * que pueden contenerla.
+     *
+     * @param clave la clave buscada
+     * @return los registros con la clave, en el orden del archivo (vacío si no hay)
+     * @throws IOException si ocurre un error de lectura o el archivo está dañado
+     */
+    public ByteBuffer buscar(int clave) throws IOException {
+        return leer(clave, false);
+    }
+
+    /**
+     * Obtiene todos los registros del archivo descomprimidos.
+     *
+     * @return los registros, en el orden del archivo
+     * @throws IOException si ocurre un error de lectura o el archivo está dañado
+     */
+    public ByteBuffer leerTodo() throws IOException {
+        return leer(0, true);
+    }
+
+    /**
+     * Elimina el archivo.
+     *
+     * @throws IOException si no se puede eliminar
+     */
+    public void eliminar() throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try {
+            bloqueo.iniciarPublicacion();
+            try {
+                Files.deleteIfExists(ruta());
+            } finally {
+                bloqueo.terminarPublicacion();
+            }
+        } finally {
+            bloqueo.terminarEscritura();
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Lee los registros de una clave o de todo el archivo.
+     *
+     * @param clave la clave buscada (se ignora si {@code todos} es true)
+     * @param todos true para leer todos los bloques
+     * @return los registros leídos
+     * @throws IOException si ocurre un error de lectura o el archivo está dañado
+     */
+    private ByteBuffer leer(int clave, boolean todos) throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarLectura();
+        Inflater descompresor = new Inflater();
+        try (FileChannel canal = FileChannel.open(ruta(), StandardOpenOption.READ)) {
+            ByteBuffer encabezado = leerRegion(canal, 0, ENCABEZADO);
+            if (encabezado.getInt() != FIRMA || encabezado.getInt() != VERSION
+                    || encabezado.getInt() != tamanoRegistro || encabezado.getInt() != posicionClave) {
+                throw new IOException("Formato no reconocido en " + archivo);
+            }
+            ByteBuffer pie = leerRegion(canal, canal.size() - PIE, PIE);
+            long inicioIndice = pie.getLong();
+            int bloques = pie.getInt();
+            long cantidad = pie.getLong();
+            ByteBuffer indice = leerRegion(canal, inicioIndice, bloques * ENTRADA);
+            CRC32 crc = new CRC32();
+            crc.update(indice.duplicate());
+            if ((int) crc.getValue() != pie.getInt()) {
+                throw new IOException("Índice dañado en " + archivo);
+            }
+
+            // Primer bloque cuya última clave no es menor que la buscada
+            int desde = 0;
+            if (!todos) {
+                int bajo = 0, alto = bloques;
+                while (bajo < alto) {
+                    int medio = (bajo + alto) >>> 1;
+                    if (indice.getInt(medio * ENTRADA + 4) < clave) {
+                        bajo = medio + 1;
+                    } else {
+                        alto = medio;
+                    }
+                }
+                desde = bajo;
+            }
+
+            ByteBuffer resultado = ByteBuffer.allocate(todos ? (int) (cantidad * tamanoRegistro) : 0);
+            byte[] bloque = new byte[REGISTROS_POR_BLOQUE * tamanoRegistro];
+            for (int b = desde; b < bloques; b++) {
+                int entrada = b * ENTRADA;
+                if (!todos && indice.getInt(entrada) > clave) {
+                    break;
+                }
+                ByteBuffer comprimido = leerRegion(canal, indice.getLong(entrada + 8), indice.getInt(entrada + 16));
+                int largo = indice.getInt(entrada + 20) * tamanoRegistro;
+                descompresor.reset();
+                descompresor.setInput(comprimido);
+                try {
+                    if (descompresor.inflate(bloque, 0, largo) != largo) {
+                        throw new IOException("Bloque dañado en " + archivo);
+                    }
+                } catch (DataFormatException e) {
+                    throw new IOException("Bloque dañado en " + archivo, e);
+                }
+
+                if (todos) {
+                    resultado.put(bloque, 0, largo);
+                    continue;
+                }
+                ByteBuffer registros = ByteBuffer.wrap(bloque, 0, largo);
+                for (int pos = 0; pos < largo; pos += tamanoRegistro) {
+                    if (registros.getInt(pos + posicionClave) == clave) {
+                        resultado = agregarRegistro(resultado, bloque, pos);
+                    }
+                }
+            }
+            resultado.flip();
+            return resultado;
+        } finally {
+            descompresor.end();
+            bloqueo.terminarLectura();
+        }
+    }
+
+    /**
+     * Agrega un registro a un buffer de resultados, ampliándolo si es necesario.
+     *
+     * @param resultado el buffer de resultados
+     * @param bloque bloque descomprimido
+     * @param pos posición del registro en el bloque
+     * @return el buffer de resultados, posiblemente ampliado
+     */
+    private ByteBuffer agregarRegistro(ByteBuffer resultado, byte[] bloque, int pos) {
+        if (resultado.remaining() < tamanoRegistro) {
+            ByteBuffer ampliado = ByteBuffer.allocate(Math.max(tamanoRegistro, resultado.capacity() * 2));
+            resultado.flip();
+            ampliado.put(resultado);
+            resultado = ampliado;
+        }
+        return resultado.put(bloque, pos, tamanoRegistro);
+    }
+
+    /**
+     * Obtiene la clave de un registro.
+     *
+     * @param registros buffer de registros
+     * @param indice posición del registro
+     * @return la clave del registro
+     */
+    private int clave(ByteBuffer registros, int indice) {
+        return registros.getInt(indice * tamanoRegistro + posicionClave);
+    }
+
+    /**
+     * Lee una región del archivo completa.
+     *
+     * @param canal canal del archivo
+     * @param posicion posición inicial
+     * @param largo cantidad de bytes
+     * @return buffer con la región, en posición 0
+     * @throws IOException si la región no existe o no se puede leer
+     */
+    private ByteBuffer leerRegion(FileChannel canal, long posicion, int largo) throws IOException {
+        if (posicion < 0 || posicion + largo > canal.size()) {
+            throw new IOException("Archivo incompleto: " + archivo);
+        }
+        ByteBuffer region = ByteBuffer.allocate(largo);
+        while (region.hasRemaining()) {
+            if (canal.read(region, posicion + region.position()) < 0) {
+                throw new IOException("Archivo incompleto: " + archivo);
+            }
+        }
+        region.flip();
+        return region;
+    }
+
+    /**
+     * Escribe un buffer completo al final del canal.
+     *
+     * @param canal canal del archivo
+     * @param datos datos a escribir
+     * @throws IOException si ocurre un error al escribir
+     */
+    private static void escribirTodo(FileChannel canal, ByteBuffer datos) throws IOException {
+        while (datos.hasRemaining()) {
+            canal.write(datos);
+        }
+    }
+
+    /**
+     * Obtiene la ruta absoluta del archivo.
+     *
+     * @return la ruta del archivo
+     */
+    private Path ruta() {
+        return new File(archivo).getAbsoluteFile().toPath();
+    }
+}
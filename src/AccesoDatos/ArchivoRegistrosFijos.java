@@ -0,0 +1,535 @@
+package AccesoDatos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// ================================================================================
+// CLASE ArchivoRegistrosFijos
+// ================================================================================
+
+/**
+ * Archivo binario de registros de ancho fijo, de solo agregado.
+ *
+ * <p>A diferencia de los archivos CSV que maneja {@link AccesoDatos}, cada
+ * registro ocupa exactamente {@code tamanoRegistro} bytes, por lo que el
+ * registro N se ubica directamente en el desplazamiento
+ * {@code ENCABEZADO + N * tamanoRegistro} sin recorrer los anteriores. La
+ * clase no conoce el contenido de los registros: la capa de lógica de negocio
+ * los codifica y decodifica sobre un {@link ByteBuffer}.</p>
+ *
+ * <p><b>Formato:</b></p>
+ * <ul>
+ *   <li><b>Encabezado (16 bytes):</b> firma {@code "RFIJ"}, versión del
+ *       formato, tamaño del registro y 4 bytes reservados</li>
+ *   <li><b>Registros:</b> uno tras otro, en orden big-endian, sin separadores</li>
+ * </ul>
+ *
+ * <p><b>Concurrencia:</b> las altas utilizan el mismo {@link BloqueoArchivo}
+ * que los archivos CSV, de modo que son seguras entre hilos y procesos. Como
+ * los registros completos nunca se modifican, un buffer obtenido con
+ * {@link #mapear()} sigue siendo válido aunque después se agreguen más
+ * registros. Un registro incompleto al final del archivo (por un corte
+ * durante la escritura) se ignora y se sobrescribe en la siguiente alta.</p>
+ *
+ * <p><b>Índice:</b> opcionalmente, cada alta puede regenerar un índice en el
+ * archivo auxiliar {@code <archivo>.idx}. Su contenido lo define la capa de
+ * lógica de negocio mediante un {@link Indexador}; esta clase solo lo
+ * reemplaza de forma atómica en la misma publicación que los registros.</p>
+ *
+ * <p><b>Uso típico:</b></p>
+ * <pre>
+ * ArchivoRegistrosFijos archivo = new ArchivoRegistrosFijos("nominas.bin", 120);
+ * archivo.agregar(1, (orden, indice, registro) -&gt; registro.putInt(0, 42));
+ * ByteBuffer registro = archivo.leer(0);
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see BloqueoArchivo
+ */
+public class ArchivoRegistrosFijos {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Tamaño del encabezado en bytes. */
+    public static final int ENCABEZADO = 16;
+
+    /** Firma del formato: los caracteres {@code "RFIJ"}. */
+    private static final int FIRMA = 0x52464946;
+
+    /** Versión del formato del encabezado. */
+    private static final int VERSION = 1;
+
+    /** Extensión del archivo auxiliar de índice. */
+    private static final String EXTENSION_INDICE = ".idx";
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Codificador de los registros de una alta.
+     */
+    @FunctionalInterface
+    public interface Escritor {
+
+        /**
+         * Escribe el contenido de un registro.
+         *
+         * @param orden posición del registro dentro de la alta (desde 0)
+         * @param indice posición del registro en el archivo (desde 0)
+         * @param registro buffer del tamaño del registro, en posición 0
+         */
+        void escribir(int orden, long indice, ByteBuffer registro);
+    }
+
+    /**
+     * Generador del índice de un archivo después de una alta.
+     */
+    @FunctionalInterface
+    public interface Indexador {
+
+        /**
+         * Genera el nuevo contenido del índice.
+         *
+         * @param indiceAnterior contenido actual del índice, o null si no existe;
+         *                       puede no cubrir todos los registros
+         * @param registros todos los registros completos, incluidos los agregados
+         * @return el nuevo contenido del índice
+         */
+        ByteBuffer indexar(ByteBuffer indiceAnterior, ByteBuffer registros);
+    }
+
+    /**
+     * Destino de los registros de un archivo que se retira.
+     */
+    @FunctionalInterface
+    public interface Traslado {
+
+        /**
+         * Guarda los registros en su nuevo destino.
+         *
+         * @param registros todos los registros completos del archivo
+         * @throws IOException si no se pueden guardar; el archivo no se retira
+         */
+        void trasladar(ByteBuffer registros) throws IOException;
+    }
+
+    /**
+     * Origen de los registros de un archivo retirado que debe restaurarse
+     * antes de agregarle registros nuevos.
+     */
+    public interface Restauracion {
+
+        /**
+         * Lee los registros a restaurar.
+         *
+         * @return los registros completos, o null si no hay nada que restaurar
+         * @throws IOException si no se pueden leer; no se agrega nada
+         */
+        ByteBuffer leer() throws IOException;
+
+        /**
+         * Elimina el origen una vez que sus registros quedaron en el archivo.
+         *
+         * @throws IOException si no se puede eliminar
+         */
+        void eliminar() throws IOException;
+    }
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Nombre o ruta del archivo. */
+    private final String archivo;
+
+    /** Tamaño de cada registro en bytes. */
+    private final int tamanoRegistro;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea el acceso a un archivo de registros de ancho fijo. El archivo se
+     * crea con su encabezado en la primera alta.
+     *
+     * @param archivo nombre o ruta del archivo
+     * @param tamanoRegistro tamaño de cada registro en bytes
+     */
+    public ArchivoRegistrosFijos(String archivo, int tamanoRegistro) {
+        if (tamanoRegistro <= 0) {
+            throw new IllegalArgumentException("Tamaño de registro inválido: " + tamanoRegistro);
+        }
+        this.archivo = archivo;
+        this.tamanoRegistro = tamanoRegistro;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Agrega registros al final del archivo y los fuerza a disco una sola vez.
+     *
+     * @param cantidad cantidad de registros a agregar
+     * @param escritor codificador de cada registro
+     * @return el índice del primer registro agregado
+     * @throws IOException si ocurre un error al escribir o el encabezado no
+     *                     corresponde a este formato
+     */
+    public long agregar(int cantidad, Escritor escritor) throws IOException {
+        return agregar(cantidad, escritor, null);
+    }
+
+    /**
+     * Agrega registros al final del archivo y regenera su índice.
+     *
+     * <p>Los registros se fuerzan a disco antes de reemplazar el índice, por
+     * lo que un corte entre ambos pasos deja un índice que no cubre los
+     * últimos registros, nunca uno que apunte a registros inexistentes.</p>
+     *
+     * @param cantidad cantidad de registros a agregar
+     * @param escritor codificador de cada registro
+     * @param indexador generador del índice, o null para no mantener índice
+     * @return el índice del primer registro agregado
+     * @throws IOException si ocurre un error al escribir o el encabezado no
+     *                     corresponde a este formato
+     */
+    public long agregar(int cantidad, Escritor escritor, Indexador indexador) throws IOException {
+        return agregar(cantidad, escritor, indexador, null);
+    }
+
+    /**
+     * Agrega registros al final del archivo y regenera su índice,
+     * restaurando antes los registros de un archivo retirado si este archivo
+     * no tiene ninguno.
+     *
+     * <p>La comprobación, la restauración, la alta y la eliminación del
+     * origen se hacen con la exclusión de escritores tomada, la misma que
+     * mantiene {@link #retirar(Traslado)}, por lo que un retiro de este u
+     * otro proceso no puede intercalarse y dejar registros fuera del
+     * archivo. Si falla la eliminación del origen, sus registros quedan en
+     * ambos lugares, nunca en ninguno.</p>
+     *
+     * @param cantidad cantidad de registros a agregar
+     * @param escritor codificador de cada registro
+     * @param indexador generador del índice, o null para no mantener índice
+     * @param restauracion origen de los registros retirados, o null
+     * @return el índice del primer registro agregado
+     * @throws IOException si ocurre un error al escribir, al restaurar o el
+     *                     encabezado no corresponde a este formato
+     */
+    public long agregar(int cantidad, Escritor escritor, Indexador indexador,
+                        Restauracion restauracion) throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try (FileChannel canal = FileChannel.open(ruta(), StandardOpenOption.CREATE,
+                                                  StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < ENCABEZADO) {
+                escribirEncabezado(canal);
+            } else {
+                validarEncabezado(canal);
+            }
+            long primero = cantidad(canal.size());
+            ByteBuffer restaurados = primero == 0 && restauracion != null ? restauracion.leer() : null;
+            int previos = restaurados == null ? 0 : restaurados.remaining() / tamanoRegistro;
+
+            ByteBuffer bloque = ByteBuffer.allocate((previos + cantidad) * tamanoRegistro);
+            if (previos > 0) {
+                bloque.put(0, restaurados, restaurados.position(), previos * tamanoRegistro);
+            }
+            for (int i = 0; i < cantidad; i++) {
+                ByteBuffer registro = bloque.slice((previos + i) * tamanoRegistro, tamanoRegistro);
+                escritor.escribir(i, primero + previos + i, registro);
+            }
+
+            bloqueo.iniciarPublicacion();
+            try {
+                // Escritura posicional: sobrescribe un registro incompleto del final
+                long posicion = ENCABEZADO + primero * tamanoRegistro;
+                while (bloque.hasRemaining()) {
+                    posicion += canal.write(bloque, posicion);
+                }
+                canal.force(false);
+                if (indexador != null) {
+                    long bytes = (primero + previos + cantidad) * tamanoRegistro;
+                    ByteBuffer registros = canal.map(FileChannel.MapMode.READ_ONLY, ENCABEZADO, bytes);
+                    escribirIndice(indexador.indexar(leerIndiceActual(), registros));
+                }
+            } finally {
+                bloqueo.terminarPublicacion();
+            }
+            if (restaurados != null) {
+                restauracion.eliminar();
+            }
+            return primero + previos;
+        } finally {
+            bloqueo.terminarEscritura();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de registros completos del archivo.
+     *
+     * @return la cantidad de registros, o 0 si el archivo no existe
+     * @throws IOException si no se puede consultar el archivo
+     */
+    public long getCantidad() throws IOException {
+        Path ruta = ruta();
+        return Files.exists(ruta) ? cantidad(Files.size(ruta)) : 0;
+    }
+
+    /**
+     * Lee un registro por su índice, sin recorrer los anteriores.
+     *
+     * @param indice posición del registro (desde 0)
+     * @return buffer con el contenido del registro, en posición 0
+     * @throws IOException si ocurre un error de lectura o el registro no existe
+     */
+    public ByteBuffer leer(long indice) throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarLectura();
+        try (FileChannel canal = FileChannel.open(ruta(), StandardOpenOption.READ)) {
+            validarEncabezado(canal);
+            if (indice < 0 || indice >= cantidad(canal.size())) {
+                throw new IOException("Registro inexistente: " + indice);
+            }
+            ByteBuffer registro = ByteBuffer.allocate(tamanoRegistro);
+            long posicion = ENCABEZADO + indice * tamanoRegistro;
+            while (registro.hasRemaining()) {
+                if (canal.read(registro, posicion + registro.position()) < 0) {
+                    throw new IOException("Registro incompleto: " + indice);
+                }
+            }
+            registro.flip();
+            return registro;
+        } finally {
+            bloqueo.terminarLectura();
+        }
+    }
+
+    /**
+     * Mapea en memoria todos los registros completos del archivo.
+     *
+     * <p>El buffer comienza en el primer registro (sin el encabezado) y es de
+     * solo lectura; el registro N está en {@code N * tamanoRegistro}. Permite
+     * filtrar y decodificar los registros directamente desde el mapeo, sin
+     * copiarlos al heap.</p>
+     *
+     * @return el buffer mapeado, vacío si el archivo no existe
+     * @throws IOException si ocurre un error al mapear o el encabezado no
+     *                     corresponde a este formato
+     */
+    public ByteBuffer mapear() throws IOException {
+        Path ruta = ruta();
+        if (!Files.exists(ruta)) {
+            return ByteBuffer.allocate(0).asReadOnlyBuffer();
+        }
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarLectura();
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            if (canal.size() < ENCABEZADO) {
+                return ByteBuffer.allocate(0).asReadOnlyBuffer();
+            }
+            validarEncabezado(canal);
+            long bytes = cantidad(canal.size()) * tamanoRegistro;
+            MappedByteBuffer mapeo = canal.map(FileChannel.MapMode.READ_ONLY, ENCABEZADO, bytes);
+            return mapeo.order(ByteOrder.BIG_ENDIAN);
+        } finally {
+            bloqueo.terminarLectura();
+        }
+    }
+
+    /**
+     * Lee el contenido del índice mantenido por las altas con {@link Indexador}.
+     *
+     * @return el contenido del índice, o null si no existe
+     * @throws IOException si ocurre un error al leer el índice
+     */
+    public ByteBuffer leerIndice() throws IOException {
+        if (!Files.exists(rutaIndice())) {
+            return null;
+        }
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarLectura();
+        try {
+            return leerIndiceActual();
+        } finally {
+            bloqueo.terminarLectura();
+        }
+    }
+
+    /**
+     * Retira el archivo: entrega todos sus registros a un {@link Traslado} y,
+     * si este termina sin errores, elimina el archivo y su índice.
+     *
+     * <p>Durante el traslado se mantiene la exclusión de escritores, por lo
+     * que ninguna alta se pierde entre la lectura y la eliminación. Los
+     * registros se copian al heap (sin mapear el archivo) para que la
+     * eliminación no falle en sistemas que no permiten borrar archivos
+     * mapeados.</p>
+     *
+     * @param traslado destino de los registros
+     * @return true si el archivo existía y fue retirado
+     * @throws IOException si ocurre un error al leer, trasladar o eliminar
+     */
+    public boolean retirar(Traslado traslado) throws IOException {
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivo);
+        bloqueo.iniciarEscritura();
+        try {
+            Path ruta = ruta();
+            if (!Files.exists(ruta)) {
+                return false;
+            }
+            ByteBuffer registros;
+            try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+                if (canal.size() < ENCABEZADO) {
+                    registros = ByteBuffer.allocate(0);
+                } else {
+                    validarEncabezado(canal);
+                    registros = ByteBuffer.allocate((int) (cantidad(canal.size()) * tamanoRegistro));
+                    while (registros.hasRemaining()) {
+                        canal.read(registros, ENCABEZADO + registros.position());
+                    }
+                    registros.flip();
+                }
+            }
+            traslado.trasladar(registros.asReadOnlyBuffer());
+
+            bloqueo.iniciarPublicacion();
+            try {
+                Files.deleteIfExists(rutaIndice());
+                Files.delete(ruta);
+            } finally {
+                bloqueo.terminarPublicacion();
+            }
+            return true;
+        } finally {
+            bloqueo.terminarEscritura();
+        }
+    }
+
+    /**
+     * Obtiene el tamaño de cada registro.
+     *
+     * @return el tamaño del registro en bytes
+     */
+    public int getTamanoRegistro() {
+        return tamanoRegistro;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Calcula la cantidad de registros completos para un tamaño de archivo.
+     *
+     * @param tamanoArchivo tamaño del archivo en bytes
+     * @return la cantidad de registros completos
+     */
+    private long cantidad(long tamanoArchivo) {
+        return Math.max(0, tamanoArchivo - ENCABEZADO) / tamanoRegistro;
+    }
+
+    /**
+     * Escribe el encabezado de un archivo nuevo.
+     *
+     * @param canal canal del archivo
+     * @throws IOException si ocurre un error al escribir
+     */
+    private void escribirEncabezado(FileChannel canal) throws IOException {
+        ByteBuffer encabezado = ByteBuffer.allocate(ENCABEZADO);
+        encabezado.putInt(FIRMA).putInt(VERSION).putInt(tamanoRegistro).putInt(0).flip();
+        while (encabezado.hasRemaining()) {
+            canal.write(encabezado, encabezado.position());
+        }
+    }
+
+    /**
+     * Verifica que el archivo tenga la firma, versión y tamaño de registro esperados.
+     *
+     * @param canal canal del archivo
+     * @throws IOException si el encabezado no corresponde a este formato
+     */
+    private void validarEncabezado(FileChannel canal) throws IOException {
+        ByteBuffer encabezado = ByteBuffer.allocate(ENCABEZADO);
+        while (encabezado.hasRemaining()) {
+            if (canal.read(encabezado, encabezado.position()) < 0) {
+                throw new IOException("Encabezado incompleto en " + archivo);
+            }
+        }
+        encabezado.flip();
+        if (encabezado.getInt() != FIRMA || encabezado.getInt() != VERSION) {
+            throw new IOException("Formato no reconocido en " + archivo);
+        }
+        int tamano = encabezado.getInt();
+        if (tamano != tamanoRegistro) {
+            throw new IOException("Tamaño de registro " + tamano + " en " + archivo
+                                  + ", se esperaba " + tamanoRegistro);
+        }
+    }
+
+    /**
+     * Lee el índice sin tomar bloqueos.
+     *
+     * @return el contenido del índice, o null si no existe
+     * @throws IOException si ocurre un error al leer el índice
+     */
+    private ByteBuffer leerIndiceActual() throws IOException {
+        Path indice = rutaIndice();
+        return Files.exists(indice) ? ByteBuffer.wrap(Files.readAllBytes(indice)).asReadOnlyBuffer() : null;
+    }
+
+    /**
+     * Reemplaza el índice de forma atómica con un temporal forzado a disco.
+     *
+     * @param contenido el nuevo contenido del índice
+     * @throws IOException si ocurre un error al escribir o reemplazar
+     */
+    private void escribirIndice(ByteBuffer contenido) throws IOException {
+        Path indice = rutaIndice();
+        Path temporal = indice.resolveSibling("temp_" + indice.getFileName());
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                                                  StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (contenido.hasRemaining()) {
+                canal.write(contenido);
+            }
+            canal.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        AccesoDatos.reemplazar(temporal, indice);
+    }
+
+    /**
+     * Obtiene la ruta absoluta del archivo de índice.
+     *
+     * @return la ruta del índice
+     */
+    private Path rutaIndice() {
+        Path ruta = ruta();
+        return ruta.resolveSibling(ruta.getFileName() + EXTENSION_INDICE);
+    }
+
+    /**
+     * Obtiene la ruta absoluta del archivo.
+     *
+     * @return la ruta del archivo
+     */
+    private Path ruta() {
+        return new File(archivo).getAbsoluteFile().toPath();
+    }
+}
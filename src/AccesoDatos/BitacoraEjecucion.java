@@ -0,0 +1,338 @@
+package AccesoDatos;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+// ================================================================================
+// CLASE BitacoraEjecucion
+// ================================================================================
+
+/**
+ * Bitácora de avance de una ejecución masiva de nómina.
+ *
+ * <p>Registra, para un identificador de ejecución, qué etapas ya completó cada
+ * empleado (cálculo, generación del PDF y envío del correo). Si la aplicación
+ * se detiene a mitad del proceso, una nueva ejecución con el mismo identificador
+ * consulta la bitácora y omite el trabajo ya terminado.</p>
+ *
+ * <p><b>Formato del archivo</b> ({@code bitacora_<idEjecucion>.txt}):</p>
+ * <pre>
+ * idEmpleado,ETAPA
+ * 1,CALCULADA
+ * 1,PDF_GENERADO
+ * 1,CORREO_ENVIADO
+ * 3,CALCULADA
+ * </pre>
+ *
+ * <p><b>Características:</b></p>
+ * <ul>
+ *   <li>El archivo solo se escribe al final (append), nunca se reescribe</li>
+ *   <li>Cada entrada se entrega al sistema operativo al registrarse, pero la
+ *       sincronización a disco (fsync) se agrupa cada
+ *       {@link #INTERVALO_SINCRONIZACION} entradas o cada
+ *       {@link #INTERVALO_SINCRONIZACION_MS} milisegundos</li>
+ *   <li>Una línea final incompleta (por una caída durante la escritura) se
+ *       ignora al cargar y se trunca al abrir, para que la siguiente entrada
+ *       no se pegue a ella; en el peor caso esa etapa se repite</li>
+ * </ul>
+ *
+ * <p><b>Uso típico:</b></p>
+ * <pre>
+ * try (BitacoraEjecucion bitacora = new BitacoraEjecucion("2024-12-Q2")) {
+ *     if (!bitacora.estaCompleta(idEmpleado, BitacoraEjecucion.Etapa.PDF_GENERADO)) {
+ *         // generar PDF...
+ *         bitacora.registrar(idEmpleado, BitacoraEjecucion.Etapa.PDF_GENERADO);
+ *     }
+ * }
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public class BitacoraEjecucion implements AutoCloseable {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Etapas que puede completar un empleado dentro de una ejecución masiva.
+     */
+    public enum Etapa {
+        /** La nómina del empleado fue calculada. */
+        CALCULADA,
+        /** El comprobante PDF del empleado fue escrito en disco. */
+        PDF_GENERADO,
+        /** El comprobante fue enviado por correo al empleado. */
+        CORREO_ENVIADO
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /**
+     * Prefijo de los archivos de bitácora.
+     */
+    public static final String PREFIJO_ARCHIVO = "bitacora_";
+
+    /**
+     * Cantidad máxima de entradas registradas entre dos sincronizaciones a disco.
+     */
+    public static final int INTERVALO_SINCRONIZACION = 256;
+
+    /**
+     * Tiempo máximo, en milisegundos, entre dos sincronizaciones a disco.
+     */
+    public static final long INTERVALO_SINCRONIZACION_MS = 1000;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Identificador de la ejecución a la que pertenece esta bitácora.
+     */
+    private final String idEjecucion;
+
+    /**
+     * Archivo físico de la bitácora.
+     */
+    private final File archivo;
+
+    /**
+     * Etapas completadas por empleado, codificadas como máscara de bits
+     * (un bit por cada {@link Etapa}).
+     */
+    private final Map<Integer, Integer> etapasCompletadas;
+
+    /**
+     * Flujo de escritura en modo append sobre el archivo de bitácora.
+     */
+    private FileOutputStream salida;
+
+    /**
+     * Entradas escritas desde la última sincronización a disco.
+     */
+    private int pendientesSincronizar;
+
+    /**
+     * Momento (System.nanoTime) de la última sincronización a disco.
+     */
+    private long ultimaSincronizacion;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Abre (o crea) la bitácora de una ejecución y carga las etapas ya registradas.
+     *
+     * @param idEjecucion identificador de la ejecución; solo puede contener
+     *                    caracteres válidos para un nombre de archivo
+     * @throws IOException si ocurre un error al leer o abrir el archivo de bitácora
+     */
+    public BitacoraEjecucion(String idEjecucion) throws IOException {
+        this.idEjecucion = idEjecucion;
+        this.archivo = new File(PREFIJO_ARCHIVO + idEjecucion + ".txt");
+        this.etapasCompletadas = new HashMap<>();
+        cargar();
+        descartarLineaIncompleta();
+        this.salida = new FileOutputStream(archivo, true);
+        this.ultimaSincronizacion = System.nanoTime();
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Carga las entradas existentes del archivo de bitácora.
+     *
+     * <p>Las líneas con formato inválido (por ejemplo, una última línea
+     * truncada) se ignoran.</p>
+     *
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private void cargar() throws IOException {
+        try (BufferedReader bR = new BufferedReader(new FileReader(archivo, StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = bR.readLine()) != null) {
+                String[] datos = linea.split(",");
+                if (datos.length != 2) {
+                    continue;
+                }
+                try {
+                    marcar(Integer.parseInt(datos[0]), Etapa.valueOf(datos[1]));
+                } catch (IllegalArgumentException e) {
+                    // Línea truncada o corrupta: se ignora y la etapa se repetirá
+                }
+            }
+        } catch (FileNotFoundException e) {
+            // Ejecución nueva: aún no hay bitácora
+        }
+    }
+
+    /**
+     * Trunca el archivo hasta su último salto de línea.
+     *
+     * <p>Si una caída dejó la última entrada a medio escribir (por ejemplo
+     * {@code "1"} sin {@code '\n'}), la siguiente entrada registrada quedaría
+     * en la misma línea ({@code "13,PDF_GENERADO"}) y se leería como de otro
+     * empleado al reanudar.</p>
+     *
+     * @throws IOException si ocurre un error al leer o truncar el archivo
+     */
+    private void descartarLineaIncompleta() throws IOException {
+        if (!archivo.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(archivo, "rw")) {
+            long fin = raf.length();
+            byte[] bloque = new byte[256];
+            while (fin > 0) {
+                int leer = (int) Math.min(bloque.length, fin);
+                raf.seek(fin - leer);
+                raf.readFully(bloque, 0, leer);
+                for (int i = leer - 1; i >= 0; i--) {
+                    if (bloque[i] == '\n') {
+                        truncar(raf, fin - leer + i + 1);
+                        return;
+                    }
+                }
+                fin -= leer;
+            }
+            truncar(raf, 0);
+        }
+    }
+
+    /**
+     * Trunca el archivo a la longitud indicada si es más largo.
+     *
+     * @param raf archivo abierto para escritura
+     * @param longitud nueva longitud del archivo
+     * @throws IOException si falla el truncado o la sincronización
+     */
+    private static void truncar(RandomAccessFile raf, long longitud) throws IOException {
+        if (raf.length() > longitud) {
+            raf.setLength(longitud);
+            raf.getFD().sync();
+        }
+    }
+
+    /**
+     * Marca una etapa como completada en memoria.
+     *
+     * @param idEmpleado el ID del empleado
+     * @param etapa la etapa completada
+     */
+    private void marcar(int idEmpleado, Etapa etapa) {
+        etapasCompletadas.merge(idEmpleado, 1 << etapa.ordinal(), (a, b) -> a | b);
+    }
+
+    /**
+     * Sincroniza el archivo a disco si se alcanzó el intervalo por cantidad o por tiempo.
+     *
+     * @throws IOException si falla la sincronización
+     */
+    private void sincronizarSiCorresponde() throws IOException {
+        long transcurridoMs = (System.nanoTime() - ultimaSincronizacion) / 1_000_000;
+        if (pendientesSincronizar >= INTERVALO_SINCRONIZACION
+                || transcurridoMs >= INTERVALO_SINCRONIZACION_MS) {
+            sincronizar();
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Obtiene el identificador de la ejecución.
+     *
+     * @return el identificador de la ejecución
+     */
+    public String getIdEjecucion() {
+        return idEjecucion;
+    }
+
+    /**
+     * Indica si un empleado ya completó una etapa en esta ejecución.
+     *
+     * @param idEmpleado el ID del empleado
+     * @param etapa la etapa a consultar
+     * @return true si la etapa ya fue registrada para el empleado
+     */
+    public synchronized boolean estaCompleta(int idEmpleado, Etapa etapa) {
+        Integer mascara = etapasCompletadas.get(idEmpleado);
+        return mascara != null && (mascara & (1 << etapa.ordinal())) != 0;
+    }
+
+    /**
+     * Obtiene la cantidad de empleados que tienen al menos una etapa registrada.
+     *
+     * @return cantidad de empleados con avance en la bitácora
+     */
+    public synchronized int getCantidadEmpleados() {
+        return etapasCompletadas.size();
+    }
+
+    /**
+     * Registra que un empleado completó una etapa.
+     *
+     * <p>La entrada se escribe inmediatamente al final del archivo; la
+     * sincronización a disco se realiza de forma periódica.</p>
+     *
+     * @param idEmpleado el ID del empleado
+     * @param etapa la etapa completada
+     * @throws IOException si ocurre un error al escribir la bitácora
+     */
+    public synchronized void registrar(int idEmpleado, Etapa etapa) throws IOException {
+        if (estaCompleta(idEmpleado, etapa)) {
+            return;
+        }
+        salida.write((idEmpleado + "," + etapa.name() + System.lineSeparator())
+                .getBytes(StandardCharsets.UTF_8));
+        marcar(idEmpleado, etapa);
+        pendientesSincronizar++;
+        sincronizarSiCorresponde();
+    }
+
+    /**
+     * Fuerza la sincronización de la bitácora a disco.
+     *
+     * @throws IOException si falla la sincronización
+     */
+    public synchronized void sincronizar() throws IOException {
+        if (pendientesSincronizar > 0) {
+            salida.getFD().sync();
+            pendientesSincronizar = 0;
+        }
+        ultimaSincronizacion = System.nanoTime();
+    }
+
+    /**
+     * Sincroniza las entradas pendientes y cierra el archivo de bitácora.
+     *
+     * @throws IOException si falla la sincronización o el cierre del archivo
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (salida != null) {
+            try {
+                sincronizar();
+            } finally {
+                salida.close();
+                salida = null;
+            }
+        }
+    }
+}
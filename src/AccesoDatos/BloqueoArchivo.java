@@ -0,0 +1,297 @@
+package AccesoDatos;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// ================================================================================
+// CLASE BloqueoArchivo
+// ================================================================================
+
+/**
+ * Coordinación del acceso a un archivo de datos entre hilos y entre procesos.
+ *
+ * <p>Varias instancias de la aplicación pueden compartir el mismo directorio
+ * de datos. Como las modificaciones reemplazan el archivo completo (con un
+ * nuevo archivo renombrado encima del original), bloquear el propio archivo
+ * de datos no sirve: cada reemplazo crea un archivo distinto. Por eso los
+ * bloqueos del sistema operativo ({@link FileChannel#lock(long, long, boolean)})
+ * se toman sobre un archivo auxiliar {@code <archivo>.lock} que nunca se
+ * reemplaza.</p>
+ *
+ * <p><b>Protocolo:</b> el archivo auxiliar tiene dos regiones de un byte:</p>
+ * <ul>
+ *   <li><b>Región de escritores (byte 0):</b> exclusiva durante toda la
+ *       escritura, incluido el recorrido del archivo original y la
+ *       generación del temporal. Dos escritores (de este u otro proceso)
+ *       nunca se intercalan, por lo que no se pierden cambios</li>
+ *   <li><b>Región de publicación (byte 1):</b> compartida por los lectores
+ *       mientras leen; un escritor la toma en modo exclusivo solo durante la
+ *       publicación (el agregado al final o el renombrado atómico). Los
+ *       lectores no esperan a que un escritor termine su recorrido, solo el
+ *       instante de la publicación</li>
+ * </ul>
+ *
+ * <p>Dentro del proceso, los bloqueos del sistema operativo se complementan
+ * con bloqueos de Java equivalentes, ya que la JVM no permite que dos hilos
+ * tomen regiones superpuestas del mismo archivo. El bloqueo compartido de
+ * publicación se toma una sola vez para todos los lectores del proceso y se
+ * libera cuando termina el último.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see AccesoDatos
+ */
+final class BloqueoArchivo {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Posición del byte que coordina a los escritores. */
+    private static final long REGION_ESCRITORES = 0;
+
+    /** Posición del byte que coordina lectores y publicaciones. */
+    private static final long REGION_PUBLICACION = 1;
+
+    /** Extensión del archivo auxiliar de bloqueo. */
+    private static final String EXTENSION = ".lock";
+
+    /**
+     * Coordinación de cada archivo, indexada por su ruta absoluta normalizada,
+     * de modo que {@code "empleados.txt"} y {@code "./empleados.txt"}
+     * comparten la misma.
+     */
+    private static final Map<String, BloqueoArchivo> ARCHIVOS = new ConcurrentHashMap<>();
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Ruta del archivo auxiliar de bloqueo. */
+    private final Path rutaBloqueo;
+
+    /** Exclusión entre escritores del proceso. */
+    private final ReentrantLock escritores = new ReentrantLock();
+
+    /** Lectores del proceso (compartido) frente a publicaciones (exclusivo). */
+    private final ReentrantReadWriteLock publicacion = new ReentrantReadWriteLock();
+
+    /**
+     * Canal abierto sobre el archivo auxiliar durante toda la vida del proceso.
+     * <p>No se cierra: en algunos sistemas cerrar cualquier canal del archivo
+     * libera todos los bloqueos que el proceso tiene sobre él. Los bloqueos
+     * se toman sin la marca de interrupción del hilo, porque un canal
+     * interrumpido se cierra; si aun así se cierra, se vuelve a abrir.</p>
+     */
+    private FileChannel canal;
+
+    /** Bloqueo compartido de publicación que comparten los lectores del proceso. */
+    private FileLock bloqueoLectores;
+
+    /** Cantidad de lectores del proceso que están leyendo. */
+    private int lectores;
+
+    /** Bloqueo exclusivo de escritores del sistema operativo. */
+    private FileLock bloqueoEscritor;
+
+    /** Bloqueo exclusivo de publicación del sistema operativo. */
+    private FileLock bloqueoPublicacion;
+
+    /** Monitor para abrir el canal una sola vez. */
+    private final Object aperturaCanal = new Object();
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    private BloqueoArchivo(Path rutaBloqueo) {
+        this.rutaBloqueo = rutaBloqueo;
+    }
+
+    /**
+     * Obtiene la coordinación de un archivo, creándola la primera vez.
+     *
+     * @param archivo nombre o ruta del archivo de datos
+     * @return la coordinación compartida del archivo
+     */
+    static BloqueoArchivo de(String archivo) {
+        Path ruta = new File(archivo).getAbsoluteFile().toPath().normalize();
+        return ARCHIVOS.computeIfAbsent(ruta.toString(),
+            k -> new BloqueoArchivo(ruta.resolveSibling(ruta.getFileName() + EXTENSION)));
+    }
+
+    // ================================================================================
+    // LECTURA
+    // ================================================================================
+
+    /**
+     * Comienza una lectura: espera a que no haya una publicación en curso en
+     * este ni en otro proceso. No espera a los escritores que aún están
+     * generando su archivo temporal.
+     *
+     * @throws IOException si no se puede abrir o bloquear el archivo auxiliar
+     */
+    void iniciarLectura() throws IOException {
+        publicacion.readLock().lock();
+        try {
+            synchronized (this) {
+                if (lectores == 0) {
+                    bloqueoLectores = bloquear(REGION_PUBLICACION, true);
+                }
+                lectores++;
+            }
+        } catch (IOException | RuntimeException e) {
+            publicacion.readLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Termina una lectura iniciada con {@link #iniciarLectura()}.
+     */
+    void terminarLectura() {
+        try {
+            synchronized (this) {
+                if (--lectores == 0) {
+                    liberar(bloqueoLectores);
+                    bloqueoLectores = null;
+                }
+            }
+        } finally {
+            publicacion.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // ESCRITURA
+    // ================================================================================
+
+    /**
+     * Comienza una escritura: obtiene la exclusión frente a los demás
+     * escritores de este y de otros procesos.
+     *
+     * @throws IOException si no se puede abrir o bloquear el archivo auxiliar
+     */
+    void iniciarEscritura() throws IOException {
+        escritores.lock();
+        try {
+            bloqueoEscritor = bloquear(REGION_ESCRITORES, false);
+        } catch (IOException | RuntimeException e) {
+            escritores.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Termina una escritura iniciada con {@link #iniciarEscritura()}.
+     */
+    void terminarEscritura() {
+        try {
+            liberar(bloqueoEscritor);
+            bloqueoEscritor = null;
+        } finally {
+            escritores.unlock();
+        }
+    }
+
+    /**
+     * Comienza la publicación de una escritura: espera a que terminen los
+     * lectores de este y de otros procesos y les impide comenzar hasta
+     * {@link #terminarPublicacion()}. Solo puede invocarse entre
+     * {@link #iniciarEscritura()} y {@link #terminarEscritura()}.
+     *
+     * @throws IOException si no se puede bloquear el archivo auxiliar
+     */
+    void iniciarPublicacion() throws IOException {
+        publicacion.writeLock().lock();
+        try {
+            bloqueoPublicacion = bloquear(REGION_PUBLICACION, false);
+        } catch (IOException | RuntimeException e) {
+            publicacion.writeLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Termina una publicación iniciada con {@link #iniciarPublicacion()}.
+     */
+    void terminarPublicacion() {
+        try {
+            liberar(bloqueoPublicacion);
+            bloqueoPublicacion = null;
+        } finally {
+            publicacion.writeLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Toma un bloqueo del sistema operativo sobre una región del archivo
+     * auxiliar.
+     *
+     * <p>{@link FileChannel#lock(long, long, boolean)} en un hilo interrumpido
+     * (por ejemplo, una tarea cancelada con {@code cancel(true)}) cierra el
+     * canal, que dejaría el archivo inaccesible para todo el proceso. Por eso
+     * la marca de interrupción se quita mientras se espera el bloqueo y se
+     * restaura después, para que el hilo la atienda en su siguiente espera.</p>
+     *
+     * @param region la región a bloquear
+     * @param compartido true para un bloqueo compartido
+     * @return el bloqueo obtenido
+     * @throws IOException si no se puede abrir o bloquear el archivo auxiliar
+     */
+    private FileLock bloquear(long region, boolean compartido) throws IOException {
+        boolean interrumpido = Thread.interrupted();
+        try {
+            return canal().lock(region, 1, compartido);
+        } finally {
+            if (interrumpido) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Obtiene el canal del archivo auxiliar, abriéndolo (y creándolo) la
+     * primera vez o si se cerró por una interrupción.
+     *
+     * @return el canal del archivo auxiliar
+     * @throws IOException si no se puede abrir el archivo auxiliar
+     */
+    private FileChannel canal() throws IOException {
+        synchronized (aperturaCanal) {
+            if (canal == null || !canal.isOpen()) {
+                canal = FileChannel.open(rutaBloqueo, StandardOpenOption.CREATE,
+                                         StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            return canal;
+        }
+    }
+
+    /**
+     * Libera un bloqueo del sistema operativo, registrando el error si falla.
+     *
+     * @param bloqueo el bloqueo a liberar, o null
+     */
+    private static void liberar(FileLock bloqueo) {
+        if (bloqueo == null || !bloqueo.isValid()) {
+            return; // Ya liberado al cerrarse el canal
+        }
+        try {
+            bloqueo.release();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
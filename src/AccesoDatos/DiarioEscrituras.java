@@ -0,0 +1,981 @@
+package AccesoDatos;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import Utilidades.Metricas;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// ================================================================================
+// CLASE DiarioEscrituras
+// ================================================================================
+
+/**
+ * Diario de escrituras anticipadas (<i>write-ahead log</i>) de los archivos
+ * de datos.
+ *
+ * <p>Las altas, modificaciones y eliminaciones de {@link AccesoDatos} no
+ * escriben directamente en {@code empleados.txt}, {@code usuarios.txt} o
+ * {@code nominas.txt}: primero se agregan a un diario ({@code diario.wal}
+ * en el directorio de trabajo) y luego un hilo aplicador las lleva a los
+ * archivos de datos de forma asíncrona.</p>
+ *
+ * <p><b>Ventajas:</b></p>
+ * <ul>
+ *   <li><b>Confirmación en grupo:</b> las escrituras concurrentes comparten
+ *       una sola sincronización a disco del diario, en lugar de abrir,
+ *       escribir y sincronizar el archivo de datos cada una</li>
+ *   <li><b>Aplicación por lotes:</b> el aplicador toma todas las operaciones
+ *       pendientes y las aplica con un solo agregado o una sola reescritura
+ *       por archivo</li>
+ *   <li><b>Recuperación:</b> al iniciar, las operaciones de un diario que no
+ *       llegaron a aplicarse (por un cierre inesperado) se vuelven a aplicar.
+ *       Después de cada lote el aplicador deja en el diario un punto de
+ *       control con la última secuencia aplicada (o vacía el diario si no
+ *       queda nada pendiente), de modo que solo se reaplican las operaciones
+ *       posteriores y no se pisan los cambios hechos después por otro
+ *       proceso. La reaplicación es idempotente: un alta cuyo ID ya existe
+ *       reemplaza el registro en lugar de duplicarlo</li>
+ * </ul>
+ *
+ * <p><b>Lecturas:</b> {@link AccesoDatos#recorrer(String, java.util.function.Consumer)}
+ * invoca {@link #esperarAplicacion(String)} antes de leer, de modo que quien
+ * escribe y luego lee siempre ve su propio cambio. Solo se espera por las
+ * operaciones del archivo leído: una reescritura pendiente de otro archivo
+ * no lo demora. Quien mantiene su propia copia de los datos (como la caché
+ * de la capa de lógica) puede no esperar: {@link #ultimaRegistrada()},
+ * {@link #ultimaSecuencia(String)} y {@link #aplicada(long)} le indican
+ * cuándo el archivo ya refleja su escritura.</p>
+ *
+ * <p><b>Errores de aplicación:</b> la escritura ya se confirmó al quedar en
+ * el diario, así que un error posterior no puede devolverse a quien la hizo:</p>
+ * <ul>
+ *   <li>Si falla la escritura del archivo de datos, las operaciones de ese
+ *       archivo se reintentan periódicamente (y en el próximo inicio, si la
+ *       aplicación termina antes). Mientras tanto, toda lectura de ese
+ *       archivo recibe el error, porque el archivo no refleja escrituras ya
+ *       confirmadas</li>
+ *   <li>Una operación que no puede aplicarse por su contenido se rechaza: se
+ *       registra en {@code diario-rechazadas.txt}, se informa en la salida
+ *       de errores y se cuenta en {@code diario.operacionesRechazadas} de
+ *       {@link Metricas}. Las demás operaciones del lote se aplican</li>
+ * </ul>
+ * <p>Ningún error de la recuperación impide iniciar: un diario que no puede
+ * leerse se conserva para el próximo inicio.</p>
+ *
+ * <p><b>Varios procesos:</b> cada proceso bloquea su propio diario
+ * ({@code diario.wal}, {@code diario-1.wal}, ...). Al iniciar, se recuperan
+ * y eliminan los diarios que no están bloqueados por ningún proceso vivo.</p>
+ *
+ * <p><b>Formato del diario:</b> una línea por operación, en UTF-8:</p>
+ * <pre>
+ * crc32 \t secuencia \t tipo \t archivo \t id \t registro
+ * </pre>
+ * <p>Los puntos de control usan el tipo {@code APLICADO}, con la secuencia
+ * aplicada y, como registro, las secuencias anteriores que siguen pendientes
+ * de reintento. La recuperación se detiene en la primera línea incompleta o
+ * con CRC inválido (una escritura interrumpida).</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see AccesoDatos
+ */
+public final class DiarioEscrituras {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Garantía de durabilidad de las escrituras.
+     */
+    public enum Durabilidad {
+        /**
+         * El diario nunca se sincroniza explícitamente a disco; el sistema
+         * operativo decide cuándo escribirlo. Es el modo más rápido: un corte
+         * de energía puede perder las últimas escrituras confirmadas.
+         */
+        NINGUNA,
+        /**
+         * La escritura retorna apenas se agrega al diario; el aplicador
+         * sincroniza el diario una vez por lote antes de aplicarlo. Un corte
+         * de energía puede perder solo el último lote.
+         */
+        LOTE,
+        /**
+         * La escritura no retorna hasta que el diario está sincronizado a
+         * disco. Las escrituras concurrentes comparten la misma
+         * sincronización (confirmación en grupo).
+         */
+        SIEMPRE
+    }
+
+    /**
+     * Tipo de operación registrada en el diario.
+     */
+    enum Tipo {
+        /** Alta de un registro (al reaplicarse reemplaza el ID existente). */
+        INSERTAR,
+        /** Reemplazo del registro con el ID indicado. */
+        MODIFICAR,
+        /** Eliminación del registro con el ID indicado. */
+        ELIMINAR,
+        /** Punto de control del aplicador (no afecta ningún archivo). */
+        APLICADO
+    }
+
+    /**
+     * Operación registrada en el diario.
+     */
+    private static final class Operacion {
+        final long secuencia;
+        final Tipo tipo;
+        final String archivo;
+        final int id;
+        final String registro;
+        /** true si pudo quedar aplicada en parte (se aplica reescribiendo el archivo). */
+        boolean reaplicar;
+
+        Operacion(long secuencia, Tipo tipo, String archivo, int id, String registro) {
+            this.secuencia = secuencia;
+            this.tipo = tipo;
+            this.archivo = archivo;
+            this.id = id;
+            this.registro = registro;
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Prefijo del nombre de los diarios. */
+    private static final String PREFIJO = "diario";
+
+    /** Extensión de los diarios. */
+    private static final String EXTENSION = ".wal";
+
+    /** Archivo donde se registran las operaciones rechazadas. */
+    private static final String ARCHIVO_RECHAZADAS = PREFIJO + "-rechazadas.txt";
+
+    /** Tiempo máximo que se espera al cerrar la aplicación para aplicar lo pendiente. */
+    private static final long ESPERA_CIERRE_MS = 5000;
+
+    /** Espera entre reintentos de las operaciones que no pudieron aplicarse. */
+    private static final long ESPERA_REINTENTO_MS = 1000;
+
+    /** Operaciones rechazadas por no poder aplicarse. */
+    private static final Metricas.Contador RECHAZADAS = Metricas.contador("diario.operacionesRechazadas");
+
+    // ================================================================================
+    // ESTADO
+    // ================================================================================
+
+    /** Modo de durabilidad vigente. */
+    private static volatile Durabilidad durabilidad = Durabilidad.SIEMPRE;
+
+    /** Monitor de las escrituras al diario. */
+    private static final Object ESCRITURA = new Object();
+
+    /** Monitor de la sincronización a disco del diario. */
+    private static final Object SINCRONIZACION = new Object();
+
+    /** Monitor del avance del aplicador. */
+    private static final Object APLICACION = new Object();
+
+    /** Operaciones escritas en el diario pendientes de aplicar, en orden. */
+    private static final BlockingQueue<Operacion> PENDIENTES = new LinkedBlockingQueue<>();
+
+    /** Canal del diario de este proceso (null hasta iniciar). */
+    private static volatile FileChannel canal;
+
+    /** Bloqueo que marca el diario como perteneciente a este proceso. */
+    private static FileLock bloqueo;
+
+    /** Secuencia de la última operación escrita en el diario. */
+    private static volatile long escritas;
+
+    /** Secuencia de la última operación sincronizada a disco. */
+    private static long sincronizadas;
+
+    /** Indica si un hilo está sincronizando el diario. */
+    private static boolean sincronizando;
+
+    /** Secuencia de la última operación aplicada a los archivos de datos. */
+    private static volatile long aplicadas;
+
+    /** Secuencia de la última operación registrada para cada archivo. */
+    private static final Map<String, Long> ULTIMAS = new ConcurrentHashMap<>();
+
+    /** Secuencia de la última operación registrada por cada hilo. */
+    private static final ThreadLocal<long[]> REGISTRADA_POR_HILO = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Último error de cada archivo con operaciones pendientes de reintento. */
+    private static final Map<String, IOException> ERRORES = new HashMap<>();
+
+    /** Secuencia del último punto de control escrito (-1 si el diario está vacío). */
+    private static long ultimoPunto = -1;
+
+    /** Operaciones pendientes de reintento en el último punto de control. */
+    private static int ultimosReintentos;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    private DiarioEscrituras() {
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Obtiene el modo de durabilidad vigente.
+     *
+     * @return el modo de durabilidad
+     */
+    public static Durabilidad getDurabilidad() {
+        return durabilidad;
+    }
+
+    /**
+     * Cambia el modo de durabilidad de las escrituras siguientes.
+     *
+     * @param durabilidad el nuevo modo (el predeterminado es {@link Durabilidad#SIEMPRE})
+     */
+    public static void setDurabilidad(Durabilidad durabilidad) {
+        DiarioEscrituras.durabilidad = durabilidad;
+    }
+
+    /**
+     * Espera a que las operaciones ya registradas para un archivo estén
+     * aplicadas en él.
+     *
+     * <p>La primera invocación abre el diario y recupera las operaciones que
+     * quedaron sin aplicar en una ejecución anterior.</p>
+     *
+     * @param archivo el archivo que se va a leer
+     * @throws IOException si no se puede abrir el diario, o si el archivo
+     *         tiene operaciones confirmadas que aún no pudieron aplicarse
+     *         (se informa en cada lectura hasta que se apliquen)
+     */
+    public static void esperarAplicacion(String archivo) throws IOException {
+        iniciar();
+        String ruta = ruta(archivo);
+        long objetivo = ULTIMAS.getOrDefault(ruta, 0L);
+        synchronized (APLICACION) {
+            try {
+                while (aplicadas < objetivo) {
+                    APLICACION.wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Espera del diario interrumpida");
+            }
+            IOException error = ERRORES.get(ruta);
+            if (error != null) {
+                throw new IOException("Hay escrituras confirmadas sin aplicar en " + archivo, error);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la secuencia de la última operación que registró el hilo
+     * actual, en cualquier archivo.
+     *
+     * @return la secuencia, o 0 si el hilo no registró ninguna
+     */
+    public static long ultimaRegistrada() {
+        return REGISTRADA_POR_HILO.get()[0];
+    }
+
+    /**
+     * Obtiene la secuencia de la última operación registrada para un
+     * archivo por este proceso.
+     *
+     * @param archivo nombre o ruta del archivo
+     * @return la secuencia, o 0 si no se registró ninguna
+     */
+    public static long ultimaSecuencia(String archivo) {
+        return ULTIMAS.getOrDefault(ruta(archivo), 0L);
+    }
+
+    /**
+     * Indica si una operación ya pasó por el aplicador, sin esperar.
+     *
+     * <p>Si su archivo no pudo escribirse, {@link #esperarAplicacion(String)}
+     * informa el error.</p>
+     *
+     * @param secuencia la secuencia de la operación
+     * @return true si el aplicador ya la procesó
+     */
+    public static boolean aplicada(long secuencia) {
+        return aplicadas >= secuencia;
+    }
+
+    // ================================================================================
+    // MÉTODOS DE PAQUETE
+    // ================================================================================
+
+    /**
+     * Registra una operación en el diario según el modo de durabilidad y la
+     * deja pendiente de aplicar.
+     *
+     * @param tipo el tipo de operación
+     * @param archivo el archivo de datos afectado
+     * @param id el ID del registro
+     * @param registro el contenido del registro (null al eliminar)
+     * @throws IOException si no se puede escribir o sincronizar el diario
+     */
+    static void registrar(Tipo tipo, String archivo, int id, String registro) throws IOException {
+        iniciar();
+        long secuencia;
+        synchronized (ESCRITURA) {
+            secuencia = escritas + 1;
+            Operacion operacion = new Operacion(secuencia, tipo, ruta(archivo), id, registro);
+            escribirLinea(canal, operacion);
+            escritas = secuencia;
+            ULTIMAS.put(operacion.archivo, secuencia);
+            PENDIENTES.add(operacion);
+        }
+        REGISTRADA_POR_HILO.get()[0] = secuencia;
+        if (durabilidad == Durabilidad.SIEMPRE) {
+            sincronizar(secuencia);
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS - INICIO Y RECUPERACIÓN
+    // ================================================================================
+
+    /**
+     * Abre el diario de este proceso la primera vez, recupera los diarios
+     * pendientes e inicia el hilo aplicador.
+     *
+     * @throws IOException si no se puede abrir o recuperar el diario
+     */
+    private static void iniciar() throws IOException {
+        if (canal == null) {
+            abrir();
+        }
+    }
+
+    /**
+     * Abre el diario de este proceso (si otro hilo no lo abrió antes),
+     * recupera los diarios pendientes e inicia el hilo aplicador.
+     *
+     * <p>Las operaciones recuperadas que no pueden aplicarse por un error de
+     * escritura pasan al diario propio y quedan pendientes del aplicador,
+     * como cualquier otra operación.</p>
+     *
+     * @throws IOException si no se puede abrir o escribir el diario propio
+     */
+    private static synchronized void abrir() throws IOException {
+        if (canal != null) {
+            return;
+        }
+        Path directorio = Paths.get("").toAbsolutePath();
+        List<Path> diarios = new ArrayList<>();
+        try (DirectoryStream<Path> lista = Files.newDirectoryStream(directorio, PREFIJO + "*" + EXTENSION)) {
+            lista.forEach(diarios::add);
+        }
+        FileChannel propio = null;
+        FileLock bloqueoPropio = null;
+        for (int i = 0; propio == null; i++) {
+            Path ruta = directorio.resolve(i == 0 ? PREFIJO + EXTENSION : PREFIJO + "-" + i + EXTENSION);
+            FileChannel candidato = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                                                     StandardOpenOption.READ, StandardOpenOption.WRITE);
+            FileLock obtenido = intentarBloquear(candidato);
+            diarios.remove(ruta);
+            if (obtenido == null) {
+                candidato.close(); // Diario de otro proceso vivo
+                continue;
+            }
+            List<Operacion> fallidas = recuperar(candidato);
+            if (fallidas == null) {
+                candidato.close(); // Ilegible: se conserva para el próximo inicio
+                continue;
+            }
+            candidato.truncate(0);
+            candidato.position(0);
+            reencolar(candidato, fallidas);
+            propio = candidato;
+            bloqueoPropio = obtenido;
+        }
+        for (Path huerfano : diarios) {
+            try (FileChannel otro = FileChannel.open(huerfano, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock obtenido = intentarBloquear(otro);
+                if (obtenido == null) {
+                    continue;
+                }
+                List<Operacion> fallidas = recuperar(otro);
+                if (fallidas == null) {
+                    continue; // Ilegible: se conserva para el próximo inicio
+                }
+                reencolar(propio, fallidas); // Antes de eliminar el huérfano
+                obtenido.release();
+            }
+            Files.deleteIfExists(huerfano);
+        }
+        bloqueo = bloqueoPropio;
+        canal = propio;
+
+        Thread aplicador = new Thread(DiarioEscrituras::aplicarPendientes, "aplicador-diario");
+        aplicador.setDaemon(true);
+        aplicador.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(DiarioEscrituras::cerrar, "cierre-diario"));
+    }
+
+    /**
+     * Intenta bloquear un diario en modo exclusivo sin esperar.
+     *
+     * @param diario el canal del diario
+     * @return el bloqueo obtenido, o null si otro proceso lo tiene bloqueado
+     * @throws IOException si ocurre un error al bloquear
+     */
+    private static FileLock intentarBloquear(FileChannel diario) throws IOException {
+        try {
+            return diario.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Vuelve a aplicar las operaciones de un diario posteriores a su último
+     * punto de control, y las que el punto de control indica como pendientes.
+     *
+     * <p>Nunca lanza excepciones: los errores se informan en la salida de
+     * errores y las operaciones inválidas se rechazan.</p>
+     *
+     * @param diario el canal del diario a recuperar
+     * @return las operaciones que no pudieron aplicarse por un error de
+     *         escritura, en orden; null si no se pudo leer el diario
+     */
+    private static List<Operacion> recuperar(FileChannel diario) {
+        List<Operacion> operaciones = new ArrayList<>();
+        long punto = 0;
+        Set<Long> sinAplicar = new HashSet<>();
+        try {
+            if (diario.size() == 0) {
+                return operaciones;
+            }
+            ByteBuffer contenido = ByteBuffer.allocate((int) diario.size());
+            while (contenido.hasRemaining() && diario.read(contenido, contenido.position()) > 0) {
+                // Leer hasta llenar el búfer
+            }
+            String texto = new String(contenido.array(), 0, contenido.position(), StandardCharsets.UTF_8);
+            int inicio = 0;
+            int fin;
+            while ((fin = texto.indexOf('\n', inicio)) >= 0) {
+                Operacion operacion = deserializar(texto.substring(inicio, fin));
+                if (operacion == null) {
+                    break; // Escritura interrumpida: lo siguiente no es confiable
+                }
+                if (operacion.tipo == Tipo.APLICADO) {
+                    punto = operacion.secuencia;
+                    sinAplicar.clear();
+                    for (String secuencia : operacion.registro.split(",")) {
+                        if (!secuencia.isEmpty()) {
+                            sinAplicar.add(Long.parseLong(secuencia));
+                        }
+                    }
+                } else {
+                    operacion.reaplicar = true; // Pudo quedar aplicada antes del cierre
+                    operaciones.add(operacion);
+                }
+                inicio = fin + 1;
+            }
+        } catch (IOException | RuntimeException e) {
+            new IOException("No se pudo leer el diario para recuperarlo", e).printStackTrace();
+            return null;
+        }
+        final long aplicado = punto;
+        operaciones.removeIf(o -> o.secuencia <= aplicado && !sinAplicar.contains(o.secuencia));
+        return aplicarLote(operaciones, new HashMap<>());
+    }
+
+    /**
+     * Registra en el diario propio operaciones recuperadas que siguen
+     * pendientes y las deja para el aplicador.
+     *
+     * @param diario el diario propio
+     * @param operaciones las operaciones, en orden
+     * @throws IOException si no se puede escribir el diario
+     */
+    private static void reencolar(FileChannel diario, List<Operacion> operaciones) throws IOException {
+        for (Operacion o : operaciones) {
+            Operacion copia = new Operacion(escritas + 1, o.tipo, o.archivo, o.id, o.registro);
+            copia.reaplicar = true;
+            escribirLinea(diario, copia);
+            escritas = copia.secuencia;
+            ULTIMAS.put(copia.archivo, copia.secuencia);
+            PENDIENTES.add(copia);
+        }
+        diario.force(true);
+        sincronizadas = escritas;
+    }
+
+    /**
+     * Aplica lo pendiente antes de que termine la aplicación, con un tiempo
+     * máximo. Lo que no alcance a aplicarse se recupera en el próximo inicio.
+     */
+    private static void cerrar() {
+        long limite = System.currentTimeMillis() + ESPERA_CIERRE_MS;
+        long objetivo = escritas;
+        synchronized (APLICACION) {
+            long restante;
+            while (aplicadas < objetivo && (restante = limite - System.currentTimeMillis()) > 0) {
+                try {
+                    APLICACION.wait(restante);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS - CONFIRMACIÓN Y APLICACIÓN
+    // ================================================================================
+
+    /**
+     * Espera a que el diario esté sincronizado a disco al menos hasta la
+     * secuencia indicada.
+     *
+     * <p>Confirmación en grupo: si otro hilo ya está sincronizando, se espera
+     * a que termine; el primer hilo que encuentra el diario sin sincronizar
+     * lo sincroniza una vez para todas las operaciones escritas hasta ese
+     * momento, incluidas las de los hilos que esperan.</p>
+     *
+     * @param secuencia la secuencia que debe quedar en disco
+     * @throws IOException si falla la sincronización
+     */
+    private static void sincronizar(long secuencia) throws IOException {
+        while (true) {
+            synchronized (SINCRONIZACION) {
+                try {
+                    while (sincronizando && sincronizadas < secuencia) {
+                        SINCRONIZACION.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Sincronización del diario interrumpida");
+                }
+                if (sincronizadas >= secuencia) {
+                    return;
+                }
+                sincronizando = true;
+            }
+            long objetivo = escritas; // Todo lo escrito hasta aquí queda cubierto
+            boolean exito = false;
+            try {
+                canal.force(false);
+                exito = true;
+            } finally {
+                synchronized (SINCRONIZACION) {
+                    if (exito && objetivo > sincronizadas) {
+                        sincronizadas = objetivo;
+                    }
+                    sincronizando = false;
+                    SINCRONIZACION.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Ciclo del hilo aplicador: toma todas las operaciones pendientes, las
+     * aplica en lote y registra el avance en el diario.
+     *
+     * <p>Las operaciones que no pudieron aplicarse por un error de escritura
+     * se reintentan al comienzo de cada lote siguiente (o cada
+     * {@link #ESPERA_REINTENTO_MS} si no llegan nuevas), antes que las nuevas
+     * para conservar el orden de cada archivo.</p>
+     */
+    private static void aplicarPendientes() {
+        List<Operacion> lote = new ArrayList<>();
+        List<Operacion> reintentos = new ArrayList<>();
+        while (true) {
+            try {
+                Operacion siguiente = reintentos.isEmpty()
+                                      ? PENDIENTES.take()
+                                      : PENDIENTES.poll(ESPERA_REINTENTO_MS, TimeUnit.MILLISECONDS);
+                lote.addAll(reintentos);
+                if (siguiente != null) {
+                    lote.add(siguiente);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            reintentos.clear();
+            PENDIENTES.drainTo(lote);
+            long ultima = lote.get(lote.size() - 1).secuencia;
+            Map<String, IOException> errores = new HashMap<>();
+            try {
+                if (durabilidad == Durabilidad.LOTE) {
+                    sincronizar(ultima);
+                }
+                reintentos.addAll(aplicarLote(lote, errores));
+            } catch (IOException e) {
+                e.printStackTrace();
+                for (Operacion operacion : lote) {
+                    errores.put(operacion.archivo, e);
+                }
+                reintentos.addAll(lote);
+            }
+            synchronized (APLICACION) {
+                ERRORES.clear(); // Todo reintento pendiente formó parte de este lote
+                ERRORES.putAll(errores);
+                aplicadas = Math.max(aplicadas, ultima);
+                APLICACION.notifyAll();
+            }
+            lote.clear();
+            registrarAvance(reintentos);
+        }
+    }
+
+    /**
+     * Registra en el diario lo que ya está aplicado: lo vacía si no queda
+     * nada pendiente, o agrega un punto de control en otro caso.
+     *
+     * <p>Los archivos de datos ya están en disco en ese momento (los agregados
+     * y las reescrituras de {@link AccesoDatos} se sincronizan), por lo que
+     * el diario ya no se necesita para recuperarlos. El punto de control se
+     * omite si no cambió desde el anterior.</p>
+     *
+     * @param reintentos las operaciones pendientes de reintento
+     */
+    private static void registrarAvance(List<Operacion> reintentos) {
+        synchronized (ESCRITURA) {
+            long hasta;
+            synchronized (APLICACION) {
+                hasta = aplicadas;
+            }
+            try {
+                if (reintentos.isEmpty() && hasta == escritas) {
+                    canal.truncate(0);
+                    canal.position(0);
+                    ultimoPunto = -1;
+                    return;
+                }
+                if (hasta == ultimoPunto && reintentos.size() == ultimosReintentos) {
+                    return; // Sin operaciones nuevas ni reintentos resueltos
+                }
+                StringBuilder pendientes = new StringBuilder();
+                for (Operacion operacion : reintentos) {
+                    if (pendientes.length() > 0) {
+                        pendientes.append(',');
+                    }
+                    pendientes.append(operacion.secuencia);
+                }
+                escribirLinea(canal, new Operacion(hasta, Tipo.APLICADO, "", 0, pendientes.toString()));
+                if (durabilidad != Durabilidad.NINGUNA) {
+                    canal.force(false);
+                }
+                ultimoPunto = hasta;
+                ultimosReintentos = reintentos.size();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Aplica un lote de operaciones a los archivos de datos, agrupadas por
+     * archivo y en orden.
+     *
+     * <p>Si todas las operaciones de un archivo son altas, se agregan al final
+     * con una sola escritura. En otro caso (o si alguna pudo quedar aplicada,
+     * como en la recuperación) el archivo se reescribe una sola vez con todos
+     * los cambios.</p>
+     *
+     * <p>Un archivo que no puede escribirse no impide aplicar los demás. Si
+     * el lote de un archivo falla por otra causa, sus operaciones se aplican
+     * una por una para rechazar solo las inválidas.</p>
+     *
+     * @param lote las operaciones a aplicar
+     * @param errores recibe el error de cada archivo que no pudo escribirse
+     * @return las operaciones que no pudieron aplicarse por un error de
+     *         escritura, en orden, marcadas para reaplicarse
+     */
+    private static List<Operacion> aplicarLote(List<Operacion> lote, Map<String, IOException> errores) {
+        Map<String, List<Operacion>> porArchivo = new LinkedHashMap<>();
+        for (Operacion operacion : lote) {
+            porArchivo.computeIfAbsent(operacion.archivo, a -> new ArrayList<>()).add(operacion);
+        }
+        List<Operacion> fallidas = new ArrayList<>();
+        for (Map.Entry<String, List<Operacion>> entrada : porArchivo.entrySet()) {
+            List<Operacion> operaciones = entrada.getValue();
+            try {
+                aplicarArchivo(entrada.getKey(), operaciones);
+            } catch (IOException e) {
+                fallar(operaciones, e, errores, fallidas);
+            } catch (RuntimeException e) {
+                aplicarUnaPorUna(operaciones, errores, fallidas);
+            }
+        }
+        return fallidas;
+    }
+
+    /**
+     * Aplica las operaciones de un archivo una por una, rechazando las que
+     * no pueden aplicarse por su contenido.
+     *
+     * @param operaciones operaciones del archivo, en orden
+     * @param errores recibe el error si el archivo no puede escribirse
+     * @param fallidas recibe las operaciones que quedan sin aplicar
+     */
+    private static void aplicarUnaPorUna(List<Operacion> operaciones, Map<String, IOException> errores,
+                                         List<Operacion> fallidas) {
+        for (int i = 0; i < operaciones.size(); i++) {
+            Operacion operacion = operaciones.get(i);
+            try {
+                aplicarArchivo(operacion.archivo, operaciones.subList(i, i + 1));
+            } catch (IOException e) {
+                fallar(operaciones.subList(i, operaciones.size()), e, errores, fallidas);
+                return; // Las siguientes dependen de esta
+            } catch (RuntimeException e) {
+                rechazar(operacion, e);
+            }
+        }
+    }
+
+    /**
+     * Deja operaciones pendientes de reintento tras un error de escritura.
+     *
+     * @param operaciones las operaciones no aplicadas
+     * @param error el error de escritura
+     * @param errores recibe el error del archivo
+     * @param fallidas recibe las operaciones
+     */
+    private static void fallar(List<Operacion> operaciones, IOException error,
+                               Map<String, IOException> errores, List<Operacion> fallidas) {
+        error.printStackTrace();
+        for (Operacion operacion : operaciones) {
+            operacion.reaplicar = true; // Un agregado pudo quedar escrito en parte
+            fallidas.add(operacion);
+        }
+        errores.put(operaciones.get(0).archivo, error);
+    }
+
+    /**
+     * Descarta una operación que no puede aplicarse: la registra en
+     * {@link #ARCHIVO_RECHAZADAS} con el formato del diario y la informa.
+     *
+     * @param operacion la operación
+     * @param causa el error al aplicarla
+     */
+    private static void rechazar(Operacion operacion, RuntimeException causa) {
+        RECHAZADAS.incrementar();
+        new IOException("Operación del diario rechazada (" + operacion.tipo + " ID " + operacion.id
+                        + " en " + operacion.archivo + "), registrada en " + ARCHIVO_RECHAZADAS,
+                        causa).printStackTrace();
+        try {
+            Files.write(Paths.get(ARCHIVO_RECHAZADAS), serializar(operacion).getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Aplica las operaciones de un mismo archivo.
+     *
+     * @param archivo ruta del archivo de datos
+     * @param operaciones operaciones del archivo, en orden
+     * @throws IOException si falla la escritura del archivo
+     */
+    private static void aplicarArchivo(String archivo, List<Operacion> operaciones) throws IOException {
+        if (operaciones.stream().allMatch(o -> o.tipo == Tipo.INSERTAR && !o.reaplicar)) {
+            List<String> registros = new ArrayList<>(operaciones.size());
+            operaciones.forEach(o -> registros.add(o.registro));
+            AccesoDatos.agregarDirecto(archivo, registros);
+            return;
+        }
+        // Estado final de cada ID: existentes (null = eliminar) y altas nuevas en orden
+        Map<Integer, String> existentes = new LinkedHashMap<>();
+        Map<Integer, String> altas = new LinkedHashMap<>();
+        for (Operacion o : operaciones) {
+            switch (o.tipo) {
+                case INSERTAR:
+                    altas.put(o.id, o.registro);
+                    break;
+                case MODIFICAR:
+                    if (altas.containsKey(o.id)) {
+                        altas.put(o.id, o.registro);
+                    } else if (!existentes.containsKey(o.id) || existentes.get(o.id) != null) {
+                        existentes.put(o.id, o.registro); // Modificar un eliminado no tiene efecto
+                    }
+                    break;
+                default:
+                    if (altas.remove(o.id) == null) {
+                        existentes.put(o.id, null);
+                    }
+                    break;
+            }
+        }
+        AccesoDatos.reescribir(archivo, (bR, bW) -> aplicarCambios(bR, bW, existentes, altas));
+    }
+
+    /**
+     * Copia un archivo aplicando los cambios de un lote.
+     *
+     * <p>Las líneas que no empiezan con un ID (vacías o escritas a mano) se
+     * copian sin cambios.</p>
+     *
+     * @param bR lector del contenido actual
+     * @param bW escritor del nuevo contenido
+     * @param existentes cambios sobre IDs existentes (null = eliminar)
+     * @param altas registros nuevos; si el ID ya existe (recuperación) lo reemplazan
+     * @throws IOException si ocurre un error de lectura o escritura
+     */
+    private static void aplicarCambios(BufferedReader bR, BufferedWriter bW,
+                                       Map<Integer, String> existentes,
+                                       Map<Integer, String> altas) throws IOException {
+        Map<Integer, String> pendientes = new LinkedHashMap<>(altas);
+        String linea;
+        while ((linea = bR.readLine()) != null) {
+            String reemplazo;
+            Integer id = idDe(linea);
+            if (id == null) {
+                reemplazo = linea;
+            } else if (pendientes.containsKey(id)) {
+                reemplazo = pendientes.remove(id); // Alta ya aplicada antes de un cierre inesperado
+            } else {
+                reemplazo = existentes.getOrDefault(id, linea);
+            }
+            if (reemplazo != null) {
+                bW.append(reemplazo);
+                bW.newLine();
+            }
+        }
+        for (String registro : pendientes.values()) {
+            bW.append(registro);
+            bW.newLine();
+        }
+    }
+
+    /**
+     * Obtiene el ID de una línea de un archivo de datos.
+     *
+     * @param linea la línea
+     * @return el ID (primer campo), o null si no es un número
+     */
+    private static Integer idDe(String linea) {
+        int fin = linea.indexOf(',');
+        try {
+            return Integer.valueOf(fin < 0 ? linea : linea.substring(0, fin));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS - FORMATO
+    // ================================================================================
+
+    /**
+     * Normaliza la ruta de un archivo de datos, como se guarda en el diario.
+     *
+     * @param archivo nombre o ruta del archivo
+     * @return la ruta absoluta normalizada
+     */
+    private static String ruta(String archivo) {
+        return new File(archivo).getAbsoluteFile().toPath().normalize().toString();
+    }
+
+    /**
+     * Agrega una operación al final de un diario. Si la escritura falla, el
+     * diario se deja como estaba.
+     *
+     * @param diario el canal del diario
+     * @param operacion la operación
+     * @throws IOException si no se puede escribir
+     */
+    private static void escribirLinea(FileChannel diario, Operacion operacion) throws IOException {
+        long posicion = diario.size();
+        try {
+            ByteBuffer linea = ByteBuffer.wrap(serializar(operacion).getBytes(StandardCharsets.UTF_8));
+            while (linea.hasRemaining()) {
+                diario.write(linea);
+            }
+        } catch (IOException e) {
+            diario.truncate(posicion); // No dejar una línea parcial antes de las siguientes
+            throw e;
+        }
+    }
+
+    /**
+     * Convierte una operación en una línea del diario.
+     *
+     * @param o la operación
+     * @return la línea, terminada en salto de línea
+     */
+    private static String serializar(Operacion o) {
+        String cuerpo = o.secuencia + "\t" + o.tipo + "\t" + o.archivo + "\t" + o.id + "\t"
+                        + (o.registro == null ? "" : o.registro);
+        return Long.toHexString(crc(cuerpo)) + "\t" + cuerpo + "\n";
+    }
+
+    /**
+     * Convierte una línea del diario en operación.
+     *
+     * @param linea la línea sin el salto de línea
+     * @return la operación, o null si la línea está dañada
+     */
+    private static Operacion deserializar(String linea) {
+        int separador = linea.indexOf('\t');
+        if (separador < 0) {
+            return null;
+        }
+        String cuerpo = linea.substring(separador + 1);
+        try {
+            if (Long.parseLong(linea.substring(0, separador), 16) != crc(cuerpo)) {
+                return null;
+            }
+            String[] campos = cuerpo.split("\t", 5);
+            Tipo tipo = Tipo.valueOf(campos[1]);
+            return new Operacion(Long.parseLong(campos[0]), tipo, campos[2], Integer.parseInt(campos[3]),
+                                 tipo == Tipo.ELIMINAR ? null : campos[4]);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Calcula el CRC32 del texto en UTF-8.
+     *
+     * @param texto el texto
+     * @return el valor del CRC32
+     */
+    private static long crc(String texto) {
+        CRC32 crc = new CRC32();
+        crc.update(texto.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,334 @@
+package AccesoDatos;
+
+import Utilidades.Metricas;
+import java.util.Arrays;
+
+// ================================================================================
+// CLASE EsquemaRegistro
+// ================================================================================
+
+/**
+ * Esquema versionado de los registros CSV de un archivo de entidades.
+ *
+ * <p>Los registros que escribe la versión actual terminan con una marca de
+ * versión ({@code @v2}, {@code @v3}, ...) y sus campos van escapados, de
+ * modo que pueden contener comas y saltos de línea:</p>
+ * <pre>
+ * 7,1-0234-0567,José,Pérez%2C hijo,Mora,...,15/03/2020,@v2
+ * </pre>
+ *
+ * <p><b>Escape:</b> {@code %} se escribe {@code %25}, la coma {@code %2C}
+ * y los saltos de línea {@code %0A} y {@code %0D}. El registro sigue
+ * dividiéndose con {@code split(",")} y el ID sigue siendo el primer campo,
+ * así que {@link AccesoDatos} y el {@link DiarioEscrituras} no cambian.</p>
+ *
+ * <p><b>Registros anteriores:</b> los que no tienen marca se consideran
+ * versión {@link #VERSION_SIN_MARCA} y se leen sin desescapar, como se
+ * escribieron. No hace falta convertir el archivo: cada registro pasa a la
+ * versión actual la próxima vez que se reescribe (al modificar la
+ * entidad).</p>
+ *
+ * <p><b>Evolución:</b> los campos nuevos siempre se agregan al final. Al
+ * leer, los campos que faltan al final se devuelven como null (la entidad
+ * decide el valor por defecto) y los que sobran en un registro marcado (de
+ * una versión posterior) se ignoran. Un registro sin marca con más campos
+ * que el esquema tiene una coma sin escapar: si el último campo es texto
+ * libre, los sobrantes se vuelven a unir en él; si no, el registro no puede
+ * leerse con seguridad. Si esta versión reescribe un registro de una
+ * versión posterior, los campos que no conoce se pierden.</p>
+ *
+ * <p>Los registros que no pueden leerse no se pierden en silencio: se cuentan
+ * en el contador {@code <nombre>.registrosDescartados} de {@link Metricas},
+ * y los leídos en una versión anterior en
+ * {@code <nombre>.registrosVersionAnterior}.</p>
+ *
+ * <p>Es inmutable y seguro entre hilos.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public final class EsquemaRegistro {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Prefijo del último campo que indica la versión del registro. */
+    public static final String MARCA_VERSION = "@v";
+
+    /** Versión de los registros escritos antes de existir la marca. */
+    public static final int VERSION_SIN_MARCA = 1;
+
+    // ================================================================================
+    // REGISTRO
+    // ================================================================================
+
+    /**
+     * Campos de un registro ya desescapados, con la versión en que se
+     * escribió.
+     */
+    public static final class Registro {
+
+        /** Versión del registro. */
+        private final int version;
+
+        /** Campos, sin la marca de versión. */
+        private final String[] campos;
+
+        /** Cantidad de campos. */
+        private final int cantidad;
+
+        /**
+         * Crea un registro.
+         */
+        private Registro(int version, String[] campos, int cantidad) {
+            this.version = version;
+            this.campos = campos;
+            this.cantidad = cantidad;
+        }
+
+        /**
+         * @return la versión con que se escribió el registro
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * @return la cantidad de campos presentes
+         */
+        public int getCantidad() {
+            return cantidad;
+        }
+
+        /**
+         * Obtiene un campo.
+         *
+         * @param indice posición del campo en el esquema
+         * @return el valor, o null si el registro no llega a ese campo
+         */
+        public String get(int indice) {
+            return indice < cantidad ? campos[indice] : null;
+        }
+    }
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Versión actual, con la que se escriben los registros. */
+    private final int version;
+
+    /** Cantidad de campos de la versión actual. */
+    private final int campos;
+
+    /** Campos que todo registro debe tener para poder leerse. */
+    private final int obligatorios;
+
+    /** true si el último campo es texto libre que puede contener comas. */
+    private final boolean ultimoCampoLibre;
+
+    /** Marca de la versión actual. */
+    private final String marca;
+
+    /** Registros que no pudieron leerse. */
+    private final Metricas.Contador descartados;
+
+    /** Registros leídos en una versión anterior a la actual. */
+    private final Metricas.Contador versionAnterior;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un esquema.
+     *
+     * @param nombre nombre de los contadores en {@link Metricas}
+     * @param version versión actual, mayor que {@link #VERSION_SIN_MARCA}
+     * @param campos cantidad de campos de la versión actual
+     * @param obligatorios campos que todo registro debe tener
+     * @param ultimoCampoLibre true si en los registros sin marca el último
+     *                         campo puede contener comas sin escapar
+     */
+    public EsquemaRegistro(String nombre, int version, int campos, int obligatorios, boolean ultimoCampoLibre) {
+        if (version <= VERSION_SIN_MARCA || obligatorios > campos) {
+            throw new IllegalArgumentException("Esquema inválido: versión " + version + ", "
+                                               + obligatorios + " de " + campos + " campos");
+        }
+        this.version = version;
+        this.campos = campos;
+        this.obligatorios = obligatorios;
+        this.ultimoCampoLibre = ultimoCampoLibre;
+        this.marca = MARCA_VERSION + version;
+        this.descartados = Metricas.contador(nombre + ".registrosDescartados");
+        this.versionAnterior = Metricas.contador(nombre + ".registrosVersionAnterior");
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Codifica un registro en la versión actual.
+     *
+     * @param valores los campos en el orden del esquema; null se escribe vacío
+     * @return el registro escapado y con la marca de versión
+     */
+    public String codificar(String... valores) {
+        if (valores.length != campos) {
+            throw new IllegalArgumentException("Se esperaban " + campos + " campos y hay " + valores.length);
+        }
+        StringBuilder sb = new StringBuilder(128);
+        for (String valor : valores) {
+            escapar(valor, sb);
+            sb.append(',');
+        }
+        return sb.append(marca).toString();
+    }
+
+    /**
+     * Decodifica un registro leído con {@code split(",")}.
+     *
+     * @param datos los campos del registro, tal como se leyeron
+     * @return el registro, o null si no tiene los campos obligatorios o es
+     *         un registro sin marca con comas sin escapar que no pueden
+     *         ubicarse (se cuenta como descartado)
+     */
+    public Registro decodificar(String[] datos) {
+        int versionRegistro = versionDe(datos);
+        if (versionRegistro == VERSION_SIN_MARCA) {
+            if (datos.length > campos && ultimoCampoLibre) {
+                datos[campos - 1] = String.join(",", Arrays.copyOfRange(datos, campos - 1, datos.length));
+            } else if (datos.length < obligatorios || datos.length > campos) {
+                descartar();
+                return null;
+            }
+            versionAnterior.incrementar();
+            return new Registro(VERSION_SIN_MARCA, datos, Math.min(datos.length, campos));
+        }
+
+        int cantidad = datos.length - 1; // Sin la marca
+        if (cantidad < obligatorios) {
+            descartar();
+            return null;
+        }
+        for (int i = 0; i < cantidad; i++) {
+            datos[i] = desescapar(datos[i]);
+        }
+        if (versionRegistro < version) {
+            versionAnterior.incrementar();
+        }
+        return new Registro(versionRegistro, datos, cantidad);
+    }
+
+    /**
+     * Cuenta un registro que la entidad no pudo interpretar (por ejemplo,
+     * un número inválido).
+     */
+    public void descartar() {
+        descartados.incrementar();
+    }
+
+    /**
+     * @return la versión actual del esquema
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Escapa un valor para escribirlo como campo.
+     *
+     * @param valor el valor (null se escribe vacío)
+     * @return el valor escapado
+     */
+    public static String escapar(String valor) {
+        StringBuilder sb = new StringBuilder();
+        escapar(valor, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Revierte {@link #escapar(String)}.
+     *
+     * @param campo el campo escapado
+     * @return el valor original
+     */
+    public static String desescapar(String campo) {
+        int i = campo.indexOf('%');
+        if (i < 0) {
+            return campo;
+        }
+        StringBuilder sb = new StringBuilder(campo.length());
+        sb.append(campo, 0, i);
+        while (i < campo.length()) {
+            char c = campo.charAt(i);
+            int alto = c == '%' && i + 2 < campo.length() ? Character.digit(campo.charAt(i + 1), 16) : -1;
+            int bajo = alto >= 0 ? Character.digit(campo.charAt(i + 2), 16) : -1;
+            if (bajo >= 0) {
+                sb.append((char) (alto * 16 + bajo));
+                i += 3;
+            } else { // Secuencia inválida: se conserva tal cual
+                sb.append(c);
+                i++;
+            }
+        }
+        return sb.toString();
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene la versión de un registro a partir de su último campo.
+     */
+    private static int versionDe(String[] datos) {
+        if (datos.length == 0) {
+            return VERSION_SIN_MARCA;
+        }
+        String ultimo = datos[datos.length - 1];
+        if (!ultimo.startsWith(MARCA_VERSION) || ultimo.length() == MARCA_VERSION.length()) {
+            return VERSION_SIN_MARCA;
+        }
+        int version = 0;
+        for (int i = MARCA_VERSION.length(); i < ultimo.length(); i++) {
+            char c = ultimo.charAt(i);
+            if (c < '0' || c > '9') {
+                return VERSION_SIN_MARCA;
+            }
+            version = version * 10 + (c - '0');
+        }
+        return version;
+    }
+
+    /**
+     * Agrega un valor escapado.
+     */
+    private static void escapar(String valor, StringBuilder sb) {
+        if (valor == null) {
+            return;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '%':
+                    sb.append("%25");
+                    break;
+                case ',':
+                    sb.append("%2C");
+                    break;
+                case '\n':
+                    sb.append("%0A");
+                    break;
+                case '\r':
+                    sb.append("%0D");
+                    break;
+                default:
+                    sb.append(c);
+                    break;
+            }
+        }
+    }
+}
@@ -6,6 +6,8 @@ package AccesoDatos;
 
 import java.io.*;
 import java.util.*;
+import Utilidades.Histograma;
+import Utilidades.Metricas;
 import Utilidades.NombresArchivos;
 
 // ================================================================================
@@ -45,6 +47,12 @@ public class IdControl {
     // ATRIBUTOS
     // ================================================================================
     
+    /**
+     * Latencia de {@link #getNextId(String)}: la reescritura del archivo de control,
+     * incluida la espera de otros procesos que lo estén escribiendo.
+     */
+    private static final Histograma LATENCIA_SIGUIENTE_ID = Metricas.histograma("idControl.getNextId");
+    
     /**
      * Ruta del archivo que almacena el control de IDs.
      */
@@ -88,45 +96,58 @@ public class IdControl {
     /**
      * Carga los IDs desde el archivo de control.
      * 
-     * <p>Lee el archivo línea por línea y parsea los pares nombreArchivo=id
-     * para poblar el mapa de IDs. Si el archivo no existe, lo crea vacío.</p>
+     * <p>Lee el archivo con el bloqueo de lectura de {@link BloqueoArchivo}.
+     * Si el archivo no existe, el mapa queda vacío; el archivo se crea al
+     * generar el primer ID.</p>
      * 
      * @throws IOException si ocurre un error al leer el archivo
      */
     private void loadIds() throws IOException {
-        File file = new File(archivoControl);
-        if (!file.exists()) {
-            file.createNewFile();
-            return;
-        }
+        BloqueoArchivo bloqueo = BloqueoArchivo.de(archivoControl);
+        bloqueo.iniciarLectura();
         try (BufferedReader reader = new BufferedReader(new FileReader(archivoControl))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] parts = line.split("=");
-                if (parts.length == 2) {
-                    idMap.put(parts[0], Integer.valueOf(parts[1]));
-                }
-            }
+            loadIds(reader);
+        } catch (FileNotFoundException e) {
+            // Aún no se ha generado ningún ID
+        } finally {
+            bloqueo.terminarLectura();
         }
     }
     
     /**
-     * Guarda los IDs actuales en el archivo de control.
+     * Carga los IDs desde un lector del archivo de control.
      * 
-     * <p>Escribe todos los pares nombreArchivo=id del mapa en el archivo,
-     * sobrescribiendo el contenido anterior.</p>
+     * <p>Lee línea por línea y parsea los pares nombreArchivo=id para poblar
+     * el mapa de IDs.</p>
      * 
-     * @throws IOException si ocurre un error al escribir en el archivo
+     * @param reader lector del contenido del archivo de control
+     * @throws IOException si ocurre un error al leer
      */
-    private void saveIds() throws IOException {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(archivoControl))) {
-            for (Map.Entry<String, Integer> entry : idMap.entrySet()) {
-                writer.write(entry.getKey() + "=" + entry.getValue());
-                writer.newLine();
+    private void loadIds(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] parts = line.split("=");
+            if (parts.length == 2) {
+                idMap.put(parts[0], Integer.valueOf(parts[1]));
             }
         }
     }
     
+    /**
+     * Guarda los IDs actuales en el nuevo contenido del archivo de control.
+     * 
+     * <p>Escribe todos los pares nombreArchivo=id del mapa.</p>
+     * 
+     * @param writer escritor del nuevo contenido del archivo de control
+     * @throws IOException si ocurre un error al escribir
+     */
+    private void saveIds(BufferedWriter writer) throws IOException {
+        for (Map.Entry<String, Integer> entry : idMap.entrySet()) {
+            writer.write(entry.getKey() + "=" + entry.getValue());
+            writer.newLine();
+        }
+    }
+    
     // ================================================================================
     // MÉTODOS PÚBLICOS
     // ================================================================================
@@ -135,25 +156,34 @@ public class IdControl {
      * Obtiene el siguiente ID disponible para un archivo específico.
      * 
      * <p>Este método es sincronizado para garantizar la generación de IDs únicos
-     * en entornos multihilo. Recarga los IDs desde el archivo, obtiene el siguiente
-     * ID disponible (comenzando en 1 si es la primera vez), incrementa el contador
-     * y guarda los cambios.</p>
+     * en entornos multihilo. La lectura, el incremento y la escritura se
+     * realizan como una sola reescritura atómica de {@link AccesoDatos}, con
+     * la exclusión de escritores de {@link BloqueoArchivo}, de modo que dos
+     * instancias de la aplicación que comparten el directorio de datos
+     * tampoco obtienen el mismo ID.</p>
      * 
      * @param fileName el nombre del archivo para el cual se requiere un nuevo ID
      * @return el siguiente ID disponible para el archivo especificado
      * @throws IOException si ocurre un error al leer o escribir el archivo de control
      * 
-     * @see #loadIds()
-     * @see #saveIds()
+     * @see #loadIds(BufferedReader)
+     * @see #saveIds(BufferedWriter)
      */
     public synchronized int getNextId(String fileName) throws IOException {
+        long inicio = System.nanoTime();
         this.archivoControl = NombresArchivos.ID_CONTROL.getNombreArchivo();
-        this.idMap = new HashMap<>();
-        loadIds();
-        
-        int nextId = idMap.getOrDefault(fileName, 1);
-        idMap.put(fileName, nextId + 1);
-        saveIds();
-        return nextId;
+        int[] nextId = new int[1];
+        try {
+            AccesoDatos.reescribir(archivoControl, (reader, writer) -> {
+                this.idMap = new HashMap<>();
+                loadIds(reader);
+                nextId[0] = idMap.getOrDefault(fileName, 1);
+                idMap.put(fileName, nextId[0] + 1);
+                saveIds(writer);
+            });
+        } finally {
+            LATENCIA_SIGUIENTE_ID.registrarDesde(inicio);
+        }
+        return nextId[0];
     }
 }
\ No newline at end of file
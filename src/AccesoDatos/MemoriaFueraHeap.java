@@ -0,0 +1,245 @@
+package AccesoDatos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// ================================================================================
+// CLASE MemoriaFueraHeap
+// ================================================================================
+
+/**
+ * Memoria de trabajo fuera del heap de Java, que crece por bloques.
+ *
+ * <p>Los datos se guardan en bloques de {@link #getTamanoBloque()} bytes que
+ * pueden ser:</p>
+ * <ul>
+ *   <li><b>Directos:</b> {@link ByteBuffer#allocateDirect(int)}; no cuentan
+ *       en el heap ni los recorre el recolector de basura, pero ocupan
+ *       memoria del proceso (límite {@code -XX:MaxDirectMemorySize}).</li>
+ *   <li><b>Mapeados:</b> regiones consecutivas de un archivo de trabajo
+ *       mapeadas con {@link FileChannel#map}; el sistema operativo decide qué
+ *       páginas mantener en memoria, por lo que el volumen puede superar la
+ *       memoria disponible.</li>
+ * </ul>
+ *
+ * <p>Las posiciones son {@code long} (bloque y desplazamiento), de modo que
+ * el total no está limitado a los 2 GB de un {@code ByteBuffer}.
+ * {@link #reservar(int)} nunca parte una reserva entre dos bloques, así
+ * que cada registro puede leerse con los métodos absolutos de
+ * {@code ByteBuffer} sobre {@link #bloque(long)}.</p>
+ *
+ * <p><b>Archivo de trabajo:</b> es memoria temporal, no persistencia: se
+ * crea vacío y se elimina al cerrar. Antes de Java 22 no hay forma de
+ * liberar un mapeo explícitamente; los bloques se liberan cuando el
+ * recolector descarta esta instancia.</p>
+ *
+ * <p><b>Concurrencia:</b> las reservas y escrituras no son seguras entre
+ * hilos; las lecturas sí, una vez terminada la carga.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public final class MemoriaFueraHeap implements AutoCloseable {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Tamaño de bloque por defecto: 16 MB. */
+    public static final int TAMANO_BLOQUE_POR_DEFECTO = 1 << 24;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Bloques reservados, en orden. */
+    private final List<ByteBuffer> bloques = new ArrayList<>();
+
+    /** Bits del desplazamiento dentro de un bloque. */
+    private final int bitsBloque;
+
+    /** Canal del archivo de trabajo, o null si los bloques son directos. */
+    private final FileChannel canal;
+
+    /** Archivo de trabajo, o null si los bloques son directos. */
+    private final Path archivo;
+
+    /** Siguiente posición libre. */
+    private long siguiente;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea la memoria; usar {@link #directa(int)} o {@link #mapeada(Path, int)}.
+     */
+    private MemoriaFueraHeap(int tamanoBloque, FileChannel canal, Path archivo) {
+        if (Integer.bitCount(tamanoBloque) != 1) {
+            throw new IllegalArgumentException("El tamaño de bloque debe ser potencia de 2: " + tamanoBloque);
+        }
+        this.bitsBloque = Integer.numberOfTrailingZeros(tamanoBloque);
+        this.canal = canal;
+        this.archivo = archivo;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Crea una memoria de bloques directos.
+     *
+     * @param tamanoBloque bytes por bloque (potencia de 2)
+     * @return la memoria, vacía
+     */
+    public static MemoriaFueraHeap directa(int tamanoBloque) {
+        return new MemoriaFueraHeap(tamanoBloque, null, null);
+    }
+
+    /**
+     * Crea una memoria respaldada por un archivo de trabajo nuevo.
+     *
+     * @param directorio directorio donde crear el archivo de trabajo
+     * @param tamanoBloque bytes por bloque (potencia de 2)
+     * @return la memoria, vacía
+     * @throws IOException si no se puede crear el archivo
+     */
+    public static MemoriaFueraHeap mapeada(Path directorio, int tamanoBloque) throws IOException {
+        Path archivo = Files.createTempFile(directorio, "memoria", ".tmp");
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new MemoriaFueraHeap(tamanoBloque, canal, archivo);
+    }
+
+    /**
+     * Reserva bytes contiguos. Si no caben en lo que queda del bloque actual,
+     * la reserva empieza en el siguiente.
+     *
+     * @param bytes cantidad de bytes, como máximo el tamaño de bloque
+     * @return la posición del primer byte reservado
+     * @throws IOException si no se puede extender el archivo de trabajo
+     */
+    public long reservar(int bytes) throws IOException {
+        if (bytes > getTamanoBloque()) {
+            throw new IllegalArgumentException("Reserva de " + bytes + " bytes mayor que el bloque");
+        }
+        long inicio = siguiente;
+        if (desplazamiento(inicio) + bytes > getTamanoBloque()) {
+            inicio = (long) (bloques.size()) << bitsBloque;
+        }
+        int bloque = (int) (inicio >>> bitsBloque);
+        while (bloques.size() <= bloque) {
+            agregarBloque();
+        }
+        siguiente = inicio + bytes;
+        return inicio;
+    }
+
+    /**
+     * Obtiene el bloque que contiene una posición. Se accede a él con los
+     * métodos absolutos de {@code ByteBuffer} y {@link #desplazamiento(long)}.
+     *
+     * @param posicion una posición devuelta por {@link #reservar(int)}
+     * @return el bloque
+     */
+    public ByteBuffer bloque(long posicion) {
+        return bloques.get((int) (posicion >>> bitsBloque));
+    }
+
+    /**
+     * Obtiene el desplazamiento de una posición dentro de su bloque.
+     *
+     * @param posicion la posición
+     * @return el índice dentro de {@link #bloque(long)}
+     */
+    public int desplazamiento(long posicion) {
+        return (int) (posicion & (getTamanoBloque() - 1));
+    }
+
+    /**
+     * Calcula la posición del registro {@code indice} cuando la memoria solo
+     * contiene registros de {@code ancho} bytes reservados uno tras otro.
+     *
+     * @param indice índice del registro, desde 0
+     * @param ancho bytes por registro
+     * @return la posición del registro
+     */
+    public long posicionRegistro(long indice, int ancho) {
+        int porBloque = getTamanoBloque() / ancho;
+        return ((indice / porBloque) << bitsBloque) + (indice % porBloque) * ancho;
+    }
+
+    /**
+     * Copia bytes a una posición reservada.
+     *
+     * @param posicion la posición
+     * @param datos los bytes
+     */
+    public void escribir(long posicion, byte[] datos) {
+        bloque(posicion).put(desplazamiento(posicion), datos);
+    }
+
+    /**
+     * Lee bytes de una posición.
+     *
+     * @param posicion la posición
+     * @param destino arreglo que recibe los bytes (se llena completo)
+     */
+    public void leer(long posicion, byte[] destino) {
+        bloque(posicion).get(desplazamiento(posicion), destino);
+    }
+
+    /**
+     * @return bytes por bloque
+     */
+    public int getTamanoBloque() {
+        return 1 << bitsBloque;
+    }
+
+    /**
+     * @return bytes reservados en bloques (directos o mapeados)
+     */
+    public long getTamanoReservado() {
+        return (long) bloques.size() << bitsBloque;
+    }
+
+    /**
+     * Cierra y elimina el archivo de trabajo, si lo hay. Los bloques no
+     * deben usarse después de cerrar.
+     */
+    @Override
+    public void close() {
+        bloques.clear();
+        if (canal != null) {
+            try {
+                canal.close();
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Agrega un bloque al final: directo, o la siguiente región del archivo
+     * (mapear más allá del final extiende el archivo).
+     */
+    private void agregarBloque() throws IOException {
+        if (canal == null) {
+            bloques.add(ByteBuffer.allocateDirect(getTamanoBloque()));
+        } else {
+            long inicio = (long) bloques.size() << bitsBloque;
+            bloques.add(canal.map(FileChannel.MapMode.READ_WRITE, inicio, getTamanoBloque()));
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package AccesoDatos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+// ================================================================================
+// CLASE VigilanteArchivos
+// ================================================================================
+
+/**
+ * Vigilante de cambios externos sobre los archivos de datos.
+ *
+ * <p>Utiliza un {@link WatchService} sobre el directorio de datos para
+ * detectar modificaciones hechas por otros programas (por ejemplo, scripts
+ * que agregan empleados al final de {@code empleados.txt}) mientras la
+ * aplicación está abierta.</p>
+ *
+ * <p><b>Clasificación de cambios:</b></p>
+ * <ul>
+ *   <li><b>Agregado al final:</b> el archivo creció y los últimos bytes que
+ *       ya se conocían no cambiaron. Solo se leen los bytes nuevos a partir
+ *       del último desplazamiento conocido y se entregan como registros con
+ *       {@link Oyente#registrosAgregados(long, long, List)}</li>
+ *   <li><b>Cualquier otro cambio</b> (archivo más pequeño, contenido
+ *       reescrito o reemplazado): se notifica con
+ *       {@link Oyente#archivoModificado()} para que el oyente reconstruya
+ *       sus datos</li>
+ * </ul>
+ *
+ * <p><b>Escrituras propias:</b> {@link AccesoDatos} invoca
+ * {@link #sincronizar(String)} después de cada escritura para que el
+ * vigilante avance su desplazamiento y no las confunda con cambios externos.</p>
+ *
+ * <p>Una línea final incompleta (un script a mitad de escritura) no se
+ * entrega hasta que termine con un salto de línea. Los oyentes se invocan
+ * desde el hilo del vigilante.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public final class VigilanteArchivos {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Receptor de los cambios externos de un archivo vigilado.
+     */
+    public interface Oyente {
+
+        /**
+         * Se agregaron registros completos al final del archivo.
+         *
+         * @param desde desplazamiento (en bytes) donde comienzan los registros nuevos
+         * @param hasta desplazamiento posterior al último registro entregado
+         * @param registros los registros nuevos, divididos en campos
+         */
+        void registrosAgregados(long desde, long hasta, List<String[]> registros);
+
+        /**
+         * El archivo cambió de una forma distinta a un agregado al final.
+         */
+        void archivoModificado();
+    }
+
+    /**
+     * Estado conocido de un archivo vigilado.
+     */
+    private static final class Estado {
+        final Path ruta;
+        final List<Oyente> oyentes = new CopyOnWriteArrayList<>();
+        /** Bytes del archivo ya procesados. */
+        long desplazamiento;
+        /** Últimos bytes antes del desplazamiento, para detectar reescrituras. */
+        byte[] huella = new byte[0];
+
+        Estado(Path ruta) {
+            this.ruta = ruta;
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /**
+     * Cantidad de bytes anteriores al desplazamiento que se comparan para
+     * distinguir un agregado al final de una reescritura.
+     */
+    private static final int TAMANO_HUELLA = 64;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Archivos vigilados, por nombre de archivo (sin directorio).
+     */
+    private static final Map<String, Estado> ARCHIVOS = new ConcurrentHashMap<>();
+
+    /**
+     * Servicio de vigilancia del directorio de datos; null si aún no se inició
+     * o si el sistema de archivos no lo soporta.
+     */
+    private static WatchService servicio;
+
+    /**
+     * Clase de utilidad: no se instancia.
+     */
+    private VigilanteArchivos() {
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Comienza a vigilar un archivo de datos.
+     *
+     * <p>El desplazamiento inicial es el tamaño actual del archivo: solo se
+     * notifican los cambios posteriores a esta llamada. Si el sistema de
+     * archivos no soporta {@link WatchService}, la llamada no tiene efecto y
+     * los cambios externos se detectarán por tamaño y fecha al leer.</p>
+     *
+     * @param nombreArchivo el archivo a vigilar
+     * @param oyente receptor de los cambios
+     */
+    public static synchronized void vigilar(String nombreArchivo, Oyente oyente) {
+        Path ruta = Paths.get(nombreArchivo).toAbsolutePath().normalize();
+        if (servicio == null && !iniciar(ruta.getParent())) {
+            return;
+        }
+        Estado estado = ARCHIVOS.computeIfAbsent(ruta.getFileName().toString(), n -> {
+            Estado nuevo = new Estado(ruta);
+            actualizarDesplazamiento(nuevo);
+            return nuevo;
+        });
+        estado.oyentes.add(oyente);
+    }
+
+    /**
+     * Registra que la propia aplicación terminó de escribir un archivo.
+     *
+     * <p>Avanza el desplazamiento conocido hasta el final actual del archivo,
+     * de modo que la escritura no se notifique como un cambio externo. Si el
+     * archivo no está vigilado no hace nada.</p>
+     *
+     * @param nombreArchivo el archivo escrito
+     */
+    public static void sincronizar(String nombreArchivo) {
+        Estado estado = ARCHIVOS.get(Paths.get(nombreArchivo).getFileName().toString());
+        if (estado != null) {
+            synchronized (estado) {
+                actualizarDesplazamiento(estado);
+            }
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Crea el servicio de vigilancia del directorio e inicia el hilo que
+     * procesa sus eventos.
+     *
+     * @param directorio el directorio de datos
+     * @return true si el servicio quedó iniciado
+     */
+    private static boolean iniciar(Path directorio) {
+        try {
+            servicio = directorio.getFileSystem().newWatchService();
+            directorio.register(servicio,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException e) {
+            servicio = null;
+            return false;
+        }
+        Thread hilo = new Thread(VigilanteArchivos::procesarEventos, "vigilante-archivos");
+        hilo.setDaemon(true); // No impide que la aplicación termine
+        hilo.start();
+        return true;
+    }
+
+    /**
+     * Ciclo del hilo vigilante: espera eventos del directorio y revisa los
+     * archivos vigilados afectados.
+     */
+    private static void procesarEventos() {
+        WatchService ws = servicio;
+        while (true) {
+            WatchKey clave;
+            try {
+                clave = ws.take();
+                // Agrupar ráfagas de eventos (un script que escribe varias líneas)
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            boolean revisarTodos = false;
+            List<Estado> afectados = new ArrayList<>();
+            for (WatchEvent<?> evento : clave.pollEvents()) {
+                if (evento.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    revisarTodos = true;
+                    continue;
+                }
+                Estado estado = ARCHIVOS.get(evento.context().toString());
+                if (estado != null && !afectados.contains(estado)) {
+                    afectados.add(estado);
+                }
+            }
+            clave.reset();
+            for (Estado estado : revisarTodos ? new ArrayList<>(ARCHIVOS.values()) : afectados) {
+                revisar(estado);
+            }
+        }
+    }
+
+    /**
+     * Compara el archivo con su estado conocido y notifica a los oyentes.
+     *
+     * @param estado el estado del archivo a revisar
+     */
+    private static void revisar(Estado estado) {
+        long desde;
+        long hasta;
+        List<String[]> registros;
+        synchronized (estado) {
+            long tamano = tamano(estado.ruta);
+            if (tamano == estado.desplazamiento && huellaCoincide(estado)) {
+                return; // Sin cambios (por ejemplo, una escritura propia ya sincronizada)
+            }
+            if (tamano < estado.desplazamiento || !huellaCoincide(estado)) {
+                actualizarDesplazamiento(estado);
+                desde = -1;
+                hasta = -1;
+                registros = null;
+            } else {
+                desde = estado.desplazamiento;
+                registros = new ArrayList<>();
+                hasta = leerCola(estado, tamano, registros);
+                if (registros.isEmpty()) {
+                    return; // Solo una línea incompleta
+                }
+            }
+        }
+        for (Oyente oyente : estado.oyentes) {
+            try {
+                if (registros == null) {
+                    oyente.archivoModificado();
+                } else {
+                    oyente.registrosAgregados(desde, hasta, registros);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Lee los registros completos agregados después del desplazamiento conocido.
+     *
+     * @param estado el estado del archivo (se actualiza su desplazamiento)
+     * @param tamano tamaño actual del archivo
+     * @param registros lista donde se agregan los registros leídos
+     * @return el nuevo desplazamiento, posterior al último salto de línea leído
+     */
+    private static long leerCola(Estado estado, long tamano, List<String[]> registros) {
+        try (FileChannel canal = FileChannel.open(estado.ruta, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(Integer.MAX_VALUE, tamano - estado.desplazamiento));
+            canal.read(buffer, estado.desplazamiento);
+            byte[] bytes = buffer.array();
+            int fin = buffer.position();
+            while (fin > 0 && bytes[fin - 1] != '\n') {
+                fin--; // Excluir una última línea incompleta
+            }
+            String texto = new String(bytes, 0, fin, Charset.defaultCharset());
+            for (String linea : texto.split("\r?\n")) {
+                if (!linea.isEmpty()) {
+                    registros.add(linea.split(","));
+                }
+            }
+            estado.desplazamiento += fin;
+            estado.huella = leerHuella(canal, estado.desplazamiento);
+        } catch (IOException e) {
+            registros.clear(); // Se reintentará con el próximo evento
+        }
+        return estado.desplazamiento;
+    }
+
+    /**
+     * Lleva el desplazamiento conocido al final actual del archivo.
+     *
+     * @param estado el estado a actualizar
+     */
+    private static void actualizarDesplazamiento(Estado estado) {
+        try (FileChannel canal = FileChannel.open(estado.ruta, StandardOpenOption.READ)) {
+            estado.desplazamiento = canal.size();
+            estado.huella = leerHuella(canal, estado.desplazamiento);
+        } catch (IOException e) {
+            estado.desplazamiento = 0; // El archivo no existe todavía
+            estado.huella = new byte[0];
+        }
+    }
+
+    /**
+     * Indica si los bytes anteriores al desplazamiento siguen siendo los conocidos.
+     *
+     * @param estado el estado del archivo
+     * @return true si la huella coincide
+     */
+    private static boolean huellaCoincide(Estado estado) {
+        try (FileChannel canal = FileChannel.open(estado.ruta, StandardOpenOption.READ)) {
+            return Arrays.equals(estado.huella, leerHuella(canal, estado.desplazamiento));
+        } catch (IOException e) {
+            return estado.desplazamiento == 0;
+        }
+    }
+
+    /**
+     * Lee los {@link #TAMANO_HUELLA} bytes anteriores a una posición.
+     *
+     * @param canal el canal del archivo
+     * @param posicion la posición final (exclusiva)
+     * @return los bytes leídos
+     * @throws IOException si falla la lectura
+     */
+    private static byte[] leerHuella(FileChannel canal, long posicion) throws IOException {
+        int longitud = (int) Math.min(TAMANO_HUELLA, Math.min(posicion, canal.size()));
+        ByteBuffer buffer = ByteBuffer.allocate(longitud);
+        canal.read(buffer, posicion - longitud);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Obtiene el tamaño actual de un archivo.
+     *
+     * @param ruta el archivo
+     * @return el tamaño en bytes, o 0 si no existe
+     */
+    private static long tamano(Path ruta) {
+        try {
+            return Files.size(ruta);
+        } catch (IOException e) {
+            return 0; // Incluye NoSuchFileException
+        }
+    }
+}
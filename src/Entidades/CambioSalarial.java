@@ -0,0 +1,188 @@
+package Entidades;
+
+/**
+ * Clase LocalDate del paquete java.time que representa una fecha sin zona horaria.
+ *
+ * <p>Se utiliza en esta clase para almacenar la fecha a partir de la cual
+ * rige el salario y el puesto registrados en el cambio.
+ */
+import java.time.LocalDate;
+
+/**
+ * Clase que representa un cambio de salario o de puesto de un empleado,
+ * vigente a partir de una fecha.
+ *
+ * <p>Cada vez que cambia el salario bruto o el puesto de un empleado se
+ * registra un nuevo cambio; los anteriores nunca se modifican. El conjunto
+ * de cambios de un empleado forma su historial salarial, que permite
+ * calcular la nómina de un período pasado con el salario vigente en ese
+ * momento y no con el actual.
+ *
+ * <p>Un cambio sin fecha de vigencia (null) rige desde siempre; se utiliza
+ * para el salario inicial de los empleados registrados antes de que
+ * existiera el historial.
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * CambioSalarial cambio = new CambioSalarial(0, 1, LocalDate.of(2025, 1, 1),
+ *                                            950000.0, "Desarrollador Senior");
+ * </pre>
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ */
+public class CambioSalarial {
+
+    // ========================================================================
+    // ATRIBUTOS PRIVADOS
+    // ========================================================================
+
+    /**
+     * Identificador único del cambio en el sistema.
+     *
+     * <p>Se genera automáticamente al registrar el cambio. Entre dos cambios
+     * con la misma fecha de vigencia prevalece el de mayor ID.
+     */
+    private int id;
+
+    /**
+     * Identificador del empleado al que corresponde el cambio.
+     */
+    private int idEmpleado;
+
+    /**
+     * Fecha a partir de la cual rige el cambio, o null si rige desde siempre.
+     */
+    private LocalDate fechaVigencia;
+
+    /**
+     * Salario bruto vigente a partir de la fecha del cambio.
+     */
+    private double salarioBruto;
+
+    /**
+     * Puesto vigente a partir de la fecha del cambio.
+     */
+    private String puesto;
+
+    // ========================================================================
+    // CONSTRUCTORES
+    // ========================================================================
+
+    /**
+     * Constructor completo que inicializa un cambio salarial con todos sus datos.
+     *
+     * @param id identificador único del cambio
+     * @param idEmpleado identificador del empleado
+     * @param fechaVigencia fecha a partir de la cual rige el cambio (null: desde siempre)
+     * @param salarioBruto salario bruto vigente a partir de la fecha
+     * @param puesto puesto vigente a partir de la fecha
+     */
+    public CambioSalarial(int id, int idEmpleado, LocalDate fechaVigencia,
+                          double salarioBruto, String puesto) {
+        this.id = id;
+        this.idEmpleado = idEmpleado;
+        this.fechaVigencia = fechaVigencia;
+        this.salarioBruto = salarioBruto;
+        this.puesto = puesto;
+    }
+
+    /**
+     * Constructor por defecto que inicializa un cambio salarial vacío.
+     */
+    public CambioSalarial() {}
+
+    // ========================================================================
+    // MÉTODOS GETTER Y SETTER
+    // ========================================================================
+
+    /**
+     * Obtiene el identificador único del cambio.
+     *
+     * @return el ID del cambio
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Establece el identificador único del cambio.
+     *
+     * @param id el ID a asignar
+     */
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    /**
+     * Obtiene el identificador del empleado.
+     *
+     * @return el ID del empleado
+     */
+    public int getIdEmpleado() {
+        return idEmpleado;
+    }
+
+    /**
+     * Establece el identificador del empleado.
+     *
+     * @param idEmpleado el ID del empleado
+     */
+    public void setIdEmpleado(int idEmpleado) {
+        this.idEmpleado = idEmpleado;
+    }
+
+    /**
+     * Obtiene la fecha a partir de la cual rige el cambio.
+     *
+     * @return la fecha de vigencia, o null si rige desde siempre
+     */
+    public LocalDate getFechaVigencia() {
+        return fechaVigencia;
+    }
+
+    /**
+     * Establece la fecha a partir de la cual rige el cambio.
+     *
+     * @param fechaVigencia la fecha de vigencia (null: desde siempre)
+     */
+    public void setFechaVigencia(LocalDate fechaVigencia) {
+        this.fechaVigencia = fechaVigencia;
+    }
+
+    /**
+     * Obtiene el salario bruto vigente a partir de la fecha del cambio.
+     *
+     * @return el salario bruto
+     */
+    public double getSalarioBruto() {
+        return salarioBruto;
+    }
+
+    /**
+     * Establece el salario bruto vigente a partir de la fecha del cambio.
+     *
+     * @param salarioBruto el salario bruto
+     */
+    public void setSalarioBruto(double salarioBruto) {
+        this.salarioBruto = salarioBruto;
+    }
+
+    /**
+     * Obtiene el puesto vigente a partir de la fecha del cambio.
+     *
+     * @return el puesto
+     */
+    public String getPuesto() {
+        return puesto;
+    }
+
+    /**
+     * Establece el puesto vigente a partir de la fecha del cambio.
+     *
+     * @param puesto el puesto
+     */
+    public void setPuesto(String puesto) {
+        this.puesto = puesto;
+    }
+}
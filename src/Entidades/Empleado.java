@@ -209,6 +209,22 @@ public class Empleado {
         this.fechaIngreso = fechaIngreso;
     }
     
+    /**
+     * Constructor de copia que crea un empleado con los mismos datos que otro.
+     * 
+     * <p>La copia no comparte la lista interna de empleados del original.
+     * Se utiliza para entregar empleados del catálogo en memoria sin exponer
+     * las instancias compartidas.
+     * 
+     * @param otro el empleado a copiar
+     */
+    public Empleado(Empleado otro) {
+        this(otro.getId(), otro.getCedula(), otro.getNombre(), otro.getApellido1(),
+             otro.getApellido2(), otro.getEmail(), otro.getTelefono(),
+             otro.getSalarioBruto(), otro.getTipoPlanilla(), otro.getPuesto(),
+             otro.getFechaIngreso());
+    }
+    
     /**
      * Constructor por defecto que inicializa un empleado vacío.
      * 
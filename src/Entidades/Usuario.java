@@ -157,6 +157,20 @@ public class Usuario {
         this.password = password;
     }
     
+    /**
+     * Constructor de copia que crea un usuario con los mismos datos que otro.
+     * 
+     * <p>La copia no comparte la lista interna de usuarios del original.
+     * Se utiliza para entregar usuarios de la caché en memoria sin exponer
+     * las instancias compartidas.
+     * 
+     * @param otro el usuario a copiar
+     */
+    public Usuario(Usuario otro) {
+        this(otro.getId(), otro.getNombre(), otro.getApellido1(), otro.getApellido2(),
+             otro.getEmail(), otro.getUsuario(), otro.getPassword());
+    }
+    
     /**
      * Constructor por defecto que inicializa un usuario vacío.
      * 
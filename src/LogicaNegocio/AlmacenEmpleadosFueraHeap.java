@@ -0,0 +1,505 @@
+package LogicaNegocio;
+
+import AccesoDatos.MemoriaFueraHeap;
+import Entidades.Empleado;
+import Utilidades.DiccionarioCadenas;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+// ================================================================================
+// CLASE AlmacenEmpleadosFueraHeap
+// ================================================================================
+
+/**
+ * Almacén de empleados fuera del heap de Java, para catálogos muy grandes.
+ *
+ * <p>Cada empleado es un registro de {@link #TAMANO_REGISTRO} bytes en una
+ * {@link MemoriaFueraHeap}, y sus textos libres van en una segunda memoria
+ * direccionada por posición. El heap solo guarda los diccionarios de
+ * valores repetidos (tipo de planilla, puesto, nombres y apellidos), cuyo
+ * tamaño no depende de la cantidad de empleados, así que el recolector de
+ * basura no tiene que recorrer nada proporcional al catálogo.</p>
+ *
+ * <p><b>Distribución del registro (big-endian):</b></p>
+ * <ul>
+ *   <li><b>0:</b> salario bruto en céntimos ({@code long})</li>
+ *   <li><b>8:</b> posición de los textos en la memoria de textos ({@code long})</li>
+ *   <li><b>16:</b> ID ({@code int})</li>
+ *   <li><b>20:</b> fecha de ingreso en días desde 1970-01-01, o
+ *       {@link Integer#MIN_VALUE} si no tiene ({@code int})</li>
+ *   <li><b>24, 28, 32:</b> códigos de nombre, primer y segundo apellido ({@code int})</li>
+ *   <li><b>36:</b> bytes de los textos ({@code int})</li>
+ *   <li><b>40:</b> código del puesto ({@code short})</li>
+ *   <li><b>42:</b> código del tipo de planilla ({@code byte})</li>
+ * </ul>
+ *
+ * <p>Los textos son la cédula, el correo y el teléfono en UTF-8 separados
+ * por comas, con las mismas limitaciones que en
+ * {@link CatalogoColumnarEmpleados}.</p>
+ *
+ * <p>Las consultas devuelven una {@link Vista}; {@link #recorrer(Consumer)}
+ * reutiliza una sola para todas las filas. Los métodos por fila
+ * ({@link #getId(long)}, {@link #getSalarioCentimos(long)}, ...) leen un
+ * campo sin crear ningún objeto.</p>
+ *
+ * <p><b>Concurrencia:</b> igual que {@link CatalogoColumnarEmpleados}.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaEmpleado#cargarFueraHeap(AlmacenEmpleadosFueraHeap)
+ * @see AlmacenNominasFueraHeap
+ */
+public class AlmacenEmpleadosFueraHeap implements AutoCloseable {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Tamaño de un registro de empleado en bytes. */
+    public static final int TAMANO_REGISTRO = 48;
+
+    /** Posición del salario en céntimos. */
+    private static final int SALARIO = 0;
+
+    /** Posición de la posición de los textos. */
+    private static final int TEXTO = 8;
+
+    /** Posición del ID. */
+    private static final int ID = 16;
+
+    /** Posición de la fecha de ingreso. */
+    private static final int FECHA_INGRESO = 20;
+
+    /** Posición del código del nombre. */
+    private static final int NOMBRE = 24;
+
+    /** Posición del código del primer apellido. */
+    private static final int APELLIDO1 = 28;
+
+    /** Posición del código del segundo apellido. */
+    private static final int APELLIDO2 = 32;
+
+    /** Posición de la longitud de los textos. */
+    private static final int LONGITUD_TEXTO = 36;
+
+    /** Posición del código del puesto. */
+    private static final int PUESTO = 40;
+
+    /** Posición del código del tipo de planilla. */
+    private static final int PLANILLA = 42;
+
+    /** Valor de la fecha de ingreso cuando el empleado no tiene. */
+    private static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    /** Separador de los textos de un registro. */
+    private static final byte SEPARADOR = ',';
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Registros de ancho fijo. */
+    private final MemoriaFueraHeap registros;
+
+    /** Textos de los registros. */
+    private final MemoriaFueraHeap textos;
+
+    /** Tipos de planilla distintos. */
+    private final DiccionarioCadenas planillas = new DiccionarioCadenas();
+
+    /** Puestos distintos. */
+    private final DiccionarioCadenas puestos = new DiccionarioCadenas();
+
+    /** Nombres y apellidos distintos. */
+    private final DiccionarioCadenas nombres = new DiccionarioCadenas();
+
+    /** Cantidad de registros. */
+    private long cantidad;
+
+    /** ID del último registro agregado. */
+    private int ultimoId = Integer.MIN_VALUE;
+
+    /** true mientras los registros se hayan agregado en orden creciente de ID. */
+    private boolean ordenadoPorId = true;
+
+    // ================================================================================
+    // VISTA
+    // ================================================================================
+
+    /**
+     * Empleado de solo lectura que lee sus atributos de un registro del
+     * almacén.
+     */
+    public final class Vista extends VistaEmpleado {
+
+        /** Fila que representa la vista. */
+        private long fila;
+
+        /**
+         * Crea una vista sobre una fila.
+         *
+         * @param fila la fila
+         */
+        private Vista(long fila) {
+            this.fila = fila;
+        }
+
+        /**
+         * @return la fila del almacén que representa la vista
+         */
+        public long getFila() {
+            return fila;
+        }
+
+        /**
+         * Mueve la vista a otra fila, para recorridos que reutilizan una
+         * sola vista.
+         *
+         * @param fila la nueva fila
+         */
+        void mover(long fila) {
+            this.fila = fila;
+        }
+
+        @Override
+        public int getId() {
+            return AlmacenEmpleadosFueraHeap.this.getId(fila);
+        }
+
+        @Override
+        public String getCedula() {
+            return campoTexto(fila, 0);
+        }
+
+        @Override
+        public String getNombre() {
+            return nombres.decodificar(entero(fila, NOMBRE));
+        }
+
+        @Override
+        public String getApellido1() {
+            return nombres.decodificar(entero(fila, APELLIDO1));
+        }
+
+        @Override
+        public String getApellido2() {
+            return nombres.decodificar(entero(fila, APELLIDO2));
+        }
+
+        @Override
+        public String getEmail() {
+            return campoTexto(fila, 1);
+        }
+
+        @Override
+        public String getTelefono() {
+            return campoTexto(fila, 2);
+        }
+
+        @Override
+        public double getSalarioBruto() {
+            return getSalarioCentimos(fila) / 100.0;
+        }
+
+        @Override
+        public String getTipoPlanilla() {
+            return AlmacenEmpleadosFueraHeap.this.getTipoPlanilla(fila);
+        }
+
+        @Override
+        public String getPuesto() {
+            long pos = registros.posicionRegistro(fila, TAMANO_REGISTRO);
+            return puestos.decodificar(registros.bloque(pos).getShort(registros.desplazamiento(pos) + PUESTO));
+        }
+
+        @Override
+        public LocalDate getFechaIngreso() {
+            int dia = getDiaIngreso(fila);
+            return dia == SIN_FECHA ? null : LocalDate.ofEpochDay(dia);
+        }
+    }
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un almacén sobre dos memorias vacías.
+     *
+     * @param registros memoria para los registros de ancho fijo
+     * @param textos memoria para los textos
+     */
+    public AlmacenEmpleadosFueraHeap(MemoriaFueraHeap registros, MemoriaFueraHeap textos) {
+        this.registros = registros;
+        this.textos = textos;
+    }
+
+    /**
+     * Crea un almacén en memoria directa.
+     *
+     * @return el almacén, vacío
+     */
+    public static AlmacenEmpleadosFueraHeap enMemoriaDirecta() {
+        return new AlmacenEmpleadosFueraHeap(
+            MemoriaFueraHeap.directa(MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO),
+            MemoriaFueraHeap.directa(MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO));
+    }
+
+    /**
+     * Crea un almacén respaldado por archivos de trabajo mapeados en memoria.
+     *
+     * @param directorio directorio de los archivos de trabajo
+     * @return el almacén, vacío
+     * @throws IOException si no se pueden crear los archivos
+     */
+    public static AlmacenEmpleadosFueraHeap mapeado(Path directorio) throws IOException {
+        return new AlmacenEmpleadosFueraHeap(
+            MemoriaFueraHeap.mapeada(directorio, MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO),
+            MemoriaFueraHeap.mapeada(directorio, MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO));
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - ALTAS
+    // ================================================================================
+
+    /**
+     * Agrega un empleado al final del almacén.
+     *
+     * @param empleado el empleado
+     * @throws IOException si no se puede extender la memoria mapeada
+     * @throws IllegalArgumentException si la cédula, el correo o el teléfono
+     *                                  contienen comas
+     */
+    public void agregar(Empleado empleado) throws IOException {
+        byte[] texto = (texto(empleado.getCedula()) + "," + texto(empleado.getEmail()) + ","
+                        + texto(empleado.getTelefono())).getBytes(StandardCharsets.UTF_8);
+        long posicionTexto = textos.reservar(texto.length);
+        textos.escribir(posicionTexto, texto);
+
+        long pos = registros.reservar(TAMANO_REGISTRO);
+        ByteBuffer bloque = registros.bloque(pos);
+        int inicio = registros.desplazamiento(pos);
+        LocalDate fecha = empleado.getFechaIngreso();
+        bloque.putLong(inicio + SALARIO, Math.round(empleado.getSalarioBruto() * 100));
+        bloque.putLong(inicio + TEXTO, posicionTexto);
+        bloque.putInt(inicio + ID, empleado.getId());
+        bloque.putInt(inicio + FECHA_INGRESO, fecha == null ? SIN_FECHA : (int) fecha.toEpochDay());
+        bloque.putInt(inicio + NOMBRE, nombres.codificar(empleado.getNombre()));
+        bloque.putInt(inicio + APELLIDO1, nombres.codificar(empleado.getApellido1()));
+        bloque.putInt(inicio + APELLIDO2, nombres.codificar(empleado.getApellido2()));
+        bloque.putInt(inicio + LONGITUD_TEXTO, texto.length);
+        bloque.putShort(inicio + PUESTO, (short) codigoAcotado(puestos, empleado.getPuesto(), Short.MAX_VALUE));
+        bloque.put(inicio + PLANILLA, (byte) codigoAcotado(planillas, empleado.getTipoPlanilla(), Byte.MAX_VALUE));
+
+        if (empleado.getId() <= ultimoId) {
+            ordenadoPorId = false;
+        }
+        ultimoId = empleado.getId();
+        cantidad++;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - CONSULTA
+    // ================================================================================
+
+    /**
+     * @return cantidad de empleados del almacén
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @param fila la fila
+     * @return el ID del empleado
+     */
+    public int getId(long fila) {
+        return entero(fila, ID);
+    }
+
+    /**
+     * @param fila la fila
+     * @return el salario bruto en céntimos
+     */
+    public long getSalarioCentimos(long fila) {
+        long pos = registros.posicionRegistro(fila, TAMANO_REGISTRO);
+        return registros.bloque(pos).getLong(registros.desplazamiento(pos) + SALARIO);
+    }
+
+    /**
+     * @param fila la fila
+     * @return la fecha de ingreso en días desde 1970-01-01, o
+     *         {@link Integer#MIN_VALUE} si no tiene
+     */
+    public int getDiaIngreso(long fila) {
+        return entero(fila, FECHA_INGRESO);
+    }
+
+    /**
+     * @param fila la fila
+     * @return el tipo de planilla (la instancia compartida del diccionario)
+     */
+    public String getTipoPlanilla(long fila) {
+        long pos = registros.posicionRegistro(fila, TAMANO_REGISTRO);
+        return planillas.decodificar(registros.bloque(pos).get(registros.desplazamiento(pos) + PLANILLA));
+    }
+
+    /**
+     * Obtiene una vista de una fila.
+     *
+     * @param fila la fila, entre 0 y {@link #getCantidad()} - 1
+     * @return una vista nueva, independiente de las demás
+     * @throws IndexOutOfBoundsException si la fila no existe
+     */
+    public Vista vista(long fila) {
+        if (fila < 0 || fila >= cantidad) {
+            throw new IndexOutOfBoundsException("Fila " + fila + " de " + cantidad);
+        }
+        return new Vista(fila);
+    }
+
+    /**
+     * Busca la fila de un ID: búsqueda binaria si los registros se agregaron
+     * en orden de ID, recorrido completo si no.
+     *
+     * @param id el ID del empleado
+     * @return la fila, o -1 si no existe
+     */
+    public long buscarFila(int id) {
+        if (ordenadoPorId) {
+            long bajo = 0;
+            long alto = cantidad - 1;
+            while (bajo <= alto) {
+                long medio = (bajo + alto) >>> 1;
+                int actual = getId(medio);
+                if (actual < id) {
+                    bajo = medio + 1;
+                } else if (actual > id) {
+                    alto = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -1;
+        }
+        for (long fila = 0; fila < cantidad; fila++) {
+            if (getId(fila) == id) {
+                return fila;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Busca un empleado por su ID.
+     *
+     * @param id el ID del empleado
+     * @return una vista del empleado, o null si no existe
+     */
+    public Vista buscarPorId(int id) {
+        long fila = buscarFila(id);
+        return fila < 0 ? null : new Vista(fila);
+    }
+
+    /**
+     * Recorre todos los empleados con una única vista que se mueve de fila
+     * en fila. El consumidor no debe guardar la vista recibida.
+     *
+     * @param consumidor función que recibe cada empleado
+     */
+    public void recorrer(Consumer<? super Vista> consumidor) {
+        Vista cursor = new Vista(0);
+        for (long fila = 0; fila < cantidad; fila++) {
+            cursor.mover(fila);
+            consumidor.accept(cursor);
+        }
+    }
+
+    /**
+     * @return bytes reservados fuera del heap
+     */
+    public long getBytesFueraHeap() {
+        return registros.getTamanoReservado() + textos.getTamanoReservado();
+    }
+
+    /**
+     * Libera las dos memorias. Las vistas no deben usarse después de cerrar.
+     */
+    @Override
+    public void close() {
+        registros.close();
+        textos.close();
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Lee un campo {@code int} de un registro.
+     */
+    private int entero(long fila, int campo) {
+        long pos = registros.posicionRegistro(fila, TAMANO_REGISTRO);
+        return registros.bloque(pos).getInt(registros.desplazamiento(pos) + campo);
+    }
+
+    /**
+     * Decodifica un texto de una fila.
+     *
+     * @param fila la fila
+     * @param campo 0 = cédula, 1 = correo, 2 = teléfono
+     * @return el valor del campo
+     */
+    private String campoTexto(long fila, int campo) {
+        long pos = registros.posicionRegistro(fila, TAMANO_REGISTRO);
+        ByteBuffer registro = registros.bloque(pos);
+        int inicioRegistro = registros.desplazamiento(pos);
+        long posicionTexto = registro.getLong(inicioRegistro + TEXTO);
+        ByteBuffer bloque = textos.bloque(posicionTexto);
+        int inicio = textos.desplazamiento(posicionTexto);
+        int fin = inicio + registro.getInt(inicioRegistro + LONGITUD_TEXTO);
+        for (int i = 0; i < campo; i++) {
+            while (bloque.get(inicio) != SEPARADOR) {
+                inicio++;
+            }
+            inicio++;
+        }
+        int finCampo = inicio;
+        while (finCampo < fin && bloque.get(finCampo) != SEPARADOR) {
+            finCampo++;
+        }
+        byte[] bytes = new byte[finCampo - inicio];
+        bloque.get(inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Obtiene un código verificando que quepa en el campo.
+     *
+     * @throws IllegalStateException si el diccionario superó el máximo
+     */
+    private static int codigoAcotado(DiccionarioCadenas diccionario, String valor, int maximo) {
+        int codigo = diccionario.codificar(valor);
+        if (codigo > maximo) {
+            throw new IllegalStateException("Más de " + maximo + " valores distintos para un campo codificado");
+        }
+        return codigo;
+    }
+
+    /**
+     * Valida un texto y convierte null en cadena vacía.
+     */
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("El campo contiene comas: " + valor);
+        }
+        return valor;
+    }
+}
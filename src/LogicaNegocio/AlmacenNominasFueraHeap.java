@@ -0,0 +1,221 @@
+package LogicaNegocio;
+
+import AccesoDatos.MemoriaFueraHeap;
+import Entidades.Empleado;
+import Entidades.Nomina;
+import Utilidades.Periodos;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.function.IntFunction;
+
+// ================================================================================
+// CLASE AlmacenNominasFueraHeap
+// ================================================================================
+
+/**
+ * Almacén de nóminas calculadas fuera del heap de Java, para corridas
+ * masivas y series de varios años.
+ *
+ * <p>Cada nómina es un registro de {@link CodecNomina#TAMANO} bytes con el
+ * mismo formato del archivo de nóminas, guardado en una
+ * {@link MemoriaFueraHeap}. Los totales por período se suman directamente
+ * sobre los registros, sin decodificar ninguna nómina.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * try (AlmacenEmpleadosFueraHeap empleados = logicaEmpleado.cargarFueraHeap(
+ *          AlmacenEmpleadosFueraHeap.mapeado(directorio));
+ *      AlmacenNominasFueraHeap nominas = AlmacenNominasFueraHeap.mapeado(directorio)) {
+ *     nominas.calcular(empleados, fecha, Constantes.PLANILLA_MENSUAL, new CalculadoraNomina(), historial);
+ *     long[] totales = nominas.totalizar(Periodos.formatear(fecha, Constantes.PLANILLA_MENSUAL));
+ * }
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see AlmacenEmpleadosFueraHeap
+ * @see CodecNomina
+ */
+public class AlmacenNominasFueraHeap implements AutoCloseable {
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Registros de nómina. */
+    private final MemoriaFueraHeap registros;
+
+    /** Cantidad de registros. */
+    private long cantidad;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un almacén sobre una memoria vacía.
+     *
+     * @param registros memoria para los registros
+     */
+    public AlmacenNominasFueraHeap(MemoriaFueraHeap registros) {
+        this.registros = registros;
+    }
+
+    /**
+     * Crea un almacén en memoria directa.
+     *
+     * @return el almacén, vacío
+     */
+    public static AlmacenNominasFueraHeap enMemoriaDirecta() {
+        return new AlmacenNominasFueraHeap(MemoriaFueraHeap.directa(MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO));
+    }
+
+    /**
+     * Crea un almacén respaldado por un archivo de trabajo mapeado en memoria.
+     *
+     * @param directorio directorio del archivo de trabajo
+     * @return el almacén, vacío
+     * @throws IOException si no se puede crear el archivo
+     */
+    public static AlmacenNominasFueraHeap mapeado(Path directorio) throws IOException {
+        return new AlmacenNominasFueraHeap(
+            MemoriaFueraHeap.mapeada(directorio, MemoriaFueraHeap.TAMANO_BLOQUE_POR_DEFECTO));
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Agrega una nómina calculada.
+     *
+     * @param nomina la nómina; debe tener empleado y período
+     * @throws IOException si no se puede extender la memoria mapeada
+     */
+    public void agregar(Nomina nomina) throws IOException {
+        long pos = registros.reservar(CodecNomina.TAMANO);
+        CodecNomina.escribir(nomina, registros.bloque(pos), registros.desplazamiento(pos));
+        cantidad++;
+    }
+
+    /**
+     * Calcula la nómina de un período para todos los empleados del almacén
+     * y la agrega a este almacén.
+     *
+     * <p>Aplica las mismas exclusiones que {@link ProcesoNominaMasiva} (otro
+     * tipo de planilla, ingreso posterior a la fecha del período) y, si se
+     * indica el historial, el salario vigente al cierre del período. Usa una
+     * sola {@link Nomina} y una sola vista de empleado para toda la corrida,
+     * por lo que no crea objetos por empleado.</p>
+     *
+     * @param empleados los empleados
+     * @param fechaPeriodo fecha de referencia del período
+     * @param tipoPlanilla tipo de planilla a calcular
+     * @param calculadora la calculadora
+     * @param historial historial salarial, o null para usar el salario actual
+     * @return cantidad de nóminas calculadas
+     * @throws IOException si ocurre un error al leer el historial o al
+     *                     extender la memoria mapeada
+     */
+    public int calcular(AlmacenEmpleadosFueraHeap empleados, LocalDate fechaPeriodo, String tipoPlanilla,
+                        CalculadoraNomina calculadora, LogicaHistorialSalarial historial) throws IOException {
+        String periodo = Periodos.formatear(fechaPeriodo, tipoPlanilla);
+        int diaPeriodo = (int) fechaPeriodo.toEpochDay();
+        LocalDate hoy = LocalDate.now();
+        Nomina nomina = new Nomina();
+        AlmacenEmpleadosFueraHeap.Vista empleado = null;
+        int calculadas = 0;
+        for (long fila = 0; fila < empleados.getCantidad(); fila++) {
+            int diaIngreso = empleados.getDiaIngreso(fila);
+            if (!tipoPlanilla.equals(empleados.getTipoPlanilla(fila))
+                    || (diaIngreso != Integer.MIN_VALUE && diaPeriodo < diaIngreso)) {
+                continue;
+            }
+            if (empleado == null) {
+                empleado = empleados.vista(fila);
+            } else {
+                empleado.mover(fila);
+            }
+            nomina.setEmpleado(empleado);
+            nomina.setPeriodo(periodo);
+            nomina.setFechaEmision(hoy);
+            nomina.setSalarioBruto(empleados.getSalarioCentimos(fila) / 100.0);
+            if (historial != null) {
+                historial.aplicarSalarioVigente(nomina);
+            }
+            calculadora.calcularNominaCompleta(nomina);
+            agregar(nomina);
+            calculadas++;
+        }
+        return calculadas;
+    }
+
+    /**
+     * Suma los montos de las nóminas de un período sin decodificarlas.
+     *
+     * <p>Las deducciones y los aportes se suman como en
+     * {@link Nomina#getTotalDeducciones()} y
+     * {@link Nomina#getTotalAportesPatronales()}, por lo que el salario
+     * bruto menos las deducciones da el salario neto.</p>
+     *
+     * @param periodo el código del período
+     * @return arreglo {salario bruto, salario neto, deducciones, aportes
+     *         patronales} en céntimos
+     */
+    public long[] totalizar(String periodo) {
+        int codigo = Periodos.codificar(periodo);
+        long[] totales = new long[4];
+        for (long i = 0; i < cantidad; i++) {
+            long pos = registros.posicionRegistro(i, CodecNomina.TAMANO);
+            ByteBuffer bloque = registros.bloque(pos);
+            int inicio = registros.desplazamiento(pos);
+            if (CodecNomina.leerPeriodo(bloque, inicio) == codigo) {
+                totales[0] += CodecNomina.leerBrutoCentimos(bloque, inicio);
+                totales[1] += CodecNomina.leerNetoCentimos(bloque, inicio);
+                totales[2] += CodecNomina.leerDeduccionesCentimos(bloque, inicio);
+                totales[3] += CodecNomina.leerAportesCentimos(bloque, inicio);
+            }
+        }
+        return totales;
+    }
+
+    /**
+     * Decodifica una nómina.
+     *
+     * @param indice índice de la nómina, entre 0 y {@link #getCantidad()} - 1
+     * @param empleados resuelve el empleado a partir de su ID (por ejemplo,
+     *                  {@link AlmacenEmpleadosFueraHeap#buscarPorId(int)})
+     * @return la nómina
+     */
+    public Nomina leer(long indice, IntFunction<Empleado> empleados) {
+        if (indice < 0 || indice >= cantidad) {
+            throw new IndexOutOfBoundsException("Nómina " + indice + " de " + cantidad);
+        }
+        long pos = registros.posicionRegistro(indice, CodecNomina.TAMANO);
+        return CodecNomina.leer(registros.bloque(pos), registros.desplazamiento(pos), empleados);
+    }
+
+    /**
+     * @return cantidad de nóminas del almacén
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * @return bytes reservados fuera del heap
+     */
+    public long getBytesFueraHeap() {
+        return registros.getTamanoReservado();
+    }
+
+    /**
+     * Libera la memoria. No debe usarse después de cerrar.
+     */
+    @Override
+    public void close() {
+        registros.close();
+    }
+}
@@ -0,0 +1,185 @@
+package LogicaNegocio;
+
+import Utilidades.Constantes;
+import Utilidades.NombresArchivos;
+import Utilidades.Periodos;
+import java.io.File;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// ================================================================================
+// CLASE ArchivadorNominas
+// ================================================================================
+
+/**
+ * Traslado en segundo plano de los períodos antiguos de nómina al archivo
+ * histórico comprimido.
+ *
+ * <p>Las particiones de los períodos recientes se mantienen sin comprimir,
+ * ya que son las que se consultan y recalculan con frecuencia. Los períodos
+ * cuya antigüedad supera {@link #getMesesAntiguedad()} meses se trasladan con
+ * {@link LogicaNomina#archivarPeriodo(String)}, lo que reduce el espacio en
+ * disco y el tiempo de los respaldos sin cambiar la forma de consultarlos.</p>
+ *
+ * <p><b>Ejecución:</b> {@link #iniciar()} programa una revisión al poco
+ * tiempo de iniciar la aplicación y luego cada {@link #INTERVALO_HORAS}
+ * horas, en un hilo que no impide que la aplicación termine. Solo la invoca
+ * la aplicación de escritorio al iniciar; las herramientas de consola, el
+ * servidor y las pruebas de rendimiento no trasladan archivos. También
+ * puede invocarse {@link #archivarPendientes()} directamente.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaNomina
+ * @see Constantes#MESES_ANTIGUEDAD_ARCHIVO
+ */
+public class ArchivadorNominas {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Horas entre revisiones periódicas. */
+    public static final long INTERVALO_HORAS = 24;
+
+    /** Minutos de espera antes de la primera revisión, para no competir con el arranque. */
+    private static final long ESPERA_INICIAL_MINUTOS = 1;
+
+    /** Indica si la revisión periódica ya fue programada. */
+    private static final AtomicBoolean INICIADO = new AtomicBoolean();
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Antigüedad en meses a partir de la cual se archiva un período. */
+    private static volatile int mesesAntiguedad = Constantes.MESES_ANTIGUEDAD_ARCHIVO;
+
+    /** Lógica de nóminas que realiza el traslado. */
+    private final LogicaNomina logicaNomina;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un archivador sobre la lógica de nóminas indicada.
+     *
+     * @param logicaNomina la lógica de nóminas
+     */
+    public ArchivadorNominas(LogicaNomina logicaNomina) {
+        this.logicaNomina = logicaNomina;
+    }
+
+    // ================================================================================
+    // CONFIGURACIÓN
+    // ================================================================================
+
+    /**
+     * Obtiene la antigüedad a partir de la cual se archiva un período.
+     *
+     * @return la antigüedad en meses
+     */
+    public static int getMesesAntiguedad() {
+        return mesesAntiguedad;
+    }
+
+    /**
+     * Establece la antigüedad a partir de la cual se archiva un período.
+     *
+     * @param meses la antigüedad en meses (al menos 1)
+     */
+    public static void setMesesAntiguedad(int meses) {
+        if (meses < 1) {
+            throw new IllegalArgumentException("La antigüedad debe ser de al menos un mes");
+        }
+        mesesAntiguedad = meses;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Programa la revisión periódica en segundo plano, una sola vez por proceso.
+     */
+    public static void iniciar() {
+        if (!INICIADO.compareAndSet(false, true)) {
+            return;
+        }
+        ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "archivador-nominas");
+            hilo.setDaemon(true); // No impide que la aplicación termine
+            hilo.setPriority(Thread.MIN_PRIORITY);
+            return hilo;
+        });
+        programador.scheduleWithFixedDelay(() -> {
+            try {
+                new ArchivadorNominas(new LogicaNomina()).archivarPendientes();
+            } catch (IOException | RuntimeException e) {
+                e.printStackTrace(); // Se reintenta en la siguiente revisión
+            }
+        }, ESPERA_INICIAL_MINUTOS, TimeUnit.HOURS.toMinutes(INTERVALO_HORAS), TimeUnit.MINUTES);
+    }
+
+    /**
+     * Archiva todos los períodos con partición cuya antigüedad supera la configurada.
+     *
+     * @return los códigos de los períodos archivados
+     * @throws IOException si ocurre un error al archivar un período
+     */
+    public List<String> archivarPendientes() throws IOException {
+        YearMonth limite = YearMonth.now().minusMonths(mesesAntiguedad);
+        List<String> archivados = new ArrayList<>();
+        for (String periodo : periodosConParticion()) {
+            int anioMes = Periodos.codificar(periodo) / 10;
+            if (YearMonth.of(anioMes / 100, anioMes % 100).isBefore(limite)
+                    && logicaNomina.archivarPeriodo(periodo)) {
+                archivados.add(periodo);
+            }
+        }
+        return archivados;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene los códigos de los períodos que tienen partición sin comprimir.
+     *
+     * @return los códigos de los períodos
+     */
+    private static List<String> periodosConParticion() {
+        // El nombre de una partición es el nombre base con el período antes de la extensión
+        String modelo = NombresArchivos.NOMINAS_BINARIO.getNombreParticion("#");
+        String prefijo = modelo.substring(0, modelo.indexOf('#'));
+        String sufijo = modelo.substring(modelo.indexOf('#') + 1);
+
+        File directorio = new File(modelo).getAbsoluteFile().getParentFile();
+        String[] nombres = directorio.list();
+        List<String> periodos = new ArrayList<>();
+        if (nombres == null) {
+            return periodos;
+        }
+        for (String nombre : nombres) {
+            if (nombre.startsWith(prefijo) && nombre.endsWith(sufijo)
+                    && nombre.length() > prefijo.length() + sufijo.length()) {
+                String periodo = nombre.substring(prefijo.length(), nombre.length() - sufijo.length());
+                try {
+                    Periodos.codificar(periodo);
+                    periodos.add(periodo);
+                } catch (IllegalArgumentException e) {
+                    // No es una partición de nóminas
+                }
+            }
+        }
+        return periodos;
+    }
+}
@@ -10,14 +10,12 @@ package LogicaNegocio;
 import Entidades.Nomina;
 
 /**
- * Clase Constantes del paquete Utilidades con valores fijos del sistema.
+ * Clases Histograma y Metricas del paquete Utilidades.
  * 
- * <p>Se utiliza para obtener los porcentajes y límites establecidos por
- * ley para el cálculo de deducciones (CCSS, IVM, SEM, Banco Popular,
- * Impuesto sobre la Renta) y aportes patronales (INA, FCL, Asignaciones),
- * garantizando consistencia en los cálculos.
+ * <p>Se utilizan para registrar cuánto tarda el cálculo de cada nómina.
  */
-import Utilidades.Constantes;
+import Utilidades.Histograma;
+import Utilidades.Metricas;
 
 /**
  * Clase que realiza todos los cálculos relacionados con la nómina de empleados.
@@ -36,10 +34,15 @@ import Utilidades.Constantes;
  *       del salario bruto</li>
  * </ul>
  * 
- * <p>Esta clase utiliza los porcentajes y límites definidos en la clase
+ * <p>Esta clase utiliza los porcentajes y límites de un {@link TasasNomina},
+ * que por defecto toma los valores definidos en la clase
  * {@link Utilidades.Constantes} para garantizar que los cálculos se realicen
  * de acuerdo con las normativas vigentes y puedan actualizarse fácilmente
- * cuando cambien las regulaciones.
+ * cuando cambien las regulaciones. Para recalcular un período pasado se
+ * construye la calculadora con las tasas que regían en ese período.
+ * 
+ * <p>La calculadora no guarda estado entre cálculos, por lo que una misma
+ * instancia puede usarse desde varios hilos a la vez.
  * 
  * <h3>Impuesto sobre la Renta:</h3>
  * <p>El impuesto se calcula mediante un sistema de tramos progresivos:
@@ -72,6 +75,41 @@ import Utilidades.Constantes;
  */
 public class CalculadoraNomina {
     
+    /**
+     * Latencia de {@link #calcularNominaCompleta(Nomina)}.
+     */
+    private static final Histograma LATENCIA_CALCULO = Metricas.histograma("calculadoraNomina.calcularNominaCompleta");
+    
+    /**
+     * Porcentajes y límites utilizados en los cálculos.
+     */
+    private final TasasNomina tasas;
+    
+    /**
+     * Crea una calculadora con las tasas vigentes de {@link Utilidades.Constantes}.
+     */
+    public CalculadoraNomina() {
+        this(new TasasNomina());
+    }
+    
+    /**
+     * Crea una calculadora con un conjunto de tasas específico.
+     * 
+     * @param tasas las tasas a utilizar (no deben modificarse después)
+     */
+    public CalculadoraNomina(TasasNomina tasas) {
+        this.tasas = tasas;
+    }
+    
+    /**
+     * Obtiene las tasas utilizadas por esta calculadora.
+     * 
+     * @return las tasas
+     */
+    public TasasNomina getTasas() {
+        return tasas;
+    }
+    
     /**
      * Calcula todas las deducciones del empleado.
      */
@@ -79,12 +117,12 @@ public class CalculadoraNomina {
         double salarioBruto = nomina.getSalarioBruto();
         
         // CCSS
-        nomina.setDeduccionIVM(salarioBruto * Constantes.DEDUCCION_IVM);
-        nomina.setDeduccionSEM(salarioBruto * Constantes.DEDUCCION_SEM);
+        nomina.setDeduccionIVM(salarioBruto * tasas.getDeduccionIVM());
+        nomina.setDeduccionSEM(salarioBruto * tasas.getDeduccionSEM());
         nomina.setDeduccionCCSS(nomina.getDeduccionIVM() + nomina.getDeduccionSEM());
         
         // Banco Popular
-        nomina.setDeduccionBancoPop(salarioBruto * Constantes.DEDUCCION_BANCO_POPULAR);
+        nomina.setDeduccionBancoPop(salarioBruto * tasas.getDeduccionBancoPopular());
         
         // Impuesto Renta
         nomina.setDeduccionImpuestoRenta(calcularImpuestoRenta(salarioBruto));
@@ -94,43 +132,43 @@ public class CalculadoraNomina {
      * Calcula impuesto sobre la renta por tramos.
      */
     private double calcularImpuestoRenta(double salarioBruto) {
-        if (salarioBruto <= Constantes.RENTA_BASE_LIBRE) {
+        if (salarioBruto <= tasas.getRentaBaseLibre()) {
             return 0;
         }
         
         double impuesto = 0;
          
         // Tramo 1: 10%
-        if (salarioBruto > Constantes.RENTA_BASE_LIBRE) {
+        if (salarioBruto > tasas.getRentaBaseLibre()) {
             double montoTramo1 = Math.min(
-                salarioBruto - Constantes.RENTA_BASE_LIBRE,
-                Constantes.RENTA_TRAMO1_LIMITE - Constantes.RENTA_BASE_LIBRE
+                salarioBruto - tasas.getRentaBaseLibre(),
+                tasas.getRentaTramo1Limite() - tasas.getRentaBaseLibre()
             );
-            impuesto += montoTramo1 * Constantes.RENTA_TRAMO1_PORCENTAJE;
+            impuesto += montoTramo1 * tasas.getRentaTramo1Porcentaje();
         }
         
         // Tramo 2: 15%
-        if (salarioBruto > Constantes.RENTA_TRAMO1_LIMITE) {
+        if (salarioBruto > tasas.getRentaTramo1Limite()) {
             double montoTramo2 = Math.min(
-                salarioBruto - Constantes.RENTA_TRAMO1_LIMITE,
-                Constantes.RENTA_TRAMO2_LIMITE - Constantes.RENTA_TRAMO1_LIMITE
+                salarioBruto - tasas.getRentaTramo1Limite(),
+                tasas.getRentaTramo2Limite() - tasas.getRentaTramo1Limite()
             );
-            impuesto += montoTramo2 * Constantes.RENTA_TRAMO2_PORCENTAJE;
+            impuesto += montoTramo2 * tasas.getRentaTramo2Porcentaje();
         }
         
         // Tramo 3: 20%
-        if (salarioBruto > Constantes.RENTA_TRAMO2_LIMITE) {
+        if (salarioBruto > tasas.getRentaTramo2Limite()) {
             double montoTramo3 = Math.min(
-                salarioBruto - Constantes.RENTA_TRAMO2_LIMITE,
-                Constantes.RENTA_TRAMO3_LIMITE - Constantes.RENTA_TRAMO2_LIMITE
+                salarioBruto - tasas.getRentaTramo2Limite(),
+                tasas.getRentaTramo3Limite() - tasas.getRentaTramo2Limite()
             );
-            impuesto += montoTramo3 * Constantes.RENTA_TRAMO3_PORCENTAJE;
+            impuesto += montoTramo3 * tasas.getRentaTramo3Porcentaje();
         }
         
         // Tramo 4: 25%
-        if (salarioBruto > Constantes.RENTA_TRAMO3_LIMITE) {
-            double montoTramo4 = salarioBruto - Constantes.RENTA_TRAMO3_LIMITE;
-            impuesto += montoTramo4 * Constantes.RENTA_TRAMO4_PORCENTAJE;
+        if (salarioBruto > tasas.getRentaTramo3Limite()) {
+            double montoTramo4 = salarioBruto - tasas.getRentaTramo3Limite();
+            impuesto += montoTramo4 * tasas.getRentaTramo4Porcentaje();
         }
         
         return impuesto;
@@ -143,14 +181,14 @@ public class CalculadoraNomina {
         double salarioBruto = nomina.getSalarioBruto();
         
         // CCSS Patronal
-        nomina.setAporteIVM(salarioBruto * Constantes.APORTE_IVM);
-        nomina.setAporteSEM(salarioBruto * Constantes.APORTE_SEM);
+        nomina.setAporteIVM(salarioBruto * tasas.getAporteIVM());
+        nomina.setAporteSEM(salarioBruto * tasas.getAporteSEM());
         nomina.setAporteCCSS(nomina.getAporteIVM() + nomina.getAporteSEM());
         
         // Otros aportes
-        nomina.setAporteINA(salarioBruto * Constantes.APORTE_INA);
-        nomina.setAporteFCL(salarioBruto * Constantes.APORTE_FCL);
-        nomina.setAporteAsignaciones(salarioBruto * Constantes.APORTE_ASIGNACIONES);
+        nomina.setAporteINA(salarioBruto * tasas.getAporteINA());
+        nomina.setAporteFCL(salarioBruto * tasas.getAporteFCL());
+        nomina.setAporteAsignaciones(salarioBruto * tasas.getAporteAsignaciones());
     }
     
     /**
@@ -165,8 +203,10 @@ public class CalculadoraNomina {
      * Calcula la nómina completa.
      */
     public void calcularNominaCompleta(Nomina nomina) {
+        long inicio = System.nanoTime();
         calcularDeducciones(nomina);
         calcularAportesPatronales(nomina);
         calcularSalarioNeto(nomina);
+        LATENCIA_CALCULO.registrarDesde(inicio);
     }
 }
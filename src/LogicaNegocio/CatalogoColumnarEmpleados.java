@@ -0,0 +1,432 @@
+package LogicaNegocio;
+
+import Entidades.Empleado;
+import Utilidades.DiccionarioCadenas;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// ================================================================================
+// CLASE CatalogoColumnarEmpleados
+// ================================================================================
+
+/**
+ * Catálogo compacto de empleados en memoria, guardado por columnas.
+ *
+ * <p>En lugar de un objeto {@link Empleado} con una decena de
+ * {@code String} por fila, cada atributo es una columna de tipo primitivo:</p>
+ * <ul>
+ *   <li><b>ID:</b> {@code int[]}</li>
+ *   <li><b>Salario bruto:</b> {@code long[]} en céntimos</li>
+ *   <li><b>Fecha de ingreso:</b> {@code int[]} con el día epoch</li>
+ *   <li><b>Tipo de planilla y puesto:</b> códigos de un
+ *       {@link DiccionarioCadenas} ({@code byte[]} y {@code short[]}),
+ *       porque se repiten unos pocos valores en todas las filas</li>
+ *   <li><b>Nombre y apellidos:</b> códigos de un diccionario compartido
+ *       ({@code int[]}), porque los nombres también se repiten mucho</li>
+ *   <li><b>Cédula, correo y teléfono:</b> bytes UTF-8 en un único arreglo,
+ *       separados por comas, con el inicio de cada fila en un {@code int[]}</li>
+ * </ul>
+ *
+ * <p>Así cada empleado ocupa unos 80 bytes en lugar de los más de 500 de un
+ * {@code Empleado} con sus cadenas y su {@code LocalDate}.</p>
+ *
+ * <p><b>Vistas:</b> {@link #vista(int)} y {@link #buscarPorId(int)}
+ * devuelven una {@link Vista}, un {@link VistaEmpleado} que lee
+ * cada atributo de las columnas al consultarlo. {@link #recorrer(Consumer)}
+ * reutiliza una sola vista para todas las filas, sin crear ningún objeto
+ * por empleado.</p>
+ *
+ * <p><b>Limitaciones:</b> los valores null de cédula, correo y teléfono se
+ * guardan como cadena vacía, y esos tres campos no pueden contener comas
+ * (tampoco pueden en el archivo CSV).</p>
+ *
+ * <p><b>Concurrencia:</b> las altas no son seguras entre hilos. Una vez
+ * construido y publicado de forma segura (por ejemplo, en un campo
+ * {@code final} o {@code volatile}), puede consultarse desde varios hilos.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaEmpleado#leerCatalogoColumnar()
+ */
+public class CatalogoColumnarEmpleados {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Día epoch que representa una fecha de ingreso null. */
+    private static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    /** Capacidad inicial de las columnas, en filas. */
+    private static final int CAPACIDAD_INICIAL = 1024;
+
+    /** Separador de los campos de texto de una fila. */
+    private static final byte SEPARADOR = ',';
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Cantidad de filas. */
+    private int cantidad;
+
+    /** ID de cada fila. */
+    private int[] ids = new int[CAPACIDAD_INICIAL];
+
+    /** Salario bruto de cada fila, en céntimos. */
+    private long[] salarioCentimos = new long[CAPACIDAD_INICIAL];
+
+    /** Fecha de ingreso de cada fila como día epoch, o {@link #SIN_FECHA}. */
+    private int[] fechaIngreso = new int[CAPACIDAD_INICIAL];
+
+    /** Código del tipo de planilla de cada fila. */
+    private byte[] tipoPlanilla = new byte[CAPACIDAD_INICIAL];
+
+    /** Código del puesto de cada fila. */
+    private short[] puesto = new short[CAPACIDAD_INICIAL];
+
+    /** Código del nombre de cada fila. */
+    private int[] nombre = new int[CAPACIDAD_INICIAL];
+
+    /** Código del primer apellido de cada fila. */
+    private int[] apellido1 = new int[CAPACIDAD_INICIAL];
+
+    /** Código del segundo apellido de cada fila. */
+    private int[] apellido2 = new int[CAPACIDAD_INICIAL];
+
+    /**
+     * Inicio en {@link #texto} de los campos de cada fila; la fila
+     * {@code i} termina donde empieza la {@code i + 1}.
+     */
+    private int[] inicioTexto = new int[CAPACIDAD_INICIAL + 1];
+
+    /** Cédula, correo y teléfono de todas las filas, en UTF-8. */
+    private byte[] texto = new byte[CAPACIDAD_INICIAL * 48];
+
+    /** Tipos de planilla distintos. */
+    private final DiccionarioCadenas planillas = new DiccionarioCadenas();
+
+    /** Puestos distintos. */
+    private final DiccionarioCadenas puestos = new DiccionarioCadenas();
+
+    /** Nombres y apellidos distintos. */
+    private final DiccionarioCadenas nombres = new DiccionarioCadenas();
+
+    /** true mientras las filas se hayan agregado en orden creciente de ID. */
+    private boolean ordenadoPorId = true;
+
+    // ================================================================================
+    // VISTA
+    // ================================================================================
+
+    /**
+     * Empleado de solo lectura que lee sus atributos de una fila del
+     * catálogo.
+     */
+    public final class Vista extends VistaEmpleado {
+
+        /** Fila que representa la vista. */
+        private int fila;
+
+        /**
+         * Crea una vista sobre una fila.
+         *
+         * @param fila la fila
+         */
+        private Vista(int fila) {
+            this.fila = fila;
+        }
+
+        /**
+         * @return la fila del catálogo que representa la vista
+         */
+        public int getFila() {
+            return fila;
+        }
+
+        @Override
+        public int getId() {
+            return ids[fila];
+        }
+
+        @Override
+        public String getCedula() {
+            return campoTexto(fila, 0);
+        }
+
+        @Override
+        public String getNombre() {
+            return nombres.decodificar(nombre[fila]);
+        }
+
+        @Override
+        public String getApellido1() {
+            return nombres.decodificar(apellido1[fila]);
+        }
+
+        @Override
+        public String getApellido2() {
+            return nombres.decodificar(apellido2[fila]);
+        }
+
+        @Override
+        public String getEmail() {
+            return campoTexto(fila, 1);
+        }
+
+        @Override
+        public String getTelefono() {
+            return campoTexto(fila, 2);
+        }
+
+        @Override
+        public double getSalarioBruto() {
+            return salarioCentimos[fila] / 100.0;
+        }
+
+        @Override
+        public String getTipoPlanilla() {
+            return planillas.decodificar(tipoPlanilla[fila]);
+        }
+
+        @Override
+        public String getPuesto() {
+            return puestos.decodificar(puesto[fila]);
+        }
+
+        @Override
+        public LocalDate getFechaIngreso() {
+            int dia = fechaIngreso[fila];
+            return dia == SIN_FECHA ? null : LocalDate.ofEpochDay(dia);
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - ALTAS
+    // ================================================================================
+
+    /**
+     * Agrega un empleado al final del catálogo.
+     *
+     * @param empleado el empleado
+     * @throws IllegalArgumentException si la cédula, el correo o el teléfono
+     *                                  contienen comas
+     */
+    public void agregar(Empleado empleado) {
+        asegurarCapacidad(cantidad + 1);
+        int fila = cantidad;
+        ids[fila] = empleado.getId();
+        salarioCentimos[fila] = Math.round(empleado.getSalarioBruto() * 100);
+        LocalDate fecha = empleado.getFechaIngreso();
+        fechaIngreso[fila] = fecha == null ? SIN_FECHA : (int) fecha.toEpochDay();
+        tipoPlanilla[fila] = (byte) codigoAcotado(planillas, empleado.getTipoPlanilla(), Byte.MAX_VALUE);
+        puesto[fila] = (short) codigoAcotado(puestos, empleado.getPuesto(), Short.MAX_VALUE);
+        nombre[fila] = nombres.codificar(empleado.getNombre());
+        apellido1[fila] = nombres.codificar(empleado.getApellido1());
+        apellido2[fila] = nombres.codificar(empleado.getApellido2());
+        agregarTexto(fila, empleado.getCedula(), empleado.getEmail(), empleado.getTelefono());
+
+        if (fila > 0 && ids[fila] <= ids[fila - 1]) {
+            ordenadoPorId = false;
+        }
+        cantidad++;
+    }
+
+    /**
+     * Ajusta las columnas a la cantidad de filas, liberando la capacidad
+     * sobrante. Conviene llamarlo al terminar de cargar el catálogo.
+     */
+    public void compactar() {
+        ids = Arrays.copyOf(ids, cantidad);
+        salarioCentimos = Arrays.copyOf(salarioCentimos, cantidad);
+        fechaIngreso = Arrays.copyOf(fechaIngreso, cantidad);
+        tipoPlanilla = Arrays.copyOf(tipoPlanilla, cantidad);
+        puesto = Arrays.copyOf(puesto, cantidad);
+        nombre = Arrays.copyOf(nombre, cantidad);
+        apellido1 = Arrays.copyOf(apellido1, cantidad);
+        apellido2 = Arrays.copyOf(apellido2, cantidad);
+        inicioTexto = Arrays.copyOf(inicioTexto, cantidad + 1);
+        texto = Arrays.copyOf(texto, inicioTexto[cantidad]);
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - CONSULTA
+    // ================================================================================
+
+    /**
+     * Obtiene la cantidad de empleados del catálogo.
+     *
+     * @return cantidad de filas
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Obtiene una vista de una fila.
+     *
+     * @param fila la fila, entre 0 y {@link #getCantidad()} - 1
+     * @return una vista nueva, independiente de las demás
+     * @throws IndexOutOfBoundsException si la fila no existe
+     */
+    public Vista vista(int fila) {
+        if (fila < 0 || fila >= cantidad) {
+            throw new IndexOutOfBoundsException("Fila " + fila + " de " + cantidad);
+        }
+        return new Vista(fila);
+    }
+
+    /**
+     * Busca la fila de un ID. Si las filas se agregaron en orden de ID (como
+     * en el archivo de empleados) usa búsqueda binaria; si no, las recorre.
+     *
+     * @param id el ID del empleado
+     * @return la fila, o -1 si no existe
+     */
+    public int buscarFila(int id) {
+        if (ordenadoPorId) {
+            int fila = Arrays.binarySearch(ids, 0, cantidad, id);
+            return fila >= 0 ? fila : -1;
+        }
+        for (int fila = 0; fila < cantidad; fila++) {
+            if (ids[fila] == id) {
+                return fila;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Busca un empleado por su ID.
+     *
+     * @param id el ID del empleado
+     * @return una vista del empleado, o null si no existe
+     */
+    public Vista buscarPorId(int id) {
+        int fila = buscarFila(id);
+        return fila < 0 ? null : new Vista(fila);
+    }
+
+    /**
+     * Recorre todos los empleados en orden de fila con una única vista que
+     * se mueve de fila en fila.
+     *
+     * <p>El consumidor no debe guardar la vista recibida (la siguiente
+     * llamada la mueve a otra fila); si necesita conservar un empleado,
+     * debe usar {@link VistaEmpleado#copiar()} o {@link #vista(int)} con
+     * {@link Vista#getFila()}.</p>
+     *
+     * @param consumidor función que recibe cada empleado
+     */
+    public void recorrer(Consumer<? super Vista> consumidor) {
+        Vista cursor = new Vista(0);
+        for (int fila = 0; fila < cantidad; fila++) {
+            cursor.fila = fila;
+            consumidor.accept(cursor);
+        }
+    }
+
+    /**
+     * Estima la memoria que ocupan las columnas y los diccionarios, sin
+     * contar los encabezados de los objetos.
+     *
+     * @return bytes aproximados
+     */
+    public long getBytesAproximados() {
+        long bytes = (long) ids.length * 4 + salarioCentimos.length * 8L + fechaIngreso.length * 4L
+            + tipoPlanilla.length + puesto.length * 2L
+            + (nombre.length + apellido1.length + apellido2.length) * 4L
+            + inicioTexto.length * 4L + texto.length;
+        // Cada cadena distinta: el String, su arreglo y la entrada del mapa del diccionario
+        bytes += (long) (planillas.getCantidad() + puestos.getCantidad() + nombres.getCantidad()) * 96;
+        return bytes;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene un código verificando que quepa en la columna.
+     *
+     * @throws IllegalStateException si el diccionario superó el máximo
+     */
+    private static int codigoAcotado(DiccionarioCadenas diccionario, String valor, int maximo) {
+        int codigo = diccionario.codificar(valor);
+        if (codigo > maximo) {
+            throw new IllegalStateException("Más de " + maximo + " valores distintos para una columna codificada");
+        }
+        return codigo;
+    }
+
+    /**
+     * Agrega los campos de texto de una fila al final de {@link #texto}.
+     */
+    private void agregarTexto(int fila, String cedula, String email, String telefono) {
+        byte[] campos = (texto(cedula) + "," + texto(email) + "," + texto(telefono))
+            .getBytes(StandardCharsets.UTF_8);
+        int inicio = inicioTexto[fila];
+        if (inicio + campos.length > texto.length) {
+            texto = Arrays.copyOf(texto, Math.max(texto.length * 2, inicio + campos.length));
+        }
+        System.arraycopy(campos, 0, texto, inicio, campos.length);
+        inicioTexto[fila + 1] = inicio + campos.length;
+    }
+
+    /**
+     * Valida un campo de texto y convierte null en cadena vacía.
+     */
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') >= 0) {
+            throw new IllegalArgumentException("El campo contiene comas: " + valor);
+        }
+        return valor;
+    }
+
+    /**
+     * Decodifica un campo de texto de una fila.
+     *
+     * @param fila la fila
+     * @param campo 0 = cédula, 1 = correo, 2 = teléfono
+     * @return el valor del campo
+     */
+    private String campoTexto(int fila, int campo) {
+        int inicio = inicioTexto[fila];
+        int fin = inicioTexto[fila + 1];
+        for (int i = 0; i < campo; i++) {
+            while (texto[inicio] != SEPARADOR) {
+                inicio++;
+            }
+            inicio++;
+        }
+        int finCampo = inicio;
+        while (finCampo < fin && texto[finCampo] != SEPARADOR) {
+            finCampo++;
+        }
+        return new String(texto, inicio, finCampo - inicio, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Hace crecer las columnas para que quepa una cantidad de filas.
+     */
+    private void asegurarCapacidad(int filas) {
+        if (filas <= ids.length) {
+            return;
+        }
+        int capacidad = Math.max(filas, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacidad);
+        salarioCentimos = Arrays.copyOf(salarioCentimos, capacidad);
+        fechaIngreso = Arrays.copyOf(fechaIngreso, capacidad);
+        tipoPlanilla = Arrays.copyOf(tipoPlanilla, capacidad);
+        puesto = Arrays.copyOf(puesto, capacidad);
+        nombre = Arrays.copyOf(nombre, capacidad);
+        apellido1 = Arrays.copyOf(apellido1, capacidad);
+        apellido2 = Arrays.copyOf(apellido2, capacidad);
+        inicioTexto = Arrays.copyOf(inicioTexto, capacidad + 1);
+    }
+}
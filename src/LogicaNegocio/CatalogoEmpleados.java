@@ -0,0 +1,157 @@
+package LogicaNegocio;
+
+import Entidades.Empleado;
+import Utilidades.MapaEnteros;
+import java.util.HashMap;
+import java.util.Map;
+
+// ================================================================================
+// CLASE CatalogoEmpleados
+// ================================================================================
+
+/**
+ * Catálogo en memoria de los empleados activos con índices de acceso directo.
+ *
+ * <p>Mantiene tres vistas sobre los mismos objetos {@link Empleado}:</p>
+ * <ul>
+ *   <li><b>Por ID:</b> un {@link MapaEnteros} con claves {@code int} primitivas</li>
+ *   <li><b>Por cédula:</b> un {@code HashMap} con la cédula como clave</li>
+ *   <li><b>Búsqueda:</b> un {@link IndiceBusquedaEmpleados} para búsquedas por prefijo</li>
+ * </ul>
+ *
+ * <p>Las tres vistas se actualizan juntas en {@link #agregar(Empleado)},
+ * {@link #actualizar(Empleado)} y {@link #eliminar(int)}, de modo que una
+ * consulta por ID o por cédula nunca necesita leer el archivo ni recorrer
+ * la lista de empleados.</p>
+ *
+ * <p>Todos los métodos están sincronizados sobre la instancia; el llamador
+ * puede sincronizar sobre el mismo catálogo para verificar y modificar de
+ * forma atómica (por ejemplo, validar la cédula y luego agregar).</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaEmpleado
+ */
+public class CatalogoEmpleados {
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Empleados indexados por ID.
+     */
+    private final MapaEnteros<Empleado> porId = new MapaEnteros<>();
+
+    /**
+     * Empleados indexados por cédula.
+     */
+    private final Map<String, Empleado> porCedula = new HashMap<>();
+
+    /**
+     * Índice de búsqueda por prefijo sobre los mismos empleados.
+     */
+    private final IndiceBusquedaEmpleados indiceBusqueda = new IndiceBusquedaEmpleados();
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - CONSULTA
+    // ================================================================================
+
+    /**
+     * Busca un empleado por su ID.
+     *
+     * @param id el ID del empleado
+     * @return el empleado, o null si no existe
+     */
+    public synchronized Empleado buscarPorId(int id) {
+        return porId.get(id);
+    }
+
+    /**
+     * Busca un empleado por su cédula.
+     *
+     * @param cedula la cédula del empleado (se ignoran espacios al inicio y al final)
+     * @return el empleado, o null si no existe
+     */
+    public synchronized Empleado buscarPorCedula(String cedula) {
+        return cedula == null ? null : porCedula.get(cedula.trim());
+    }
+
+    /**
+     * Indica si una cédula pertenece a un empleado distinto del indicado.
+     *
+     * @param cedula la cédula a verificar
+     * @param idExcluido ID del empleado que puede tener esa cédula (0 si ninguno)
+     * @return true si otro empleado ya tiene esa cédula
+     */
+    public synchronized boolean cedulaEnUso(String cedula, int idExcluido) {
+        Empleado existente = buscarPorCedula(cedula);
+        return existente != null && existente.getId() != idExcluido;
+    }
+
+    /**
+     * Obtiene el índice de búsqueda por prefijo del catálogo.
+     *
+     * @return el índice de búsqueda
+     */
+    public IndiceBusquedaEmpleados getIndiceBusqueda() {
+        return indiceBusqueda;
+    }
+
+    /**
+     * Obtiene la cantidad de empleados del catálogo.
+     *
+     * @return cantidad de empleados
+     */
+    public synchronized int getCantidad() {
+        return porId.size();
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - MANTENIMIENTO
+    // ================================================================================
+
+    /**
+     * Agrega un empleado al catálogo, o lo reemplaza si ya existía su ID.
+     *
+     * @param empleado el empleado a agregar
+     */
+    public synchronized void agregar(Empleado empleado) {
+        Empleado anterior = porId.put(empleado.getId(), empleado);
+        if (anterior != null && anterior.getCedula() != null) {
+            porCedula.remove(anterior.getCedula().trim(), anterior);
+        }
+        if (empleado.getCedula() != null) {
+            porCedula.put(empleado.getCedula().trim(), empleado);
+        }
+        indiceBusqueda.agregar(empleado);
+    }
+
+    /**
+     * Reemplaza los datos de un empleado del catálogo. Si su ID no está en el
+     * catálogo no hace nada, igual que la modificación en el archivo.
+     *
+     * @param empleado el empleado con sus datos actualizados
+     * @return true si el empleado estaba en el catálogo y fue reemplazado
+     */
+    public synchronized boolean actualizar(Empleado empleado) {
+        if (!porId.containsKey(empleado.getId())) {
+            return false;
+        }
+        agregar(empleado); // agregar() reemplaza la entrada anterior
+        return true;
+    }
+
+    /**
+     * Elimina un empleado del catálogo.
+     *
+     * @param id el ID del empleado a eliminar
+     */
+    public synchronized void eliminar(int id) {
+        Empleado anterior = porId.remove(id);
+        if (anterior != null && anterior.getCedula() != null) {
+            porCedula.remove(anterior.getCedula().trim(), anterior);
+        }
+        indiceBusqueda.eliminar(id);
+    }
+}
@@ -0,0 +1,79 @@
+package LogicaNegocio;
+
+import AccesoDatos.EsquemaRegistro;
+import Entidades.CambioSalarial;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+// ================================================================================
+// CLASE CodecCambioSalarial
+// ================================================================================
+
+/**
+ * Codificación CSV versionada de un {@link CambioSalarial}.
+ *
+ * <p><b>Versiones del registro:</b></p>
+ * <ul>
+ *   <li><b>1 (sin marca):</b> 5 campos sin escapar. Como el puesto es el
+ *       último campo, si contenía comas se recupera uniendo los campos
+ *       sobrantes.</li>
+ *   <li><b>2:</b> los mismos 5 campos escapados y la marca {@code @v2}
+ *       (ver {@link EsquemaRegistro}).</li>
+ * </ul>
+ * <pre>
+ * id,idEmpleado,fechaVigencia,salarioBruto,puesto,@v2
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaHistorialSalarial
+ */
+public final class CodecCambioSalarial {
+
+    /** Esquema del historial salarial: 5 campos, el puesto es texto libre. */
+    static final EsquemaRegistro ESQUEMA = new EsquemaRegistro("historialSalarial", 2, 5, 5, true);
+
+    /** Formato de la fecha de vigencia. */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private CodecCambioSalarial() {
+    }
+
+    /**
+     * Codifica un cambio salarial en la versión actual.
+     *
+     * @param cambio el cambio
+     * @return el registro CSV
+     */
+    public static String escribir(CambioSalarial cambio) {
+        return ESQUEMA.codificar(
+            String.valueOf(cambio.getId()),
+            String.valueOf(cambio.getIdEmpleado()),
+            cambio.getFechaVigencia() != null ? cambio.getFechaVigencia().format(FORMATO_FECHA) : "",
+            String.valueOf(cambio.getSalarioBruto()),
+            cambio.getPuesto());
+    }
+
+    /**
+     * Decodifica un registro de cualquier versión.
+     *
+     * @param datos los campos del registro
+     * @return el cambio, o null si el registro no puede leerse (se cuenta
+     *         como descartado)
+     */
+    public static CambioSalarial leer(String[] datos) {
+        EsquemaRegistro.Registro registro = ESQUEMA.decodificar(datos);
+        if (registro == null) {
+            return null;
+        }
+        try {
+            String vigencia = registro.get(2);
+            return new CambioSalarial(Integer.parseInt(registro.get(0)), Integer.parseInt(registro.get(1)),
+                                      vigencia.isEmpty() ? null : LocalDate.parse(vigencia, FORMATO_FECHA),
+                                      Double.parseDouble(registro.get(3)), registro.get(4));
+        } catch (RuntimeException e) {
+            ESQUEMA.descartar();
+            return null;
+        }
+    }
+}
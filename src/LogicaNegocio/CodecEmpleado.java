@@ -0,0 +1,123 @@
+package LogicaNegocio;
+
+import AccesoDatos.EsquemaRegistro;
+import Entidades.Empleado;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// ================================================================================
+// CLASE CodecEmpleado
+// ================================================================================
+
+/**
+ * Codificación CSV versionada de un {@link Empleado}.
+ *
+ * <p><b>Versiones del registro:</b></p>
+ * <ul>
+ *   <li><b>1 (sin marca):</b> 10 campos; más adelante se agregó la fecha de
+ *       ingreso como campo 11. Los campos no se escapaban, así que una coma
+ *       en un nombre desalineaba el registro.</li>
+ *   <li><b>2:</b> los mismos 11 campos escapados y la marca {@code @v2}
+ *       (ver {@link EsquemaRegistro}).</li>
+ * </ul>
+ * <pre>
+ * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso,@v2
+ * </pre>
+ *
+ * <p>Los registros de la versión 1 se leen sin convertir el archivo y se
+ * escriben en la versión 2 la próxima vez que se modifica el empleado.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaEmpleado
+ */
+public final class CodecEmpleado {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Esquema del archivo de empleados: 11 campos, la fecha de ingreso es opcional. */
+    static final EsquemaRegistro ESQUEMA = new EsquemaRegistro("empleados", 2, 11, 10, false);
+
+    /** Formato de la fecha de ingreso. */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    private CodecEmpleado() {
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Codifica un empleado en la versión actual.
+     *
+     * @param empleado el empleado
+     * @return el registro CSV
+     */
+    public static String escribir(Empleado empleado) {
+        return ESQUEMA.codificar(
+            String.valueOf(empleado.getId()),
+            empleado.getCedula(),
+            empleado.getNombre(),
+            empleado.getApellido1(),
+            empleado.getApellido2(),
+            empleado.getEmail(),
+            empleado.getTelefono(),
+            String.valueOf(empleado.getSalarioBruto()),
+            empleado.getTipoPlanilla(),
+            empleado.getPuesto(),
+            empleado.getFechaIngreso() != null ? empleado.getFechaIngreso().format(FORMATO_FECHA) : "");
+    }
+
+    /**
+     * Decodifica un registro de cualquier versión. Si la fecha de ingreso
+     * falta o no puede interpretarse, queda en null.
+     *
+     * @param datos los campos del registro
+     * @return el empleado, o null si el registro no puede leerse (se cuenta
+     *         como descartado)
+     */
+    public static Empleado leer(String[] datos) {
+        EsquemaRegistro.Registro registro = ESQUEMA.decodificar(datos);
+        if (registro == null) {
+            return null;
+        }
+        try {
+            return new Empleado(
+                Integer.parseInt(registro.get(0)),
+                registro.get(1), registro.get(2), registro.get(3), registro.get(4),
+                registro.get(5), registro.get(6),
+                Double.parseDouble(registro.get(7)),
+                registro.get(8), registro.get(9),
+                fecha(registro.get(10)));
+        } catch (NumberFormatException e) {
+            ESQUEMA.descartar();
+            return null;
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Interpreta la fecha de ingreso; null si falta o es inválida.
+     */
+    private static LocalDate fecha(String campo) {
+        if (campo == null || campo.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(campo, FORMATO_FECHA);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
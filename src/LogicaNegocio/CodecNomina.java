@@ -0,0 +1,271 @@
+package LogicaNegocio;
+
+import Entidades.Empleado;
+import Entidades.Nomina;
+import Utilidades.Periodos;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.function.IntFunction;
+
+// ================================================================================
+// CLASE CodecNomina
+// ================================================================================
+
+/**
+ * Codificación binaria de ancho fijo de una {@link Nomina}.
+ *
+ * <p>Cada nómina ocupa {@link #TAMANO} bytes. Los montos se guardan como
+ * {@code long} en céntimos, lo que evita el costo de convertir texto decimal
+ * y los errores de redondeo al sumarlos. Del empleado solo se guarda el ID;
+ * sus datos se resuelven al decodificar.</p>
+ *
+ * <p><b>Distribución del registro (big-endian):</b></p>
+ * <ul>
+ *   <li><b>0:</b> ID de la nómina ({@code int})</li>
+ *   <li><b>4:</b> ID del empleado ({@code int})</li>
+ *   <li><b>8:</b> período codificado con {@link Periodos#codificar(String)} ({@code int})</li>
+ *   <li><b>12:</b> fecha de emisión en días desde 1970-01-01, o
+ *       {@link Integer#MIN_VALUE} si no tiene ({@code int})</li>
+ *   <li><b>16 a 119:</b> 13 montos en céntimos ({@code long}): salario bruto,
+ *       salario neto, deducciones (CCSS, IVM, SEM, Banco Popular, impuesto
+ *       sobre la renta) y aportes patronales (CCSS, IVM, SEM, INA, FCL,
+ *       asignaciones familiares)</li>
+ * </ul>
+ *
+ * <p>Los campos de filtrado (empleado y período) tienen posiciones fijas, por
+ * lo que pueden consultarse con {@link #leerIdEmpleado} y {@link #leerPeriodo}
+ * sin decodificar el registro completo.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaNomina
+ * @see AccesoDatos.ArchivoRegistrosFijos
+ */
+public final class CodecNomina {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Tamaño de un registro de nómina en bytes. */
+    public static final int TAMANO = 120;
+
+    /** Posición del ID de la nómina. */
+    private static final int ID = 0;
+
+    /** Posición del ID del empleado; es la clave de los índices por empleado. */
+    static final int ID_EMPLEADO = 4;
+
+    /** Posición del período codificado. */
+    private static final int PERIODO = 8;
+
+    /** Posición de la fecha de emisión. */
+    private static final int FECHA_EMISION = 12;
+
+    /** Posición del primer monto. */
+    private static final int MONTOS = 16;
+
+    /** Valor de la fecha de emisión cuando la nómina no tiene. */
+    private static final int SIN_FECHA = Integer.MIN_VALUE;
+
+    /**
+     * Montos que forman el total de deducciones, como en
+     * {@link Nomina#getTotalDeducciones()}: CCSS (que ya incluye IVM y SEM),
+     * Banco Popular e impuesto sobre la renta.
+     */
+    private static final int[] DEDUCCIONES = {2, 5, 6};
+
+    /**
+     * Montos que forman el total de aportes patronales, como en
+     * {@link Nomina#getTotalAportesPatronales()}: CCSS (que ya incluye IVM y
+     * SEM), INA, FCL y asignaciones familiares.
+     */
+    private static final int[] APORTES = {7, 10, 11, 12};
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    private CodecNomina() {
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Codifica una nómina desde la posición 0 del buffer.
+     *
+     * @param nomina la nómina a codificar; debe tener empleado y período
+     * @param registro buffer de al menos {@link #TAMANO} bytes
+     */
+    public static void escribir(Nomina nomina, ByteBuffer registro) {
+        escribir(nomina, registro, 0);
+    }
+
+    /**
+     * Codifica una nómina a partir de una posición del buffer.
+     *
+     * @param nomina la nómina a codificar; debe tener empleado y período
+     * @param buffer buffer con espacio para {@link #TAMANO} bytes desde {@code inicio}
+     * @param inicio posición del primer byte del registro
+     */
+    public static void escribir(Nomina nomina, ByteBuffer buffer, int inicio) {
+        buffer.putInt(inicio + ID, nomina.getId());
+        buffer.putInt(inicio + ID_EMPLEADO, nomina.getEmpleado().getId());
+        buffer.putInt(inicio + PERIODO, Periodos.codificar(nomina.getPeriodo()));
+        LocalDate fecha = nomina.getFechaEmision();
+        buffer.putInt(inicio + FECHA_EMISION, fecha == null ? SIN_FECHA : (int) fecha.toEpochDay());
+
+        int pos = inicio + MONTOS;
+        pos = ponerMonto(buffer, pos, nomina.getSalarioBruto());
+        pos = ponerMonto(buffer, pos, nomina.getSalarioNeto());
+        pos = ponerMonto(buffer, pos, nomina.getDeduccionCCSS());
+        pos = ponerMonto(buffer, pos, nomina.getDeduccionIVM());
+        pos = ponerMonto(buffer, pos, nomina.getDeduccionSEM());
+        pos = ponerMonto(buffer, pos, nomina.getDeduccionBancoPop());
+        pos = ponerMonto(buffer, pos, nomina.getDeduccionImpuestoRenta());
+        pos = ponerMonto(buffer, pos, nomina.getAporteCCSS());
+        pos = ponerMonto(buffer, pos, nomina.getAporteIVM());
+        pos = ponerMonto(buffer, pos, nomina.getAporteSEM());
+        pos = ponerMonto(buffer, pos, nomina.getAporteINA());
+        pos = ponerMonto(buffer, pos, nomina.getAporteFCL());
+        ponerMonto(buffer, pos, nomina.getAporteAsignaciones());
+    }
+
+    /**
+     * Decodifica la nómina que comienza en una posición del buffer.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @param empleados resuelve el empleado a partir de su ID
+     * @return la nómina decodificada
+     */
+    public static Nomina leer(ByteBuffer buffer, int inicio, IntFunction<Empleado> empleados) {
+        Nomina nomina = new Nomina();
+        nomina.setId(buffer.getInt(inicio + ID));
+        nomina.setEmpleado(empleados.apply(buffer.getInt(inicio + ID_EMPLEADO)));
+        nomina.setPeriodo(Periodos.decodificar(buffer.getInt(inicio + PERIODO)));
+        int fecha = buffer.getInt(inicio + FECHA_EMISION);
+        nomina.setFechaEmision(fecha == SIN_FECHA ? null : LocalDate.ofEpochDay(fecha));
+
+        int pos = inicio + MONTOS;
+        nomina.setSalarioBruto(monto(buffer, pos));
+        nomina.setSalarioNeto(monto(buffer, pos += 8));
+        nomina.setDeduccionCCSS(monto(buffer, pos += 8));
+        nomina.setDeduccionIVM(monto(buffer, pos += 8));
+        nomina.setDeduccionSEM(monto(buffer, pos += 8));
+        nomina.setDeduccionBancoPop(monto(buffer, pos += 8));
+        nomina.setDeduccionImpuestoRenta(monto(buffer, pos += 8));
+        nomina.setAporteCCSS(monto(buffer, pos += 8));
+        nomina.setAporteIVM(monto(buffer, pos += 8));
+        nomina.setAporteSEM(monto(buffer, pos += 8));
+        nomina.setAporteINA(monto(buffer, pos += 8));
+        nomina.setAporteFCL(monto(buffer, pos += 8));
+        nomina.setAporteAsignaciones(monto(buffer, pos += 8));
+        return nomina;
+    }
+
+    /**
+     * Lee el período codificado de un registro sin decodificarlo.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el período codificado
+     */
+    public static int leerPeriodo(ByteBuffer buffer, int inicio) {
+        return buffer.getInt(inicio + PERIODO);
+    }
+
+    /**
+     * Lee el ID del empleado de un registro sin decodificarlo.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el ID del empleado
+     */
+    public static int leerIdEmpleado(ByteBuffer buffer, int inicio) {
+        return buffer.getInt(inicio + ID_EMPLEADO);
+    }
+
+    /**
+     * Lee el salario bruto de un registro en céntimos, sin decodificarlo.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el salario bruto en céntimos
+     */
+    static long leerBrutoCentimos(ByteBuffer buffer, int inicio) {
+        return buffer.getLong(inicio + MONTOS);
+    }
+
+    /**
+     * Lee el salario neto de un registro en céntimos, sin decodificarlo.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el salario neto en céntimos
+     */
+    static long leerNetoCentimos(ByteBuffer buffer, int inicio) {
+        return buffer.getLong(inicio + MONTOS + 8);
+    }
+
+    /**
+     * Suma las deducciones de un registro en céntimos, sin decodificarlo. El
+     * desglose IVM y SEM no se suma: ya forma parte de la CCSS.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el total de deducciones en céntimos
+     */
+    static long leerDeduccionesCentimos(ByteBuffer buffer, int inicio) {
+        return sumar(buffer, inicio, DEDUCCIONES);
+    }
+
+    /**
+     * Suma los aportes patronales de un registro en céntimos, sin
+     * decodificarlo. El desglose IVM y SEM no se suma: ya forma parte de la
+     * CCSS.
+     *
+     * @param buffer buffer con uno o más registros
+     * @param inicio posición del primer byte del registro
+     * @return el total de aportes patronales en céntimos
+     */
+    static long leerAportesCentimos(ByteBuffer buffer, int inicio) {
+        return sumar(buffer, inicio, APORTES);
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Escribe un monto en céntimos.
+     *
+     * @return la posición del siguiente monto
+     */
+    private static int ponerMonto(ByteBuffer registro, int pos, double monto) {
+        registro.putLong(pos, Math.round(monto * 100));
+        return pos + 8;
+    }
+
+    /**
+     * Suma montos de un registro en céntimos.
+     *
+     * @param montos posiciones de los montos (0 = salario bruto)
+     */
+    private static long sumar(ByteBuffer buffer, int inicio, int[] montos) {
+        long total = 0;
+        for (int monto : montos) {
+            total += buffer.getLong(inicio + MONTOS + monto * 8);
+        }
+        return total;
+    }
+
+    /**
+     * Lee un monto guardado en céntimos.
+     */
+    private static double monto(ByteBuffer buffer, int pos) {
+        return buffer.getLong(pos) / 100.0;
+    }
+}
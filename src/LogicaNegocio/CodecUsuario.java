@@ -0,0 +1,76 @@
+package LogicaNegocio;
+
+import AccesoDatos.EsquemaRegistro;
+import Entidades.Usuario;
+
+// ================================================================================
+// CLASE CodecUsuario
+// ================================================================================
+
+/**
+ * Codificación CSV versionada de un {@link Usuario}.
+ *
+ * <p><b>Versiones del registro:</b></p>
+ * <ul>
+ *   <li><b>1 (sin marca):</b> 7 campos sin escapar; un registro con otra
+ *       cantidad de campos no puede leerse.</li>
+ *   <li><b>2:</b> los mismos 7 campos escapados y la marca {@code @v2}
+ *       (ver {@link EsquemaRegistro}), de modo que la contraseña y los
+ *       nombres pueden contener comas.</li>
+ * </ul>
+ * <pre>
+ * id,nombre,apellido1,apellido2,email,usuario,password,@v2
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaUsuario
+ */
+public final class CodecUsuario {
+
+    /** Esquema del archivo de usuarios: 7 campos obligatorios. */
+    static final EsquemaRegistro ESQUEMA = new EsquemaRegistro("usuarios", 2, 7, 7, false);
+
+    private CodecUsuario() {
+    }
+
+    /**
+     * Codifica un usuario en la versión actual.
+     *
+     * @param usuario el usuario
+     * @return el registro CSV
+     */
+    public static String escribir(Usuario usuario) {
+        return ESQUEMA.codificar(
+            String.valueOf(usuario.getId()),
+            usuario.getNombre(),
+            usuario.getApellido1(),
+            usuario.getApellido2(),
+            usuario.getEmail(),
+            usuario.getUsuario(),
+            usuario.getPassword());
+    }
+
+    /**
+     * Decodifica un registro de cualquier versión.
+     *
+     * @param datos los campos del registro
+     * @return el usuario, o null si el registro no puede leerse (se cuenta
+     *         como descartado)
+     */
+    public static Usuario leer(String[] datos) {
+        EsquemaRegistro.Registro registro = ESQUEMA.decodificar(datos);
+        if (registro == null) {
+            return null;
+        }
+        try {
+            return new Usuario(
+                Integer.parseInt(registro.get(0)),
+                registro.get(1), registro.get(2), registro.get(3),
+                registro.get(4), registro.get(5), registro.get(6));
+        } catch (NumberFormatException e) {
+            ESQUEMA.descartar();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package LogicaNegocio;
+
+// ================================================================================
+// CLASE EventoCambio
+// ================================================================================
+
+/**
+ * Notificación de un cambio realizado sobre una entidad a través de la capa
+ * de lógica de negocio.
+ *
+ * <p>Los eventos se publican después de que el cambio quedó escrito en el
+ * archivo, de modo que los formularios abiertos y las cachés pueden aplicar
+ * el cambio a sus propios datos sin volver a leer el archivo.</p>
+ *
+ * <p><b>Uso típico:</b></p>
+ * <pre>
+ * LogicaEmpleado.suscribir(evento -&gt; {
+ *     switch (evento.getTipo()) {
+ *         case AGREGADO:    ...; break;
+ *         case ACTUALIZADO: ...; break;
+ *         case ELIMINADO:   ...; break;
+ *     }
+ * });
+ * </pre>
+ *
+ * @param <T> tipo de la entidad modificada
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see PublicadorEventos
+ */
+public class EventoCambio<T> {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Tipos de cambio que puede sufrir una entidad.
+     */
+    public enum Tipo {
+        /** La entidad fue agregada. */
+        AGREGADO,
+        /** Los datos de la entidad fueron modificados. */
+        ACTUALIZADO,
+        /** La entidad fue eliminada. */
+        ELIMINADO,
+        /**
+         * El archivo fue modificado por fuera de la aplicación de una forma que
+         * no se puede aplicar como cambios individuales; la entidad es null y
+         * los suscriptores deben volver a cargar sus datos.
+         */
+        RECARGADO
+    }
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Tipo de cambio realizado.
+     */
+    private final Tipo tipo;
+
+    /**
+     * Entidad afectada, con sus datos posteriores al cambio (o los últimos
+     * datos conocidos en el caso de una eliminación); null para
+     * {@link Tipo#RECARGADO}.
+     */
+    private final T entidad;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un evento de cambio.
+     *
+     * @param tipo el tipo de cambio
+     * @param entidad la entidad afectada
+     */
+    public EventoCambio(Tipo tipo, T entidad) {
+        this.tipo = tipo;
+        this.entidad = entidad;
+    }
+
+    // ================================================================================
+    // GETTERS
+    // ================================================================================
+
+    /**
+     * Obtiene el tipo de cambio.
+     *
+     * @return el tipo de cambio
+     */
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Obtiene la entidad afectada.
+     *
+     * @return la entidad afectada
+     */
+    public T getEntidad() {
+        return entidad;
+    }
+}
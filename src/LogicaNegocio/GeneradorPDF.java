@@ -27,6 +27,20 @@ import com.itextpdf.text.*;
  */
 import com.itextpdf.text.pdf.*;
 
+/**
+ * Clase File del paquete java.io.
+ * 
+ * <p>Se utiliza para consultar el tamaño del PDF generado.
+ */
+import java.io.File;
+
+/**
+ * Clase IOException del paquete java.io.
+ * 
+ * <p>Se utiliza al leer el PDF generado para contar sus páginas.
+ */
+import java.io.IOException;
+
 /**
  * Clase FileOutputStream del paquete java.io para escritura de archivos.
  * 
@@ -53,6 +67,23 @@ import java.text.DecimalFormat;
  */
 import java.util.List;
 
+/**
+ * Clases Histograma y Metricas del paquete Utilidades.
+ * 
+ * <p>Se utilizan para registrar cuánto tarda la generación de cada tipo
+ * de reporte y cuántos reportes fallan.
+ */
+import Utilidades.Histograma;
+import Utilidades.Metricas;
+
+/**
+ * Clase EventosJfr del paquete Utilidades.
+ * 
+ * <p>Se utiliza para registrar cada reporte generado como evento de
+ * JDK Flight Recorder, con su tipo, páginas y tamaño.
+ */
+import Utilidades.EventosJfr;
+
 /**
  * Clase que genera documentos PDF para reportes de nómina.
  * 
@@ -113,6 +144,26 @@ public class GeneradorPDF {
     // CONSTANTES DE CLASE
     // ========================================================================
     
+    /**
+     * Latencia de la generación de comprobantes de empleado.
+     */
+    private static final Histograma LATENCIA_REPORTE_EMPLEADO = Metricas.histograma("generadorPDF.reporteEmpleado");
+    
+    /**
+     * Latencia de la generación de reportes patronales individuales.
+     */
+    private static final Histograma LATENCIA_REPORTE_PATRONO = Metricas.histograma("generadorPDF.reportePatrono");
+    
+    /**
+     * Latencia de la generación de reportes patronales consolidados.
+     */
+    private static final Histograma LATENCIA_REPORTE_MENSUAL = Metricas.histograma("generadorPDF.reportePatronoMensual");
+    
+    /**
+     * Cantidad de reportes que fallaron.
+     */
+    private static final Metricas.Contador ERRORES_REPORTES = Metricas.contador("generadorPDF.errores");
+    
     /**
      * Formato estándar para presentación de valores monetarios.
      * 
@@ -184,6 +235,23 @@ public class GeneradorPDF {
      *                   espacio en disco insuficiente, o errores de formato)
      */
     public String generarReporteEmpleado(Nomina nomina) throws Exception {
+        long inicio = System.nanoTime();
+        EventosJfr.GeneracionPDF evento = new EventosJfr.GeneracionPDF();
+        evento.begin();
+        try {
+            return registrarEvento(evento, "empleado", crearReporteEmpleado(nomina));
+        } catch (Exception e) {
+            ERRORES_REPORTES.incrementar();
+            throw e;
+        } finally {
+            LATENCIA_REPORTE_EMPLEADO.registrarDesde(inicio);
+        }
+    }
+    
+    /**
+     * Genera el comprobante del empleado; ver {@link #generarReporteEmpleado}.
+     */
+    private String crearReporteEmpleado(Nomina nomina) throws Exception {
         String nombreArchivo = "Nomina_" + nomina.getEmpleado().getCedula() + 
                                "_" + nomina.getPeriodo() + ".pdf";
         
@@ -312,6 +380,23 @@ public class GeneradorPDF {
      * @throws Exception si ocurre algún error durante la creación del PDF
      */
     public String generarReportePatrono(Nomina nomina) throws Exception {
+        long inicio = System.nanoTime();
+        EventosJfr.GeneracionPDF evento = new EventosJfr.GeneracionPDF();
+        evento.begin();
+        try {
+            return registrarEvento(evento, "patrono", crearReportePatrono(nomina));
+        } catch (Exception e) {
+            ERRORES_REPORTES.incrementar();
+            throw e;
+        } finally {
+            LATENCIA_REPORTE_PATRONO.registrarDesde(inicio);
+        }
+    }
+    
+    /**
+     * Genera el reporte patronal individual; ver {@link #generarReportePatrono}.
+     */
+    private String crearReportePatrono(Nomina nomina) throws Exception {
         String nombreArchivo = "Patronal_" + nomina.getEmpleado().getCedula() + 
                                "_" + nomina.getPeriodo() + ".pdf";
         
@@ -460,6 +545,23 @@ public class GeneradorPDF {
      *                   o si la lista de nóminas está vacía o es null
      */
     public String generarReportePatronoMensual(List<Nomina> listaNominas, String periodo) throws Exception {
+        long inicio = System.nanoTime();
+        EventosJfr.GeneracionPDF evento = new EventosJfr.GeneracionPDF();
+        evento.begin();
+        try {
+            return registrarEvento(evento, "patronoMensual", crearReportePatronoMensual(listaNominas, periodo));
+        } catch (Exception e) {
+            ERRORES_REPORTES.incrementar();
+            throw e;
+        } finally {
+            LATENCIA_REPORTE_MENSUAL.registrarDesde(inicio);
+        }
+    }
+    
+    /**
+     * Genera el reporte patronal consolidado; ver {@link #generarReportePatronoMensual}.
+     */
+    private String crearReportePatronoMensual(List<Nomina> listaNominas, String periodo) throws Exception {
         String nombreArchivo = "Patronal_Mensual_" + periodo.replace(" ", "_") + ".pdf";
         
         Document document = new Document(PageSize.LETTER, 36, 36, 54, 54); // Márgenes ajustados
@@ -584,6 +686,39 @@ public class GeneradorPDF {
         return nombreArchivo;
     }
     
+    // ========================================================================
+    // MÉTODOS PRIVADOS AUXILIARES - EVENTOS JFR
+    // ========================================================================
+    
+    /**
+     * Completa y confirma el evento JFR de un reporte recién generado.
+     * 
+     * <p>Si el evento no está habilitado no hace nada más que devolver el
+     * nombre del archivo; solo con una grabación activa se vuelve a leer
+     * el PDF para contar sus páginas.
+     * 
+     * @param evento el evento iniciado antes de generar el reporte
+     * @param tipo el tipo de reporte ("empleado", "patrono" o "patronoMensual")
+     * @param nombreArchivo el nombre del PDF generado
+     * @return el mismo nombre de archivo
+     */
+    private static String registrarEvento(EventosJfr.GeneracionPDF evento, String tipo, String nombreArchivo) {
+        if (evento.shouldCommit()) {
+            evento.tipo = tipo;
+            evento.archivo = nombreArchivo;
+            evento.bytes = new File(nombreArchivo).length();
+            try {
+                PdfReader lector = new PdfReader(nombreArchivo);
+                evento.paginas = lector.getNumberOfPages();
+                lector.close();
+            } catch (IOException e) {
+                // El reporte ya se generó; el evento queda sin cantidad de páginas
+            }
+            evento.commit();
+        }
+        return nombreArchivo;
+    }
+    
     // ========================================================================
     // MÉTODOS PRIVADOS AUXILIARES - FORMATO DE CELDAS Y TABLAS
     // ========================================================================
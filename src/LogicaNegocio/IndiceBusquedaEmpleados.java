@@ -0,0 +1,426 @@
+package LogicaNegocio;
+
+import Entidades.Empleado;
+import Utilidades.MapaEnteros;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+// ================================================================================
+// CLASE IndiceBusquedaEmpleados
+// ================================================================================
+
+/**
+ * Índice invertido en memoria para la búsqueda incremental de empleados.
+ *
+ * <p>Indexa la cédula, el nombre, los apellidos, el correo y el puesto de cada
+ * empleado. Cada campo se normaliza (minúsculas, sin tildes) y se divide en
+ * términos; el diccionario de términos se mantiene ordenado, de modo que una
+ * búsqueda por prefijo recorre solo el rango de términos que comienzan con el
+ * texto consultado en lugar de revisar todos los empleados.</p>
+ *
+ * <p><b>Términos generados por empleado:</b></p>
+ * <ul>
+ *   <li>Cada palabra de nombre, apellidos y puesto</li>
+ *   <li>La cédula completa, sin guiones y cada uno de sus segmentos</li>
+ *   <li>El correo completo y cada una de sus partes (usuario, dominio)</li>
+ * </ul>
+ *
+ * <p><b>Consultas:</b> el texto buscado se divide en palabras; un empleado
+ * coincide si <i>cada</i> palabra es prefijo de alguno de sus términos. Por
+ * ejemplo, {@code "ana rod"} encuentra a "Ana Rodríguez".</p>
+ *
+ * <p><b>Actualización incremental:</b> {@link #agregar(Empleado)},
+ * {@link #actualizar(Empleado)} y {@link #eliminar(int)} modifican solo las
+ * listas de los términos del empleado afectado. El índice es seguro para
+ * acceso concurrente: las búsquedas comparten un bloqueo de lectura y las
+ * modificaciones toman el de escritura.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaEmpleado#buscarEmpleados(String, int)
+ */
+public class IndiceBusquedaEmpleados {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /**
+     * Separadores de términos: cualquier carácter que no sea letra o dígito.
+     */
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /**
+     * Marcas diacríticas eliminadas durante la normalización.
+     */
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}+");
+
+    /**
+     * Cantidad máxima de términos revisados al estimar cuántos empleados
+     * coinciden con una palabra. Los prefijos muy cortos (por ejemplo, un solo
+     * dígito de la cédula) abarcan cientos de miles de términos; contarlos
+     * todos costaría más que la propia búsqueda.
+     */
+    private static final int MAX_TERMINOS_ESTIMACION = 256;
+
+    /**
+     * Estimación devuelta para los rangos que superan
+     * {@link #MAX_TERMINOS_ESTIMACION} términos.
+     */
+    private static final int RANGO_AMPLIO = Integer.MAX_VALUE - 1;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Diccionario ordenado de términos con la lista de IDs que los contienen.
+     */
+    private final TreeMap<String, ListaIds> terminos = new TreeMap<>();
+
+    /**
+     * Empleados indexados por ID, con los términos generados para cada uno
+     * (necesarios para eliminarlo o verificar coincidencias). Un
+     * {@link MapaEnteros} evita crear un {@code Integer} por cada candidato
+     * revisado y admite cualquier ID, aunque el archivo tenga IDs dispersos,
+     * muy grandes o negativos agregados por otro programa.
+     */
+    private final MapaEnteros<Entrada> entradas = new MapaEnteros<>();
+
+    /**
+     * Bloqueo que permite búsquedas concurrentes y modificaciones exclusivas.
+     */
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - MANTENIMIENTO
+    // ================================================================================
+
+    /**
+     * Agrega un empleado al índice. Si ya existía un empleado con el mismo ID,
+     * se reemplaza.
+     *
+     * @param empleado el empleado a indexar
+     */
+    public void agregar(Empleado empleado) {
+        bloqueo.writeLock().lock();
+        try {
+            eliminarSinBloqueo(empleado.getId());
+            String[] tokens = generarTerminos(empleado);
+            entradas.put(empleado.getId(), new Entrada(empleado, tokens));
+            for (String token : tokens) {
+                terminos.computeIfAbsent(token, t -> new ListaIds()).agregar(empleado.getId());
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Actualiza los términos de un empleado ya indexado.
+     *
+     * @param empleado el empleado con sus datos actualizados
+     */
+    public void actualizar(Empleado empleado) {
+        agregar(empleado); // agregar() reemplaza la entrada anterior
+    }
+
+    /**
+     * Elimina un empleado del índice.
+     *
+     * @param idEmpleado el ID del empleado a eliminar
+     */
+    public void eliminar(int idEmpleado) {
+        bloqueo.writeLock().lock();
+        try {
+            eliminarSinBloqueo(idEmpleado);
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Obtiene la cantidad de empleados indexados.
+     *
+     * @return cantidad de empleados en el índice
+     */
+    public int getCantidad() {
+        bloqueo.readLock().lock();
+        try {
+            return entradas.size();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - CONSULTA
+    // ================================================================================
+
+    /**
+     * Busca empleados cuyos términos comiencen con cada palabra del texto.
+     *
+     * <p>La palabra más selectiva (la de menor cantidad de coincidencias)
+     * determina los candidatos; las demás palabras se verifican solo sobre
+     * esos candidatos. La búsqueda se detiene al alcanzar el límite.</p>
+     *
+     * @param texto el texto a buscar (no distingue mayúsculas ni tildes)
+     * @param limite cantidad máxima de resultados
+     * @return los empleados encontrados, como máximo {@code limite}; lista vacía
+     *         si el texto no contiene palabras
+     */
+    public List<Empleado> buscar(String texto, int limite) {
+        String[] palabras = dividir(normalizar(texto));
+        if (palabras.length == 0 || limite <= 0) {
+            return new ArrayList<>();
+        }
+
+        bloqueo.readLock().lock();
+        try {
+            // Elegir la palabra con el rango de términos más pequeño; entre
+            // rangos demasiado amplios para contarlos, la palabra más larga
+            NavigableMap<String, ListaIds> rangoMenor = null;
+            String palabraMenor = "";
+            int menorTamano = Integer.MAX_VALUE;
+            for (String palabra : palabras) {
+                NavigableMap<String, ListaIds> rango = rangoPrefijo(palabra);
+                int tamano = contarHasta(rango, menorTamano);
+                if (tamano < menorTamano
+                        || (tamano == RANGO_AMPLIO && menorTamano == RANGO_AMPLIO
+                            && palabra.length() > palabraMenor.length())) {
+                    menorTamano = tamano;
+                    rangoMenor = rango;
+                    palabraMenor = palabra;
+                }
+            }
+
+            List<Empleado> resultado = new ArrayList<>();
+            MapaEnteros<Entrada> vistos = new MapaEnteros<>(); // Un empleado aparece en varios términos del rango
+            for (ListaIds lista : rangoMenor.values()) {
+                for (int i = 0; i < lista.tamano; i++) {
+                    int id = lista.ids[i];
+                    Entrada entrada = entradas.get(id);
+                    if (vistos.put(id, entrada) != null) {
+                        continue;
+                    }
+                    if (coincideConTodas(entrada, palabras)) {
+                        resultado.add(entrada.empleado);
+                        if (resultado.size() >= limite) {
+                            return resultado;
+                        }
+                    }
+                }
+            }
+            return resultado;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Elimina un empleado sin tomar el bloqueo (el llamador ya lo tiene).
+     *
+     * @param idEmpleado el ID del empleado
+     */
+    private void eliminarSinBloqueo(int idEmpleado) {
+        Entrada anterior = entradas.remove(idEmpleado);
+        if (anterior == null) {
+            return;
+        }
+        for (String token : anterior.tokens) {
+            ListaIds lista = terminos.get(token);
+            if (lista != null) {
+                lista.eliminar(idEmpleado);
+                if (lista.tamano == 0) {
+                    terminos.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el rango del diccionario con los términos que comienzan con un prefijo.
+     *
+     * @param prefijo el prefijo normalizado
+     * @return vista del diccionario con los términos del rango
+     */
+    private NavigableMap<String, ListaIds> rangoPrefijo(String prefijo) {
+        return terminos.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Suma la cantidad de IDs de un rango, deteniéndose al superar un tope o
+     * al revisar {@link #MAX_TERMINOS_ESTIMACION} términos.
+     *
+     * @param rango el rango de términos
+     * @param tope valor a partir del cual se deja de contar
+     * @return la cantidad de IDs del rango, o un valor mayor o igual al tope;
+     *         {@link #RANGO_AMPLIO} si el rango tiene demasiados términos
+     */
+    private static int contarHasta(NavigableMap<String, ListaIds> rango, int tope) {
+        int total = 0;
+        int revisados = 0;
+        for (ListaIds lista : rango.values()) {
+            total += lista.tamano;
+            if (total >= tope) {
+                break;
+            }
+            if (++revisados > MAX_TERMINOS_ESTIMACION) {
+                return RANGO_AMPLIO; // Rango muy amplio: poco selectivo
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Verifica que cada palabra sea prefijo de algún término del empleado.
+     *
+     * @param entrada la entrada del empleado
+     * @param palabras las palabras de la consulta
+     * @return true si todas las palabras coinciden
+     */
+    private static boolean coincideConTodas(Entrada entrada, String[] palabras) {
+        for (String palabra : palabras) {
+            boolean coincide = false;
+            for (String token : entrada.tokens) {
+                if (token.startsWith(palabra)) {
+                    coincide = true;
+                    break;
+                }
+            }
+            if (!coincide) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Genera los términos indexados de un empleado, sin repeticiones.
+     *
+     * @param emp el empleado
+     * @return los términos normalizados
+     */
+    private static String[] generarTerminos(Empleado emp) {
+        Set<String> tokens = new LinkedHashSet<>();
+        agregarPalabras(tokens, emp.getNombre());
+        agregarPalabras(tokens, emp.getApellido1());
+        agregarPalabras(tokens, emp.getApellido2());
+        agregarPalabras(tokens, emp.getPuesto());
+
+        String cedula = normalizar(emp.getCedula());
+        if (!cedula.isEmpty()) {
+            tokens.add(cedula);
+            tokens.add(SEPARADORES.matcher(cedula).replaceAll(""));
+            agregarPalabras(tokens, cedula);
+        }
+
+        String email = normalizar(emp.getEmail());
+        if (!email.isEmpty()) {
+            tokens.add(email);
+            agregarPalabras(tokens, email);
+        }
+        tokens.remove("");
+        return tokens.toArray(new String[0]);
+    }
+
+    /**
+     * Agrega las palabras normalizadas de un texto al conjunto de términos.
+     *
+     * @param tokens conjunto destino
+     * @param texto el texto a dividir
+     */
+    private static void agregarPalabras(Set<String> tokens, String texto) {
+        tokens.addAll(Arrays.asList(dividir(normalizar(texto))));
+    }
+
+    /**
+     * Normaliza un texto: minúsculas y sin tildes.
+     *
+     * @param texto el texto original (puede ser null)
+     * @return el texto normalizado, o cadena vacía si es null
+     */
+    private static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return sinTildes.toLowerCase().trim();
+    }
+
+    /**
+     * Divide un texto normalizado en palabras.
+     *
+     * @param texto el texto normalizado
+     * @return las palabras no vacías
+     */
+    private static String[] dividir(String texto) {
+        if (texto.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(SEPARADORES.split(texto)).filter(p -> !p.isEmpty()).toArray(String[]::new);
+    }
+
+    // ================================================================================
+    // CLASES INTERNAS
+    // ================================================================================
+
+    /**
+     * Empleado indexado junto con sus términos.
+     */
+    private static class Entrada {
+        final Empleado empleado;
+        final String[] tokens;
+
+        Entrada(Empleado empleado, String[] tokens) {
+            this.empleado = empleado;
+            this.tokens = tokens;
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs de empleados sobre un arreglo de enteros primitivos.
+     *
+     * <p>Como los IDs se asignan de forma creciente, agregar un empleado nuevo
+     * normalmente es una inserción al final.</p>
+     */
+    private static class ListaIds {
+        int[] ids = new int[2];
+        int tamano;
+
+        void agregar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamano, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            if (tamano == ids.length) {
+                ids = Arrays.copyOf(ids, tamano * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, tamano - pos);
+            ids[pos] = id;
+            tamano++;
+        }
+
+        void eliminar(int id) {
+            int pos = Arrays.binarySearch(ids, 0, tamano, id);
+            if (pos < 0) {
+                return;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, tamano - pos - 1);
+            tamano--;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package LogicaNegocio;
+
+import Entidades.CambioSalarial;
+import Utilidades.MapaEnteros;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// ================================================================================
+// CLASE IndiceHistorialSalarial
+// ================================================================================
+
+/**
+ * Índice de intervalos del historial salarial de todos los empleados.
+ *
+ * <p>Para cada empleado guarda sus cambios ordenados por fecha de vigencia,
+ * junto con un arreglo paralelo de fechas en días. Cada cambio rige desde su
+ * fecha hasta la del siguiente, de modo que el cambio vigente en una fecha
+ * se obtiene con una búsqueda binaria en O(log k), siendo k la cantidad de
+ * cambios del empleado, sin recorrer el historial.</p>
+ *
+ * <p>Es inmutable: {@link LogicaHistorialSalarial} construye uno nuevo cada
+ * vez que cambia el archivo del historial.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaHistorialSalarial
+ * @see CambioSalarial
+ */
+public final class IndiceHistorialSalarial {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Intervalos de vigencia de un empleado.
+     */
+    private static final class Intervalos {
+
+        /** Inicio de cada intervalo en días desde 1970-01-01, en orden ascendente. */
+        private final long[] desde;
+
+        /** Cambio vigente en cada intervalo, paralelo a {@link #desde}. */
+        private final CambioSalarial[] cambios;
+
+        Intervalos(long[] desde, CambioSalarial[] cambios) {
+            this.desde = desde;
+            this.cambios = cambios;
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Orden de los cambios: por fecha de vigencia (null primero) y luego por ID. */
+    private static final Comparator<CambioSalarial> ORDEN =
+        Comparator.comparingLong(IndiceHistorialSalarial::dia).thenComparingInt(CambioSalarial::getId);
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Intervalos de cada empleado, indexados por ID de empleado. */
+    private final MapaEnteros<Intervalos> porEmpleado;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Construye el índice a partir de todos los cambios registrados.
+     *
+     * @param cambios los cambios de todos los empleados, en cualquier orden
+     */
+    public IndiceHistorialSalarial(List<CambioSalarial> cambios) {
+        MapaEnteros<List<CambioSalarial>> agrupados = new MapaEnteros<>();
+        for (CambioSalarial cambio : cambios) {
+            List<CambioSalarial> lista = agrupados.get(cambio.getIdEmpleado());
+            if (lista == null) {
+                lista = new ArrayList<>();
+                agrupados.put(cambio.getIdEmpleado(), lista);
+            }
+            lista.add(cambio);
+        }
+
+        porEmpleado = new MapaEnteros<>(agrupados.size());
+        agrupados.forEachValor(lista -> {
+            CambioSalarial[] ordenados = lista.toArray(new CambioSalarial[0]);
+            Arrays.sort(ordenados, ORDEN);
+            long[] desde = new long[ordenados.length];
+            for (int i = 0; i < ordenados.length; i++) {
+                desde[i] = dia(ordenados[i]);
+            }
+            porEmpleado.put(ordenados[0].getIdEmpleado(), new Intervalos(desde, ordenados));
+        });
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Obtiene el cambio vigente de un empleado en una fecha.
+     *
+     * <p>Si hay varios cambios con la misma fecha de vigencia, prevalece el
+     * último registrado.</p>
+     *
+     * @param idEmpleado el ID del empleado
+     * @param fecha la fecha consultada
+     * @return el cambio vigente, o null si el empleado no tiene historial o
+     *         la fecha es anterior a su primer cambio
+     */
+    public CambioSalarial vigenteEn(int idEmpleado, LocalDate fecha) {
+        Intervalos intervalos = porEmpleado.get(idEmpleado);
+        if (intervalos == null) {
+            return null;
+        }
+        // Último intervalo que comienza en o antes de la fecha
+        long dia = fecha.toEpochDay();
+        int bajo = 0, alto = intervalos.desde.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (intervalos.desde[medio] <= dia) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo == 0 ? null : intervalos.cambios[bajo - 1];
+    }
+
+    /**
+     * Indica si un empleado tiene cambios registrados.
+     *
+     * @param idEmpleado el ID del empleado
+     * @return true si el empleado tiene historial
+     */
+    public boolean tieneHistorial(int idEmpleado) {
+        return porEmpleado.containsKey(idEmpleado);
+    }
+
+    /**
+     * Obtiene el historial de un empleado en orden de vigencia.
+     *
+     * @param idEmpleado el ID del empleado
+     * @return lista no modificable con los cambios (vacía si no tiene)
+     */
+    public List<CambioSalarial> historial(int idEmpleado) {
+        Intervalos intervalos = porEmpleado.get(idEmpleado);
+        return intervalos == null ? Collections.emptyList()
+                                  : Collections.unmodifiableList(Arrays.asList(intervalos.cambios));
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene el día de inicio de vigencia de un cambio.
+     *
+     * @param cambio el cambio
+     * @return días desde 1970-01-01, o {@link Long#MIN_VALUE} si rige desde siempre
+     */
+    private static long dia(CambioSalarial cambio) {
+        return cambio.getFechaVigencia() == null ? Long.MIN_VALUE : cambio.getFechaVigencia().toEpochDay();
+    }
+}
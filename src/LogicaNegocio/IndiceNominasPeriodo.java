@@ -0,0 +1,297 @@
+package LogicaNegocio;
+
+import Utilidades.Periodos;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// ================================================================================
+// CLASE IndiceNominasPeriodo
+// ================================================================================
+
+/**
+ * Índice por empleado y resumen de totales de la partición de nóminas de un período.
+ *
+ * <p>Cada partición de nóminas (ver {@link LogicaNomina}) mantiene este
+ * índice en su archivo auxiliar {@code .idx}. Permite ubicar la nómina de un
+ * empleado con una búsqueda binaria y obtener los totales del período sin
+ * leer los registros, de modo que los reportes consolidados no dependen de
+ * la cantidad de nóminas.</p>
+ *
+ * <p><b>Formato (big-endian):</b></p>
+ * <ul>
+ *   <li><b>Entradas:</b> pares {@code (int idEmpleado, int indice)} ordenados
+ *       por ID de empleado, con la posición de la última nómina de cada uno</li>
+ *   <li><b>Pie ({@value #PIE} bytes):</b> firma {@code "INOM"}, período
+ *       codificado, cantidad de registros cubiertos, cantidad de empleados,
+ *       totales en céntimos (salario bruto, salario neto, deducciones y
+ *       aportes patronales), CRC32 de todo lo anterior y versión del
+ *       formato</li>
+ * </ul>
+ *
+ * <p>Un pie de otra versión se trata como dañado: el índice se reconstruye
+ * desde los registros y se guarda en la versión actual con la siguiente
+ * escritura de la partición.</p>
+ *
+ * <p>El pie registra cuántos registros de la partición cubre el índice. Si la
+ * partición tiene más (por un corte entre la escritura de los registros y la
+ * del índice), {@link #actualizar} incorpora solo los registros faltantes.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see LogicaNomina
+ * @see CodecNomina
+ */
+public final class IndiceNominasPeriodo {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Tamaño del pie en bytes. */
+    static final int PIE = 56;
+
+    /** Tamaño de cada entrada en bytes. */
+    private static final int ENTRADA = 8;
+
+    /** Firma del pie: los caracteres {@code "INOM"}. */
+    private static final int FIRMA = 0x494E4F4D;
+
+    /**
+     * Versión del pie. Los de la versión anterior (0 en esa posición)
+     * sumaban dos veces la CCSS en las deducciones y los aportes.
+     */
+    private static final int VERSION = 2;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Período codificado de la partición. */
+    private final int periodo;
+
+    /** Cantidad de registros de la partición cubiertos por el índice. */
+    private final int registros;
+
+    /** IDs de los empleados, ordenados. */
+    private final int[] empleados;
+
+    /** Posición de la última nómina de cada empleado, paralela a {@link #empleados}. */
+    private final int[] indices;
+
+    /** Total de salarios brutos en céntimos. */
+    private final long totalBruto;
+
+    /** Total de salarios netos en céntimos. */
+    private final long totalNeto;
+
+    /** Total de deducciones en céntimos. */
+    private final long totalDeducciones;
+
+    /** Total de aportes patronales en céntimos. */
+    private final long totalAportes;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    private IndiceNominasPeriodo(int periodo, int registros, int[] empleados, int[] indices,
+                                 long totalBruto, long totalNeto, long totalDeducciones, long totalAportes) {
+        this.periodo = periodo;
+        this.registros = registros;
+        this.empleados = empleados;
+        this.indices = indices;
+        this.totalBruto = totalBruto;
+        this.totalNeto = totalNeto;
+        this.totalDeducciones = totalDeducciones;
+        this.totalAportes = totalAportes;
+    }
+
+    // ================================================================================
+    // CONSTRUCCIÓN
+    // ================================================================================
+
+    /**
+     * Obtiene el índice actualizado de una partición.
+     *
+     * <p>Si el índice anterior es válido, solo se recorren los registros que
+     * no cubre; si no existe o está dañado, se recorre la partición completa.
+     * Los totales se calculan sobre la última nómina de cada empleado.</p>
+     *
+     * @param periodo período codificado de la partición
+     * @param anterior contenido del índice guardado, o null
+     * @param particion todos los registros de la partición (ver {@link CodecNomina})
+     * @return el índice que cubre todos los registros de la partición
+     */
+    static IndiceNominasPeriodo actualizar(int periodo, ByteBuffer anterior, ByteBuffer particion) {
+        int total = particion.limit() / CodecNomina.TAMANO;
+        IndiceNominasPeriodo base = anterior == null ? null : decodificar(anterior, periodo);
+        if (base != null && base.registros > total) {
+            base = null; // No corresponde a esta partición
+        }
+        if (base != null && base.registros == total) {
+            return base;
+        }
+
+        Map<Integer, Integer> ultimas = new HashMap<>();
+        int desde = 0;
+        if (base != null) {
+            for (int i = 0; i < base.empleados.length; i++) {
+                ultimas.put(base.empleados[i], base.indices[i]);
+            }
+            desde = base.registros;
+        }
+        for (int indice = desde; indice < total; indice++) {
+            int pos = indice * CodecNomina.TAMANO;
+            if (CodecNomina.leerPeriodo(particion, pos) == periodo) {
+                ultimas.put(CodecNomina.leerIdEmpleado(particion, pos), indice);
+            }
+        }
+
+        int[] empleados = ultimas.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] indices = new int[empleados.length];
+        long bruto = 0, neto = 0, deducciones = 0, aportes = 0;
+        for (int i = 0; i < empleados.length; i++) {
+            indices[i] = ultimas.get(empleados[i]);
+            int pos = indices[i] * CodecNomina.TAMANO;
+            bruto += CodecNomina.leerBrutoCentimos(particion, pos);
+            neto += CodecNomina.leerNetoCentimos(particion, pos);
+            deducciones += CodecNomina.leerDeduccionesCentimos(particion, pos);
+            aportes += CodecNomina.leerAportesCentimos(particion, pos);
+        }
+        return new IndiceNominasPeriodo(periodo, total, empleados, indices, bruto, neto, deducciones, aportes);
+    }
+
+    /**
+     * Codifica el índice para guardarlo en el archivo auxiliar.
+     *
+     * @return buffer con el índice, listo para escribir
+     */
+    ByteBuffer codificar() {
+        ByteBuffer buffer = ByteBuffer.allocate(empleados.length * ENTRADA + PIE);
+        for (int i = 0; i < empleados.length; i++) {
+            buffer.putInt(empleados[i]).putInt(indices[i]);
+        }
+        buffer.putInt(FIRMA).putInt(periodo).putInt(registros).putInt(empleados.length)
+              .putLong(totalBruto).putLong(totalNeto).putLong(totalDeducciones).putLong(totalAportes);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue()).putInt(VERSION);
+        buffer.flip();
+        return buffer;
+    }
+
+    // ================================================================================
+    // CONSULTAS
+    // ================================================================================
+
+    /**
+     * Busca la posición de la última nómina de un empleado en la partición.
+     *
+     * @param idEmpleado el ID del empleado
+     * @return la posición del registro, o -1 si el empleado no tiene nómina
+     */
+    public int buscar(int idEmpleado) {
+        int i = Arrays.binarySearch(empleados, idEmpleado);
+        return i < 0 ? -1 : indices[i];
+    }
+
+    /**
+     * Obtiene el ID del empleado de una entrada del índice.
+     *
+     * @param entrada posición de la entrada (de 0 a {@link #getCantidadEmpleados()} - 1)
+     * @return el ID del empleado
+     */
+    public int getIdEmpleado(int entrada) {
+        return empleados[entrada];
+    }
+
+    /**
+     * Obtiene la posición del registro de una entrada del índice.
+     *
+     * @param entrada posición de la entrada (de 0 a {@link #getCantidadEmpleados()} - 1)
+     * @return la posición del registro en la partición
+     */
+    public int getIndice(int entrada) {
+        return indices[entrada];
+    }
+
+    /** @return el código del período de la partición */
+    public String getPeriodo() {
+        return Periodos.decodificar(periodo);
+    }
+
+    /** @return la cantidad de registros de la partición, incluidos los recálculos */
+    public int getCantidadRegistros() {
+        return registros;
+    }
+
+    /** @return la cantidad de empleados con nómina en el período */
+    public int getCantidadEmpleados() {
+        return empleados.length;
+    }
+
+    /** @return el total de salarios brutos del período */
+    public double getTotalSalarioBruto() {
+        return totalBruto / 100.0;
+    }
+
+    /** @return el total de salarios netos del período */
+    public double getTotalSalarioNeto() {
+        return totalNeto / 100.0;
+    }
+
+    /** @return el total de deducciones del período */
+    public double getTotalDeducciones() {
+        return totalDeducciones / 100.0;
+    }
+
+    /** @return el total de aportes patronales del período */
+    public double getTotalAportesPatronales() {
+        return totalAportes / 100.0;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Decodifica un índice guardado, verificando su pie y su CRC.
+     *
+     * @param buffer contenido del archivo de índice
+     * @param periodo período codificado esperado
+     * @return el índice, o null si está dañado, es de otro período o de otra
+     *         versión del formato
+     */
+    private static IndiceNominasPeriodo decodificar(ByteBuffer buffer, int periodo) {
+        int largo = buffer.limit();
+        if (largo < PIE || (largo - PIE) % ENTRADA != 0) {
+            return null;
+        }
+        int pie = largo - PIE;
+        if (buffer.getInt(pie) != FIRMA || buffer.getInt(pie + 4) != periodo
+                || buffer.getInt(pie + 12) != (largo - PIE) / ENTRADA || buffer.getInt(pie + 52) != VERSION) {
+            return null;
+        }
+        byte[] contenido = new byte[pie + 48];
+        buffer.get(0, contenido);
+        CRC32 crc = new CRC32();
+        crc.update(contenido);
+        if ((int) crc.getValue() != buffer.getInt(pie + 48)) {
+            return null;
+        }
+
+        int cantidad = (largo - PIE) / ENTRADA;
+        int[] empleados = new int[cantidad];
+        int[] indices = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            empleados[i] = buffer.getInt(i * ENTRADA);
+            indices[i] = buffer.getInt(i * ENTRADA + 4);
+        }
+        return new IndiceNominasPeriodo(periodo, buffer.getInt(pie + 8), empleados, indices,
+                                        buffer.getLong(pie + 16), buffer.getLong(pie + 24),
+                                        buffer.getLong(pie + 32), buffer.getLong(pie + 40));
+    }
+}
@@ -1,6 +1,22 @@
 package LogicaNegocio;
 
 import AccesoDatos.AccesoDatos;
+import AccesoDatos.DiarioEscrituras;
+import Utilidades.NombresArchivos;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Clase abstracta LogicaBase que sirve como base para la capa de lógica de negocio.
@@ -21,6 +37,22 @@ import AccesoDatos.AccesoDatos;
  * {@code accesoDatos} para realizar operaciones de persistencia sin acoplarse
  * directamente a la implementación de acceso a datos.
  * 
+ * <h3>Caché compartida de entidades:</h3>
+ * <p>Cada formulario crea su propia instancia de lógica, pero todas comparten
+ * una caché por proceso con la lista de entidades ya deserializadas de cada
+ * archivo de {@link NombresArchivos}:
+ * <ul>
+ *   <li><b>Lectura a través de la caché:</b> {@link #obtenerInstantanea(NombresArchivos, Function)}
+ *       solo lee y deserializa el archivo si su tamaño o fecha de modificación
+ *       cambiaron desde la última lectura</li>
+ *   <li><b>Instantáneas inmutables:</b> los lectores concurrentes comparten la
+ *       misma lista no modificable; abrir varias ventanas no provoca varias lecturas</li>
+ *   <li><b>Escrituras:</b> {@link #escribir(NombresArchivos, Escritura, Consumer)}
+ *       aplica el cambio a una copia de la lista y publica una nueva instantánea,
+ *       sin volver a leer el archivo ni esperar a que el
+ *       {@link DiarioEscrituras} aplique la escritura</li>
+ * </ul>
+ * 
  * <h3>Ejemplo de uso:</h3>
  * <pre>
  * public class LogicaEmpleado extends LogicaBase {
@@ -36,11 +68,108 @@ import AccesoDatos.AccesoDatos;
  */
 public abstract class LogicaBase {
     
+    // ========================================================================
+    // TIPOS
+    // ========================================================================
+    
+    /**
+     * Operación de escritura sobre un archivo que puede fallar con IOException.
+     */
+    @FunctionalInterface
+    protected interface Escritura {
+        
+        /**
+         * Ejecuta la escritura.
+         * 
+         * @throws IOException si falla la escritura
+         */
+        void ejecutar() throws IOException;
+    }
+    
+    /**
+     * Lista inmutable de entidades deserializadas de un archivo, junto con el
+     * tamaño y la fecha de modificación que tenía el archivo al leerla.
+     * 
+     * <p>La instantánea publicada por una escritura corresponde al diario y
+     * no al archivo: lleva la secuencia de esa escritura y recibe su estampa
+     * cuando el aplicador la lleva al archivo.</p>
+     * 
+     * @param <T> tipo de las entidades
+     */
+    protected static final class Instantanea<T> {
+        
+        /** Entidades del archivo (lista no modificable). */
+        private final List<T> entidades;
+        
+        /** Secuencia del diario de la escritura que la publicó (0 si se leyó del archivo). */
+        private final long secuencia;
+        
+        /**
+         * Tamaño (-1 si no existía) y fecha de modificación en nanosegundos
+         * del archivo; null mientras la escritura no esté aplicada.
+         */
+        private volatile long[] estampa;
+        
+        Instantanea(List<T> entidades, long[] estampa) {
+            this.entidades = Collections.unmodifiableList(entidades);
+            this.secuencia = 0;
+            this.estampa = estampa;
+        }
+        
+        Instantanea(List<T> entidades, long secuencia) {
+            this.entidades = Collections.unmodifiableList(entidades);
+            this.secuencia = secuencia;
+        }
+        
+        /**
+         * Obtiene las entidades de la instantánea.
+         * 
+         * @return lista no modificable de entidades
+         */
+        public List<T> getEntidades() {
+            return entidades;
+        }
+        
+        /**
+         * Indica si la instantánea corresponde al estado indicado del archivo.
+         * 
+         * @param estampa tamaño y fecha de modificación actuales del archivo
+         * @return true si el archivo no cambió
+         */
+        boolean coincide(long[] estampa) {
+            long[] propia = this.estampa;
+            return propia != null && propia[0] == estampa[0] && propia[1] == estampa[1];
+        }
+    }
+    
+    // ========================================================================
+    // CACHÉ COMPARTIDA
+    // ========================================================================
+    
+    /**
+     * Instantánea vigente de cada archivo, compartida por todo el proceso.
+     */
+    private static final Map<NombresArchivos, Instantanea<?>> CACHE = new ConcurrentHashMap<>();
+    
+    /**
+     * Monitor por archivo que serializa las lecturas completas y las escrituras.
+     */
+    private static final Map<NombresArchivos, Object> BLOQUEOS = new EnumMap<>(NombresArchivos.class);
+    
+    static {
+        for (NombresArchivos archivo : NombresArchivos.values()) {
+            BLOQUEOS.put(archivo, new Object());
+        }
+    }
+    
     /**
      * Objeto que permite el acceso a la capa de datos.
      * 
      * <p>Es protegido para que pueda ser utilizado directamente por las
-     * clases que hereden de {@code LogicaBase}.
+     * clases que hereden de {@code LogicaBase}. Las escrituras de las clases
+     * hijas utilizan la API sin estado de {@link AccesoDatos} (por ejemplo,
+     * {@link AccesoDatos#agregar(String, String)}), que es segura cuando
+     * varias instancias de lógica trabajan en hilos distintos.
      */
     protected AccesoDatos accesoDatos;
     
@@ -53,4 +182,265 @@ public abstract class LogicaBase {
     public LogicaBase() {
         this.accesoDatos = new AccesoDatos();
     }
+    
+    // ========================================================================
+    // MÉTODOS PROTEGIDOS - CACHÉ DE ENTIDADES
+    // ========================================================================
+    
+    /**
+     * Obtiene la instantánea vigente de las entidades de un archivo.
+     * 
+     * <p>Si la instantánea en caché coincide con el tamaño y la fecha de
+     * modificación actuales del archivo se devuelve sin leerlo. En caso
+     * contrario se lee el archivo completo, se deserializa cada registro con
+     * {@code lector} y se publica una nueva instantánea para todo el proceso.
+     * Si varios hilos la solicitan a la vez, solo uno lee el archivo.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo a leer
+     * @param lector función que convierte un registro en entidad; si devuelve
+     *               null el registro se ignora
+     * @return la instantánea vigente
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    protected <T> Instantanea<T> obtenerInstantanea(NombresArchivos archivo,
+                                                    Function<String[], T> lector) throws IOException {
+        Instantanea<T> vigente = vigente(archivo);
+        if (vigente != null) {
+            return vigente;
+        }
+        synchronized (BLOQUEOS.get(archivo)) {
+            vigente = vigente(archivo);
+            if (vigente == null) {
+                vigente = leer(archivo, lector, null);
+            }
+            return vigente;
+        }
+    }
+    
+    /**
+     * Recorre las entidades de un archivo entregándolas una a una.
+     * 
+     * <p>Si hay una instantánea vigente se recorre en memoria. Si no, el
+     * archivo se lee entregando cada entidad apenas se deserializa (para que
+     * la presentación pueda mostrarlas de forma incremental) y al terminar se
+     * publica la instantánea. Si el consumidor interrumpe el recorrido con una
+     * excepción, no se publica ninguna instantánea.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo a recorrer
+     * @param lector función que convierte un registro en entidad (o null)
+     * @param consumidor función que recibe cada entidad
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    protected <T> void recorrerEntidades(NombresArchivos archivo, Function<String[], T> lector,
+                                         Consumer<T> consumidor) throws IOException {
+        Instantanea<T> vigente = vigente(archivo);
+        if (vigente == null) {
+            synchronized (BLOQUEOS.get(archivo)) {
+                vigente = vigente(archivo);
+                if (vigente == null) {
+                    leer(archivo, lector, consumidor);
+                    return;
+                }
+            }
+        }
+        vigente.getEntidades().forEach(consumidor);
+    }
+    
+    /**
+     * Ejecuta una escritura sobre un archivo y actualiza su instantánea en caché.
+     * 
+     * <p>Si la instantánea estaba vigente antes de escribir, el cambio se
+     * aplica sobre una copia de la lista y se publica como nueva instantánea
+     * en cuanto la escritura queda en el {@link DiarioEscrituras}, sin esperar
+     * a que se aplique al archivo; los lectores que ya tenían la anterior la
+     * conservan sin cambios. Si no estaba vigente (por ejemplo, porque otro
+     * proceso modificó el archivo), se descarta y la próxima lectura vuelve a
+     * leer el archivo.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo modificado
+     * @param escritura la escritura a ejecutar
+     * @param cambio función que aplica el mismo cambio a la lista de entidades
+     * @return la nueva instantánea, o null si la caché se descartó
+     * @throws IOException si falla la escritura
+     */
+    protected <T> Instantanea<T> escribir(NombresArchivos archivo, Escritura escritura,
+                                Consumer<List<T>> cambio) throws IOException {
+        synchronized (BLOQUEOS.get(archivo)) {
+            Instantanea<T> anterior = vigente(archivo);
+            long previa = DiarioEscrituras.ultimaRegistrada();
+            try {
+                escritura.ejecutar();
+            } catch (IOException | RuntimeException e) {
+                CACHE.remove(archivo); // Estado del archivo incierto
+                throw e;
+            }
+            if (anterior == null) {
+                CACHE.remove(archivo);
+                return null;
+            }
+            List<T> copia = new ArrayList<>(anterior.getEntidades());
+            cambio.accept(copia);
+            long secuencia = DiarioEscrituras.ultimaRegistrada();
+            Instantanea<T> nueva = secuencia != previa
+                                   ? new Instantanea<>(copia, secuencia)
+                                   : new Instantanea<>(copia, estampar(archivo)); // Sin pasar por el diario
+            CACHE.put(archivo, nueva);
+            return nueva;
+        }
+    }
+    
+    /**
+     * Incorpora a la instantánea en caché registros agregados al final del
+     * archivo por otro programa, sin volver a leerlo completo.
+     * 
+     * <p>Los registros solo se aplican si {@code base} sigue siendo la
+     * instantánea en caché y corresponde exactamente a los bytes anteriores
+     * ({@code desde} igual a su tamaño); en caso contrario la instantánea ya
+     * no es continua con los registros nuevos y la próxima lectura
+     * reconstruirá la caché.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo que creció
+     * @param base la instantánea a la que se agregan los registros
+     * @param desde desplazamiento donde comienzan los registros nuevos
+     * @param hasta desplazamiento posterior al último registro nuevo
+     * @param nuevas las entidades deserializadas de los registros nuevos
+     * @return la nueva instantánea, o null si no se pudo aplicar el agregado
+     * @throws IOException si no se pueden leer los atributos del archivo
+     * 
+     * @see AccesoDatos.VigilanteArchivos
+     */
+    protected <T> Instantanea<T> agregarExternos(NombresArchivos archivo, Instantanea<T> base,
+                                                 long desde, long hasta, List<T> nuevas) throws IOException {
+        synchronized (BLOQUEOS.get(archivo)) {
+            long[] estampaBase = base == null ? null : base.estampa;
+            if (estampaBase == null || CACHE.get(archivo) != base || estampaBase[0] != desde) {
+                return null;
+            }
+            List<T> copia = new ArrayList<>(base.getEntidades());
+            copia.addAll(nuevas);
+            long[] estampa = estampar(archivo);
+            if (estampa[0] != hasta) {
+                estampa[1] = -1; // El archivo siguió creciendo: forzar relectura al validar
+            }
+            estampa[0] = hasta;
+            Instantanea<T> nueva = new Instantanea<>(copia, estampa);
+            CACHE.put(archivo, nueva);
+            return nueva;
+        }
+    }
+    
+    // ========================================================================
+    // MÉTODOS PRIVADOS - CACHÉ DE ENTIDADES
+    // ========================================================================
+    
+    /**
+     * Obtiene la instantánea en caché si sigue correspondiendo al archivo.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo
+     * @return la instantánea vigente, o null si no existe o está desactualizada
+     * @throws IOException si no se pueden leer los atributos del archivo
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Instantanea<T> vigente(NombresArchivos archivo) throws IOException {
+        Instantanea<T> enCache = (Instantanea<T>) CACHE.get(archivo);
+        if (enCache == null) {
+            return null;
+        }
+        if (enCache.estampa == null) {
+            return pendiente(archivo, enCache);
+        }
+        return enCache.coincide(estampar(archivo)) ? enCache : null;
+    }
+    
+    /**
+     * Valida una instantánea publicada por una escritura que quizá aún no
+     * esté aplicada al archivo.
+     * 
+     * <p>Mientras su escritura sea la última del archivo en el diario, la
+     * instantánea es vigente sin consultar el archivo. Una vez aplicada toma
+     * la estampa del archivo y desde entonces se valida como cualquier otra.
+     * Si otra escritura del diario (fuera de esta caché) la siguió, se
+     * descarta.</p>
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo
+     * @param enCache la instantánea sin estampa
+     * @return la instantánea, o null si se descartó
+     * @throws IOException si no se pueden leer los atributos del archivo o
+     *         la escritura no pudo aplicarse
+     */
+    private static <T> Instantanea<T> pendiente(NombresArchivos archivo, Instantanea<T> enCache) throws IOException {
+        if (DiarioEscrituras.ultimaSecuencia(archivo.getNombreArchivo()) != enCache.secuencia) {
+            CACHE.remove(archivo, enCache);
+            return null;
+        }
+        if (!DiarioEscrituras.aplicada(enCache.secuencia)) {
+            return enCache;
+        }
+        synchronized (BLOQUEOS.get(archivo)) {
+            if (enCache.estampa == null) {
+                enCache.estampa = estampar(archivo);
+            }
+        }
+        return enCache;
+    }
+    
+    /**
+     * Lee el archivo completo y publica su instantánea.
+     * 
+     * @param <T> tipo de las entidades
+     * @param archivo el archivo a leer
+     * @param lector función que convierte un registro en entidad (o null)
+     * @param consumidor función que recibe cada entidad al leerla, o null
+     * @return la instantánea publicada
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private <T> Instantanea<T> leer(NombresArchivos archivo, Function<String[], T> lector,
+                                    Consumer<T> consumidor) throws IOException {
+        long[] estampa = estampar(archivo); // Antes de leer: un cambio posterior invalidará
+        List<T> entidades = new ArrayList<>();
+        AccesoDatos.recorrer(archivo.getNombreArchivo(), datos -> {
+            T entidad = lector.apply(datos);
+            if (entidad != null) {
+                entidades.add(entidad);
+                if (consumidor != null) {
+                    consumidor.accept(entidad);
+                }
+            }
+        });
+        Instantanea<T> nueva = new Instantanea<>(entidades, estampa);
+        CACHE.put(archivo, nueva);
+        return nueva;
+    }
+    
+    /**
+     * Obtiene el tamaño y la fecha de modificación actuales de un archivo.
+     * 
+     * <p>Antes espera a que el {@link DiarioEscrituras} aplique las escrituras
+     * ya confirmadas de ese archivo, de modo que la estampa corresponde al
+     * archivo con ellas aplicadas.</p>
+     * 
+     * @param archivo el archivo
+     * @return arreglo {tamaño, fecha de modificación en nanosegundos};
+     *         {-1, -1} si el archivo no existe
+     * @throws IOException si no se pueden leer los atributos del archivo
+     */
+    private static long[] estampar(NombresArchivos archivo) throws IOException {
+        DiarioEscrituras.esperarAplicacion(archivo.getNombreArchivo()); // El archivo debe reflejar las escrituras confirmadas
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(
+                Paths.get(archivo.getNombreArchivo()), BasicFileAttributes.class);
+            return new long[] {
+                atributos.size(),
+                atributos.lastModifiedTime().to(TimeUnit.NANOSECONDS)
+            };
+        } catch (NoSuchFileException e) {
+            return new long[] {-1, -1};
+        }
+    }
 }
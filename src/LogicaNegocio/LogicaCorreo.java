@@ -6,6 +6,9 @@ package LogicaNegocio;
 
 import Entidades.Correo;
 import Utilidades.Constantes;
+import Utilidades.EventosJfr;
+import Utilidades.Histograma;
+import Utilidades.Metricas;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Properties;
@@ -44,6 +47,20 @@ import javax.swing.JOptionPane;
  */
 public class LogicaCorreo {
     
+    // ================================================================================
+    // MÉTRICAS
+    // ================================================================================
+    
+    /**
+     * Latencia de {@link #enviarCorreo(Correo)}, incluida la conexión SMTP.
+     */
+    private static final Histograma LATENCIA_ENVIO = Metricas.histograma("logicaCorreo.enviarCorreo");
+    
+    /**
+     * Cantidad de envíos que fallaron.
+     */
+    private static final Metricas.Contador ERRORES_ENVIO = Metricas.contador("logicaCorreo.errores");
+    
     // ================================================================================
     // ATRIBUTOS
     // ================================================================================
@@ -81,14 +98,21 @@ public class LogicaCorreo {
      *   <li>Protocolo TLS versión 1.2</li>
      * </ul>
      * 
+     * <p>El servidor puede cambiarse sin recompilar con las propiedades del
+     * sistema {@code nomina.smtp.host}, {@code nomina.smtp.puerto} y
+     * {@code nomina.smtp.ssl} (por ejemplo, para enviar a un
+     * {@link Utilidades.SumideroSmtp} local en pruebas de carga). Como la
+     * sesión de JavaMail se crea una sola vez por proceso, deben definirse
+     * antes del primer envío.</p>
+     * 
      * @see Utilidades.Constantes#SMTP_HOST
      * @see Utilidades.Constantes#SMTP_PORT
      */
     private void cargarPropiedades() {
         propiedades = new Properties();
-        propiedades.put("mail.smtp.ssl.enable", "true");
-        propiedades.put("mail.smtp.host", Constantes.SMTP_HOST);
-        propiedades.put("mail.smtp.port", Constantes.SMTP_PORT);
+        propiedades.put("mail.smtp.ssl.enable", System.getProperty("nomina.smtp.ssl", "true"));
+        propiedades.put("mail.smtp.host", System.getProperty("nomina.smtp.host", Constantes.SMTP_HOST));
+        propiedades.put("mail.smtp.port", System.getProperty("nomina.smtp.puerto", Constantes.SMTP_PORT));
         propiedades.put("mail.smtp.auth", "true");
         propiedades.put("mail.smtp.ssl.protocols", "TLSv1.2");
     }
@@ -138,6 +162,7 @@ public class LogicaCorreo {
      * @see Entidades.Correo#getArchivosAdjuntos()
      */
     private void agregarAdjuntos(Correo datosCorreo) throws MessagingException {
+        adjuntos.clear(); // Evita reenviar adjuntos de correos anteriores de esta instancia
         for (File archivo : datosCorreo.getArchivosAdjuntos()) {
             BodyPart adjunto = new MimeBodyPart();
             adjunto.setDataHandler(new DataHandler(new FileDataSource(archivo.getAbsolutePath())));
@@ -175,6 +200,52 @@ public class LogicaCorreo {
      * @see Entidades.Correo
      */
     public void enviarCorreo(Correo datosCorreo) throws MessagingException {
+        long inicio = System.nanoTime();
+        EventosJfr.EnvioCorreo evento = new EventosJfr.EnvioCorreo();
+        evento.begin();
+        boolean exitoso = false;
+        try {
+            enviar(datosCorreo);
+            exitoso = true;
+        } catch (MessagingException | RuntimeException e) {
+            ERRORES_ENVIO.incrementar();
+            throw e;
+        } finally {
+            LATENCIA_ENVIO.registrarDesde(inicio);
+            if (evento.shouldCommit()) {
+                registrarEvento(evento, datosCorreo, exitoso);
+            }
+        }
+    }
+
+    /**
+     * Completa y confirma el evento JFR de un envío. Solo se llama cuando el
+     * evento está habilitado, porque consulta el tamaño de los adjuntos.
+     * 
+     * @param evento el evento iniciado antes del envío
+     * @param datosCorreo los datos del correo
+     * @param exitoso true si el servidor SMTP aceptó el mensaje
+     */
+    private static void registrarEvento(EventosJfr.EnvioCorreo evento, Correo datosCorreo, boolean exitoso) {
+        String email = datosCorreo.getEmail();
+        evento.destinatarios = email == null || email.isEmpty() ? 0 : email.split(",").length;
+        if (datosCorreo.getArchivosAdjuntos() != null) {
+            for (File archivo : datosCorreo.getArchivosAdjuntos()) {
+                evento.adjuntos++;
+                evento.bytesAdjuntos += archivo.length();
+            }
+        }
+        evento.exitoso = exitoso;
+        evento.commit();
+    }
+    
+    /**
+     * Arma y envía el correo; ver {@link #enviarCorreo(Correo)}.
+     * 
+     * @param datosCorreo los datos del correo
+     * @throws MessagingException si falla la conexión o el envío
+     */
+    private void enviar(Correo datosCorreo) throws MessagingException {
         crearSessionSmtp();
         
         Message objCorreo = new MimeMessage(session);
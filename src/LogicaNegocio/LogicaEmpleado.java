@@ -4,12 +4,18 @@
  */
 package LogicaNegocio;
 
+import AccesoDatos.AccesoDatos;
 import AccesoDatos.IdControl;
+import AccesoDatos.VigilanteArchivos;
 import Entidades.Empleado;
 import Utilidades.NombresArchivos;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 // ================================================================================
 // CLASE LogicaEmpleado
@@ -23,22 +29,24 @@ import java.time.format.DateTimeFormatter;
  * la persistencia de datos en archivos CSV y el control automático de IDs.</p>
  * 
  * <p><b>Formato de registro CSV:</b></p>
- * <p>Los empleados se almacenan con el siguiente formato (11 campos):</p>
+ * <p>Los empleados se almacenan con el siguiente formato (11 campos y la
+ * marca de versión):</p>
  * <pre>
- * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso
+ * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso,@v2
  * </pre>
  * 
  * <p><b>Estado inicial del objeto:</b></p>
  * <ul>
  *   <li>accesoDatos: Configurado con el archivo de empleados (heredado de LogicaBase)</li>
  *   <li>idControl: null (se inicializa al agregar empleados)</li>
- *   <li>DATE_FORMATTER: Formato de fecha "dd/MM/yyyy" para parseo y serialización</li>
  * </ul>
  * 
  * <p><b>Compatibilidad de formato:</b></p>
  * <p>La clase soporta tanto el formato antiguo (10 campos sin fecha de ingreso)
- * como el nuevo formato (11 campos con fecha de ingreso), garantizando
- * retrocompatibilidad al listar registros existentes.</p>
+ * como el formato de 11 campos con fecha de ingreso y el formato versionado
+ * de {@link CodecEmpleado}, que escapa las comas de los campos. Los registros
+ * antiguos se convierten al formato actual cuando se modifica el empleado,
+ * sin necesidad de convertir el archivo completo.</p>
  * 
  * <p><b>Uso típico:</b> Crear una instancia de LogicaEmpleado, luego utilizar
  * los métodos CRUD según sea necesario. Para listar empleados, primero crear
@@ -61,12 +69,39 @@ public class LogicaEmpleado extends LogicaBase {
      * <p>Se inicializa al agregar un nuevo empleado para obtener el siguiente ID disponible.</p>
      */
     private IdControl idControl;
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
     
     /**
-     * Formateador de fechas para serialización y deserialización.
-     * <p>Utiliza el patrón "dd/MM/yyyy" para las fechas de ingreso de empleados.</p>
+     * Catálogo en memoria compartido por todas las instancias, con índices
+     * por ID, por cédula y de búsqueda.
+     * <p>Se construye la primera vez que se necesita y luego se mantiene
+     * actualizado con cada alta, modificación o eliminación.</p>
      */
+    private static volatile CatalogoEmpleados catalogo;
+    
+    /**
+     * Instantánea de la caché de {@link LogicaBase} a partir de la cual está
+     * actualizado el catálogo. Si la instantánea vigente es otra (el archivo
+     * cambió fuera de esta lógica), el catálogo se reconstruye.
+     */
+    private static volatile Instantanea<Empleado> origenCatalogo;
+    
+    /**
+     * Canal por el que se notifican las altas, modificaciones y eliminaciones
+     * de empleados a los formularios abiertos.
+     */
+    private static final PublicadorEventos<Empleado> EVENTOS = new PublicadorEventos<>();
+    
+    /**
+     * Indica si ya se registró el vigilante de cambios externos sobre el
+     * archivo de empleados (se registra una sola vez por proceso).
+     */
+    private static final AtomicBoolean VIGILANCIA_INICIADA = new AtomicBoolean();
+    
+    /**
+     * Historial de salarios y puestos, donde se registra cada cambio de
+     * salario o de puesto con su fecha de vigencia.
+     */
+    private final LogicaHistorialSalarial historialSalarial = new LogicaHistorialSalarial();
     
     // ================================================================================
     // CONSTRUCTOR
@@ -93,6 +128,7 @@ public class LogicaEmpleado extends LogicaBase {
      */
     public LogicaEmpleado() {
         accesoDatos.setNombreArchivo(NombresArchivos.EMPLEADOS.getNombreArchivo());
+        iniciarVigilancia();
     }
     
     // ================================================================================
@@ -104,15 +140,18 @@ public class LogicaEmpleado extends LogicaBase {
      * 
      * <p>Este método realiza las siguientes operaciones:</p>
      * <ol>
+     *   <li>Verifica en el catálogo en memoria que la cédula no esté registrada</li>
      *   <li>Inicializa el controlador de IDs mediante {@link AccesoDatos.IdControl}</li>
      *   <li>Asigna automáticamente el siguiente ID disponible al empleado</li>
-     *   <li>Serializa todos los datos del empleado en formato CSV (11 campos)</li>
-     *   <li>Persiste el registro en el archivo mediante {@link AccesoDatos.AccesoDatos#agregarRegistro()}</li>
+     *   <li>Serializa todos los datos del empleado en formato CSV (11 campos escapados
+     *       y la marca de versión, ver {@link CodecEmpleado})</li>
+     *   <li>Persiste el registro en el archivo mediante {@link AccesoDatos.AccesoDatos#agregar(String, String)}</li>
+     *   <li>Registra el salario y el puesto iniciales en el {@link LogicaHistorialSalarial}</li>
      * </ol>
      * 
      * <p><b>Formato del registro generado:</b></p>
      * <pre>
-     * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso
+     * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso,@v2
      * </pre>
      * 
      * <p><b>Manejo de fecha de ingreso:</b> Si la fecha de ingreso es null,
@@ -122,30 +161,32 @@ public class LogicaEmpleado extends LogicaBase {
      *                 la ejecución, el empleado tendrá su ID asignado automáticamente
      * @throws IOException si ocurre un error al leer el archivo de control de IDs
      *                     o al escribir el registro en el archivo de empleados
+     * @throws IllegalArgumentException si ya existe un empleado con la misma cédula
      * 
      * @see AccesoDatos.IdControl#getNextId(String)
-     * @see AccesoDatos.AccesoDatos#agregarRegistro()
+     * @see AccesoDatos.AccesoDatos#agregar(String, String)
      */
     public void agregarEmpleado(Empleado empleado) throws IOException {
-        idControl = new IdControl();
-        empleado.setId(idControl.getNextId(NombresArchivos.EMPLEADOS.getNombreArchivo()));
-        
-        // FORMATO MODIFICADO: Ahora incluye la fecha de ingreso al final
-        accesoDatos.setRegistro(
-            String.valueOf(empleado.getId()) + "," +
-            empleado.getCedula() + "," +
-            empleado.getNombre() + "," +
-            empleado.getApellido1() + "," +
-            empleado.getApellido2() + "," +
-            empleado.getEmail() + "," +
-            empleado.getTelefono() + "," +
-            String.valueOf(empleado.getSalarioBruto()) + "," +
-            empleado.getTipoPlanilla() + "," +
-            empleado.getPuesto() + "," +
-            (empleado.getFechaIngreso() != null ? empleado.getFechaIngreso().format(DATE_FORMATTER) : "")
-        );
-        
-        accesoDatos.agregarRegistro();
+        synchronized (LogicaEmpleado.class) {
+            CatalogoEmpleados cat = obtenerCatalogo();
+            
+            // Validar cédula única antes de consumir un ID
+            if (cat.cedulaEnUso(empleado.getCedula(), 0)) {
+                throw new IllegalArgumentException(
+                    "Ya existe un empleado con la cédula " + empleado.getCedula());
+            }
+            
+            idControl = new IdControl();
+            empleado.setId(idControl.getNextId(NombresArchivos.EMPLEADOS.getNombreArchivo()));
+            Empleado guardado = new Empleado(empleado); // El llamador conserva el suyo
+            Instantanea<Empleado> nueva = escribir(NombresArchivos.EMPLEADOS, () -> {
+                AccesoDatos.agregar(NombresArchivos.EMPLEADOS.getNombreArchivo(), serializar(guardado));
+            }, lista -> lista.add(guardado));
+            cat.agregar(guardado);
+            origenCatalogo = nueva;
+        }
+        historialSalarial.registrarAlta(empleado);
+        EVENTOS.publicar(EventoCambio.Tipo.AGREGADO, empleado);
     }
     
     /**
@@ -154,9 +195,12 @@ public class LogicaEmpleado extends LogicaBase {
      * <p>Este método realiza las siguientes operaciones:</p>
      * <ol>
      *   <li>Identifica el empleado a actualizar mediante su ID</li>
-     *   <li>Serializa todos los datos actualizados del empleado en formato CSV (11 campos)</li>
+     *   <li>Serializa todos los datos actualizados del empleado en la versión actual
+     *       del formato CSV; un registro antiguo queda así convertido</li>
      *   <li>Establece la bandera de eliminación en false para indicar modificación</li>
-     *   <li>Persiste los cambios mediante {@link AccesoDatos.AccesoDatos#modificarRegistro()}</li>
+     *   <li>Persiste los cambios mediante {@link AccesoDatos.AccesoDatos#modificar(String, int, String)}</li>
+     *   <li>Si cambió el salario o el puesto, registra el cambio en el
+     *       {@link LogicaHistorialSalarial} como vigente desde hoy</li>
      * </ol>
      * 
      * <p><b>Formato del registro actualizado:</b></p>
@@ -170,28 +214,57 @@ public class LogicaEmpleado extends LogicaBase {
      * @param empleado el objeto Empleado con los datos actualizados. Debe incluir
      *                 un ID válido que corresponda a un empleado existente
      * @throws IOException si ocurre un error al leer o escribir en el archivo de empleados
+     * @throws IllegalArgumentException si no existe un empleado con ese ID o
+     *         la nueva cédula pertenece a otro empleado
      * 
-     * @see AccesoDatos.AccesoDatos#modificarRegistro()
+     * @see AccesoDatos.AccesoDatos#modificar(String, int, String)
      */
     public void actualizarEmpleado(Empleado empleado) throws IOException {
-        accesoDatos.setIdRegistro(empleado.getId());
-        
-        // FORMATO MODIFICADO: Ahora incluye la fecha de ingreso al final
-        accesoDatos.setRegistro(
-            String.valueOf(empleado.getId()) + "," +
-            empleado.getCedula() + "," +
-            empleado.getNombre() + "," +
-            empleado.getApellido1() + "," +
-            empleado.getApellido2() + "," +
-            empleado.getEmail() + "," +
-            empleado.getTelefono() + "," +
-            String.valueOf(empleado.getSalarioBruto()) + "," +
-            empleado.getTipoPlanilla() + "," +
-            empleado.getPuesto() + "," +
-            (empleado.getFechaIngreso() != null ? empleado.getFechaIngreso().format(DATE_FORMATTER) : "")
-        );
-        accesoDatos.setEliminar(false);
-        accesoDatos.modificarRegistro();
+        actualizarEmpleado(empleado, LocalDate.now());
+    }
+    
+    /**
+     * Actualiza los datos de un empleado indicando desde cuándo rige su nuevo
+     * salario o puesto.
+     * 
+     * <p>Igual que {@link #actualizarEmpleado(Empleado)}, pero el cambio de
+     * salario o de puesto se registra en el historial como vigente desde
+     * {@code vigencia}, lo que permite registrar aumentos retroactivos o
+     * futuros.</p>
+     * 
+     * @param empleado el objeto Empleado con los datos actualizados
+     * @param vigencia fecha a partir de la cual rigen el nuevo salario y puesto
+     * @throws IOException si ocurre un error al leer o escribir los archivos
+     * @throws IllegalArgumentException si no existe un empleado con ese ID o
+     *         la nueva cédula pertenece a otro empleado
+     * 
+     * @see LogicaHistorialSalarial#registrarModificacion(Empleado, Empleado, LocalDate)
+     */
+    public void actualizarEmpleado(Empleado empleado, LocalDate vigencia) throws IOException {
+        Empleado anterior;
+        synchronized (LogicaEmpleado.class) {
+            CatalogoEmpleados cat = obtenerCatalogo();
+            if (cat.cedulaEnUso(empleado.getCedula(), empleado.getId())) {
+                throw new IllegalArgumentException(
+                    "Ya existe otro empleado con la cédula " + empleado.getCedula());
+            }
+            anterior = cat.buscarPorId(empleado.getId());
+            if (anterior == null) {
+                // modificar() no haría nada: no dejar en el catálogo un empleado que no está en el archivo
+                throw new IllegalArgumentException("No existe un empleado con el ID " + empleado.getId());
+            }
+            
+            // El catálogo guarda su propia copia: si el llamador modifica después
+            // su objeto, no altera la caché ni los datos anteriores del historial
+            Empleado guardado = new Empleado(empleado);
+            Instantanea<Empleado> nueva = escribir(NombresArchivos.EMPLEADOS, () -> {
+                AccesoDatos.modificar(NombresArchivos.EMPLEADOS.getNombreArchivo(), guardado.getId(), serializar(guardado));
+            }, lista -> lista.replaceAll(e -> e.getId() == guardado.getId() ? guardado : e));
+            cat.actualizar(guardado);
+            origenCatalogo = nueva;
+        }
+        historialSalarial.registrarModificacion(anterior, empleado, vigencia);
+        EVENTOS.publicar(EventoCambio.Tipo.ACTUALIZADO, empleado);
     }
     
     /**
@@ -204,8 +277,7 @@ public class LogicaEmpleado extends LogicaBase {
      * <p><b>Proceso de eliminación:</b></p>
      * <ol>
      *   <li>Identifica el empleado mediante su ID</li>
-     *   <li>Establece la bandera de eliminación en true</li>
-     *   <li>Marca el registro como eliminado mediante {@link AccesoDatos.AccesoDatos#modificarRegistro()}</li>
+     *   <li>Elimina el registro mediante {@link AccesoDatos.AccesoDatos#eliminar(String, int)}</li>
      * </ol>
      * 
      * <p><b>Nota:</b> Esta es una eliminación lógica, no física. El registro
@@ -214,13 +286,24 @@ public class LogicaEmpleado extends LogicaBase {
      * @param empleado el objeto Empleado a eliminar. Solo se requiere que tenga
      *                 un ID válido que corresponda a un empleado existente
      * @throws IOException si ocurre un error al leer o escribir en el archivo de empleados
+     * @throws IllegalArgumentException si no existe un empleado con ese ID
      * 
-     * @see AccesoDatos.AccesoDatos#modificarRegistro()
+     * @see AccesoDatos.AccesoDatos#eliminar(String, int)
      */
     public void eliminarEmpleado(Empleado empleado) throws IOException {
-        accesoDatos.setIdRegistro(empleado.getId());
-        accesoDatos.setEliminar(true);
-        accesoDatos.modificarRegistro();
+        synchronized (LogicaEmpleado.class) {
+            CatalogoEmpleados cat = obtenerCatalogo();
+            if (cat.buscarPorId(empleado.getId()) == null) {
+                // eliminar() no haría nada: no publicar la eliminación de un empleado inexistente
+                throw new IllegalArgumentException("No existe un empleado con el ID " + empleado.getId());
+            }
+            Instantanea<Empleado> nueva = escribir(NombresArchivos.EMPLEADOS, () -> {
+                AccesoDatos.eliminar(NombresArchivos.EMPLEADOS.getNombreArchivo(), empleado.getId());
+            }, lista -> lista.removeIf(e -> e.getId() == empleado.getId()));
+            cat.eliminar(empleado.getId());
+            origenCatalogo = nueva;
+        }
+        EVENTOS.publicar(EventoCambio.Tipo.ELIMINADO, empleado);
     }
     
     /**
@@ -228,23 +311,28 @@ public class LogicaEmpleado extends LogicaBase {
      * 
      * <p>Este método carga todos los empleados no eliminados del archivo y los
      * agrega a la lista interna del objeto Empleado proporcionado como parámetro.
-     * Soporta retrocompatibilidad con dos formatos de registro:</p>
+     * Soporta retrocompatibilidad con los formatos de registro anteriores:</p>
      * 
      * <p><b>Formato antiguo (10 campos - sin fecha de ingreso):</b></p>
      * <pre>
      * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto
      * </pre>
      * 
-     * <p><b>Formato nuevo (11 campos - con fecha de ingreso):</b></p>
+     * <p><b>Formato de 11 campos (con fecha de ingreso):</b></p>
      * <pre>
      * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso
      * </pre>
      * 
+     * <p><b>Formato actual (versionado, con los campos escapados):</b></p>
+     * <pre>
+     * id,cedula,nombre,apellido1,apellido2,email,telefono,salarioBruto,tipoPlanilla,puesto,fechaIngreso,@v2
+     * </pre>
+     * 
      * <p><b>Proceso de listado:</b></p>
      * <ol>
-     *   <li>Configura el archivo de empleados mediante {@link Utilidades.NombresArchivos#EMPLEADOS}</li>
-     *   <li>Carga todos los registros mediante {@link AccesoDatos.AccesoDatos#listarRegistros()}</li>
-     *   <li>Itera sobre cada registro y lo deserializa en objetos Empleado</li>
+     *   <li>Obtiene la instantánea compartida de empleados de {@link LogicaBase}, que
+     *       solo lee el archivo si cambió desde la última lectura</li>
+     *   <li>Al leer, deserializa cada registro en objetos Empleado</li>
      *   <li>Maneja el parseo de fecha de ingreso con tolerancia a errores</li>
      *   <li>Agrega cada empleado a la lista del objeto parámetro</li>
      * </ol>
@@ -262,34 +350,362 @@ public class LogicaEmpleado extends LogicaBase {
      * @see Entidades.Empleado#agregarListaEmpleados(Empleado)
      */
     public void listarEmpleados(Empleado empleado) throws IOException {
-        accesoDatos.setNombreArchivo(NombresArchivos.EMPLEADOS.getNombreArchivo());
-        accesoDatos.listarRegistros();
-        
-        for (String[] datos : accesoDatos.getListaRegistros()) {
-            // MODIFICADO: Ahora soporta tanto el formato antiguo (10 campos) como el nuevo (11 campos)
-            if (datos.length >= 10) {
-                LocalDate fechaIngreso = null;
-                
-                // Si tiene el campo 11 (fecha de ingreso), parsearlo
-                if (datos.length == 11 && !datos[10].isEmpty()) {
+        obtenerEmpleados().forEach(empleado::agregarListaEmpleados);
+    }
+    
+    /**
+     * Obtiene la lista compartida de empleados activos.
+     * 
+     * <p>Devuelve la instantánea inmutable de la caché de {@link LogicaBase}:
+     * no copia la lista y solo lee el archivo si cambió desde la última lectura.
+     * Los empleados son las instancias compartidas de la caché y no deben
+     * modificarse; para editar uno, obtenerlo con {@link #buscarPorId(int)}.</p>
+     * 
+     * @return lista no modificable con los empleados activos
+     * @throws IOException si ocurre un error al leer el archivo de empleados
+     */
+    public List<Empleado> obtenerEmpleados() throws IOException {
+        return obtenerInstantanea(NombresArchivos.EMPLEADOS, this::crearEmpleado).getEntidades();
+    }
+    
+    /**
+     * Recorre los empleados del archivo entregándolos uno a uno al consumidor.
+     * 
+     * <p>Aplica la misma deserialización y retrocompatibilidad que
+     * {@link #listarEmpleados(Empleado)}. Si la caché está vigente se recorre
+     * en memoria; si no, cada empleado se entrega apenas se lee del archivo,
+     * lo que permite a la capa de presentación publicarlos de forma
+     * incremental.</p>
+     * 
+     * @param consumidor función que recibe cada empleado válido
+     * @throws IOException si ocurre un error al leer el archivo de empleados
+     * 
+     * @see LogicaBase#recorrerEntidades(NombresArchivos, java.util.function.Function, Consumer)
+     */
+    public void recorrerEmpleados(Consumer<Empleado> consumidor) throws IOException {
+        recorrerEntidades(NombresArchivos.EMPLEADOS, this::crearEmpleado, consumidor);
+    }
+    
+    /**
+     * Lee el archivo de empleados en un {@link CatalogoColumnarEmpleados}.
+     * 
+     * <p>Pensado para procesos masivos de solo lectura sobre muchos
+     * empleados: cada registro se deserializa con las mismas reglas que
+     * {@link #obtenerEmpleados()}, se copia a las columnas y se descarta, de
+     * modo que nunca se mantiene en memoria la lista completa de objetos
+     * {@code Empleado}. Por eso siempre lee el archivo: no usa ni publica la
+     * instantánea de la caché.</p>
+     * 
+     * @return catálogo compactado con los empleados activos
+     * @throws IOException si ocurre un error al leer el archivo de empleados
+     */
+    public CatalogoColumnarEmpleados leerCatalogoColumnar() throws IOException {
+        CatalogoColumnarEmpleados catalogo = new CatalogoColumnarEmpleados();
+        AccesoDatos.recorrer(NombresArchivos.EMPLEADOS.getNombreArchivo(), datos -> {
+            Empleado empleado = crearEmpleado(datos);
+            if (empleado != null) {
+                catalogo.agregar(empleado);
+            }
+        });
+        catalogo.compactar();
+        return catalogo;
+    }
+    
+    /**
+     * Carga el archivo de empleados en un {@link AlmacenEmpleadosFueraHeap}.
+     * 
+     * <p>Igual que {@link #leerCatalogoColumnar()}, pero los registros quedan
+     * fuera del heap (en memoria directa o en archivos mapeados, según cómo
+     * se creó el almacén), por lo que el volumen de empleados no aumenta el
+     * trabajo del recolector de basura.</p>
+     * 
+     * @param almacen almacén vacío que recibirá los empleados
+     * @return el mismo almacén, cargado
+     * @throws IOException si ocurre un error al leer el archivo de empleados
+     *                     o al extender la memoria mapeada
+     */
+    public AlmacenEmpleadosFueraHeap cargarFueraHeap(AlmacenEmpleadosFueraHeap almacen) throws IOException {
+        try {
+            AccesoDatos.recorrer(NombresArchivos.EMPLEADOS.getNombreArchivo(), datos -> {
+                Empleado empleado = crearEmpleado(datos);
+                if (empleado != null) {
                     try {
-                        fechaIngreso = LocalDate.parse(datos[10], DATE_FORMATTER);
-                    } catch (Exception e) {
-                        // Si falla el parseo, dejar null
-                        fechaIngreso = null;
+                        almacen.agregar(empleado);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // El consumidor no puede lanzar IOException
                     }
                 }
-                
-                Empleado emp = new Empleado(
-                    Integer.parseInt(datos[0]),
-                    datos[1], datos[2], datos[3], datos[4],
-                    datos[5], datos[6],
-                    Double.parseDouble(datos[7]),
-                    datos[8], datos[9],
-                    fechaIngreso // NUEVO PARÁMETRO
-                );
-                empleado.agregarListaEmpleados(emp);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return almacen;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - EVENTOS DE CAMBIO
+    // ================================================================================
+    
+    /**
+     * Registra un suscriptor que será notificado de cada alta, modificación o
+     * eliminación de empleados realizada por cualquier instancia de LogicaEmpleado.
+     * 
+     * <p>Los eventos se publican después de escribir el archivo y actualizar
+     * la caché, en el hilo que realizó el cambio. Permite que las ventanas
+     * abiertas apliquen el cambio a sus tablas sin volver a leer
+     * {@code empleados.txt}.</p>
+     * 
+     * @param suscriptor función que recibirá los eventos
+     * 
+     * @see PublicadorEventos
+     */
+    public static void suscribir(Consumer<EventoCambio<Empleado>> suscriptor) {
+        EVENTOS.suscribir(suscriptor);
+    }
+    
+    /**
+     * Elimina un suscriptor registrado con {@link #suscribir(Consumer)}.
+     * 
+     * <p>Los formularios deben desuscribirse al cerrarse para no seguir
+     * recibiendo eventos.</p>
+     * 
+     * @param suscriptor el suscriptor a eliminar
+     */
+    public static void desuscribir(Consumer<EventoCambio<Empleado>> suscriptor) {
+        EVENTOS.desuscribir(suscriptor);
+    }
+    
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - BÚSQUEDA
+    // ================================================================================
+    
+    /**
+     * Busca empleados por cédula, nombre, apellidos, correo o puesto.
+     * 
+     * <p>Cada palabra del texto se compara como prefijo de los términos
+     * indexados, sin distinguir mayúsculas ni tildes. La consulta se resuelve
+     * sobre el {@link IndiceBusquedaEmpleados} en memoria, sin leer el archivo,
+     * por lo que puede invocarse en cada pulsación de tecla.</p>
+     * 
+     * <p><b>Nota:</b> la primera búsqueda construye el catálogo leyendo el
+     * archivo de empleados; para evitar esa espera en el EDT, invocar antes
+     * {@link #obtenerCatalogo()} desde una tarea en segundo plano.</p>
+     * 
+     * @param texto el texto a buscar
+     * @param limite cantidad máxima de resultados
+     * @return copias de los empleados que coinciden, como máximo {@code limite}
+     * @throws IOException si el índice debe construirse y falla la lectura del archivo
+     * 
+     * @see IndiceBusquedaEmpleados#buscar(String, int)
+     */
+    public List<Empleado> buscarEmpleados(String texto, int limite) throws IOException {
+        List<Empleado> encontrados = obtenerCatalogo().getIndiceBusqueda().buscar(texto, limite);
+        encontrados.replaceAll(Empleado::new);
+        return encontrados;
+    }
+    
+    /**
+     * Busca un empleado por su ID sin leer el archivo.
+     * 
+     * <p>La consulta se resuelve en tiempo constante sobre el catálogo en
+     * memoria, indexado con claves {@code int} primitivas. Antes se verifica
+     * que el catálogo siga vigente, lo que consulta los atributos del
+     * archivo; para resolver muchos IDs en una misma operación conviene
+     * obtener el catálogo una vez con {@link #obtenerCatalogo()}.</p>
+     * 
+     * @param id el ID del empleado
+     * @return una copia del empleado, que puede modificarse y pasarse a
+     *         {@link #actualizarEmpleado(Empleado)}; null si no existe o fue eliminado
+     * @throws IOException si el catálogo debe construirse y falla la lectura del archivo
+     */
+    public Empleado buscarPorId(int id) throws IOException {
+        return copiar(obtenerCatalogo().buscarPorId(id));
+    }
+    
+    /**
+     * Busca un empleado por su cédula sin leer el archivo.
+     * 
+     * @param cedula la cédula del empleado
+     * @return una copia del empleado, o null si no existe o fue eliminado
+     * @throws IOException si el catálogo debe construirse y falla la lectura del archivo
+     */
+    public Empleado buscarPorCedula(String cedula) throws IOException {
+        return copiar(obtenerCatalogo().buscarPorCedula(cedula));
+    }
+    
+    /**
+     * Construye el catálogo en memoria si aún no existe.
+     * 
+     * <p>El catálogo (con sus índices por ID, por cédula y de búsqueda) se
+     * construye a partir de la instantánea compartida de empleados; las
+     * operaciones CRUD de cualquier instancia de LogicaEmpleado lo mantienen
+     * actualizado de forma incremental. Solo se reconstruye si el archivo
+     * cambió fuera de esta lógica. Invocarlo desde una tarea en segundo plano
+     * evita que la primera búsqueda espere la lectura del archivo en el EDT.</p>
+     * 
+     * @return el catálogo listo para consultar
+     * @throws IOException si ocurre un error al leer el archivo de empleados
+     */
+    public CatalogoEmpleados obtenerCatalogo() throws IOException {
+        Instantanea<Empleado> instantanea = obtenerInstantanea(NombresArchivos.EMPLEADOS, this::crearEmpleado);
+        CatalogoEmpleados cat = catalogo;
+        if (cat != null && origenCatalogo == instantanea) {
+            return cat;
+        }
+        synchronized (LogicaEmpleado.class) {
+            instantanea = obtenerInstantanea(NombresArchivos.EMPLEADOS, this::crearEmpleado);
+            if (catalogo == null || origenCatalogo != instantanea) {
+                CatalogoEmpleados nuevo = new CatalogoEmpleados();
+                instantanea.getEntidades().forEach(nuevo::agregar);
+                catalogo = nuevo;
+                origenCatalogo = instantanea;
             }
+            return catalogo;
+        }
+    }
+    
+    // ================================================================================
+    // MÉTODOS PRIVADOS - CAMBIOS EXTERNOS
+    // ================================================================================
+    
+    /**
+     * Registra, una sola vez por proceso, el vigilante de cambios externos
+     * sobre el archivo de empleados.
+     * 
+     * <p>Los registros que otro programa agrega al final del archivo se
+     * aplican de forma incremental a la caché, al catálogo y al índice de
+     * búsqueda, y se publican como eventos {@link EventoCambio.Tipo#AGREGADO}.
+     * Cualquier otro cambio externo reconstruye el catálogo y se publica como
+     * {@link EventoCambio.Tipo#RECARGADO}.</p>
+     * 
+     * @see AccesoDatos.VigilanteArchivos
+     */
+    private static void iniciarVigilancia() {
+        if (!VIGILANCIA_INICIADA.compareAndSet(false, true)) {
+            return;
         }
+        LogicaEmpleado logica = new LogicaEmpleado();
+        VigilanteArchivos.vigilar(NombresArchivos.EMPLEADOS.getNombreArchivo(), new VigilanteArchivos.Oyente() {
+            @Override
+            public void registrosAgregados(long desde, long hasta, List<String[]> registros) {
+                try {
+                    logica.aplicarAgregadosExternos(desde, hasta, registros);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            
+            @Override
+            public void archivoModificado() {
+                try {
+                    logica.recargarCatalogo();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Aplica al catálogo los empleados agregados al final del archivo por
+     * otro programa, sin volver a leer el archivo completo.
+     * 
+     * <p>Si el catálogo no es continuo con los registros nuevos (por ejemplo,
+     * porque aún no se había construido o porque el archivo siguió
+     * cambiando), se recurre a {@link #recargarCatalogo()}.</p>
+     * 
+     * @param desde desplazamiento donde comienzan los registros nuevos
+     * @param hasta desplazamiento posterior al último registro nuevo
+     * @param registros los registros nuevos, divididos en campos
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private void aplicarAgregadosExternos(long desde, long hasta, List<String[]> registros) throws IOException {
+        List<Empleado> nuevos = new ArrayList<>(registros.size());
+        for (String[] datos : registros) {
+            Empleado empleado = crearEmpleado(datos);
+            if (empleado != null) {
+                nuevos.add(empleado);
+            }
+        }
+        synchronized (LogicaEmpleado.class) {
+            Instantanea<Empleado> nueva = catalogo == null ? null
+                    : agregarExternos(NombresArchivos.EMPLEADOS, origenCatalogo, desde, hasta, nuevos);
+            if (nueva == null) {
+                nuevos = null;
+            } else {
+                nuevos.forEach(catalogo::agregar);
+                origenCatalogo = nueva;
+            }
+        }
+        if (nuevos == null) {
+            recargarCatalogo();
+            return;
+        }
+        for (Empleado empleado : nuevos) {
+            EVENTOS.publicar(EventoCambio.Tipo.AGREGADO, empleado);
+        }
+    }
+    
+    /**
+     * Reconstruye el catálogo después de un cambio externo que no es un
+     * agregado al final del archivo, y notifica a los suscriptores.
+     * 
+     * <p>Si la instantánea vigente es la misma a partir de la cual ya está
+     * actualizado el catálogo (el cambio fue una escritura de esta misma
+     * lógica), no se hace nada.</p>
+     * 
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    private void recargarCatalogo() throws IOException {
+        synchronized (LogicaEmpleado.class) {
+            Instantanea<Empleado> instantanea = obtenerInstantanea(NombresArchivos.EMPLEADOS, this::crearEmpleado);
+            if (catalogo != null && origenCatalogo == instantanea) {
+                return;
+            }
+            obtenerCatalogo();
+        }
+        EVENTOS.publicar(EventoCambio.Tipo.RECARGADO, null);
+    }
+    
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+    
+    /**
+     * Copia un empleado del catálogo para entregarlo fuera de esta lógica.
+     * 
+     * @param empleado el empleado compartido, o null
+     * @return la copia, o null
+     */
+    private static Empleado copiar(Empleado empleado) {
+        return empleado == null ? null : new Empleado(empleado);
+    }
+    
+    /**
+     * Serializa un empleado en la versión actual del formato CSV.
+     * 
+     * @param empleado el empleado a serializar
+     * @return el registro CSV
+     * 
+     * @see CodecEmpleado#escribir(Empleado)
+     */
+    private String serializar(Empleado empleado) {
+        return CodecEmpleado.escribir(empleado);
+    }
+    
+    /**
+     * Deserializa un registro CSV en un objeto Empleado.
+     * 
+     * <p>Acepta registros de cualquier versión del formato: los de 10 campos,
+     * los de 11 con fecha de ingreso y los versionados y escapados. Si la
+     * fecha de ingreso no puede parsearse se asigna null.</p>
+     * 
+     * @param datos los campos del registro
+     * @return el empleado deserializado, o null si el registro no puede leerse
+     * 
+     * @see CodecEmpleado#leer(String[])
+     */
+    private Empleado crearEmpleado(String[] datos) {
+        return CodecEmpleado.leer(datos);
     }
 }
@@ -0,0 +1,231 @@
+package LogicaNegocio;
+
+import AccesoDatos.AccesoDatos;
+import AccesoDatos.IdControl;
+import Entidades.CambioSalarial;
+import Entidades.Empleado;
+import Entidades.Nomina;
+import Utilidades.NombresArchivos;
+import Utilidades.Periodos;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+// ================================================================================
+// CLASE LogicaHistorialSalarial
+// ================================================================================
+
+/**
+ * Lógica de negocio del historial de salarios y puestos de los empleados.
+ *
+ * <p>{@link Empleado} guarda solo el salario y el puesto actuales. Cada vez
+ * que cambian, {@link LogicaEmpleado} registra aquí un {@link CambioSalarial}
+ * con su fecha de vigencia, de modo que la nómina de un período pasado se
+ * calcula con el salario que regía entonces.</p>
+ *
+ * <p><b>Formato de registro CSV:</b> el archivo solo crece; los cambios
+ * nunca se modifican ni se eliminan.</p>
+ * <pre>
+ * id,idEmpleado,fechaVigencia,salarioBruto,puesto
+ * </pre>
+ * <p>La fecha se guarda como "dd/MM/yyyy", o vacía si el cambio rige desde siempre.</p>
+ *
+ * <p><b>Consultas:</b> el historial se carga desde la instantánea compartida
+ * de {@link LogicaBase} en un {@link IndiceHistorialSalarial}, que responde
+ * el salario vigente en una fecha con una búsqueda binaria. El índice solo
+ * se reconstruye cuando cambia el archivo.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see IndiceHistorialSalarial
+ * @see CambioSalarial
+ */
+public class LogicaHistorialSalarial extends LogicaBase {
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Índice compartido por todas las instancias.
+     */
+    private static volatile IndiceHistorialSalarial indice;
+
+    /**
+     * Instantánea de la caché de {@link LogicaBase} a partir de la cual se
+     * construyó el índice.
+     */
+    private static volatile Instantanea<CambioSalarial> origenIndice;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea la lógica del historial salarial sobre el archivo por defecto.
+     */
+    public LogicaHistorialSalarial() {
+        accesoDatos.setNombreArchivo(NombresArchivos.HISTORIAL_SALARIAL.getNombreArchivo());
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - REGISTRO
+    // ================================================================================
+
+    /**
+     * Registra un cambio salarial y le asigna su ID.
+     *
+     * @param cambio el cambio a registrar
+     * @throws IOException si ocurre un error al escribir en el archivo
+     */
+    public void registrarCambio(CambioSalarial cambio) throws IOException {
+        synchronized (LogicaHistorialSalarial.class) {
+            String archivo = NombresArchivos.HISTORIAL_SALARIAL.getNombreArchivo();
+            cambio.setId(new IdControl().getNextId(archivo));
+            escribir(NombresArchivos.HISTORIAL_SALARIAL,
+                     () -> AccesoDatos.agregar(archivo, serializar(cambio)),
+                     lista -> lista.add(cambio));
+        }
+    }
+
+    /**
+     * Registra el salario y el puesto iniciales de un empleado nuevo, vigentes
+     * desde su fecha de ingreso (o desde siempre si no la tiene).
+     *
+     * @param empleado el empleado agregado
+     * @throws IOException si ocurre un error al escribir en el archivo
+     */
+    public void registrarAlta(Empleado empleado) throws IOException {
+        registrarCambio(new CambioSalarial(0, empleado.getId(), empleado.getFechaIngreso(),
+                                           empleado.getSalarioBruto(), empleado.getPuesto()));
+    }
+
+    /**
+     * Registra la modificación de un empleado si cambió su salario o su puesto.
+     *
+     * <p>Si el empleado aún no tiene historial (fue registrado antes de que
+     * existiera), primero se registran sus datos anteriores como vigentes
+     * desde siempre, para que los períodos pasados conserven el salario previo
+     * al cambio.</p>
+     *
+     * @param anterior los datos del empleado antes de la modificación
+     * @param actual los datos modificados
+     * @param vigencia fecha a partir de la cual rigen los nuevos datos
+     * @return true si se registró un cambio
+     * @throws IOException si ocurre un error al leer o escribir el archivo
+     */
+    public boolean registrarModificacion(Empleado anterior, Empleado actual, LocalDate vigencia) throws IOException {
+        if (anterior.getSalarioBruto() == actual.getSalarioBruto()
+                && Objects.equals(anterior.getPuesto(), actual.getPuesto())) {
+            return false;
+        }
+        synchronized (LogicaHistorialSalarial.class) {
+            if (!obtenerIndice().tieneHistorial(anterior.getId())) {
+                registrarCambio(new CambioSalarial(0, anterior.getId(), null,
+                                                   anterior.getSalarioBruto(), anterior.getPuesto()));
+            }
+            registrarCambio(new CambioSalarial(0, actual.getId(), vigencia,
+                                               actual.getSalarioBruto(), actual.getPuesto()));
+        }
+        return true;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS - CONSULTAS
+    // ================================================================================
+
+    /**
+     * Obtiene el salario bruto vigente de un empleado en una fecha.
+     *
+     * @param empleado el empleado
+     * @param fecha la fecha consultada
+     * @return el salario vigente en la fecha, o el salario actual del empleado
+     *         si no tiene historial que cubra esa fecha
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public double salarioVigente(Empleado empleado, LocalDate fecha) throws IOException {
+        CambioSalarial vigente = obtenerIndice().vigenteEn(empleado.getId(), fecha);
+        return vigente != null ? vigente.getSalarioBruto() : empleado.getSalarioBruto();
+    }
+
+    /**
+     * Asigna a una nómina el salario bruto vigente al cierre de su período.
+     *
+     * <p>Debe invocarse antes de {@link CalculadoraNomina#calcularNominaCompleta(Nomina)}.
+     * Si el período no tiene el formato de {@link Periodos}, la nómina conserva
+     * el salario actual del empleado.</p>
+     *
+     * @param nomina la nómina a ajustar
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public void aplicarSalarioVigente(Nomina nomina) throws IOException {
+        LocalDate fecha;
+        try {
+            fecha = Periodos.fechaFin(nomina.getPeriodo());
+        } catch (IllegalArgumentException e) {
+            return;
+        }
+        nomina.setSalarioBruto(salarioVigente(nomina.getEmpleado(), fecha));
+    }
+
+    /**
+     * Obtiene el historial de un empleado en orden de vigencia.
+     *
+     * @param idEmpleado el ID del empleado
+     * @return lista no modificable con los cambios del empleado
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public List<CambioSalarial> obtenerHistorial(int idEmpleado) throws IOException {
+        return obtenerIndice().historial(idEmpleado);
+    }
+
+    /**
+     * Obtiene el índice de intervalos del historial, reconstruyéndolo solo si
+     * el archivo cambió.
+     *
+     * @return el índice vigente
+     * @throws IOException si ocurre un error al leer el archivo
+     */
+    public IndiceHistorialSalarial obtenerIndice() throws IOException {
+        Instantanea<CambioSalarial> instantanea =
+            obtenerInstantanea(NombresArchivos.HISTORIAL_SALARIAL, this::crearCambio);
+        IndiceHistorialSalarial actual = indice;
+        if (actual != null && origenIndice == instantanea) {
+            return actual;
+        }
+        synchronized (LogicaHistorialSalarial.class) {
+            if (indice == null || origenIndice != instantanea) {
+                indice = new IndiceHistorialSalarial(instantanea.getEntidades());
+                origenIndice = instantanea;
+            }
+            return indice;
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Serializa un cambio salarial en la versión actual del formato CSV.
+     *
+     * @param cambio el cambio a serializar
+     * @return el registro CSV
+     * @see CodecCambioSalarial#escribir(CambioSalarial)
+     */
+    private String serializar(CambioSalarial cambio) {
+        return CodecCambioSalarial.escribir(cambio);
+    }
+
+    /**
+     * Deserializa un registro CSV en un cambio salarial.
+     *
+     * @param datos los campos del registro
+     * @return el cambio, o null si el registro no es válido
+     * @see CodecCambioSalarial#leer(String[])
+     */
+    private CambioSalarial crearCambio(String[] datos) {
+        return CodecCambioSalarial.leer(datos);
+    }
+}
@@ -0,0 +1,394 @@
+package LogicaNegocio;
+
+import AccesoDatos.ArchivoBloquesComprimidos;
+import AccesoDatos.ArchivoRegistrosFijos;
+import Entidades.Empleado;
+import Entidades.Nomina;
+import Utilidades.NombresArchivos;
+import Utilidades.Periodos;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+// ================================================================================
+// CLASE LogicaNomina
+// ================================================================================
+
+/**
+ * Lógica de negocio para el historial de nóminas calculadas.
+ *
+ * <p>Las nóminas se guardan con el formato de ancho fijo de
+ * {@link CodecNomina}, particionadas por período: las de cada período van en
+ * su propio archivo ({@link NombresArchivos#getNombreParticion(String)} sobre
+ * {@link NombresArchivos#NOMINAS_BINARIO}), de modo que consultar un período
+ * nunca lee los demás. El ID de cada nómina es su posición en la partición
+ * más uno.</p>
+ *
+ * <p><b>Índice por partición:</b> cada alta regenera el
+ * {@link IndiceNominasPeriodo} de la partición, con la posición de la última
+ * nómina de cada empleado y los totales del período en su pie. Si un
+ * empleado tiene varias nóminas del mismo período (por ejemplo, por un
+ * recálculo), prevalece la última guardada.</p>
+ *
+ * <p><b>Archivo histórico:</b> {@link #archivarPeriodo(String)} traslada la
+ * partición de un período a un {@link ArchivoBloquesComprimidos} ordenado
+ * por empleado ({@link NombresArchivos#NOMINAS_ARCHIVADAS}); las consultas lo
+ * usan de forma transparente cuando el período ya no tiene partición, y
+ * buscar la nómina de un empleado solo descomprime su bloque. Si se guarda
+ * una nómina en un período archivado, el período se restaura primero como
+ * partición. El traslado periódico lo realiza {@link ArchivadorNominas},
+ * que inicia la aplicación de escritorio.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see CodecNomina
+ * @see IndiceNominasPeriodo
+ * @see ArchivoRegistrosFijos
+ * @see ArchivadorNominas
+ */
+public class LogicaNomina {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Registros de un período junto con su índice.
+     */
+    private static final class RegistrosPeriodo {
+
+        /** Los registros, de la partición mapeada o descomprimidos del archivo histórico. */
+        private final ByteBuffer registros;
+
+        /** El índice que cubre todos los registros. */
+        private final IndiceNominasPeriodo indice;
+
+        RegistrosPeriodo(ByteBuffer registros, IndiceNominasPeriodo indice) {
+            this.registros = registros;
+            this.indice = indice;
+        }
+    }
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Particiones abiertas, indexadas por código de período.
+     */
+    private final Map<String, ArchivoRegistrosFijos> particiones = new ConcurrentHashMap<>();
+
+    /**
+     * Lógica de empleados utilizada para resolver el empleado de cada nómina.
+     */
+    private final LogicaEmpleado logicaEmpleado;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea la lógica de nóminas sobre los archivos binarios por defecto.
+     */
+    public LogicaNomina() {
+        this.logicaEmpleado = new LogicaEmpleado();
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Guarda una nómina calculada y le asigna su ID.
+     *
+     * @param nomina la nómina a guardar
+     * @throws IOException si ocurre un error al escribir en el archivo
+     */
+    public void guardarNomina(Nomina nomina) throws IOException {
+        guardarNominas(Collections.singletonList(nomina));
+    }
+
+    /**
+     * Guarda un lote de nóminas con una sola escritura y una sola
+     * sincronización a disco por período, asignando a cada una su ID.
+     *
+     * @param nominas las nóminas a guardar
+     * @throws IOException si ocurre un error al escribir en el archivo
+     */
+    public void guardarNominas(List<Nomina> nominas) throws IOException {
+        Map<String, List<Nomina>> porPeriodo = new LinkedHashMap<>();
+        for (Nomina nomina : nominas) {
+            porPeriodo.computeIfAbsent(nomina.getPeriodo(), k -> new ArrayList<>()).add(nomina);
+        }
+
+        for (Map.Entry<String, List<Nomina>> entrada : porPeriodo.entrySet()) {
+            List<Nomina> lote = entrada.getValue();
+            particion(entrada.getKey()).agregar(lote.size(),
+                (orden, indice, registro) -> {
+                    Nomina nomina = lote.get(orden);
+                    nomina.setId((int) indice + 1);
+                    CodecNomina.escribir(nomina, registro);
+                },
+                indexador(entrada.getKey()),
+                restauracion(entrada.getKey()));
+        }
+    }
+
+    /**
+     * Obtiene la última nómina de un empleado en un período, leyendo
+     * únicamente su registro.
+     *
+     * @param periodo el código del período (por ejemplo, {@code "2024-12-Q2"})
+     * @param idEmpleado el ID del empleado
+     * <p>En un período archivado solo se descomprimen los bloques del
+     * archivo histórico que pueden contener al empleado.</p>
+     *
+     * @return la nómina, o null si el empleado no tiene nómina en el período
+     * @throws IOException si ocurre un error al leer la partición
+     */
+    public Nomina obtenerNomina(String periodo, int idEmpleado) throws IOException {
+        ArchivoRegistrosFijos particion = particion(periodo);
+        ByteBuffer registros = particion.mapear();
+        if (registros.limit() > 0) {
+            int indice = obtenerIndice(periodo, particion, registros).buscar(idEmpleado);
+            return indice < 0 ? null
+                : CodecNomina.leer(registros, indice * CodecNomina.TAMANO, resolutorEmpleados());
+        }
+
+        ArchivoBloquesComprimidos archivado = archivado(periodo);
+        if (!archivado.existe()) {
+            return null;
+        }
+        // Los registros de un empleado quedan en orden de alta: el último es el vigente
+        ByteBuffer delEmpleado = archivado.buscar(idEmpleado);
+        return delEmpleado.limit() == 0 ? null
+            : CodecNomina.leer(delEmpleado, delEmpleado.limit() - CodecNomina.TAMANO, resolutorEmpleados());
+    }
+
+    /**
+     * Lista las nóminas de un período, la última de cada empleado.
+     *
+     * @param periodo el código del período (por ejemplo, {@code "2024-12-Q2"})
+     * @return las nóminas del período, ordenadas por ID de empleado
+     * @throws IOException si ocurre un error al leer la partición
+     */
+    public List<Nomina> listarPorPeriodo(String periodo) throws IOException {
+        RegistrosPeriodo datos = leerPeriodo(periodo);
+        ByteBuffer registros = datos.registros;
+        IndiceNominasPeriodo indice = datos.indice;
+
+        List<Nomina> nominas = new ArrayList<>(indice.getCantidadEmpleados());
+        IntFunction<Empleado> empleados = resolutorEmpleados();
+        for (int i = 0; i < indice.getCantidadEmpleados(); i++) {
+            int pos = indice.getIndice(i) * CodecNomina.TAMANO;
+            nominas.add(CodecNomina.leer(registros, pos, empleados));
+        }
+        return nominas;
+    }
+
+    /**
+     * Obtiene los IDs de los empleados que ya tienen nómina guardada en un
+     * período, a partir del índice de la partición.
+     *
+     * @param periodo el código del período
+     * @return los IDs de los empleados con nómina en el período
+     * @throws IOException si ocurre un error al leer la partición
+     */
+    public Set<Integer> empleadosConNomina(String periodo) throws IOException {
+        IndiceNominasPeriodo indice = obtenerResumen(periodo);
+        Set<Integer> empleados = new HashSet<>();
+        for (int i = 0; i < indice.getCantidadEmpleados(); i++) {
+            empleados.add(indice.getIdEmpleado(i));
+        }
+        return empleados;
+    }
+
+    /**
+     * Obtiene el resumen consolidado de un período (cantidad de empleados y
+     * totales) desde el pie del índice, sin decodificar las nóminas.
+     *
+     * @param periodo el código del período
+     * @return el índice de la partición con sus totales
+     * @throws IOException si ocurre un error al leer la partición
+     */
+    public IndiceNominasPeriodo obtenerResumen(String periodo) throws IOException {
+        return leerPeriodo(periodo).indice;
+    }
+
+    /**
+     * Traslada la partición de un período al archivo histórico comprimido.
+     *
+     * <p>Los registros se ordenan por empleado (conservando el orden de alta
+     * de cada uno) y se comprimen por bloques. La partición se elimina solo
+     * después de publicar el archivo histórico, por lo que un corte durante el
+     * traslado nunca pierde nóminas.</p>
+     *
+     * @param periodo el código del período
+     * @return true si el período tenía partición y fue archivado
+     * @throws IOException si ocurre un error al escribir el archivo histórico
+     */
+    public boolean archivarPeriodo(String periodo) throws IOException {
+        ArchivoBloquesComprimidos archivado = archivado(periodo);
+        return particion(periodo).retirar(registros -> archivado.escribir(ordenarPorEmpleado(registros)));
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene el archivo de la partición de un período.
+     *
+     * @param periodo el código del período
+     * @return la partición del período
+     */
+    private ArchivoRegistrosFijos particion(String periodo) {
+        Periodos.codificar(periodo); // Valida el código antes de usarlo como nombre de archivo
+        return particiones.computeIfAbsent(periodo, p -> new ArchivoRegistrosFijos(
+            NombresArchivos.NOMINAS_BINARIO.getNombreParticion(p), CodecNomina.TAMANO));
+    }
+
+    /**
+     * Obtiene el archivo histórico de un período.
+     *
+     * @param periodo el código del período
+     * @return el archivo histórico (puede no existir)
+     */
+    private ArchivoBloquesComprimidos archivado(String periodo) {
+        Periodos.codificar(periodo);
+        return new ArchivoBloquesComprimidos(NombresArchivos.NOMINAS_ARCHIVADAS.getNombreParticion(periodo),
+                                             CodecNomina.TAMANO, CodecNomina.ID_EMPLEADO);
+    }
+
+    /**
+     * Crea el generador del índice de la partición de un período.
+     *
+     * @param periodo el código del período
+     * @return el generador del índice
+     */
+    private ArchivoRegistrosFijos.Indexador indexador(String periodo) {
+        int codigo = Periodos.codificar(periodo);
+        return (anterior, registros) -> IndiceNominasPeriodo.actualizar(codigo, anterior, registros).codificar();
+    }
+
+    /**
+     * Lee los registros de un período y su índice, desde la partición o, si
+     * el período fue archivado, desde el archivo histórico.
+     *
+     * @param periodo el código del período
+     * @return los registros del período y su índice
+     * @throws IOException si ocurre un error al leer
+     */
+    private RegistrosPeriodo leerPeriodo(String periodo) throws IOException {
+        ArchivoRegistrosFijos particion = particion(periodo);
+        ByteBuffer registros = particion.mapear();
+        if (registros.limit() > 0) {
+            return new RegistrosPeriodo(registros, obtenerIndice(periodo, particion, registros));
+        }
+        ArchivoBloquesComprimidos archivado = archivado(periodo);
+        if (archivado.existe()) {
+            // El índice de la partición no aplica: el archivo histórico está ordenado por empleado
+            registros = archivado.leerTodo();
+        }
+        return new RegistrosPeriodo(registros, IndiceNominasPeriodo.actualizar(Periodos.codificar(periodo), null, registros));
+    }
+
+    /**
+     * Crea la restauración de un período archivado, que la partición aplica
+     * antes de agregarle nóminas para que las nuevas no oculten a las
+     * archivadas. La partición la aplica con su exclusión de escritores, la
+     * misma que toma {@link #archivarPeriodo(String)}.
+     *
+     * @param periodo el código del período
+     * @return la restauración del período
+     */
+    private ArchivoRegistrosFijos.Restauracion restauracion(String periodo) {
+        ArchivoBloquesComprimidos archivado = archivado(periodo);
+        return new ArchivoRegistrosFijos.Restauracion() {
+            @Override
+            public ByteBuffer leer() throws IOException {
+                return archivado.existe() ? archivado.leerTodo() : null;
+            }
+
+            @Override
+            public void eliminar() throws IOException {
+                archivado.eliminar();
+            }
+        };
+    }
+
+    /**
+     * Ordena los registros por ID de empleado, conservando el orden de alta
+     * entre los registros de un mismo empleado.
+     *
+     * @param registros los registros de una partición
+     * @return una copia de los registros ordenada
+     */
+    private static ByteBuffer ordenarPorEmpleado(ByteBuffer registros) {
+        int cantidad = registros.limit() / CodecNomina.TAMANO;
+        Integer[] orden = new Integer[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            orden[i] = i;
+        }
+        // Arrays.sort de objetos es estable
+        Arrays.sort(orden, Comparator.comparingInt(i -> CodecNomina.leerIdEmpleado(registros, i * CodecNomina.TAMANO)));
+
+        ByteBuffer ordenados = ByteBuffer.allocate(cantidad * CodecNomina.TAMANO);
+        for (int i = 0; i < cantidad; i++) {
+            ordenados.put(i * CodecNomina.TAMANO, registros, orden[i] * CodecNomina.TAMANO, CodecNomina.TAMANO);
+        }
+        return ordenados;
+    }
+
+    /**
+     * Obtiene el índice de una partición que cubre todos los registros mapeados.
+     *
+     * <p>Si el índice guardado cubre menos registros que los mapeados (por un
+     * corte entre la escritura de los registros y la del índice), se completa
+     * en memoria con los registros faltantes. Si cubre más (por una alta
+     * posterior al mapeo), se reconstruye desde los registros mapeados.</p>
+     *
+     * @param periodo el código del período
+     * @param particion la partición
+     * @param registros los registros mapeados de la partición
+     * @return el índice de la partición
+     * @throws IOException si ocurre un error al leer el índice
+     */
+    private IndiceNominasPeriodo obtenerIndice(String periodo, ArchivoRegistrosFijos particion,
+                                               ByteBuffer registros) throws IOException {
+        return IndiceNominasPeriodo.actualizar(Periodos.codificar(periodo), particion.leerIndice(), registros);
+    }
+
+    /**
+     * Obtiene la función que resuelve el empleado de cada nómina a partir
+     * del catálogo. Si el empleado ya no existe, devuelve un empleado con
+     * solo su ID para no perder el historial.
+     *
+     * <p>El catálogo se valida una sola vez, al obtener la función, y no
+     * por cada registro decodificado.</p>
+     *
+     * @return la función que recibe el ID del empleado
+     * @throws IOException si el catálogo debe construirse y falla la lectura
+     */
+    private IntFunction<Empleado> resolutorEmpleados() throws IOException {
+        CatalogoEmpleados catalogo = logicaEmpleado.obtenerCatalogo();
+        return id -> {
+            Empleado empleado = catalogo.buscarPorId(id);
+            if (empleado == null) {
+                empleado = new Empleado();
+                empleado.setId(id);
+            }
+            return empleado;
+        };
+    }
+}
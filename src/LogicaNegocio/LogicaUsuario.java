@@ -4,10 +4,12 @@
  */
 package LogicaNegocio;
 
+import AccesoDatos.AccesoDatos;
 import AccesoDatos.IdControl;
 import Entidades.Usuario;
 import Utilidades.NombresArchivos;
 import java.io.IOException;
+import java.util.List;
 
 // ================================================================================
 // CLASE LogicaUsuario
@@ -22,9 +24,10 @@ import java.io.IOException;
  * archivos CSV y el control automático de IDs.</p>
  * 
  * <p><b>Formato de registro CSV:</b></p>
- * <p>Los usuarios se almacenan con el siguiente formato (7 campos):</p>
+ * <p>Los usuarios se almacenan con el siguiente formato (7 campos escapados
+ * y la marca de versión, ver {@link CodecUsuario}):</p>
  * <pre>
- * id,nombre,apellido1,apellido2,email,usuario,password
+ * id,nombre,apellido1,apellido2,email,usuario,password,@v2
  * </pre>
  * 
  * <p><b>Estado inicial del objeto:</b></p>
@@ -100,8 +103,8 @@ public class LogicaUsuario extends LogicaBase {
      * <ol>
      *   <li>Inicializa el controlador de IDs mediante {@link AccesoDatos.IdControl}</li>
      *   <li>Asigna automáticamente el siguiente ID disponible al usuario</li>
-     *   <li>Serializa todos los datos del usuario en formato CSV (7 campos)</li>
-     *   <li>Persiste el registro en el archivo mediante {@link AccesoDatos.AccesoDatos#agregarRegistro()}</li>
+     *   <li>Serializa todos los datos del usuario en formato CSV (ver {@link CodecUsuario})</li>
+     *   <li>Persiste el registro en el archivo mediante {@link AccesoDatos.AccesoDatos#agregar(String, String)}</li>
      * </ol>
      * 
      * <p><b>Formato del registro generado:</b></p>
@@ -119,19 +122,14 @@ public class LogicaUsuario extends LogicaBase {
      *                     o al escribir el registro en el archivo de usuarios
      * 
      * @see AccesoDatos.IdControl#getNextId(String)
-     * @see AccesoDatos.AccesoDatos#agregarRegistro()
+     * @see AccesoDatos.AccesoDatos#agregar(String, String)
      */
     public void agregarUsuario(Usuario usuario) throws IOException {
         idControl = new IdControl();
         usuario.setId(idControl.getNextId(NombresArchivos.USUARIOS.getNombreArchivo()));
-        accesoDatos.setRegistro(String.valueOf(usuario.getId()) + ","
-                + usuario.getNombre() + ","
-                + usuario.getApellido1() + ","
-                + usuario.getApellido2() + ","
-                + usuario.getEmail() + ","
-                + usuario.getUsuario() + ","
-                + usuario.getPassword());
-        accesoDatos.agregarRegistro();
+        escribir(NombresArchivos.USUARIOS, () -> {
+            AccesoDatos.agregar(NombresArchivos.USUARIOS.getNombreArchivo(), serializar(usuario));
+        }, (List<Usuario> lista) -> lista.add(usuario));
     }
     
     /**
@@ -140,9 +138,10 @@ public class LogicaUsuario extends LogicaBase {
      * <p>Este método realiza las siguientes operaciones:</p>
      * <ol>
      *   <li>Identifica el usuario a actualizar mediante su ID</li>
-     *   <li>Serializa todos los datos actualizados del usuario en formato CSV (7 campos)</li>
+     *   <li>Serializa todos los datos actualizados del usuario en la versión actual
+     *       del formato CSV</li>
      *   <li>Establece la bandera de eliminación en false para indicar modificación</li>
-     *   <li>Persiste los cambios mediante {@link AccesoDatos.AccesoDatos#modificarRegistro()}</li>
+     *   <li>Persiste los cambios mediante {@link AccesoDatos.AccesoDatos#modificar(String, int, String)}</li>
      * </ol>
      * 
      * <p><b>Formato del registro actualizado:</b></p>
@@ -161,19 +160,12 @@ public class LogicaUsuario extends LogicaBase {
      *                un ID válido que corresponda a un usuario existente
      * @throws IOException si ocurre un error al leer o escribir en el archivo de usuarios
      * 
-     * @see AccesoDatos.AccesoDatos#modificarRegistro()
+     * @see AccesoDatos.AccesoDatos#modificar(String, int, String)
      */
     public void actualizarUsuario(Usuario usuario) throws IOException {
-        accesoDatos.setIdRegistro(usuario.getId());
-        accesoDatos.setRegistro(String.valueOf(usuario.getId()) + ","
-                + usuario.getNombre() + ","
-                + usuario.getApellido1() + ","
-                + usuario.getApellido2() + ","
-                + usuario.getEmail() + ","
-                + usuario.getUsuario() + ","
-                + usuario.getPassword());
-        accesoDatos.setEliminar(false);
-        accesoDatos.modificarRegistro();
+        escribir(NombresArchivos.USUARIOS, () -> {
+            AccesoDatos.modificar(NombresArchivos.USUARIOS.getNombreArchivo(), usuario.getId(), serializar(usuario));
+        }, (List<Usuario> lista) -> lista.replaceAll(u -> u.getId() == usuario.getId() ? usuario : u));
     }
     
     /**
@@ -186,8 +178,7 @@ public class LogicaUsuario extends LogicaBase {
      * <p><b>Proceso de eliminación:</b></p>
      * <ol>
      *   <li>Identifica el usuario mediante su ID</li>
-     *   <li>Establece la bandera de eliminación en true</li>
-     *   <li>Marca el registro como eliminado mediante {@link AccesoDatos.AccesoDatos#modificarRegistro()}</li>
+     *   <li>Elimina el registro mediante {@link AccesoDatos.AccesoDatos#eliminar(String, int)}</li>
      * </ol>
      * 
      * <p><b>Nota:</b> Esta es una eliminación lógica, no física. El registro
@@ -198,12 +189,12 @@ public class LogicaUsuario extends LogicaBase {
      *                un ID válido que corresponda a un usuario existente
      * @throws IOException si ocurre un error al leer o escribir en el archivo de usuarios
      * 
-     * @see AccesoDatos.AccesoDatos#modificarRegistro()
+     * @see AccesoDatos.AccesoDatos#eliminar(String, int)
      */
     public void eliminarUsuario(Usuario usuario) throws IOException {
-        accesoDatos.setIdRegistro(usuario.getId());
-        accesoDatos.setEliminar(true);
-        accesoDatos.modificarRegistro();
+        escribir(NombresArchivos.USUARIOS, () -> {
+            AccesoDatos.eliminar(NombresArchivos.USUARIOS.getNombreArchivo(), usuario.getId());
+        }, (List<Usuario> lista) -> lista.removeIf(u -> u.getId() == usuario.getId()));
     }
     
     /**
@@ -212,23 +203,24 @@ public class LogicaUsuario extends LogicaBase {
      * <p>Este método carga todos los usuarios no eliminados del archivo y los
      * agrega a la lista interna del objeto Usuario proporcionado como parámetro.</p>
      * 
-     * <p><b>Formato esperado del registro (7 campos):</b></p>
+     * <p><b>Formato esperado del registro (7 campos, con o sin marca de versión):</b></p>
      * <pre>
-     * id,nombre,apellido1,apellido2,email,usuario,password
+     * id,nombre,apellido1,apellido2,email,usuario,password[,@v2]
      * </pre>
      * 
      * <p><b>Proceso de listado:</b></p>
      * <ol>
-     *   <li>Configura el archivo de usuarios mediante {@link Utilidades.NombresArchivos#USUARIOS}</li>
-     *   <li>Carga todos los registros mediante {@link AccesoDatos.AccesoDatos#listarRegistros()}</li>
-     *   <li>Valida que cada registro tenga exactamente 7 campos</li>
+     *   <li>Obtiene la instantánea compartida de usuarios de {@link LogicaBase}, que
+     *       solo lee el archivo si cambió desde la última lectura</li>
+     *   <li>Al leer, valida que cada registro tenga los 7 campos</li>
      *   <li>Deserializa cada registro válido en objetos Usuario</li>
      *   <li>Agrega cada usuario a la lista del objeto parámetro</li>
      * </ol>
      * 
-     * <p><b>Validación de formato:</b> Solo se procesan registros con exactamente
-     * 7 campos. Registros con formato incorrecto son ignorados silenciosamente,
-     * garantizando que la lista contenga solo usuarios válidos.</p>
+     * <p><b>Validación de formato:</b> Solo se procesan registros con los 7
+     * campos. Los registros con formato incorrecto se omiten y se cuentan en la
+     * métrica {@code usuarios.registrosDescartados}, garantizando que la lista
+     * contenga solo usuarios válidos.</p>
      * 
      * @param usuario objeto Usuario que recibirá la lista completa de usuarios
      *                en su colección interna mediante
@@ -239,18 +231,20 @@ public class LogicaUsuario extends LogicaBase {
      * @see Entidades.Usuario#agregarListaUsuarios(Usuario)
      */
     public void listarUsuario(Usuario usuario) throws IOException {
-        accesoDatos.setNombreArchivo(NombresArchivos.USUARIOS.getNombreArchivo());
-        accesoDatos.listarRegistros();
-        for (String[] datos : accesoDatos.getListaRegistros()) {
-            if (datos.length == 7) {
-                Usuario usr = new Usuario(
-                    Integer.parseInt(datos[0]), 
-                    datos[1], datos[2], datos[3], 
-                    datos[4], datos[5], datos[6]
-                );
-                usuario.agregarListaUsuarios(usr);
-            }
-        }
+        obtenerUsuarios().forEach(usuario::agregarListaUsuarios);
+    }
+    
+    /**
+     * Obtiene la lista compartida de usuarios activos.
+     * 
+     * <p>Devuelve la instantánea inmutable de la caché de {@link LogicaBase}:
+     * solo lee el archivo si cambió desde la última lectura.</p>
+     * 
+     * @return lista no modificable con los usuarios activos
+     * @throws IOException si ocurre un error al leer el archivo de usuarios
+     */
+    public List<Usuario> obtenerUsuarios() throws IOException {
+        return obtenerInstantanea(NombresArchivos.USUARIOS, LogicaUsuario::crearUsuario).getEntidades();
     }
     
     // ================================================================================
@@ -298,7 +292,7 @@ public class LogicaUsuario extends LogicaBase {
      * 
      * @param username el nombre de usuario para autenticar (case-sensitive)
      * @param password la contraseña del usuario (case-sensitive)
-     * @return el objeto Usuario completo si la autenticación es exitosa,
+     * @return una copia del Usuario completo si la autenticación es exitosa,
      *         o null si las credenciales son inválidas o el usuario no existe
      * @throws IOException si ocurre un error al leer el archivo de usuarios
      * 
@@ -306,20 +300,40 @@ public class LogicaUsuario extends LogicaBase {
      * @see #listarUsuario(Usuario)
      */
     public Usuario autenticar(String username, String password) throws IOException {
-        accesoDatos.setNombreArchivo(NombresArchivos.USUARIOS.getNombreArchivo());
-        accesoDatos.listarRegistros();
-        
-        for (String[] datos : accesoDatos.getListaRegistros()) {
-            if (datos.length == 7) {
-                if (datos[5].equals(username) && datos[6].equals(password)) {
-                    return new Usuario(
-                        Integer.parseInt(datos[0]),
-                        datos[1], datos[2], datos[3],
-                        datos[4], datos[5], datos[6]
-                    );
-                }
+        for (Usuario usr : obtenerUsuarios()) {
+            if (usr.getUsuario().equals(username) && usr.getPassword().equals(password)) {
+                // Copia: la instancia en caché es compartida por todos los lectores
+                return new Usuario(usr);
             }
         }
         return null;
     }
+    
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+    
+    /**
+     * Serializa un usuario en la versión actual del formato CSV.
+     * 
+     * @param usuario el usuario a serializar
+     * @return el registro CSV
+     * 
+     * @see CodecUsuario#escribir(Usuario)
+     */
+    private static String serializar(Usuario usuario) {
+        return CodecUsuario.escribir(usuario);
+    }
+    
+    /**
+     * Deserializa un registro CSV en un objeto Usuario.
+     * 
+     * @param datos los campos del registro
+     * @return el usuario, o null si el registro no puede leerse
+     * 
+     * @see CodecUsuario#leer(String[])
+     */
+    private static Usuario crearUsuario(String[] datos) {
+        return CodecUsuario.leer(datos);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,365 @@
+package LogicaNegocio;
+
+import AccesoDatos.BitacoraEjecucion;
+import AccesoDatos.BitacoraEjecucion.Etapa;
+import Entidades.Correo;
+import Entidades.Empleado;
+import Entidades.Nomina;
+import Utilidades.EventosJfr;
+import Utilidades.Periodos;
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// ================================================================================
+// CLASE ProcesoNominaMasiva
+// ================================================================================
+
+/**
+ * Proceso de generación masiva de nómina con puntos de control reanudables.
+ *
+ * <p>Para cada empleado de la planilla indicada ejecuta, en orden, las etapas
+ * de cálculo, generación del comprobante PDF y (opcionalmente) envío por
+ * correo. El avance se registra en una {@link BitacoraEjecucion}, de modo que
+ * si el proceso se interrumpe, al volver a ejecutarlo con el mismo
+ * identificador se omiten los PDF y correos ya completados.</p>
+ *
+ * <p><b>Reanudación:</b> el cálculo es determinista y barato, por lo que se
+ * repite siempre que el empleado tenga etapas pendientes; las etapas costosas
+ * (PDF y correo) nunca se repiten si la bitácora las registra como completas.</p>
+ *
+ * <p><b>Salario:</b> cada nómina se calcula con el salario vigente al cierre
+ * del período según el {@link LogicaHistorialSalarial}, por lo que volver a
+ * generar un período pasado no utiliza el salario actual.</p>
+ *
+ * <p><b>Historial:</b> cada nómina calculada se guarda en el segmento binario
+ * de {@link LogicaNomina}, en lotes de
+ * {@link BitacoraEjecucion#INTERVALO_SINCRONIZACION} nóminas. Al reanudar, un
+ * empleado solo se omite si además de sus etapas completas ya tiene su nómina
+ * guardada en el período, y nunca se guarda dos veces la misma nómina.</p>
+ *
+ * <p><b>Uso típico:</b></p>
+ * <pre>
+ * ProcesoNominaMasiva proceso = new ProcesoNominaMasiva();
+ * ProcesoNominaMasiva.Resumen resumen = proceso.ejecutar(
+ *     null, LocalDate.of(2024, 12, 20), Constantes.PLANILLA_QUINCENAL, true);
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see BitacoraEjecucion
+ * @see CalculadoraNomina
+ * @see GeneradorPDF
+ * @see LogicaCorreo
+ * @see LogicaNomina
+ */
+public class ProcesoNominaMasiva {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Resumen de una ejecución masiva de nómina.
+     */
+    public static class Resumen {
+
+        /** Identificador de la ejecución (y de su bitácora). */
+        private final String idEjecucion;
+
+        /** Código del período procesado. */
+        private final String periodo;
+
+        /** Nóminas calculadas durante la ejecución. */
+        private final List<Nomina> nominas = new ArrayList<>();
+
+        /** Empleados cuyas etapas ya estaban completas en la bitácora. */
+        private int omitidos;
+
+        /** Empleados excluidos por tipo de planilla o fecha de ingreso. */
+        private int excluidos;
+
+        /** Empleados que fallaron en alguna etapa (se reintentarán). */
+        private int errores;
+
+        /**
+         * Crea un resumen vacío.
+         *
+         * @param idEjecucion identificador de la ejecución
+         * @param periodo código del período procesado
+         */
+        Resumen(String idEjecucion, String periodo) {
+            this.idEjecucion = idEjecucion;
+            this.periodo = periodo;
+        }
+
+        /** @return el identificador de la ejecución */
+        public String getIdEjecucion() {
+            return idEjecucion;
+        }
+
+        /** @return el código del período procesado */
+        public String getPeriodo() {
+            return periodo;
+        }
+
+        /** @return las nóminas calculadas en esta ejecución */
+        public List<Nomina> getNominas() {
+            return nominas;
+        }
+
+        /** @return cantidad de empleados procesados en esta ejecución */
+        public int getProcesados() {
+            return nominas.size();
+        }
+
+        /** @return cantidad de empleados omitidos por estar completos */
+        public int getOmitidos() {
+            return omitidos;
+        }
+
+        /** @return cantidad de empleados excluidos del período */
+        public int getExcluidos() {
+            return excluidos;
+        }
+
+        /** @return cantidad de empleados con error */
+        public int getErrores() {
+            return errores;
+        }
+    }
+
+    /**
+     * Fallo al escribir la bitácora o el historial de nóminas. A diferencia de
+     * los errores de un empleado, detiene la ejecución: continuar sin registrar
+     * el avance haría que una reanudación repitiera o perdiera etapas.
+     */
+    private static class ErrorPersistencia extends Exception {
+
+        /**
+         * Envuelve el error de E/S original.
+         *
+         * @param causa error de E/S al escribir la bitácora o el historial
+         */
+        ErrorPersistencia(IOException causa) {
+            super(causa);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /**
+     * Lógica de empleados utilizada para obtener el catálogo.
+     */
+    private final LogicaEmpleado logicaEmpleado;
+
+    /**
+     * Motor de cálculo de la nómina.
+     */
+    private final CalculadoraNomina calculadora;
+
+    /**
+     * Generador de los comprobantes PDF.
+     */
+    private final GeneradorPDF generadorPDF;
+
+    /**
+     * Gestor de envío de correos.
+     */
+    private final LogicaCorreo logicaCorreo;
+
+    /**
+     * Historial de nóminas calculadas.
+     */
+    private final LogicaNomina logicaNomina;
+
+    /**
+     * Historial salarial, para calcular cada período con el salario vigente en él.
+     */
+    private final LogicaHistorialSalarial historialSalarial;
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un proceso masivo con las implementaciones por defecto de cada capa.
+     */
+    public ProcesoNominaMasiva() {
+        this.logicaEmpleado = new LogicaEmpleado();
+        this.calculadora = new CalculadoraNomina();
+        this.generadorPDF = new GeneradorPDF();
+        this.logicaCorreo = new LogicaCorreo();
+        this.logicaNomina = new LogicaNomina();
+        this.historialSalarial = new LogicaHistorialSalarial();
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Ejecuta (o reanuda) la nómina masiva de un período.
+     *
+     * @param idEjecucion identificador de la ejecución; si es null se utiliza
+     *                    el código del período, de modo que volver a ejecutar
+     *                    el mismo período reanuda la ejecución anterior
+     * @param fechaPeriodo fecha de referencia del período
+     * @param tipoPlanilla tipo de planilla a procesar
+     * @param enviarCorreos true para enviar cada comprobante por correo
+     * @return el resumen de la ejecución
+     * @throws IOException si ocurre un error al leer los empleados o al
+     *                     escribir la bitácora
+     */
+    public Resumen ejecutar(String idEjecucion, LocalDate fechaPeriodo, String tipoPlanilla,
+                            boolean enviarCorreos) throws IOException {
+        EventosJfr.LoteNominas evento = new EventosJfr.LoteNominas();
+        evento.begin();
+        String periodo = Periodos.formatear(fechaPeriodo, tipoPlanilla);
+        if (idEjecucion == null) {
+            idEjecucion = periodo;
+        }
+        Resumen resumen = new Resumen(idEjecucion, periodo);
+
+        Empleado empleados = new Empleado();
+        logicaEmpleado.listarEmpleados(empleados);
+
+        Set<Integer> guardadas = logicaNomina.empleadosConNomina(periodo);
+        List<Nomina> porGuardar = new ArrayList<>();
+
+        try (BitacoraEjecucion bitacora = new BitacoraEjecucion(idEjecucion)) {
+            for (Empleado emp : empleados.getListaEmpleados()) {
+                if (!tipoPlanilla.equals(emp.getTipoPlanilla())
+                        || (emp.getFechaIngreso() != null && fechaPeriodo.isBefore(emp.getFechaIngreso()))) {
+                    resumen.excluidos++;
+                    continue;
+                }
+
+                int id = emp.getId();
+                if (guardadas.contains(id)
+                        && bitacora.estaCompleta(id, Etapa.PDF_GENERADO)
+                        && (!enviarCorreos || bitacora.estaCompleta(id, Etapa.CORREO_ENVIADO))) {
+                    resumen.omitidos++;
+                    continue;
+                }
+
+                try {
+                    Nomina nomina = new Nomina(0, emp, periodo);
+                    historialSalarial.aplicarSalarioVigente(nomina);
+                    calculadora.calcularNominaCompleta(nomina);
+                    registrar(bitacora, id, Etapa.CALCULADA);
+                    if (guardadas.add(id)) {
+                        porGuardar.add(nomina);
+                        if (porGuardar.size() >= BitacoraEjecucion.INTERVALO_SINCRONIZACION) {
+                            guardar(porGuardar);
+                        }
+                    }
+
+                    String archivoPdf = "Nomina_" + emp.getCedula() + "_" + periodo + ".pdf";
+                    if (!bitacora.estaCompleta(id, Etapa.PDF_GENERADO)) {
+                        archivoPdf = generadorPDF.generarReporteEmpleado(nomina);
+                        registrar(bitacora, id, Etapa.PDF_GENERADO);
+                    }
+
+                    if (enviarCorreos && !bitacora.estaCompleta(id, Etapa.CORREO_ENVIADO)) {
+                        logicaCorreo.enviarCorreo(crearCorreo(nomina, archivoPdf));
+                        registrar(bitacora, id, Etapa.CORREO_ENVIADO);
+                    }
+
+                    resumen.nominas.add(nomina);
+                } catch (ErrorPersistencia e) {
+                    // Error de bitácora o historial: no es seguro continuar sin registrar avance
+                    throw e.getCause();
+                } catch (Exception e) {
+                    // El empleado queda pendiente y se reintentará en la próxima ejecución
+                    // (incluye errores de E/S propios del empleado, como su PDF)
+                    resumen.errores++;
+                }
+            }
+        } finally {
+            // Las nóminas calculadas se conservan aunque la ejecución se interrumpa
+            logicaNomina.guardarNominas(porGuardar);
+        }
+        if (evento.shouldCommit()) {
+            evento.periodo = periodo;
+            evento.tipoPlanilla = tipoPlanilla;
+            evento.procesadas = resumen.getProcesados();
+            evento.omitidas = resumen.omitidos;
+            evento.errores = resumen.errores;
+            evento.commit();
+        }
+        return resumen;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Registra una etapa en la bitácora, distinguiendo su fallo de los
+     * errores propios de un empleado.
+     *
+     * @param bitacora bitácora de la ejecución
+     * @param idEmpleado ID del empleado
+     * @param etapa etapa completada
+     * @throws ErrorPersistencia si no se pudo escribir la bitácora
+     */
+    private static void registrar(BitacoraEjecucion bitacora, int idEmpleado, Etapa etapa)
+            throws ErrorPersistencia {
+        try {
+            bitacora.registrar(idEmpleado, etapa);
+        } catch (IOException e) {
+            throw new ErrorPersistencia(e);
+        }
+    }
+
+    /**
+     * Guarda un lote de nóminas en el historial y lo vacía, distinguiendo su
+     * fallo de los errores propios de un empleado.
+     *
+     * @param porGuardar nóminas pendientes de guardar
+     * @throws ErrorPersistencia si no se pudo escribir el historial
+     */
+    private void guardar(List<Nomina> porGuardar) throws ErrorPersistencia {
+        try {
+            logicaNomina.guardarNominas(porGuardar);
+        } catch (IOException e) {
+            throw new ErrorPersistencia(e);
+        }
+        porGuardar.clear();
+    }
+
+    /**
+     * Crea el correo con el comprobante de pago de un empleado.
+     *
+     * @param nomina la nómina calculada del empleado
+     * @param archivoPdf ruta del comprobante PDF a adjuntar
+     * @return el correo listo para enviar
+     */
+    private Correo crearCorreo(Nomina nomina, String archivoPdf) {
+        Empleado emp = nomina.getEmpleado();
+        Correo correo = new Correo();
+        correo.setEmail(emp.getEmail());
+        correo.setAsunto("Comprobante de Pago - " + nomina.getPeriodo());
+        correo.setMensaje(
+            "Estimado(a) " + emp.getNombreCompleto() + ",\n\n" +
+            "Adjunto encontrará su comprobante de pago correspondiente al periodo " +
+            nomina.getPeriodo() + ".\n\n" +
+            "Salario Neto: ₡" + String.format("%.2f", nomina.getSalarioNeto()) + "\n\n" +
+            "Saludos cordiales,\n" +
+            "Departamento de Recursos Humanos"
+        );
+        correo.agregarArchivoAdjunto(new File(archivoPdf));
+        return correo;
+    }
+}
@@ -0,0 +1,74 @@
+package LogicaNegocio;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// ================================================================================
+// CLASE PublicadorEventos
+// ================================================================================
+
+/**
+ * Canal de eventos de cambio dentro del proceso.
+ *
+ * <p>Mantiene la lista de suscriptores de un tipo de entidad y les entrega
+ * cada {@link EventoCambio} publicado por la capa de lógica de negocio.</p>
+ *
+ * <p><b>Características:</b></p>
+ * <ul>
+ *   <li>Los eventos se entregan en el hilo que realizó el cambio (por
+ *       ejemplo, un {@code SwingWorker}); los formularios deben pasar al EDT
+ *       con {@code SwingUtilities.invokeLater} antes de tocar componentes</li>
+ *   <li>Suscribir y desuscribir es seguro mientras se publica un evento</li>
+ *   <li>Un suscriptor que lanza una excepción no impide la entrega a los demás
+ *       ni afecta la operación que publicó el evento</li>
+ * </ul>
+ *
+ * @param <T> tipo de la entidad de los eventos
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see EventoCambio
+ */
+public class PublicadorEventos<T> {
+
+    /**
+     * Suscriptores registrados.
+     */
+    private final List<Consumer<EventoCambio<T>>> suscriptores = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registra un suscriptor.
+     *
+     * @param suscriptor función que recibirá los eventos publicados
+     */
+    public void suscribir(Consumer<EventoCambio<T>> suscriptor) {
+        suscriptores.add(suscriptor);
+    }
+
+    /**
+     * Elimina un suscriptor registrado previamente.
+     *
+     * @param suscriptor el suscriptor a eliminar
+     */
+    public void desuscribir(Consumer<EventoCambio<T>> suscriptor) {
+        suscriptores.remove(suscriptor);
+    }
+
+    /**
+     * Entrega un evento a todos los suscriptores.
+     *
+     * @param tipo el tipo de cambio
+     * @param entidad la entidad afectada
+     */
+    public void publicar(EventoCambio.Tipo tipo, T entidad) {
+        EventoCambio<T> evento = new EventoCambio<>(tipo, entidad);
+        for (Consumer<EventoCambio<T>> suscriptor : suscriptores) {
+            try {
+                suscriptor.accept(evento);
+            } catch (RuntimeException e) {
+                // Un suscriptor defectuoso no debe afectar a los demás ni al cambio ya guardado
+                e.printStackTrace();
+            }
+        }
+    }
+}
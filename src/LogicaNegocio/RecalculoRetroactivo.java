@@ -0,0 +1,459 @@
+package LogicaNegocio;
+
+import Entidades.CambioSalarial;
+import Entidades.Nomina;
+import Utilidades.Periodos;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// ================================================================================
+// CLASE RecalculoRetroactivo
+// ================================================================================
+
+/**
+ * Recálculo en paralelo de las nóminas guardadas de un rango de períodos,
+ * para detectar las diferencias que produce una corrección retroactiva de
+ * tasas o de salarios.
+ *
+ * <p><b>Funcionamiento:</b></p>
+ * <ul>
+ *   <li>Los períodos del rango se leen uno a uno con
+ *       {@link LogicaNomina#listarPorPeriodo(String)} (la última nómina de cada
+ *       empleado) y se dividen en bloques de {@link #TAMANO_BLOQUE} empleados.</li>
+ *   <li>Cada bloque (período × empleados) es una tarea independiente que se
+ *       ejecuta en un grupo de hilos del tamaño de los núcleos disponibles,
+ *       con una {@link CalculadoraNomina} construida con las
+ *       {@link TasasNomina} de su período y el salario vigente al cierre del
+ *       período según el {@link IndiceHistorialSalarial}.</li>
+ *   <li>Mientras se calculan los bloques de un período se lee el siguiente,
+ *       y los resultados se entregan a la {@link Salida} a medida que terminan,
+ *       siempre desde el hilo que invocó {@link #ejecutar}. Solo se entregan
+ *       las nóminas que difieren en al menos un céntimo.</li>
+ * </ul>
+ *
+ * <p>El recálculo no modifica las nóminas guardadas: para aplicar las
+ * correcciones basta con pasar las nóminas recalculadas a
+ * {@link LogicaNomina#guardarNominas(List)}, que las registra como la última
+ * nómina de cada empleado en su período.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * RecalculoRetroactivo recalculo = new RecalculoRetroactivo(new LogicaNomina(), new LogicaHistorialSalarial());
+ * try (Writer reporte = Files.newBufferedWriter(Paths.get("diferencias.csv"))) {
+ *     recalculo.ejecutar("2024-01-M", "2024-12-Q2", periodo -&gt; tasasCorregidas,
+ *                        RecalculoRetroactivo.reporteCsv(reporte));
+ * }
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see TasasNomina
+ * @see CalculadoraNomina
+ * @see LogicaNomina
+ */
+public class RecalculoRetroactivo {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Destino de las diferencias encontradas.
+     */
+    public interface Salida {
+
+        /**
+         * Recibe una diferencia. Se invoca siempre desde el hilo que ejecuta el
+         * recálculo, por lo que la implementación no necesita sincronizarse.
+         *
+         * @param diferencia la diferencia encontrada
+         * @throws IOException si ocurre un error al escribir la diferencia
+         */
+        void diferencia(Diferencia diferencia) throws IOException;
+    }
+
+    /**
+     * Nómina guardada junto con su recálculo, cuando ambos difieren.
+     */
+    public static final class Diferencia {
+
+        /** La nómina guardada. */
+        private final Nomina almacenada;
+
+        /** La nómina recalculada con las tasas y el salario del período. */
+        private final Nomina recalculada;
+
+        Diferencia(Nomina almacenada, Nomina recalculada) {
+            this.almacenada = almacenada;
+            this.recalculada = recalculada;
+        }
+
+        /** @return el código del período */
+        public String getPeriodo() {
+            return almacenada.getPeriodo();
+        }
+
+        /** @return el ID del empleado */
+        public int getIdEmpleado() {
+            return almacenada.getEmpleado().getId();
+        }
+
+        /** @return la nómina guardada */
+        public Nomina getAlmacenada() {
+            return almacenada;
+        }
+
+        /** @return la nómina recalculada, sin ID asignado */
+        public Nomina getRecalculada() {
+            return recalculada;
+        }
+
+        /** @return el salario neto recalculado menos el guardado */
+        public double getDiferenciaNeto() {
+            return recalculada.getSalarioNeto() - almacenada.getSalarioNeto();
+        }
+    }
+
+    /**
+     * Resultado de un recálculo.
+     */
+    public static final class Resumen {
+
+        /** Períodos con nóminas guardadas dentro del rango. */
+        private final int periodos;
+
+        /** Nóminas recalculadas. */
+        private final int nominas;
+
+        /** Nóminas con diferencias. */
+        private final int diferencias;
+
+        Resumen(int periodos, int nominas, int diferencias) {
+            this.periodos = periodos;
+            this.nominas = nominas;
+            this.diferencias = diferencias;
+        }
+
+        /** @return la cantidad de períodos recalculados */
+        public int getPeriodos() {
+            return periodos;
+        }
+
+        /** @return la cantidad de nóminas recalculadas */
+        public int getNominas() {
+            return nominas;
+        }
+
+        /** @return la cantidad de nóminas con diferencias */
+        public int getDiferencias() {
+            return diferencias;
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Cantidad de empleados por tarea. */
+    public static final int TAMANO_BLOQUE = 512;
+
+    /** Numera los hilos de los grupos creados por esta clase. */
+    private static final AtomicInteger HILOS_CREADOS = new AtomicInteger();
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Lógica de nóminas de la que se leen las nóminas guardadas. */
+    private final LogicaNomina logicaNomina;
+
+    /** Lógica del historial salarial. */
+    private final LogicaHistorialSalarial historialSalarial;
+
+    /** Cantidad de hilos de cálculo. */
+    private int hilos = Runtime.getRuntime().availableProcessors();
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un recálculo sobre las lógicas indicadas.
+     *
+     * @param logicaNomina la lógica de nóminas
+     * @param historialSalarial la lógica del historial salarial
+     */
+    public RecalculoRetroactivo(LogicaNomina logicaNomina, LogicaHistorialSalarial historialSalarial) {
+        this.logicaNomina = logicaNomina;
+        this.historialSalarial = historialSalarial;
+    }
+
+    // ================================================================================
+    // CONFIGURACIÓN
+    // ================================================================================
+
+    /**
+     * Obtiene la cantidad de hilos de cálculo.
+     *
+     * @return la cantidad de hilos
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Establece la cantidad de hilos de cálculo. Por defecto, uno por núcleo.
+     *
+     * @param hilos la cantidad de hilos (al menos 1)
+     */
+    public void setHilos(int hilos) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Debe haber al menos un hilo");
+        }
+        this.hilos = hilos;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Recalcula todos los períodos del rango con las mismas tasas.
+     *
+     * @param desde el primer período del rango (por ejemplo, {@code "2024-01-M"})
+     * @param hasta el último período del rango, inclusive
+     * @param tasas las tasas a aplicar en todos los períodos
+     * @param salida el destino de las diferencias
+     * @return el resumen del recálculo
+     * @throws IOException si ocurre un error al leer las nóminas o al escribir la salida
+     */
+    public Resumen ejecutar(String desde, String hasta, TasasNomina tasas, Salida salida) throws IOException {
+        return ejecutar(desde, hasta, periodo -> tasas, salida);
+    }
+
+    /**
+     * Recalcula todos los períodos del rango con las tasas de cada período.
+     *
+     * <p>Se recorren los períodos mensuales y quincenales entre ambos
+     * extremos en orden cronológico; los que no tienen nóminas guardadas se
+     * omiten.</p>
+     *
+     * @param desde el primer período del rango (por ejemplo, {@code "2024-01-M"})
+     * @param hasta el último período del rango, inclusive
+     * @param tasasPorPeriodo obtiene las tasas de un código de período
+     * @param salida el destino de las diferencias
+     * @return el resumen del recálculo
+     * @throws IOException si ocurre un error al leer las nóminas o al escribir la salida
+     * @throws IllegalArgumentException si algún extremo no tiene el formato de {@link Periodos}
+     */
+    public Resumen ejecutar(String desde, String hasta, Function<String, TasasNomina> tasasPorPeriodo,
+                            Salida salida) throws IOException {
+        List<String> periodos = periodosEntre(Periodos.codificar(desde), Periodos.codificar(hasta));
+        IndiceHistorialSalarial indice = historialSalarial.obtenerIndice();
+
+        ExecutorService grupo = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "recalculo-retroactivo-" + HILOS_CREADOS.incrementAndGet());
+            hilo.setDaemon(true); // No impide que la aplicación termine
+            return hilo;
+        });
+        CompletionService<List<Diferencia>> completadas = new ExecutorCompletionService<>(grupo);
+        int pendientes = 0;
+        int periodosRecalculados = 0;
+        int nominas = 0;
+        int diferencias = 0;
+        try {
+            for (String periodo : periodos) {
+                List<Nomina> almacenadas = logicaNomina.listarPorPeriodo(periodo);
+                if (almacenadas.isEmpty()) {
+                    continue;
+                }
+                periodosRecalculados++;
+                nominas += almacenadas.size();
+
+                CalculadoraNomina calculadora = new CalculadoraNomina(tasasPorPeriodo.apply(periodo));
+                LocalDate fechaFin = Periodos.fechaFin(periodo);
+                for (int inicio = 0; inicio < almacenadas.size(); inicio += TAMANO_BLOQUE) {
+                    List<Nomina> bloque = almacenadas.subList(inicio, Math.min(inicio + TAMANO_BLOQUE, almacenadas.size()));
+                    completadas.submit(() -> recalcularBloque(bloque, calculadora, indice, fechaFin));
+                    pendientes++;
+                }
+
+                // Entrega lo que ya terminó mientras se leen los siguientes períodos
+                for (Future<List<Diferencia>> lista; (lista = completadas.poll()) != null; pendientes--) {
+                    diferencias += entregar(lista, salida);
+                }
+            }
+            for (; pendientes > 0; pendientes--) {
+                diferencias += entregar(completadas.take(), salida);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Recálculo interrumpido", e);
+        } finally {
+            grupo.shutdownNow();
+        }
+        return new Resumen(periodosRecalculados, nominas, diferencias);
+    }
+
+    /**
+     * Crea una salida que escribe las diferencias en formato CSV, con una
+     * línea de encabezado.
+     *
+     * <p>Columnas: período, ID de empleado y, para el salario bruto, las
+     * deducciones, los aportes patronales y el salario neto, el valor guardado
+     * seguido del recalculado. El escritor no se cierra.</p>
+     *
+     * @param escritor el destino del reporte
+     * @return la salida
+     */
+    public static Salida reporteCsv(Writer escritor) {
+        return new Salida() {
+            private boolean encabezado;
+
+            @Override
+            public void diferencia(Diferencia diferencia) throws IOException {
+                if (!encabezado) {
+                    escritor.write("periodo,idEmpleado,brutoAnterior,brutoNuevo,deduccionesAnterior,deduccionesNuevo,"
+                                   + "aportesAnterior,aportesNuevo,netoAnterior,netoNuevo\n");
+                    encabezado = true;
+                }
+                Nomina a = diferencia.getAlmacenada();
+                Nomina r = diferencia.getRecalculada();
+                escritor.write(diferencia.getPeriodo() + "," + diferencia.getIdEmpleado() + ","
+                    + String.format(Locale.ROOT, "%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f%n",
+                        a.getSalarioBruto(), r.getSalarioBruto(),
+                        a.getTotalDeducciones(), r.getTotalDeducciones(),
+                        a.getTotalAportesPatronales(), r.getTotalAportesPatronales(),
+                        a.getSalarioNeto(), r.getSalarioNeto()));
+            }
+        };
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Recalcula un bloque de nóminas de un mismo período.
+     *
+     * <p>El salario es el vigente al cierre del período según el historial;
+     * si el empleado no tiene historial que cubra esa fecha se conserva el
+     * salario guardado, de modo que solo influyen las tasas.</p>
+     *
+     * @param bloque las nóminas guardadas
+     * @param calculadora la calculadora con las tasas del período
+     * @param indice el historial salarial
+     * @param fechaFin el último día del período
+     * @return las diferencias del bloque, en el orden del bloque
+     */
+    private static List<Diferencia> recalcularBloque(List<Nomina> bloque, CalculadoraNomina calculadora,
+                                                     IndiceHistorialSalarial indice, LocalDate fechaFin) {
+        List<Diferencia> diferencias = new ArrayList<>();
+        for (Nomina almacenada : bloque) {
+            Nomina recalculada = new Nomina(0, almacenada.getEmpleado(), almacenada.getPeriodo());
+            recalculada.setFechaEmision(almacenada.getFechaEmision());
+            CambioSalarial vigente = indice.vigenteEn(almacenada.getEmpleado().getId(), fechaFin);
+            recalculada.setSalarioBruto(vigente != null ? vigente.getSalarioBruto() : almacenada.getSalarioBruto());
+            calculadora.calcularNominaCompleta(recalculada);
+            if (difieren(almacenada, recalculada)) {
+                diferencias.add(new Diferencia(almacenada, recalculada));
+            }
+        }
+        return diferencias;
+    }
+
+    /**
+     * Indica si dos nóminas difieren en algún monto, comparando en céntimos
+     * como se guardan en {@link CodecNomina}.
+     *
+     * @param a una nómina
+     * @param b la otra nómina
+     * @return true si algún monto difiere en al menos un céntimo
+     */
+    private static boolean difieren(Nomina a, Nomina b) {
+        return difieren(a.getSalarioBruto(), b.getSalarioBruto())
+            || difieren(a.getSalarioNeto(), b.getSalarioNeto())
+            || difieren(a.getDeduccionIVM(), b.getDeduccionIVM())
+            || difieren(a.getDeduccionSEM(), b.getDeduccionSEM())
+            || difieren(a.getDeduccionBancoPop(), b.getDeduccionBancoPop())
+            || difieren(a.getDeduccionImpuestoRenta(), b.getDeduccionImpuestoRenta())
+            || difieren(a.getAporteIVM(), b.getAporteIVM())
+            || difieren(a.getAporteSEM(), b.getAporteSEM())
+            || difieren(a.getAporteINA(), b.getAporteINA())
+            || difieren(a.getAporteFCL(), b.getAporteFCL())
+            || difieren(a.getAporteAsignaciones(), b.getAporteAsignaciones());
+    }
+
+    /**
+     * @param a un monto
+     * @param b el otro monto
+     * @return true si los montos difieren en al menos un céntimo
+     */
+    private static boolean difieren(double a, double b) {
+        return Math.round(a * 100) != Math.round(b * 100);
+    }
+
+    /**
+     * Entrega a la salida las diferencias de una tarea terminada.
+     *
+     * @param tarea la tarea terminada
+     * @param salida el destino de las diferencias
+     * @return la cantidad de diferencias entregadas
+     * @throws IOException si la tarea falló o la salida no pudo escribir
+     * @throws InterruptedException si el hilo fue interrumpido
+     */
+    private static int entregar(Future<List<Diferencia>> tarea, Salida salida)
+            throws IOException, InterruptedException {
+        List<Diferencia> diferencias;
+        try {
+            diferencias = tarea.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Error al recalcular un bloque de nóminas", e.getCause());
+        }
+        for (Diferencia diferencia : diferencias) {
+            salida.diferencia(diferencia);
+        }
+        return diferencias.size();
+    }
+
+    /**
+     * Obtiene los códigos de todos los períodos entre dos períodos codificados,
+     * en orden cronológico.
+     *
+     * @param desde el primer período codificado
+     * @param hasta el último período codificado, inclusive
+     * @return los códigos de los períodos
+     */
+    private static List<String> periodosEntre(int desde, int hasta) {
+        List<String> periodos = new ArrayList<>();
+        for (int anioMes = desde / 10; anioMes <= hasta / 10; anioMes = siguienteMes(anioMes)) {
+            for (int tipo = 0; tipo <= 2; tipo++) {
+                int codigo = anioMes * 10 + tipo;
+                if (codigo >= desde && codigo <= hasta) {
+                    periodos.add(Periodos.decodificar(codigo));
+                }
+            }
+        }
+        return periodos;
+    }
+
+    /**
+     * @param anioMes un mes en formato {@code aaaamm}
+     * @return el mes siguiente en el mismo formato
+     */
+    private static int siguienteMes(int anioMes) {
+        return anioMes % 100 == 12 ? (anioMes / 100 + 1) * 100 + 1 : anioMes + 1;
+    }
+}
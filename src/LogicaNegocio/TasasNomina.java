@@ -0,0 +1,521 @@
+package LogicaNegocio;
+
+import Utilidades.Constantes;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// ================================================================================
+// CLASE TasasNomina
+// ================================================================================
+
+/**
+ * Conjunto de porcentajes y límites con los que {@link CalculadoraNomina}
+ * calcula una nómina.
+ *
+ * <p>Por defecto toma los valores vigentes de {@link Constantes}. Para
+ * recalcular períodos pasados con las tasas que regían entonces (o con tasas
+ * corregidas de forma retroactiva) se crea una instancia por período y se
+ * ajustan los valores que difieren, sin modificar las constantes del
+ * sistema.</p>
+ *
+ * <p>Una vez entregada a una {@link CalculadoraNomina} no debe modificarse:
+ * la calculadora puede usarse desde varios hilos a la vez.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * TasasNomina tasas2023 = new TasasNomina();
+ * tasas2023.setRentaBaseLibre(929000);
+ * CalculadoraNomina calculadora = new CalculadoraNomina(tasas2023);
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see CalculadoraNomina
+ * @see RecalculoRetroactivo
+ */
+public class TasasNomina {
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Porcentaje de deducción del empleado para IVM. */
+    private double deduccionIVM = Constantes.DEDUCCION_IVM;
+
+    /** Porcentaje de deducción del empleado para SEM. */
+    private double deduccionSEM = Constantes.DEDUCCION_SEM;
+
+    /** Porcentaje de deducción del Banco Popular. */
+    private double deduccionBancoPopular = Constantes.DEDUCCION_BANCO_POPULAR;
+
+    /** Porcentaje del aporte patronal para IVM. */
+    private double aporteIVM = Constantes.APORTE_IVM;
+
+    /** Porcentaje del aporte patronal para SEM. */
+    private double aporteSEM = Constantes.APORTE_SEM;
+
+    /** Porcentaje del aporte patronal al INA. */
+    private double aporteINA = Constantes.APORTE_INA;
+
+    /** Porcentaje del aporte patronal al FCL. */
+    private double aporteFCL = Constantes.APORTE_FCL;
+
+    /** Porcentaje del aporte patronal a Asignaciones Familiares. */
+    private double aporteAsignaciones = Constantes.APORTE_ASIGNACIONES;
+
+    /** Monto exento del impuesto sobre la renta. */
+    private double rentaBaseLibre = Constantes.RENTA_BASE_LIBRE;
+
+    /** Límite superior del primer tramo de renta. */
+    private double rentaTramo1Limite = Constantes.RENTA_TRAMO1_LIMITE;
+
+    /** Porcentaje del primer tramo de renta. */
+    private double rentaTramo1Porcentaje = Constantes.RENTA_TRAMO1_PORCENTAJE;
+
+    /** Límite superior del segundo tramo de renta. */
+    private double rentaTramo2Limite = Constantes.RENTA_TRAMO2_LIMITE;
+
+    /** Porcentaje del segundo tramo de renta. */
+    private double rentaTramo2Porcentaje = Constantes.RENTA_TRAMO2_PORCENTAJE;
+
+    /** Límite superior del tercer tramo de renta. */
+    private double rentaTramo3Limite = Constantes.RENTA_TRAMO3_LIMITE;
+
+    /** Porcentaje del tercer tramo de renta. */
+    private double rentaTramo3Porcentaje = Constantes.RENTA_TRAMO3_PORCENTAJE;
+
+    /** Porcentaje del cuarto tramo de renta (sin límite superior). */
+    private double rentaTramo4Porcentaje = Constantes.RENTA_TRAMO4_PORCENTAJE;
+
+    // ================================================================================
+    // CONSTRUCTORES
+    // ================================================================================
+
+    /**
+     * Crea un conjunto de tasas con los valores vigentes de {@link Constantes}.
+     */
+    public TasasNomina() {
+    }
+
+    /**
+     * Crea una copia de otro conjunto de tasas.
+     *
+     * @param otras las tasas a copiar
+     */
+    public TasasNomina(TasasNomina otras) {
+        this.deduccionIVM = otras.deduccionIVM;
+        this.deduccionSEM = otras.deduccionSEM;
+        this.deduccionBancoPopular = otras.deduccionBancoPopular;
+        this.aporteIVM = otras.aporteIVM;
+        this.aporteSEM = otras.aporteSEM;
+        this.aporteINA = otras.aporteINA;
+        this.aporteFCL = otras.aporteFCL;
+        this.aporteAsignaciones = otras.aporteAsignaciones;
+        this.rentaBaseLibre = otras.rentaBaseLibre;
+        this.rentaTramo1Limite = otras.rentaTramo1Limite;
+        this.rentaTramo1Porcentaje = otras.rentaTramo1Porcentaje;
+        this.rentaTramo2Limite = otras.rentaTramo2Limite;
+        this.rentaTramo2Porcentaje = otras.rentaTramo2Porcentaje;
+        this.rentaTramo3Limite = otras.rentaTramo3Limite;
+        this.rentaTramo3Porcentaje = otras.rentaTramo3Porcentaje;
+        this.rentaTramo4Porcentaje = otras.rentaTramo4Porcentaje;
+    }
+
+    /**
+     * Carga un conjunto de tasas desde un archivo de propiedades.
+     *
+     * <p>Cada clave es el nombre de un atributo ({@code deduccionIVM},
+     * {@code rentaBaseLibre}, ...) y los valores usan punto decimal, con los
+     * porcentajes como fracción. Los atributos que no aparecen conservan el
+     * valor vigente de {@link Constantes}.</p>
+     * <pre>
+     * # Tramos de renta corregidos
+     * rentaBaseLibre=929000
+     * rentaTramo1Limite=1363000
+     * </pre>
+     *
+     * @param archivo el archivo de propiedades
+     * @return las tasas del archivo
+     * @throws IOException si no se puede leer el archivo
+     * @throws IllegalArgumentException si una clave no corresponde a ninguna
+     *                                  tasa o un valor no es un número
+     */
+    public static TasasNomina cargar(Path archivo) throws IOException {
+        Properties propiedades = new Properties();
+        try (Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            propiedades.load(lector);
+        }
+        TasasNomina tasas = new TasasNomina();
+        for (String clave : propiedades.stringPropertyNames()) {
+            String texto = propiedades.getProperty(clave).trim();
+            try {
+                tasas.establecer(clave, Double.parseDouble(texto));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valor inválido para " + clave + ": " + texto);
+            }
+        }
+        return tasas;
+    }
+
+    // ================================================================================
+    // GETTERS Y SETTERS
+    // ================================================================================
+
+    /**
+     * Obtiene el porcentaje de deducción del empleado para IVM.
+     *
+     * @return el porcentaje, como fracción del salario bruto (0.0417 equivale a 4,17 %)
+     */
+    public double getDeduccionIVM() {
+        return deduccionIVM;
+    }
+
+    /**
+     * Establece el porcentaje de deducción del empleado para IVM.
+     *
+     * @param deduccionIVM el porcentaje, como fracción del salario bruto (0.0417 equivale a 4,17 %)
+     */
+    public void setDeduccionIVM(double deduccionIVM) {
+        this.deduccionIVM = deduccionIVM;
+    }
+
+    /**
+     * Obtiene el porcentaje de deducción del empleado para SEM.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getDeduccionSEM() {
+        return deduccionSEM;
+    }
+
+    /**
+     * Establece el porcentaje de deducción del empleado para SEM.
+     *
+     * @param deduccionSEM el porcentaje, como fracción del salario bruto
+     */
+    public void setDeduccionSEM(double deduccionSEM) {
+        this.deduccionSEM = deduccionSEM;
+    }
+
+    /**
+     * Obtiene el porcentaje de deducción del Banco Popular.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getDeduccionBancoPopular() {
+        return deduccionBancoPopular;
+    }
+
+    /**
+     * Establece el porcentaje de deducción del Banco Popular.
+     *
+     * @param deduccionBancoPopular el porcentaje, como fracción del salario bruto
+     */
+    public void setDeduccionBancoPopular(double deduccionBancoPopular) {
+        this.deduccionBancoPopular = deduccionBancoPopular;
+    }
+
+    /**
+     * Obtiene el porcentaje del aporte patronal para IVM.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getAporteIVM() {
+        return aporteIVM;
+    }
+
+    /**
+     * Establece el porcentaje del aporte patronal para IVM.
+     *
+     * @param aporteIVM el porcentaje, como fracción del salario bruto
+     */
+    public void setAporteIVM(double aporteIVM) {
+        this.aporteIVM = aporteIVM;
+    }
+
+    /**
+     * Obtiene el porcentaje del aporte patronal para SEM.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getAporteSEM() {
+        return aporteSEM;
+    }
+
+    /**
+     * Establece el porcentaje del aporte patronal para SEM.
+     *
+     * @param aporteSEM el porcentaje, como fracción del salario bruto
+     */
+    public void setAporteSEM(double aporteSEM) {
+        this.aporteSEM = aporteSEM;
+    }
+
+    /**
+     * Obtiene el porcentaje del aporte patronal al INA.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getAporteINA() {
+        return aporteINA;
+    }
+
+    /**
+     * Establece el porcentaje del aporte patronal al INA.
+     *
+     * @param aporteINA el porcentaje, como fracción del salario bruto
+     */
+    public void setAporteINA(double aporteINA) {
+        this.aporteINA = aporteINA;
+    }
+
+    /**
+     * Obtiene el porcentaje del aporte patronal al FCL.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getAporteFCL() {
+        return aporteFCL;
+    }
+
+    /**
+     * Establece el porcentaje del aporte patronal al FCL.
+     *
+     * @param aporteFCL el porcentaje, como fracción del salario bruto
+     */
+    public void setAporteFCL(double aporteFCL) {
+        this.aporteFCL = aporteFCL;
+    }
+
+    /**
+     * Obtiene el porcentaje del aporte patronal a Asignaciones Familiares.
+     *
+     * @return el porcentaje, como fracción del salario bruto
+     */
+    public double getAporteAsignaciones() {
+        return aporteAsignaciones;
+    }
+
+    /**
+     * Establece el porcentaje del aporte patronal a Asignaciones Familiares.
+     *
+     * @param aporteAsignaciones el porcentaje, como fracción del salario bruto
+     */
+    public void setAporteAsignaciones(double aporteAsignaciones) {
+        this.aporteAsignaciones = aporteAsignaciones;
+    }
+
+    /**
+     * Obtiene el monto exento del impuesto sobre la renta.
+     *
+     * @return el monto en colones; un salario igual o menor no paga renta
+     */
+    public double getRentaBaseLibre() {
+        return rentaBaseLibre;
+    }
+
+    /**
+     * Establece el monto exento del impuesto sobre la renta.
+     *
+     * @param rentaBaseLibre el monto en colones; un salario igual o menor no paga renta
+     */
+    public void setRentaBaseLibre(double rentaBaseLibre) {
+        this.rentaBaseLibre = rentaBaseLibre;
+    }
+
+    /**
+     * Obtiene el límite superior del primer tramo de renta.
+     *
+     * @return el monto en colones, mayor que la base libre
+     */
+    public double getRentaTramo1Limite() {
+        return rentaTramo1Limite;
+    }
+
+    /**
+     * Establece el límite superior del primer tramo de renta.
+     *
+     * @param rentaTramo1Limite el monto en colones, mayor que la base libre
+     */
+    public void setRentaTramo1Limite(double rentaTramo1Limite) {
+        this.rentaTramo1Limite = rentaTramo1Limite;
+    }
+
+    /**
+     * Obtiene el porcentaje del primer tramo de renta.
+     *
+     * @return el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public double getRentaTramo1Porcentaje() {
+        return rentaTramo1Porcentaje;
+    }
+
+    /**
+     * Establece el porcentaje del primer tramo de renta.
+     *
+     * @param rentaTramo1Porcentaje el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public void setRentaTramo1Porcentaje(double rentaTramo1Porcentaje) {
+        this.rentaTramo1Porcentaje = rentaTramo1Porcentaje;
+    }
+
+    /**
+     * Obtiene el límite superior del segundo tramo de renta.
+     *
+     * @return el monto en colones, mayor que el del primer tramo
+     */
+    public double getRentaTramo2Limite() {
+        return rentaTramo2Limite;
+    }
+
+    /**
+     * Establece el límite superior del segundo tramo de renta.
+     *
+     * @param rentaTramo2Limite el monto en colones, mayor que el del primer tramo
+     */
+    public void setRentaTramo2Limite(double rentaTramo2Limite) {
+        this.rentaTramo2Limite = rentaTramo2Limite;
+    }
+
+    /**
+     * Obtiene el porcentaje del segundo tramo de renta.
+     *
+     * @return el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public double getRentaTramo2Porcentaje() {
+        return rentaTramo2Porcentaje;
+    }
+
+    /**
+     * Establece el porcentaje del segundo tramo de renta.
+     *
+     * @param rentaTramo2Porcentaje el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public void setRentaTramo2Porcentaje(double rentaTramo2Porcentaje) {
+        this.rentaTramo2Porcentaje = rentaTramo2Porcentaje;
+    }
+
+    /**
+     * Obtiene el límite superior del tercer tramo de renta.
+     *
+     * @return el monto en colones, mayor que el del segundo tramo
+     */
+    public double getRentaTramo3Limite() {
+        return rentaTramo3Limite;
+    }
+
+    /**
+     * Establece el límite superior del tercer tramo de renta.
+     *
+     * @param rentaTramo3Limite el monto en colones, mayor que el del segundo tramo
+     */
+    public void setRentaTramo3Limite(double rentaTramo3Limite) {
+        this.rentaTramo3Limite = rentaTramo3Limite;
+    }
+
+    /**
+     * Obtiene el porcentaje del tercer tramo de renta.
+     *
+     * @return el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public double getRentaTramo3Porcentaje() {
+        return rentaTramo3Porcentaje;
+    }
+
+    /**
+     * Establece el porcentaje del tercer tramo de renta.
+     *
+     * @param rentaTramo3Porcentaje el porcentaje, como fracción de la parte del salario dentro del tramo
+     */
+    public void setRentaTramo3Porcentaje(double rentaTramo3Porcentaje) {
+        this.rentaTramo3Porcentaje = rentaTramo3Porcentaje;
+    }
+
+    /**
+     * Obtiene el porcentaje del cuarto tramo de renta, que no tiene límite superior.
+     *
+     * @return el porcentaje, como fracción de la parte del salario que excede el tercer tramo
+     */
+    public double getRentaTramo4Porcentaje() {
+        return rentaTramo4Porcentaje;
+    }
+
+    /**
+     * Establece el porcentaje del cuarto tramo de renta, que no tiene límite superior.
+     *
+     * @param rentaTramo4Porcentaje el porcentaje, como fracción de la parte del salario que excede el tercer tramo
+     */
+    public void setRentaTramo4Porcentaje(double rentaTramo4Porcentaje) {
+        this.rentaTramo4Porcentaje = rentaTramo4Porcentaje;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Asigna una tasa a partir del nombre de su atributo.
+     *
+     * @param clave el nombre del atributo
+     * @param valor el valor
+     * @throws IllegalArgumentException si la clave no corresponde a ninguna tasa
+     */
+    private void establecer(String clave, double valor) {
+        switch (clave) {
+            case "deduccionIVM":
+                deduccionIVM = valor;
+                break;
+            case "deduccionSEM":
+                deduccionSEM = valor;
+                break;
+            case "deduccionBancoPopular":
+                deduccionBancoPopular = valor;
+                break;
+            case "aporteIVM":
+                aporteIVM = valor;
+                break;
+            case "aporteSEM":
+                aporteSEM = valor;
+                break;
+            case "aporteINA":
+                aporteINA = valor;
+                break;
+            case "aporteFCL":
+                aporteFCL = valor;
+                break;
+            case "aporteAsignaciones":
+                aporteAsignaciones = valor;
+                break;
+            case "rentaBaseLibre":
+                rentaBaseLibre = valor;
+                break;
+            case "rentaTramo1Limite":
+                rentaTramo1Limite = valor;
+                break;
+            case "rentaTramo1Porcentaje":
+                rentaTramo1Porcentaje = valor;
+                break;
+            case "rentaTramo2Limite":
+                rentaTramo2Limite = valor;
+                break;
+            case "rentaTramo2Porcentaje":
+                rentaTramo2Porcentaje = valor;
+                break;
+            case "rentaTramo3Limite":
+                rentaTramo3Limite = valor;
+                break;
+            case "rentaTramo3Porcentaje":
+                rentaTramo3Porcentaje = valor;
+                break;
+            case "rentaTramo4Porcentaje":
+                rentaTramo4Porcentaje = valor;
+                break;
+            default:
+                throw new IllegalArgumentException("Tasa desconocida: " + clave);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package LogicaNegocio;
+
+import Entidades.Empleado;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+
+// ================================================================================
+// CLASE VistaEmpleado
+// ================================================================================
+
+/**
+ * Empleado de solo lectura cuyos datos viven en otra estructura.
+ *
+ * <p>Base de las vistas de {@link CatalogoColumnarEmpleados} y
+ * {@link AlmacenEmpleadosFueraHeap}: las subclases redefinen los getters
+ * para decodificar cada atributo al consultarlo, sin copiar nada al crear
+ * la vista. Los setters lanzan {@link UnsupportedOperationException}; para
+ * modificar un empleado se usa {@link #copiar()}.</p>
+ *
+ * <p>Como extiende {@link Empleado}, puede pasarse a cualquier código que
+ * solo lea empleados (la calculadora de nómina, los reportes).</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public abstract class VistaEmpleado extends Empleado {
+
+    /** Formato de {@link #getFechaIngresoFormateada()}. */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Crea la vista sin reservar la lista de empleados de {@link Empleado}.
+     */
+    protected VistaEmpleado() {
+        super(0, null, null, null, null, null, null, 0, null, null, null);
+    }
+
+    /**
+     * Crea un {@link Empleado} independiente con los datos de la vista.
+     *
+     * @return el empleado copiado
+     */
+    public Empleado copiar() {
+        return new Empleado(getId(), getCedula(), getNombre(), getApellido1(), getApellido2(),
+                            getEmail(), getTelefono(), getSalarioBruto(), getTipoPlanilla(),
+                            getPuesto(), getFechaIngreso());
+    }
+
+    @Override
+    public String getNombreCompleto() {
+        return getNombre() + " " + getApellido1() + " " + getApellido2();
+    }
+
+    @Override
+    public String getFechaIngresoFormateada() {
+        LocalDate fecha = getFechaIngreso();
+        return fecha == null ? "" : fecha.format(FORMATO_FECHA);
+    }
+
+    @Override
+    public void setId(int id) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setCedula(String cedula) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setNombre(String nombre) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setApellido1(String apellido1) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setApellido2(String apellido2) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setEmail(String email) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setTelefono(String telefono) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setSalarioBruto(double salarioBruto) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setTipoPlanilla(String tipoPlanilla) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setPuesto(String puesto) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setFechaIngreso(LocalDate fechaIngreso) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void setListaEmpleados(ArrayList<Empleado> listaEmpleados) {
+        throw soloLectura();
+    }
+
+    @Override
+    public void agregarListaEmpleados(Empleado empleado) {
+        throw soloLectura();
+    }
+
+    /**
+     * @return la excepción de los setters
+     */
+    private static UnsupportedOperationException soloLectura() {
+        return new UnsupportedOperationException("La vista de empleado es de solo lectura; use copiar()");
+    }
+}
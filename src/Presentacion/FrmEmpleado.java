@@ -54,8 +54,9 @@ public class FrmEmpleado extends javax.swing.JFrame {
     /**
      * Referencia a la ventana padre que invocó este formulario.
      * 
-     * <p>Esta referencia se utiliza para actualizar la tabla de empleados
-     * en la ventana de gestión después de guardar un nuevo empleado.
+     * <p>Esta referencia se utiliza para ubicar el formulario sobre la ventana
+     * de gestión. La tabla de esa ventana se actualiza sola al recibir el
+     * evento de alta publicado por {@link LogicaEmpleado}.
      */
     private FrmGestionEmpleados ventanaPadre;
     
@@ -68,17 +69,17 @@ public class FrmEmpleado extends javax.swing.JFrame {
      * 
      * <p>Este constructor inicializa todos los componentes visuales del formulario,
      * configura la lógica de negocio, establece la referencia a la ventana padre
-     * y centra la ventana en la pantalla.
+     * y centra la ventana sobre ella.
      * 
      * @param padre referencia a la ventana de gestión de empleados que invoca
-     *              este formulario, utilizada para actualizar la tabla tras guardar
+     *              este formulario
      */
     public FrmEmpleado(FrmGestionEmpleados padre) {
         this.ventanaPadre = padre;
         initComponents();
         logicaEmpleado = new LogicaEmpleado();
         configurarFormulario();
-        setLocationRelativeTo(null); // Centrar la ventana en la pantalla
+        setLocationRelativeTo(ventanaPadre); // Centrar la ventana sobre la ventana padre
     }
     
     // ========================================================================
@@ -281,7 +282,7 @@ public class FrmEmpleado extends javax.swing.JFrame {
      *   <li>Crea un objeto Empleado con los datos ingresados</li>
      *   <li>Invoca la lógica de negocio para guardar el empleado</li>
      *   <li>Muestra mensaje de éxito o error según el resultado</li>
-     *   <li>Actualiza la tabla en la ventana padre</li>
+     *   <li>Las ventanas abiertas se actualizan con el evento de alta publicado por la lógica</li>
      *   <li>Cierra el formulario si todo fue exitoso</li>
      * </ol>
      * 
@@ -322,20 +323,39 @@ public class FrmEmpleado extends javax.swing.JFrame {
                 fechaIngreso // NUEVO PARÁMETRO
             );
             
-            // Guardar el empleado a través de la lógica de negocio
-            logicaEmpleado.agregarEmpleado(empleado);
-            
-            // Mostrar mensaje de éxito al usuario
-            JOptionPane.showMessageDialog(this,
-                "Empleado guardado exitosamente",
-                "Éxito",
-                JOptionPane.INFORMATION_MESSAGE);
-            
-            // Actualizar la tabla en la ventana de gestión de empleados
-            ventanaPadre.actualizarTabla();
-            
-            // Cerrar este formulario
-            this.dispose();
+            // Guardar el empleado fuera del EDT a través de la lógica de negocio
+            btnGuardar.setEnabled(false);
+            new SwingWorker<Void, Void>() {
+                @Override
+                protected Void doInBackground() throws Exception {
+                    logicaEmpleado.agregarEmpleado(empleado);
+                    return null;
+                }
+                
+                @Override
+                protected void done() {
+                    btnGuardar.setEnabled(true);
+                    try {
+                        get();
+                        
+                        // Mostrar mensaje de éxito al usuario
+                        JOptionPane.showMessageDialog(FrmEmpleado.this,
+                            "Empleado guardado exitosamente",
+                            "Éxito",
+                            JOptionPane.INFORMATION_MESSAGE);
+                        
+                        // Cerrar este formulario
+                        dispose();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (java.util.concurrent.ExecutionException e) {
+                        JOptionPane.showMessageDialog(FrmEmpleado.this,
+                            "Error al guardar: " + e.getCause().getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            }.execute();
             
         } catch (Exception e) {
             // Capturar cualquier error y mostrarlo al usuario
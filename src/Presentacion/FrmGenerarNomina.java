@@ -7,18 +7,23 @@ package Presentacion;
 import Entidades.Empleado;
 import Entidades.Nomina;
 import Entidades.Correo;
+import LogicaNegocio.EventoCambio;
 import LogicaNegocio.LogicaEmpleado;
 import LogicaNegocio.CalculadoraNomina;
+import LogicaNegocio.LogicaHistorialSalarial;
 import LogicaNegocio.GeneradorPDF;
 import LogicaNegocio.LogicaCorreo;
 import Utilidades.Constantes;
+import Utilidades.Periodos;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import com.toedter.calendar.JDateChooser;
 import java.awt.*;
 import java.io.File; 
 import java.text.SimpleDateFormat;
-import java.util.Calendar;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Formulario principal para la generación y gestión de nóminas de empleados.
@@ -69,6 +74,11 @@ public class FrmGenerarNomina extends JFrame {
      */
     private CalculadoraNomina calculadora;
     
+    /**
+     * Historial salarial, para calcular cada período con el salario vigente en él.
+     */
+    private LogicaHistorialSalarial historialSalarial;
+    
     /**
      * Generador de documentos PDF para reportes de nómina.
      */
@@ -86,8 +96,29 @@ public class FrmGenerarNomina extends JFrame {
     /**
      * Modelo de datos para la tabla de empleados disponibles.
      * Contiene columnas: ID, Cédula, Nombre Completo, Salario Bruto, Tipo Planilla.
+     * Se respalda directamente en la lista de empleados y formatea las celdas
+     * solo al mostrarlas.
+     */
+    private ModeloTablaEmpleados modeloTablaEmpleados;
+    
+    /**
+     * Suscriptor a los cambios de empleados publicados por {@link LogicaEmpleado}.
+     * Permite que los empleados agregados, modificados o eliminados desde otra
+     * ventana aparezcan en la tabla sin volver a leer el archivo.
+     */
+    private final Consumer<EventoCambio<Empleado>> oyenteCambios =
+        evento -> SwingUtilities.invokeLater(() -> aplicarCambio(evento));
+    
+    /**
+     * Indica si la carga inicial de empleados sigue en curso.
+     */
+    private boolean cargandoEmpleados;
+    
+    /**
+     * Indica que llegaron cambios durante la carga; al terminar se vuelve a
+     * recorrer la caché para incluirlos.
      */
-    private DefaultTableModel modeloTablaEmpleados;
+    private boolean cambiosDuranteCarga;
     
     /**
      * Modelo de datos para la tabla de resultados del cálculo de nómina.
@@ -152,6 +183,9 @@ public class FrmGenerarNomina extends JFrame {
     
     /** Botón para cerrar el formulario */
     private JButton btnCerrar;
+    
+    /** Panel con la barra de progreso y el botón para cancelar tareas en segundo plano */
+    private PanelProgreso panelProgreso;
 
     // ========================================================================
     // CONSTRUCTOR
@@ -166,7 +200,7 @@ public class FrmGenerarNomina extends JFrame {
      *   <li>Los componentes visuales del formulario</li>
      *   <li>Las tablas de empleados y resultados</li>
      *   <li>El selector de período con la fecha actual</li>
-     *   <li>Carga inicial de empleados desde la base de datos</li>
+     *   <li>Carga inicial de empleados en segundo plano</li>
      * </ul>
      * 
      * <p>La ventana se centra automáticamente en la pantalla al mostrarse.
@@ -175,6 +209,7 @@ public class FrmGenerarNomina extends JFrame {
         // Inicializar componentes de lógica de negocio
         logicaEmpleado = new LogicaEmpleado();
         calculadora = new CalculadoraNomina();
+        historialSalarial = new LogicaHistorialSalarial();
         generadorPDF = new GeneradorPDF();
         logicaCorreo = new LogicaCorreo();
         
@@ -182,6 +217,7 @@ public class FrmGenerarNomina extends JFrame {
         initComponents();
         configurarTablas();
         configurarPeriodo();
+        LogicaEmpleado.suscribir(oyenteCambios);
         cargarEmpleados();
         setLocationRelativeTo(null); // Centrar ventana
     }
@@ -221,6 +257,7 @@ public class FrmGenerarNomina extends JFrame {
         btnPDFPatrono = new JButton();
         btnPDFEmpleado = new JButton();
         btnCerrar = new JButton();
+        panelProgreso = new PanelProgreso();
 
         // Configuración de la ventana
         setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
@@ -300,7 +337,8 @@ public class FrmGenerarNomina extends JFrame {
                         .addGap(36, 36, 36)
                         .addComponent(btnPDFEmpleado)
                         .addGap(18, 18, 18)
-                        .addComponent(btnCerrar)))
+                        .addComponent(btnCerrar))
+                    .addComponent(panelProgreso, GroupLayout.PREFERRED_SIZE, 808, GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(41, Short.MAX_VALUE))
         );
         layout.setVerticalGroup(
@@ -326,6 +364,8 @@ public class FrmGenerarNomina extends JFrame {
                     .addComponent(btnPDFPatrono)
                     .addComponent(btnPDFEmpleado)
                     .addComponent(btnCerrar))
+                .addGap(12, 12, 12)
+                .addComponent(panelProgreso, GroupLayout.PREFERRED_SIZE, GroupLayout.DEFAULT_SIZE, GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(14, Short.MAX_VALUE))
         );
 
@@ -347,18 +387,20 @@ public class FrmGenerarNomina extends JFrame {
      * </ul>
      * 
      * <p>Ambas tablas se configuran como no editables para evitar modificaciones
-     * accidentales por parte del usuario.
+     * accidentales por parte del usuario. La tabla de empleados además puede
+     * ordenarse por cualquier columna sin copiar los datos.
      */
     private void configurarTablas() {
         // Configurar tabla de empleados
-        String[] columnasEmpleados = {"ID", "Cédula", "Nombre Completo", "Salario Bruto", "Tipo Planilla"};
-        modeloTablaEmpleados = new DefaultTableModel(columnasEmpleados, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Hacer tabla no editable
-            }
-        };
+        modeloTablaEmpleados = new ModeloTablaEmpleados(
+            ModeloTablaEmpleados.Columna.ID,
+            ModeloTablaEmpleados.Columna.CEDULA,
+            ModeloTablaEmpleados.Columna.NOMBRE_COMPLETO,
+            ModeloTablaEmpleados.Columna.SALARIO,
+            ModeloTablaEmpleados.Columna.TIPO_PLANILLA
+        );
         tblEmpleados.setModel(modeloTablaEmpleados);
+        tblEmpleados.setRowSorter(modeloTablaEmpleados.crearOrdenador());
         
         // Configurar tabla de resultados
         String[] columnasResultado = {"Concepto", "Monto"};
@@ -372,42 +414,97 @@ public class FrmGenerarNomina extends JFrame {
     }
 
     /**
-     * Carga la lista de empleados desde la base de datos y la muestra en la tabla.
+     * Carga la lista de empleados en segundo plano y la publica en la tabla
+     * de forma incremental.
      * 
      * <p>Este método:
      * <ol>
-     *   <li>Limpia cualquier dato previo en la tabla</li>
-     *   <li>Consulta todos los empleados activos del sistema</li>
-     *   <li>Popula la tabla con la información de cada empleado</li>
-     *   <li>Formatea el salario en colones costarricenses</li>
+     *   <li>Reinicia el modelo de la tabla con una lista vacía</li>
+     *   <li>Lee los empleados en un {@link SwingWorker}, fuera del EDT</li>
+     *   <li>Publica los empleados en bloques a medida que se leen, de modo
+     *       que las primeras filas aparecen antes de terminar la lectura</li>
      * </ol>
      * 
-     * <p>Si ocurre un error durante la carga, se muestra un mensaje al usuario.
+     * <p>La carga puede cancelarse desde el panel de progreso. Si ocurre un
+     * error durante la carga, se muestra un mensaje al usuario.
      */
     private void cargarEmpleados() {
-        modeloTablaEmpleados.setRowCount(0); // Limpiar tabla
-        Empleado empleado = new Empleado();
+        modeloTablaEmpleados.setEmpleados(new java.util.ArrayList<>());
+        cargandoEmpleados = true;
+        cambiosDuranteCarga = false;
         
-        try {
-            // Obtener lista de empleados desde la lógica de negocio
-            logicaEmpleado.listarEmpleados(empleado);
+        SwingWorker<Void, Empleado> tarea = new SwingWorker<Void, Empleado>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                logicaEmpleado.recorrerEmpleados(emp -> {
+                    if (isCancelled()) {
+                        throw new CancellationException(); // Detener la lectura del archivo
+                    }
+                    publish(emp);
+                });
+                return null;
+            }
             
-            // Agregar cada empleado a la tabla
-            for (Empleado emp : empleado.getListaEmpleados()) {
-                Object[] fila = {
-                    emp.getId(),
-                    emp.getCedula(),
-                    emp.getNombreCompleto(),
-                    String.format("₡%.2f", emp.getSalarioBruto()), // Formatear en colones
-                    emp.getTipoPlanilla()
-                };
-                modeloTablaEmpleados.addRow(fila);
+            @Override
+            protected void process(java.util.List<Empleado> bloque) {
+                modeloTablaEmpleados.agregarEmpleados(bloque);
+                panelProgreso.setDescripcion("Cargando empleados... " + modeloTablaEmpleados.getRowCount());
             }
-        } catch (Exception e) { 
-            JOptionPane.showMessageDialog(this,
-                "Error al cargar empleados: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
+            
+            @Override
+            protected void done() {
+                cargandoEmpleados = false;
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                    if (cambiosDuranteCarga) {
+                        SwingUtilities.invokeLater(() -> cargarEmpleados()); // Desde la caché ya actualizada
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                        "Error al cargar empleados: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        
+        ejecutarTarea(tarea, "Cargando empleados...");
+    }
+
+    /**
+     * Aplica a la tabla de empleados un cambio publicado por {@link LogicaEmpleado}.
+     * 
+     * <p>Se ejecuta en el EDT. Si la carga inicial sigue en curso, el cambio
+     * se incluye recorriendo de nuevo la caché al terminar. Si el archivo fue
+     * modificado por fuera de la aplicación, se recarga la tabla.
+     * 
+     * @param evento el cambio a aplicar
+     */
+    private void aplicarCambio(EventoCambio<Empleado> evento) {
+        if (cargandoEmpleados) {
+            cambiosDuranteCarga = true;
+            return;
+        }
+        if (evento.getTipo() == EventoCambio.Tipo.RECARGADO) {
+            cargarEmpleados(); // El archivo cambió por fuera de la aplicación
+            return;
+        }
+        Empleado emp = evento.getEntidad();
+        switch (evento.getTipo()) {
+            case AGREGADO:
+                modeloTablaEmpleados.agregarEmpleado(emp);
+                break;
+            case ACTUALIZADO:
+                modeloTablaEmpleados.actualizarEmpleado(emp);
+                break;
+            default:
+                modeloTablaEmpleados.eliminarEmpleado(emp.getId());
+                break;
         }
     }
 
@@ -448,29 +545,14 @@ public class FrmGenerarNomina extends JFrame {
      * </ul>
      * 
      * @return una cadena con el código del período formateado
+     * @see Periodos#formatear(java.time.LocalDate, String)
      */
     private String obtenerPeriodoFormateado() {
-        // Formatear fecha base como YYYY-MM
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM");
-        String fechaBase = sdf.format(dateChooserPeriodo.getDate());
-        
-        String tipoPlanilla = (String) cmbTipoPlanilla.getSelectedItem();
-        
-        if (tipoPlanilla.equals(Constantes.PLANILLA_MENSUAL)) {
-            return fechaBase + "-M";
-        } else {
-            // Para quincenal, determinar si es Q1 o Q2 según el día
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(dateChooserPeriodo.getDate());
-            int dia = cal.get(Calendar.DAY_OF_MONTH);
-            
-            // Q1 va del 1 al 15, Q2 del 16 al final del mes
-            if (dia <= 15) {
-                return fechaBase + "-Q1";
-            } else {
-                return fechaBase + "-Q2";
-            }
-        }
+        java.time.LocalDate fecha = dateChooserPeriodo.getDate()
+            .toInstant()
+            .atZone(java.time.ZoneId.systemDefault())
+            .toLocalDate();
+        return Periodos.formatear(fecha, (String) cmbTipoPlanilla.getSelectedItem());
     }
 
     // ========================================================================
@@ -486,6 +568,7 @@ public class FrmGenerarNomina extends JFrame {
      *   <li>Verifica que el tipo de planilla coincida con el del empleado</li>
      *   <li>Obtiene los datos completos del empleado seleccionado</li>
      *   <li>Genera el código del período según la fecha y tipo de planilla</li>
+     *   <li>Asigna el salario vigente en el período según el historial salarial</li>
      *   <li>Invoca la calculadora para procesar todos los cálculos</li>
      *   <li>Muestra los resultados en la tabla de resumen</li>
      *   <li>Habilita los botones de generación de PDF</li>
@@ -494,6 +577,10 @@ public class FrmGenerarNomina extends JFrame {
      * <p>El método valida que el tipo de planilla seleccionado coincida con el
      * configurado para el empleado, evitando así errores en el cálculo.
      * 
+     * <p>La búsqueda del empleado y el cálculo se ejecutan en un {@link SwingWorker};
+     * las validaciones y la presentación de resultados se realizan en el EDT
+     * mediante {@link #mostrarNominaCalculada(Nomina, java.time.LocalDate, String)}.
+     * 
      * @param evt el evento de acción generado al hacer clic en el botón
      */
     private void btnCalcularActionPerformed(java.awt.event.ActionEvent evt) {
@@ -517,77 +604,102 @@ public class FrmGenerarNomina extends JFrame {
             return;
         }
         
-        try {
-            // Obtener ID del empleado seleccionado
-            int idEmpleado = (Integer) tblEmpleados.getValueAt(filaSeleccionada, 0);
-            Empleado empleado = new Empleado();
-            logicaEmpleado.listarEmpleados(empleado);
-            
-            // Buscar el empleado completo por su ID
-            for (Empleado emp : empleado.getListaEmpleados()) {
-                if (emp.getId() == idEmpleado) {
-                    empleadoSeleccionado = emp;
-                    break;
+        // Capturar los datos de la interfaz en el EDT antes de pasar a segundo plano
+        int idEmpleado = modeloTablaEmpleados
+            .getEmpleado(tblEmpleados.convertRowIndexToModel(filaSeleccionada))
+            .getId();
+        java.time.LocalDate fechaPeriodo = dateChooserPeriodo.getDate()
+            .toInstant()
+            .atZone(java.time.ZoneId.systemDefault())
+            .toLocalDate();
+        String tipoPlanillaSeleccionada = (String) cmbTipoPlanilla.getSelectedItem();
+        String periodo = obtenerPeriodoFormateado();
+        
+        // Buscar el empleado y calcular la nómina fuera del EDT
+        SwingWorker<Nomina, Void> tarea = new SwingWorker<Nomina, Void>() {
+            @Override
+            protected Nomina doInBackground() throws Exception {
+                // Buscar el empleado completo por su ID en el catálogo
+                Empleado emp = logicaEmpleado.buscarPorId(idEmpleado);
+                if (emp == null) {
+                    throw new Exception("No se encontró el empleado");
                 }
+                
+                // Crear objeto de nómina y calcular todos los valores
+                Nomina nomina = new Nomina(0, emp, periodo);
+                historialSalarial.aplicarSalarioVigente(nomina);
+                calculadora.calcularNominaCompleta(nomina);
+                return nomina;
             }
             
-            if (empleadoSeleccionado == null) {
-                throw new Exception("No se encontró el empleado");
-            }
-            
-            // ===== NUEVA VALIDACIÓN: VERIFICAR FECHA DE INGRESO =====
-            if (empleadoSeleccionado.getFechaIngreso() != null) {
-                // Convertir la fecha del periodo a LocalDate
-                java.time.LocalDate fechaPeriodo = dateChooserPeriodo.getDate()
-                    .toInstant()
-                    .atZone(java.time.ZoneId.systemDefault())
-                    .toLocalDate();
-                
-                // Verificar si la fecha del periodo es anterior a la fecha de ingreso
-                if (fechaPeriodo.isBefore(empleadoSeleccionado.getFechaIngreso())) {
-                    JOptionPane.showMessageDialog(this,
-                        "No se puede generar nómina para una fecha anterior a la fecha de ingreso del empleado.\n\n" +
-                        "Fecha de ingreso: " + empleadoSeleccionado.getFechaIngresoFormateada() + "\n" +
-                        "Fecha del periodo seleccionado: " + fechaPeriodo.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")),
-                        "Error: Fecha inválida",
-                        JOptionPane.ERROR_MESSAGE);
+            @Override
+            protected void done() {
+                if (isCancelled()) {
                     return;
                 }
+                try {
+                    mostrarNominaCalculada(get(), fechaPeriodo, tipoPlanillaSeleccionada);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                        "Error al calcular nómina: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
             }
-            // ===== FIN DE NUEVA VALIDACIÓN =====
-            
-            // Validar que el tipo de planilla coincida con el del empleado
-            String tipoPlanillaSeleccionada = (String) cmbTipoPlanilla.getSelectedItem();
-            if (!empleadoSeleccionado.getTipoPlanilla().equals(tipoPlanillaSeleccionada)) {
-                JOptionPane.showMessageDialog(this,
-                    "El tipo de planilla seleccionada (" + tipoPlanillaSeleccionada + ") " +
-                    "no coincide con el tipo de planilla del empleado (" + 
-                    empleadoSeleccionado.getTipoPlanilla() + ")",
-                    "Advertencia",
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
-            // Generar el período formateado
-            String periodo = obtenerPeriodoFormateado();
-            
-            // Crear objeto de nómina y calcular todos los valores
-            nominaCalculada = new Nomina(0, empleadoSeleccionado, periodo);
-            calculadora.calcularNominaCompleta(nominaCalculada);
-            
-            // Mostrar resultados en la tabla
-            mostrarResultadosCalculo();
-            
-            // Habilitar botones de PDF ahora que hay una nómina calculada
-            btnPDFEmpleado.setEnabled(true);
-            btnPDFPatrono.setEnabled(true);
-            
-        } catch (Exception e) {
+        };
+        
+        ejecutarTarea(tarea, "Calculando nómina...");
+    }
+    
+    /**
+     * Valida la nómina calculada en segundo plano y la muestra en la tabla de resultados.
+     * 
+     * <p>Se ejecuta en el EDT al terminar el cálculo. Verifica que el período
+     * no sea anterior a la fecha de ingreso del empleado y que el tipo de
+     * planilla coincida con el del empleado antes de mostrar los resultados
+     * y habilitar los botones de PDF.
+     * 
+     * @param nomina la nómina calculada
+     * @param fechaPeriodo la fecha del período seleccionado
+     * @param tipoPlanillaSeleccionada el tipo de planilla seleccionado
+     */
+    private void mostrarNominaCalculada(Nomina nomina, java.time.LocalDate fechaPeriodo,
+                                        String tipoPlanillaSeleccionada) {
+        Empleado empleado = nomina.getEmpleado();
+        
+        // Verificar que el período no sea anterior a la fecha de ingreso
+        if (empleado.getFechaIngreso() != null && fechaPeriodo.isBefore(empleado.getFechaIngreso())) {
             JOptionPane.showMessageDialog(this,
-                "Error al calcular nómina: " + e.getMessage(),
-                "Error",
+                "No se puede generar nómina para una fecha anterior a la fecha de ingreso del empleado.\n\n" +
+                "Fecha de ingreso: " + empleado.getFechaIngresoFormateada() + "\n" +
+                "Fecha del periodo seleccionado: " + fechaPeriodo.format(java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy")),
+                "Error: Fecha inválida",
                 JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        
+        // Validar que el tipo de planilla coincida con el del empleado
+        if (!empleado.getTipoPlanilla().equals(tipoPlanillaSeleccionada)) {
+            JOptionPane.showMessageDialog(this,
+                "El tipo de planilla seleccionada (" + tipoPlanillaSeleccionada + ") " +
+                "no coincide con el tipo de planilla del empleado (" + 
+                empleado.getTipoPlanilla() + ")",
+                "Advertencia",
+                JOptionPane.WARNING_MESSAGE);
+            return;
         }
+        
+        empleadoSeleccionado = empleado;
+        nominaCalculada = nomina;
+        
+        // Mostrar resultados en la tabla
+        mostrarResultadosCalculo();
+        
+        // Habilitar botones de PDF ahora que hay una nómina calculada
+        btnPDFEmpleado.setEnabled(true);
+        btnPDFPatrono.setEnabled(true);
     }
 
 
@@ -600,6 +712,10 @@ public class FrmGenerarNomina extends JFrame {
      * <p>El PDF se genera solo si existe una nómina calculada previamente.
      * Al finalizar, muestra la ruta donde se guardó el archivo.
      * 
+     * <p>La carga de empleados, el cálculo de cada nómina y la generación del
+     * PDF consolidado se ejecutan en segundo plano, reportando el avance en el
+     * panel de progreso y permitiendo cancelar el proceso.
+     * 
      * @param evt el evento de acción generado al hacer clic en el botón
      */
     private void btnPDFPatronoActionPerformed(java.awt.event.ActionEvent evt) {
@@ -612,92 +728,120 @@ public class FrmGenerarNomina extends JFrame {
             return;
         }
         
-        try {
-            // Obtener el periodo seleccionado
-            SimpleDateFormat sdf = new SimpleDateFormat("MMMM yyyy");
-            String periodo = sdf.format(dateChooserPeriodo.getDate());
-            
-            // Cargar TODOS los empleados del sistema
-            Empleado empleadoTemp = new Empleado();
-            logicaEmpleado.listarEmpleados(empleadoTemp);
-            
-            if (empleadoTemp.getListaEmpleados().isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                    "No hay empleados registrados en el sistema",
-                    "Advertencia",
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
-            // Convertir la fecha del periodo a LocalDate para validación
-            java.time.LocalDate fechaPeriodo = dateChooserPeriodo.getDate()
-                .toInstant()
-                .atZone(java.time.ZoneId.systemDefault())
-                .toLocalDate();
-            
-            // Crear lista para almacenar todas las nóminas calculadas
-            java.util.List<Nomina> listaNominas = new java.util.ArrayList<>();
-            
-            // Variable para contar empleados procesados y excluidos
-            int empleadosProcesados = 0;
-            int empleadosExcluidos = 0;
+        // Obtener el periodo seleccionado y su fecha en el EDT
+        SimpleDateFormat sdf = new SimpleDateFormat("MMMM yyyy");
+        String periodo = sdf.format(dateChooserPeriodo.getDate());
+        java.time.LocalDate fechaPeriodo = dateChooserPeriodo.getDate()
+            .toInstant()
+            .atZone(java.time.ZoneId.systemDefault())
+            .toLocalDate();
+        // El título del reporte no es un código de Periodos: el salario vigente
+        // se toma al cierre del período de la fecha y planilla seleccionadas
+        java.time.LocalDate fechaFin = Periodos.fechaFin(obtenerPeriodoFormateado());
+        
+        // Calcular todas las nóminas y generar el PDF consolidado fuera del EDT
+        SwingWorker<String, Void> tarea = new SwingWorker<String, Void>() {
+            /** Cantidad de empleados registrados */
+            private int totalEmpleados;
+            /** Empleados incluidos en el reporte */
+            private int empleadosProcesados;
+            /** Empleados que aún no habían ingresado en el periodo */
+            private int empleadosExcluidos;
             
-            // Calcular la nómina de cada empleado
-            for (Empleado emp : empleadoTemp.getListaEmpleados()) {
-                // VALIDAR FECHA DE INGRESO: Solo incluir empleados que ya trabajaban en ese periodo
-                if (emp.getFechaIngreso() != null) {
-                    if (fechaPeriodo.isBefore(emp.getFechaIngreso())) {
-                        // Este empleado aún no había ingresado en este periodo, omitirlo
+            @Override
+            protected String doInBackground() throws Exception {
+                // Cargar TODOS los empleados del sistema
+                Empleado empleadoTemp = new Empleado();
+                logicaEmpleado.listarEmpleados(empleadoTemp);
+                totalEmpleados = empleadoTemp.getListaEmpleados().size();
+                
+                // Crear lista para almacenar todas las nóminas calculadas
+                java.util.List<Nomina> listaNominas = new java.util.ArrayList<>();
+                
+                // Calcular la nómina de cada empleado (90% del avance)
+                int indice = 0;
+                for (Empleado emp : empleadoTemp.getListaEmpleados()) {
+                    if (isCancelled()) {
+                        return null;
+                    }
+                    setProgress(indice++ * 90 / totalEmpleados);
+                    
+                    // VALIDAR FECHA DE INGRESO: Solo incluir empleados que ya trabajaban en ese periodo
+                    if (emp.getFechaIngreso() != null && fechaPeriodo.isBefore(emp.getFechaIngreso())) {
                         empleadosExcluidos++;
                         continue;
                     }
+                    
+                    Nomina nomina = new Nomina(0, emp, periodo);
+                    nomina.setSalarioBruto(historialSalarial.salarioVigente(emp, fechaFin));
+                    calculadora.calcularNominaCompleta(nomina);
+                    listaNominas.add(nomina);
+                    empleadosProcesados++;
                 }
                 
-                // Crear objeto nómina para este empleado
-                Nomina nomina = new Nomina(0, emp, periodo);
-                
-                // Calcular la nómina completa
-                calculadora.calcularNominaCompleta(nomina);
+                if (listaNominas.isEmpty()) {
+                    return null;
+                }
                 
-                // Agregar a la lista
-                listaNominas.add(nomina);
-                empleadosProcesados++;
+                // Generar el PDF consolidado (10% restante del avance)
+                setProgress(90);
+                String archivo = generadorPDF.generarReportePatronoMensual(listaNominas, periodo);
+                setProgress(100);
+                return archivo;
             }
             
-            // Verificar que haya al menos un empleado para procesar
-            if (listaNominas.isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                    "No hay empleados que hayan ingresado antes del periodo seleccionado.\n" +
-                    "Total de empleados excluidos: " + empleadosExcluidos,
-                    "Advertencia",
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
-            // Generar el PDF consolidado
-            String archivo = generadorPDF.generarReportePatronoMensual(listaNominas, periodo);
-            
-            // Construir mensaje informativo
-            String mensaje = "PDF patronal mensual generado exitosamente:\n" + archivo +
-                            "\n\nTotal de empleados procesados: " + empleadosProcesados;
-            
-            if (empleadosExcluidos > 0) {
-                mensaje += "\nEmpleados excluidos (no habían ingresado): " + empleadosExcluidos;
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    String archivo = get();
+                    
+                    if (totalEmpleados == 0) {
+                        JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                            "No hay empleados registrados en el sistema",
+                            "Advertencia",
+                            JOptionPane.WARNING_MESSAGE);
+                        return;
+                    }
+                    
+                    // Verificar que haya al menos un empleado procesado
+                    if (archivo == null) {
+                        JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                            "No hay empleados que hayan ingresado antes del periodo seleccionado.\n" +
+                            "Total de empleados excluidos: " + empleadosExcluidos,
+                            "Advertencia",
+                            JOptionPane.WARNING_MESSAGE);
+                        return;
+                    }
+                    
+                    // Construir mensaje informativo
+                    String mensaje = "PDF patronal mensual generado exitosamente:\n" + archivo +
+                                    "\n\nTotal de empleados procesados: " + empleadosProcesados;
+                    
+                    if (empleadosExcluidos > 0) {
+                        mensaje += "\nEmpleados excluidos (no habían ingresado): " + empleadosExcluidos;
+                    }
+                    
+                    // Mostrar mensaje de éxito
+                    JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                        mensaje,
+                        "Éxito",
+                        JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                        "Error al generar PDF patronal mensual: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                    e.getCause().printStackTrace();
+                }
             }
-            
-            // Mostrar mensaje de éxito
-            JOptionPane.showMessageDialog(this,
-                mensaje,
-                "Éxito",
-                JOptionPane.INFORMATION_MESSAGE);
-                
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error al generar PDF patronal mensual: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        };
+        
+        ejecutarTarea(tarea, "Generando reporte patronal de " + periodo + "...");
     }
 
 
@@ -715,6 +859,9 @@ public class FrmGenerarNomina extends JFrame {
      * <p>El PDF para empleado es más simplificado que el del patrono, mostrando
      * principalmente el salario bruto, las deducciones y el salario neto.
      * 
+     * <p>El PDF se genera en segundo plano; la pregunta sobre el envío por
+     * correo se muestra en el EDT al terminar.
+     * 
      * @param evt el evento de acción generado al hacer clic en el botón
      */
     private void btnPDFEmpleadoActionPerformed(java.awt.event.ActionEvent evt) {
@@ -727,28 +874,46 @@ public class FrmGenerarNomina extends JFrame {
             return;
         }
         
-        try {
-            // Generar el PDF para el empleado
-            String archivo = generadorPDF.generarReporteEmpleado(nominaCalculada);
-            
-            // Preguntar si desea enviar por correo
-            int respuesta = JOptionPane.showConfirmDialog(this,
-                "PDF generado exitosamente:\n" + archivo + "\n\n¿Desea enviarlo por correo al empleado?",
-                "Éxito",
-                JOptionPane.YES_NO_OPTION,
-                JOptionPane.INFORMATION_MESSAGE);
-            
-            // Si el usuario acepta, enviar el correo con el PDF adjunto
-            if (respuesta == JOptionPane.YES_OPTION) {
-                enviarCorreo(archivo);
+        Nomina nomina = nominaCalculada;
+        
+        // Generar el PDF para el empleado fuera del EDT
+        SwingWorker<String, Void> tarea = new SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() throws Exception {
+                return generadorPDF.generarReporteEmpleado(nomina);
             }
             
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "Error al generar PDF: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+            @Override
+            protected void done() {
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    String archivo = get();
+                    
+                    // Preguntar si desea enviar por correo
+                    int respuesta = JOptionPane.showConfirmDialog(FrmGenerarNomina.this,
+                        "PDF generado exitosamente:\n" + archivo + "\n\n¿Desea enviarlo por correo al empleado?",
+                        "Éxito",
+                        JOptionPane.YES_NO_OPTION,
+                        JOptionPane.INFORMATION_MESSAGE);
+                    
+                    // Si el usuario acepta, enviar el correo con el PDF adjunto
+                    if (respuesta == JOptionPane.YES_OPTION) {
+                        enviarCorreo(archivo);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(FrmGenerarNomina.this,
+                        "Error al generar PDF: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        
+        ejecutarTarea(tarea, "Generando comprobante...");
     }
 
     /**
@@ -762,6 +927,58 @@ public class FrmGenerarNomina extends JFrame {
         this.dispose(); // Cerrar la ventana
     }
 
+    /**
+     * Cierra la ventana, detiene cualquier tarea en curso y cancela la
+     * suscripción a los cambios de empleados.
+     * 
+     * <p>Se invoca tanto desde el botón "Cerrar" como al cerrar la ventana
+     * con el botón de la barra de título ({@code DISPOSE_ON_CLOSE}).
+     */
+    @Override
+    public void dispose() {
+        panelProgreso.cancelar(); // Detener la tarea en segundo plano si sigue en curso
+        LogicaEmpleado.desuscribir(oyenteCambios);
+        super.dispose();
+    }
+
+    // ========================================================================
+    // MÉTODOS DE TAREAS EN SEGUNDO PLANO
+    // ========================================================================
+    
+    /**
+     * Ejecuta una tarea en segundo plano enlazada con el panel de progreso.
+     * 
+     * <p>Mientras la tarea está en curso se deshabilitan los botones de
+     * acción para evitar ejecuciones simultáneas; al terminar (con éxito,
+     * error o cancelación) se vuelven a habilitar. Los botones de PDF solo
+     * se habilitan si ya existe una nómina calculada.
+     * 
+     * @param tarea la tarea a ejecutar
+     * @param descripcion texto mostrado en la barra de progreso
+     */
+    private void ejecutarTarea(SwingWorker<?, ?> tarea, String descripcion) {
+        setAccionesHabilitadas(false);
+        tarea.addPropertyChangeListener(evt -> {
+            if ("state".equals(evt.getPropertyName())
+                    && evt.getNewValue() == SwingWorker.StateValue.DONE) {
+                setAccionesHabilitadas(true);
+            }
+        });
+        panelProgreso.vigilar(tarea, descripcion);
+        tarea.execute();
+    }
+    
+    /**
+     * Habilita o deshabilita los botones de acción del formulario.
+     * 
+     * @param habilitadas true para habilitar los botones
+     */
+    private void setAccionesHabilitadas(boolean habilitadas) {
+        btnCalcular.setEnabled(habilitadas);
+        btnPDFPatrono.setEnabled(habilitadas && nominaCalculada != null);
+        btnPDFEmpleado.setEnabled(habilitadas && nominaCalculada != null);
+    }
+    
     // ========================================================================
     // MÉTODOS DE PRESENTACIÓN DE DATOS
     // ========================================================================
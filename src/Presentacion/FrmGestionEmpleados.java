@@ -5,9 +5,17 @@
 package Presentacion;
 
 import Entidades.Empleado;
+import LogicaNegocio.EventoCambio;
 import LogicaNegocio.LogicaEmpleado;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Formulario principal para la gestión y administración de empleados del sistema.
@@ -20,6 +28,7 @@ import javax.swing.table.DefaultTableModel;
  *   <li>Visualización de todos los empleados en una tabla ordenada</li>
  *   <li>Acceso rápido para agregar nuevos empleados</li>
  *   <li>Actualización manual del listado de empleados</li>
+ *   <li>Búsqueda incremental por cédula, nombre, apellidos, correo o puesto</li>
  *   <li>Información detallada de cada empleado: identificación, contacto, salario y puesto</li>
  * </ul>
  * 
@@ -60,10 +69,43 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
     /**
      * Modelo de datos de la tabla que muestra el listado de empleados.
      * 
-     * <p>Este modelo contiene todas las filas y columnas visibles en la tabla,
-     * permitiendo agregar, eliminar o modificar los datos mostrados al usuario.
+     * <p>Este modelo se respalda directamente en la lista de empleados de la
+     * lógica de negocio y solo formatea las celdas de las filas visibles.
      */
-    private DefaultTableModel modeloTabla;
+    private ModeloTablaEmpleados modeloTabla;
+    
+    /**
+     * Lista completa de empleados cargada desde el archivo.
+     * 
+     * <p>Se vuelve a mostrar cuando el campo de búsqueda queda vacío, sin
+     * necesidad de releer el archivo.
+     */
+    private List<Empleado> empleadosCargados = new ArrayList<>();
+    
+    /**
+     * Cantidad máxima de resultados mostrados en una búsqueda.
+     */
+    private static final int LIMITE_RESULTADOS = 200;
+    
+    /**
+     * Indica si la tabla muestra resultados de búsqueda en lugar de la lista completa.
+     */
+    private boolean mostrandoBusqueda;
+    
+    /**
+     * Suscriptor a los cambios de empleados publicados por {@link LogicaEmpleado}.
+     * 
+     * <p>Recibe los eventos en el hilo que hizo el cambio y los aplica a la
+     * tabla en el EDT, sin volver a leer el archivo.
+     */
+    private final Consumer<EventoCambio<Empleado>> oyenteCambios =
+        evento -> SwingUtilities.invokeLater(() -> aplicarCambio(evento));
+    
+    /**
+     * Indica que llegaron cambios mientras se cargaba la lista; al terminar
+     * la carga se vuelve a recorrer la caché para incluirlos.
+     */
+    private boolean cambiosDuranteCarga;
     
     // ========================================================================
     // CONSTRUCTOR
@@ -77,7 +119,8 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
      *   <li>Crea todos los componentes visuales del formulario</li>
      *   <li>Inicializa la lógica de negocio de empleados</li>
      *   <li>Configura la estructura de la tabla con sus columnas</li>
-     *   <li>Carga los empleados existentes desde la base de datos</li>
+     *   <li>Se suscribe a los cambios de empleados</li>
+     *   <li>Carga los empleados existentes en segundo plano</li>
      *   <li>Centra la ventana en la pantalla</li>
      * </ol>
      */
@@ -85,6 +128,8 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
         initComponents();
         logicaEmpleado = new LogicaEmpleado();
         configurarTabla();
+        configurarBusqueda();
+        LogicaEmpleado.suscribir(oyenteCambios);
         cargarEmpleados();
         setLocationRelativeTo(null); // Centrar ventana en la pantalla
     }
@@ -99,9 +144,9 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
      * <p>Este método:
      * <ul>
      *   <li>Define las columnas de la tabla con sus encabezados</li>
-     *   <li>Crea un modelo de tabla personalizado</li>
+     *   <li>Crea un modelo de tabla respaldado por la lista de empleados</li>
      *   <li>Hace que la tabla sea no editable para proteger los datos</li>
-     *   <li>Asigna el modelo configurado a la tabla visual</li>
+     *   <li>Asigna el modelo y un ordenador por columna a la tabla visual</li>
      * </ul>
      * 
      * <p>Las columnas configuradas son:
@@ -116,20 +161,46 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
      * </ol>
      */
     private void configurarTabla() {
-        // Definir los encabezados de las columnas
-        String[] columnas = {"ID", "Cédula", "Nombre Completo", "Email", 
-                           "Salario", "Tipo Planilla", "Puesto"};
+        // Crear modelo con las columnas de la vista (no editable)
+        modeloTabla = new ModeloTablaEmpleados(
+            ModeloTablaEmpleados.Columna.ID,
+            ModeloTablaEmpleados.Columna.CEDULA,
+            ModeloTablaEmpleados.Columna.NOMBRE_COMPLETO,
+            ModeloTablaEmpleados.Columna.EMAIL,
+            ModeloTablaEmpleados.Columna.SALARIO,
+            ModeloTablaEmpleados.Columna.TIPO_PLANILLA,
+            ModeloTablaEmpleados.Columna.PUESTO
+        );
         
-        // Crear modelo personalizado que hace la tabla no editable
-        modeloTabla = new DefaultTableModel(columnas, 0) {
+        // Asignar el modelo y el ordenador a la tabla
+        tblEmpleados.setModel(modeloTabla);
+        tblEmpleados.setRowSorter(modeloTabla.crearOrdenador());
+    }
+    
+    /**
+     * Configura el campo de búsqueda para filtrar la tabla mientras se escribe.
+     * 
+     * <p>Cada cambio en el texto consulta el índice de búsqueda de
+     * {@link LogicaEmpleado}, que responde en memoria sin recorrer toda la
+     * lista, por lo que la búsqueda se ejecuta directamente en el EDT.
+     */
+    private void configurarBusqueda() {
+        txtBuscar.getDocument().addDocumentListener(new DocumentListener() {
             @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Ninguna celda es editable
+            public void insertUpdate(DocumentEvent e) {
+                filtrarEmpleados();
             }
-        };
-        
-        // Asignar el modelo a la tabla
-        tblEmpleados.setModel(modeloTabla);
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                filtrarEmpleados();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                filtrarEmpleados();
+            }
+        });
     }
     
     // ========================================================================
@@ -137,53 +208,160 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
     // ========================================================================
     
     /**
-     * Carga todos los empleados desde la base de datos y los muestra en la tabla.
+     * Carga todos los empleados en segundo plano y los publica en la tabla
+     * de forma incremental.
      * 
      * <p>Este método realiza el siguiente proceso:
      * <ol>
-     *   <li>Limpia todos los datos actuales de la tabla</li>
-     *   <li>Consulta la lista completa de empleados activos</li>
-     *   <li>Itera sobre cada empleado obtenido</li>
-     *   <li>Formatea los datos de cada empleado (especialmente el salario)</li>
-     *   <li>Agrega cada empleado como una fila en la tabla</li>
+     *   <li>Reinicia el modelo de la tabla con una lista vacía</li>
+     *   <li>Lee los empleados en un {@link SwingWorker}, fuera del EDT</li>
+     *   <li>Publica los empleados en bloques a medida que se leen</li>
+     *   <li>Prepara el índice de búsqueda y reaplica el texto buscado</li>
      * </ol>
      * 
      * <p>El salario se formatea en colones costarricenses (₡) con dos decimales
-     * para una mejor presentación visual.
+     * únicamente cuando la fila se muestra en pantalla.
      * 
-     * <p>Si ocurre algún error durante la carga (por ejemplo, problema de conexión
-     * o error de lectura), se muestra un mensaje de error al usuario.
+     * <p>La carga puede cancelarse desde el panel de progreso. Si ocurre algún
+     * error durante la carga (por ejemplo, un error de lectura), se muestra un
+     * mensaje de error al usuario.
      */
     private void cargarEmpleados() {
-        modeloTabla.setRowCount(0); // Limpiar tabla antes de cargar
-        Empleado empleado = new Empleado();
+        empleadosCargados = new ArrayList<>();
+        modeloTabla.setEmpleados(empleadosCargados);
+        mostrandoBusqueda = false;
+        cambiosDuranteCarga = false;
+        btnActualizar.setEnabled(false);
+        txtBuscar.setEnabled(false);
         
-        try {
-            // Obtener lista de empleados desde la lógica de negocio
-            logicaEmpleado.listarEmpleados(empleado);
+        SwingWorker<Void, Empleado> tarea = new SwingWorker<Void, Empleado>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                logicaEmpleado.recorrerEmpleados(emp -> {
+                    if (isCancelled()) {
+                        throw new CancellationException(); // Detener la lectura del archivo
+                    }
+                    publish(emp);
+                });
+                logicaEmpleado.obtenerCatalogo(); // Dejar lista la búsqueda
+                return null;
+            }
             
-            // Iterar sobre cada empleado y agregarlo a la tabla
-            for (Empleado emp : empleado.getListaEmpleados()) {
-                Object[] fila = {
-                    emp.getId(),
-                    emp.getCedula(),
-                    emp.getNombreCompleto(),
-                    emp.getEmail(),
-                    String.format("₡%.2f", emp.getSalarioBruto()), // Formatear salario
-                    emp.getTipoPlanilla(),
-                    emp.getPuesto()
-                };
-                modeloTabla.addRow(fila);
+            @Override
+            protected void process(java.util.List<Empleado> bloque) {
+                modeloTabla.agregarEmpleados(bloque);
+                panelProgreso.setDescripcion("Cargando empleados... " + modeloTabla.getRowCount());
+            }
+            
+            @Override
+            protected void done() {
+                btnActualizar.setEnabled(true);
+                txtBuscar.setEnabled(true);
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    get();
+                    if (cambiosDuranteCarga) {
+                        cargarEmpleados(); // Se sirve desde la caché ya actualizada
+                        return;
+                    }
+                    filtrarEmpleados(); // Reaplicar la búsqueda sobre los datos nuevos
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Mostrar mensaje de error si falla la carga
+                    JOptionPane.showMessageDialog(FrmGestionEmpleados.this,
+                        "Error al cargar empleados: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+        
+        panelProgreso.vigilar(tarea, "Cargando empleados...");
+        tarea.execute();
+    }
+    
+    /**
+     * Muestra en la tabla los empleados que coinciden con el texto buscado.
+     * 
+     * <p>Si el campo está vacío se vuelve a mostrar la lista completa. Los
+     * resultados se limitan a {@link #LIMITE_RESULTADOS} filas.
+     */
+    private void filtrarEmpleados() {
+        if (!txtBuscar.isEnabled()) {
+            return; // La carga en curso reaplicará la búsqueda al terminar
+        }
+        String texto = txtBuscar.getText().trim();
+        if (texto.isEmpty()) {
+            if (mostrandoBusqueda) {
+                modeloTabla.setEmpleados(empleadosCargados);
+                mostrandoBusqueda = false;
             }
-        } catch (Exception e) {
-            // Mostrar mensaje de error si falla la carga
+            return;
+        }
+        try {
+            modeloTabla.setEmpleados(logicaEmpleado.buscarEmpleados(texto, LIMITE_RESULTADOS));
+            mostrandoBusqueda = true;
+        } catch (IOException e) {
             JOptionPane.showMessageDialog(this,
-                "Error al cargar empleados: " + e.getMessage(),
+                "Error al buscar empleados: " + e.getMessage(),
                 "Error",
                 JOptionPane.ERROR_MESSAGE);
         }
     }
     
+    /**
+     * Aplica a la tabla un cambio publicado por {@link LogicaEmpleado}.
+     * 
+     * <p>Se ejecuta en el EDT. Si la tabla muestra la lista completa, el
+     * cambio se aplica fila por fila en el modelo; si muestra resultados de
+     * búsqueda, se aplica a la lista completa y se repite la búsqueda (el
+     * índice ya fue actualizado por la lógica). Si el archivo fue modificado
+     * por fuera de la aplicación, o si hay una carga en curso, se repite la
+     * carga.
+     * 
+     * @param evento el cambio a aplicar
+     */
+    private void aplicarCambio(EventoCambio<Empleado> evento) {
+        if (!txtBuscar.isEnabled()) {
+            cambiosDuranteCarga = true; // Carga en curso
+            return;
+        }
+        if (evento.getTipo() == EventoCambio.Tipo.RECARGADO) {
+            cargarEmpleados(); // El archivo cambió por fuera de la aplicación
+            return;
+        }
+        Empleado emp = evento.getEntidad();
+        if (mostrandoBusqueda) {
+            switch (evento.getTipo()) {
+                case AGREGADO:
+                    empleadosCargados.add(emp);
+                    break;
+                case ACTUALIZADO:
+                    empleadosCargados.replaceAll(e -> e.getId() == emp.getId() ? emp : e);
+                    break;
+                default:
+                    empleadosCargados.removeIf(e -> e.getId() == emp.getId());
+                    break;
+            }
+            filtrarEmpleados();
+            return;
+        }
+        switch (evento.getTipo()) {
+            case AGREGADO:
+                modeloTabla.agregarEmpleado(emp);
+                break;
+            case ACTUALIZADO:
+                modeloTabla.actualizarEmpleado(emp);
+                break;
+            default:
+                modeloTabla.eliminarEmpleado(emp.getId());
+                break;
+        }
+    }
+    
     // ========================================================================
     // INICIALIZACIÓN DE COMPONENTES VISUALES
     // ========================================================================
@@ -212,6 +390,9 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
         btnActualizar = new javax.swing.JButton();
         btnCerrar = new javax.swing.JButton();
         lblTitulo = new javax.swing.JLabel();
+        lblBuscar = new javax.swing.JLabel();
+        txtBuscar = new javax.swing.JTextField();
+        panelProgreso = new PanelProgreso();
 
         // Configuración de la ventana principal
         setDefaultCloseOperation(javax.swing.WindowConstants.DISPOSE_ON_CLOSE);
@@ -239,6 +420,10 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
         lblTitulo.setFont(new java.awt.Font("Segoe UI", 1, 18));
         lblTitulo.setText("Gestión de Empleados");
 
+        // Configuración del campo de búsqueda
+        lblBuscar.setText("Buscar:");
+        txtBuscar.setToolTipText("Cédula, nombre, apellidos, email o puesto");
+
         // Configuración del layout (diseño visual)
         javax.swing.GroupLayout layout = new javax.swing.GroupLayout(getContentPane());
         getContentPane().setLayout(layout);
@@ -248,13 +433,18 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
                 .addGap(20, 20, 20)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.LEADING)
                     .addComponent(lblTitulo)
+                    .addGroup(layout.createSequentialGroup()
+                        .addComponent(lblBuscar)
+                        .addGap(10, 10, 10)
+                        .addComponent(txtBuscar, javax.swing.GroupLayout.PREFERRED_SIZE, 400, javax.swing.GroupLayout.PREFERRED_SIZE))
                     .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 960, javax.swing.GroupLayout.PREFERRED_SIZE)
                     .addGroup(layout.createSequentialGroup()
                         .addComponent(btnAgregar)
                         .addGap(10, 10, 10)
                         .addComponent(btnActualizar)
                         .addGap(10, 10, 10)
-                        .addComponent(btnCerrar)))
+                        .addComponent(btnCerrar))
+                    .addComponent(panelProgreso, javax.swing.GroupLayout.PREFERRED_SIZE, 960, javax.swing.GroupLayout.PREFERRED_SIZE))
                 .addContainerGap(20, Short.MAX_VALUE))
         );
         layout.setVerticalGroup(
@@ -263,12 +453,18 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
                 .addGap(20, 20, 20)
                 .addComponent(lblTitulo)
                 .addGap(18, 18, 18)
+                .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
+                    .addComponent(lblBuscar)
+                    .addComponent(txtBuscar, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE))
+                .addGap(12, 12, 12)
                 .addComponent(jScrollPane1, javax.swing.GroupLayout.PREFERRED_SIZE, 400, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addGap(18, 18, 18)
                 .addGroup(layout.createParallelGroup(javax.swing.GroupLayout.Alignment.BASELINE)
                     .addComponent(btnAgregar)
                     .addComponent(btnActualizar)
                     .addComponent(btnCerrar))
+                .addGap(12, 12, 12)
+                .addComponent(panelProgreso, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addContainerGap(20, Short.MAX_VALUE))
         );
 
@@ -289,9 +485,8 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
      *   <li>Muestra el formulario de registro</li>
      * </ol>
      * 
-     * <p>Al pasar esta ventana como padre, el formulario de empleado podrá
-     * actualizar automáticamente la tabla cuando se guarde un nuevo empleado,
-     * manteniendo así la sincronización de datos.
+     * <p>Cuando el formulario guarda el empleado, {@link LogicaEmpleado} publica
+     * el evento de alta y esta ventana agrega la fila sin recargar la tabla.
      * 
      * @param evt el evento de acción generado al hacer clic en el botón
      * @see FrmEmpleado
@@ -305,14 +500,15 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
     /**
      * Maneja el evento de clic en el botón "Actualizar".
      * 
-     * <p>Este método recarga la lista completa de empleados desde la base de datos,
-     * refrescando así la información mostrada en la tabla.
+     * <p>Este método vuelve a cargar la lista completa de empleados. Los
+     * cambios hechos desde esta aplicación ya se reflejan solos en la tabla;
+     * la recarga solo lee el archivo si fue modificado por fuera (por ejemplo,
+     * por otro proceso), y en caso contrario se sirve desde la caché.
      * 
      * <p>Es útil cuando:
      * <ul>
-     *   <li>Otros usuarios han agregado o modificado empleados</li>
+     *   <li>Otro proceso ha modificado el archivo de empleados</li>
      *   <li>Se desea verificar cambios recientes en los datos</li>
-     *   <li>La tabla podría estar desactualizada</li>
      * </ul>
      * 
      * @param evt el evento de acción generado al hacer clic en el botón
@@ -338,18 +534,17 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
     // ========================================================================
     
     /**
-     * Actualiza la tabla de empleados recargando los datos desde la base de datos.
+     * Cierra la ventana, detiene la carga si sigue en curso y cancela la
+     * suscripción a los cambios de empleados.
      * 
-     * <p>Este método público permite que otros formularios (como el de registro
-     * de empleados) soliciten una actualización de la tabla cuando se realicen
-     * cambios en los datos.
-     * 
-     * <p>Es invocado típicamente desde {@link FrmEmpleado} después de guardar
-     * exitosamente un nuevo empleado, asegurando que la lista se mantenga
-     * actualizada sin intervención manual del usuario.
+     * <p>Se invoca tanto desde el botón "Cerrar" como al cerrar la ventana
+     * con el botón de la barra de título ({@code DISPOSE_ON_CLOSE}).
      */
-    public void actualizarTabla() {
-        cargarEmpleados(); // Recargar la lista de empleados
+    @Override
+    public void dispose() {
+        panelProgreso.cancelar(); // Detener la tarea en segundo plano si sigue en curso
+        LogicaEmpleado.desuscribir(oyenteCambios);
+        super.dispose();
     }
     
     // ========================================================================
@@ -368,9 +563,18 @@ public class FrmGestionEmpleados extends javax.swing.JFrame {
     /** Etiqueta con el título principal del formulario */
     private javax.swing.JLabel lblTitulo;
     
+    /** Etiqueta del campo de búsqueda */
+    private javax.swing.JLabel lblBuscar;
+    
+    /** Campo de texto para la búsqueda incremental de empleados */
+    private javax.swing.JTextField txtBuscar;
+    
     /** Panel con scroll que contiene la tabla de empleados */
     private javax.swing.JScrollPane jScrollPane1;
     
     /** Tabla que muestra el listado completo de empleados con sus datos */
     private javax.swing.JTable tblEmpleados;
+    
+    /** Panel con la barra de progreso y el botón para cancelar la carga */
+    private PanelProgreso panelProgreso;
 }
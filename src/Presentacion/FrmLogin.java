@@ -4,6 +4,7 @@
  */
 package Presentacion;
 
+import LogicaNegocio.ArchivadorNominas;
 import LogicaNegocio.LogicaUsuario;
 import Entidades.Usuario;
 import javax.swing.*;
@@ -201,6 +202,9 @@ public class FrmLogin extends javax.swing.JFrame {
      * innecesarios del nombre de usuario, y convierte la contraseña de
      * char[] a String de forma segura.
      * 
+     * <p>La lectura del archivo de usuarios se realiza en un {@link SwingWorker}
+     * para no bloquear el EDT; el botón "Ingresar" se deshabilita mientras tanto.
+     * 
      * @param evt el evento de acción generado al hacer clic en el botón
      */
     private void btnIngresarActionPerformed(java.awt.event.ActionEvent evt) {
@@ -217,40 +221,64 @@ public class FrmLogin extends javax.swing.JFrame {
             return;
         }
         
-        try {
-            // Intentar autenticar al usuario
-            Usuario usuario = logicaUsuario.autenticar(username, password);
+        // Autenticar fuera del EDT para no congelar la ventana mientras se lee el archivo
+        btnIngresar.setEnabled(false);
+        new SwingWorker<Usuario, Void>() {
+            @Override
+            protected Usuario doInBackground() throws Exception {
+                return logicaUsuario.autenticar(username, password);
+            }
             
-            // Verificar si la autenticación fue exitosa
-            if (usuario != null) {
-                // Autenticación exitosa
-                JOptionPane.showMessageDialog(this,
-                    "Bienvenido " + usuario.getNombre(),
-                    "Acceso exitoso",
-                    JOptionPane.INFORMATION_MESSAGE);
-                
-                // Abrir menú principal y pasar el usuario autenticado
-                FrmMenuPrincipal menu = new FrmMenuPrincipal(usuario);
-                menu.setVisible(true);
-                
-                // Cerrar ventana de login
-                this.dispose();
-            } else {
-                // Autenticación fallida
-                JOptionPane.showMessageDialog(this,
-                    "Usuario o contraseña incorrectos",
-                    "Error de autenticación",
-                    JOptionPane.ERROR_MESSAGE);
-                
-                // Limpiar campo de contraseña por seguridad
-                txtPassword.setText("");
+            @Override
+            protected void done() {
+                btnIngresar.setEnabled(true);
+                try {
+                    mostrarResultadoAutenticacion(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    // Manejar cualquier error durante el proceso de autenticación
+                    JOptionPane.showMessageDialog(FrmLogin.this,
+                        "Error: " + e.getCause().getMessage(),
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
             }
-        } catch (Exception e) {
-            // Manejar cualquier error durante el proceso de autenticación
+        }.execute();
+    }
+    
+    /**
+     * Muestra el resultado de la autenticación realizada en segundo plano.
+     * 
+     * <p>Se ejecuta en el EDT. Si el usuario es válido abre el menú principal
+     * y cierra el login; en caso contrario muestra un error y limpia la contraseña.
+     * 
+     * @param usuario el usuario autenticado, o null si las credenciales son inválidas
+     */
+    private void mostrarResultadoAutenticacion(Usuario usuario) {
+        // Verificar si la autenticación fue exitosa
+        if (usuario != null) {
+            // Autenticación exitosa
             JOptionPane.showMessageDialog(this,
-                "Error: " + e.getMessage(),
-                "Error",
+                "Bienvenido " + usuario.getNombre(),
+                "Acceso exitoso",
+                JOptionPane.INFORMATION_MESSAGE);
+            
+            // Abrir menú principal y pasar el usuario autenticado
+            FrmMenuPrincipal menu = new FrmMenuPrincipal(usuario);
+            menu.setVisible(true);
+            
+            // Cerrar ventana de login
+            this.dispose();
+        } else {
+            // Autenticación fallida
+            JOptionPane.showMessageDialog(this,
+                "Usuario o contraseña incorrectos",
+                "Error de autenticación",
                 JOptionPane.ERROR_MESSAGE);
+            
+            // Limpiar campo de contraseña por seguridad
+            txtPassword.setText("");
         }
     }
     
@@ -264,6 +292,8 @@ public class FrmLogin extends javax.swing.JFrame {
      * <p>Este método:
      * <ol>
      *   <li>Configura el Look and Feel del sistema operativo para una apariencia nativa</li>
+     *   <li>Programa el traslado periódico de los períodos antiguos de nómina
+     *       al archivo histórico ({@link ArchivadorNominas})</li>
      *   <li>Crea y muestra la ventana de login en el Event Dispatch Thread (EDT)</li>
      * </ol>
      * 
@@ -286,6 +316,9 @@ public class FrmLogin extends javax.swing.JFrame {
             e.printStackTrace();
         }
         
+        // Archivar en segundo plano los períodos antiguos de nómina
+        ArchivadorNominas.iniciar();
+        
         // Iniciar la aplicación en el Event Dispatch Thread
         java.awt.EventQueue.invokeLater(() -> new FrmLogin().setVisible(true));
     }
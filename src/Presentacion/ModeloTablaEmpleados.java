@@ -0,0 +1,336 @@
+package Presentacion;
+
+import Entidades.Empleado;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.DefaultRowSorter;
+import javax.swing.table.AbstractTableModel;
+
+/**
+ * Modelo de tabla de empleados respaldado directamente por la lista de la
+ * capa de lógica de negocio.
+ *
+ * <p>A diferencia de un {@link javax.swing.table.DefaultTableModel}, este
+ * modelo no copia los datos en filas de {@code Object[]}: cada celda se
+ * calcula solo cuando la tabla la solicita mediante {@link #getValueAt(int, int)},
+ * lo que en la práctica ocurre únicamente para las filas visibles. Así se
+ * evita formatear salarios y construir nombres completos para todo el catálogo
+ * al abrir la ventana.
+ *
+ * <p>Las columnas mostradas se eligen al crear el modelo, lo que permite que
+ * {@link FrmGestionEmpleados} y {@link FrmGenerarNomina} compartan la misma
+ * implementación con diferentes vistas.
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * ModeloTablaEmpleados modelo = new ModeloTablaEmpleados(
+ *     ModeloTablaEmpleados.Columna.ID,
+ *     ModeloTablaEmpleados.Columna.NOMBRE_COMPLETO,
+ *     ModeloTablaEmpleados.Columna.SALARIO);
+ * tabla.setModel(modelo);
+ * tabla.setRowSorter(modelo.crearOrdenador());
+ * modelo.setEmpleados(listaEmpleados);
+ * </pre>
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ * @see Empleado
+ */
+public class ModeloTablaEmpleados extends AbstractTableModel {
+
+    // ========================================================================
+    // COLUMNAS DISPONIBLES
+    // ========================================================================
+
+    /**
+     * Columnas que puede mostrar el modelo.
+     *
+     * <p>Cada columna define su encabezado, cómo formatear el valor de una
+     * celda y cómo comparar dos empleados al ordenar, sin necesidad de
+     * formatear los valores para compararlos.
+     */
+    public enum Columna {
+        /** Identificador único del sistema. */
+        ID("ID", Comparator.comparingInt(Empleado::getId)),
+        /** Número de cédula. */
+        CEDULA("Cédula", Comparator.comparing(Empleado::getCedula, Comparator.nullsFirst(String::compareTo))),
+        /** Nombre y apellidos. */
+        NOMBRE_COMPLETO("Nombre Completo", Comparator
+                .comparing(Empleado::getNombre, Comparator.nullsFirst(String::compareToIgnoreCase))
+                .thenComparing(Empleado::getApellido1, Comparator.nullsFirst(String::compareToIgnoreCase))
+                .thenComparing(Empleado::getApellido2, Comparator.nullsFirst(String::compareToIgnoreCase))),
+        /** Correo electrónico. */
+        EMAIL("Email", Comparator.comparing(Empleado::getEmail, Comparator.nullsFirst(String::compareToIgnoreCase))),
+        /** Salario bruto formateado en colones. */
+        SALARIO("Salario Bruto", Comparator.comparingDouble(Empleado::getSalarioBruto)),
+        /** Tipo de planilla (mensual/quincenal). */
+        TIPO_PLANILLA("Tipo Planilla", Comparator.comparing(Empleado::getTipoPlanilla, Comparator.nullsFirst(String::compareTo))),
+        /** Puesto o cargo. */
+        PUESTO("Puesto", Comparator.comparing(Empleado::getPuesto, Comparator.nullsFirst(String::compareToIgnoreCase)));
+
+        /** Encabezado mostrado en la tabla. */
+        private final String titulo;
+
+        /** Comparador de empleados utilizado al ordenar por esta columna. */
+        private final Comparator<Empleado> comparador;
+
+        Columna(String titulo, Comparator<Empleado> comparador) {
+            this.titulo = titulo;
+            this.comparador = comparador;
+        }
+
+        /**
+         * Obtiene el encabezado de la columna.
+         *
+         * @return el texto del encabezado
+         */
+        public String getTitulo() {
+            return titulo;
+        }
+
+        /**
+         * Calcula el valor que se muestra en la celda para un empleado.
+         *
+         * @param emp el empleado de la fila
+         * @return el valor formateado de la celda
+         */
+        Object valor(Empleado emp) {
+            switch (this) {
+                case ID:
+                    return emp.getId();
+                case CEDULA:
+                    return emp.getCedula();
+                case NOMBRE_COMPLETO:
+                    return emp.getNombreCompleto();
+                case EMAIL:
+                    return emp.getEmail();
+                case SALARIO:
+                    return String.format("₡%.2f", emp.getSalarioBruto()); // Formatear en colones
+                case TIPO_PLANILLA:
+                    return emp.getTipoPlanilla();
+                default:
+                    return emp.getPuesto();
+            }
+        }
+    }
+
+    // ========================================================================
+    // ATRIBUTOS
+    // ========================================================================
+
+    /**
+     * Columnas visibles, en el orden en que se muestran.
+     */
+    private final Columna[] columnas;
+
+    /**
+     * Lista de empleados que respalda el modelo. No se copia: el modelo
+     * trabaja directamente sobre la lista entregada por la lógica de negocio.
+     */
+    private List<Empleado> empleados;
+
+    // ========================================================================
+    // CONSTRUCTOR
+    // ========================================================================
+
+    /**
+     * Crea un modelo vacío con las columnas indicadas.
+     *
+     * @param columnas las columnas a mostrar, en orden
+     */
+    public ModeloTablaEmpleados(Columna... columnas) {
+        this.columnas = columnas.clone();
+        this.empleados = Collections.emptyList();
+    }
+
+    // ========================================================================
+    // MÉTODOS PÚBLICOS
+    // ========================================================================
+
+    /**
+     * Reemplaza la lista de empleados que respalda el modelo.
+     *
+     * @param empleados la lista de empleados a mostrar (no se copia)
+     */
+    public void setEmpleados(List<Empleado> empleados) {
+        this.empleados = empleados;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Agrega un bloque de empleados al final del modelo.
+     *
+     * <p>Se utiliza para publicar filas de forma incremental mientras una
+     * tarea en segundo plano sigue leyendo el archivo. La lista que respalda
+     * el modelo debe ser modificable (por ejemplo, la entregada a
+     * {@link #setEmpleados(List)} como {@code new ArrayList<>()}).
+     *
+     * @param bloque los empleados a agregar
+     */
+    public void agregarEmpleados(List<Empleado> bloque) {
+        if (bloque.isEmpty()) {
+            return;
+        }
+        int inicio = empleados.size();
+        empleados.addAll(bloque);
+        fireTableRowsInserted(inicio, empleados.size() - 1);
+    }
+
+    /**
+     * Agrega un empleado al final del modelo.
+     *
+     * <p>Se utiliza para aplicar un evento de alta sin recargar la tabla. La
+     * lista que respalda el modelo debe ser modificable.
+     *
+     * @param empleado el empleado agregado
+     */
+    public void agregarEmpleado(Empleado empleado) {
+        empleados.add(empleado);
+        fireTableRowsInserted(empleados.size() - 1, empleados.size() - 1);
+    }
+
+    /**
+     * Reemplaza la fila del empleado con el mismo ID.
+     *
+     * @param empleado el empleado con sus datos actualizados
+     * @return true si el empleado estaba en el modelo
+     */
+    public boolean actualizarEmpleado(Empleado empleado) {
+        int fila = buscarFila(empleado.getId());
+        if (fila < 0) {
+            return false;
+        }
+        empleados.set(fila, empleado);
+        fireTableRowsUpdated(fila, fila);
+        return true;
+    }
+
+    /**
+     * Elimina la fila del empleado con el ID indicado.
+     *
+     * @param idEmpleado el ID del empleado eliminado
+     * @return true si el empleado estaba en el modelo
+     */
+    public boolean eliminarEmpleado(int idEmpleado) {
+        int fila = buscarFila(idEmpleado);
+        if (fila < 0) {
+            return false;
+        }
+        empleados.remove(fila);
+        fireTableRowsDeleted(fila, fila);
+        return true;
+    }
+
+    /**
+     * Obtiene el empleado de una fila del modelo.
+     *
+     * <p>Si la tabla está ordenada, el índice de la vista debe convertirse
+     * primero con {@link javax.swing.JTable#convertRowIndexToModel(int)}.
+     *
+     * @param filaModelo índice de la fila en el modelo
+     * @return el empleado de esa fila
+     */
+    public Empleado getEmpleado(int filaModelo) {
+        return empleados.get(filaModelo);
+    }
+
+    /**
+     * Crea un ordenador para la tabla que compara directamente los campos de
+     * los empleados.
+     *
+     * <p>El ordenamiento solo permuta índices de filas; no copia los datos
+     * ni formatea las celdas para compararlas.
+     *
+     * @return el ordenador a asignar con {@link javax.swing.JTable#setRowSorter}
+     */
+    public DefaultRowSorter<ModeloTablaEmpleados, Integer> crearOrdenador() {
+        return new Ordenador(this);
+    }
+
+    /**
+     * Busca la fila del modelo que contiene al empleado con el ID indicado.
+     *
+     * @param idEmpleado el ID a buscar
+     * @return el índice de la fila, o -1 si no está en el modelo
+     */
+    private int buscarFila(int idEmpleado) {
+        for (int i = 0; i < empleados.size(); i++) {
+            if (empleados.get(i).getId() == idEmpleado) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ========================================================================
+    // IMPLEMENTACIÓN DE AbstractTableModel
+    // ========================================================================
+
+    @Override
+    public int getRowCount() {
+        return empleados.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnas.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnas[column].getTitulo();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columnas[columnIndex].valor(empleados.get(rowIndex));
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Hacer tabla no editable
+    }
+
+    // ========================================================================
+    // ORDENADOR
+    // ========================================================================
+
+    /**
+     * Ordenador de filas que compara empleados con el comparador de cada columna.
+     */
+    private static class Ordenador extends DefaultRowSorter<ModeloTablaEmpleados, Integer> {
+
+        Ordenador(ModeloTablaEmpleados modelo) {
+            setModelWrapper(new ModelWrapper<ModeloTablaEmpleados, Integer>() {
+                @Override
+                public ModeloTablaEmpleados getModel() {
+                    return modelo;
+                }
+
+                @Override
+                public int getColumnCount() {
+                    return modelo.getColumnCount();
+                }
+
+                @Override
+                public int getRowCount() {
+                    return modelo.getRowCount();
+                }
+
+                @Override
+                public Object getValueAt(int row, int column) {
+                    return modelo.getEmpleado(row); // Se compara el empleado, no la celda formateada
+                }
+
+                @Override
+                public Integer getIdentifier(int row) {
+                    return row;
+                }
+            });
+            for (int i = 0; i < modelo.columnas.length; i++) {
+                setComparator(i, modelo.columnas[i].comparador);
+            }
+        }
+    }
+}
@@ -0,0 +1,517 @@
+package Presentacion;
+
+import Entidades.Nomina;
+import LogicaNegocio.AlmacenEmpleadosFueraHeap;
+import LogicaNegocio.AlmacenNominasFueraHeap;
+import LogicaNegocio.CalculadoraNomina;
+import LogicaNegocio.GeneradorPDF;
+import LogicaNegocio.LogicaEmpleado;
+import LogicaNegocio.LogicaHistorialSalarial;
+import LogicaNegocio.LogicaNomina;
+import LogicaNegocio.ProcesoNominaMasiva;
+import LogicaNegocio.RecalculoRetroactivo;
+import LogicaNegocio.TasasNomina;
+import Utilidades.Constantes;
+import Utilidades.Periodos;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Punto de entrada de consola para ejecutar la nómina de un período sin
+ * interfaz gráfica.
+ *
+ * <p>Ejecuta el mismo {@link ProcesoNominaMasiva} que la aplicación de
+ * escritorio (cálculo, comprobantes PDF y envío opcional por correo), pero
+ * sin pasar por {@link FrmLogin} ni cargar Swing, JCalendar o AWT, de modo
+ * que puede programarse en un servidor (cron, Programador de tareas).
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ * java -cp "ProyectoFinal.jar:lib/*" Presentacion.NominaConsola --periodo 2024-12-Q2 [opciones]
+ *
+ *   --periodo &lt;periodo&gt;   código del período (2024-12-M, 2024-12-Q1, 2024-12-Q2)
+ *                         o fecha de referencia (2024-12-20)
+ *   --planilla &lt;tipo&gt;     MENSUAL o QUINCENAL; obligatorio si el período es una fecha
+ *   --correo              envía cada comprobante por correo
+ *   --reporte-patronal    genera además el reporte patronal consolidado del período
+ *   --id &lt;ejecucion&gt;      identificador de la ejecución (por defecto, el período)
+ *   --totales             solo calcula los totales del período (bruto, deducciones, neto
+ *                         y aportes), sin comprobantes ni nóminas guardadas; los
+ *                         empleados y las nóminas se guardan fuera del heap
+ *
+ * java -cp "ProyectoFinal.jar:lib/*" Presentacion.NominaConsola --recalcular 2024-01-M 2024-12-Q2 [opciones]
+ *
+ *   --recalcular &lt;desde&gt; &lt;hasta&gt;  recalcula las nóminas guardadas del rango de períodos
+ *                         (inclusive) con {@link RecalculoRetroactivo}, sin modificarlas
+ *   --tasas &lt;archivo&gt;     tasas a aplicar, en el formato de {@link TasasNomina#cargar};
+ *                         por defecto, las vigentes
+ *   --tasas &lt;periodo&gt;=&lt;archivo&gt;  tasas que rigen desde ese período hasta el del
+ *                         siguiente --tasas con período; puede repetirse. Los
+ *                         períodos anteriores al primero usan el --tasas sin período
+ *   --salida &lt;archivo&gt;    reporte CSV de las diferencias
+ *                         (por defecto, diferencias_&lt;desde&gt;_&lt;hasta&gt;.csv)
+ * </pre>
+ *
+ * <p><b>Códigos de salida:</b>
+ * <ul>
+ *   <li>{@link #SALIDA_EXITO}: todos los empleados se procesaron</li>
+ *   <li>{@link #SALIDA_ERRORES_EMPLEADOS}: algunos empleados fallaron; volver a
+ *       ejecutar con el mismo identificador reanuda solo los pendientes</li>
+ *   <li>{@link #SALIDA_USO}: argumentos inválidos</li>
+ *   <li>{@link #SALIDA_FALLO}: error que detuvo la ejecución (archivos, bitácora)</li>
+ * </ul>
+ *
+ * <p>Al terminar se imprime un resumen con el tiempo transcurrido y el
+ * rendimiento en nóminas por segundo.
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ * @see ProcesoNominaMasiva
+ */
+public class NominaConsola {
+
+    // ========================================================================
+    // CÓDIGOS DE SALIDA
+    // ========================================================================
+
+    /** Todos los empleados se procesaron correctamente. */
+    public static final int SALIDA_EXITO = 0;
+
+    /** Algunos empleados fallaron y quedaron pendientes en la bitácora. */
+    public static final int SALIDA_ERRORES_EMPLEADOS = 1;
+
+    /** Los argumentos de la línea de comandos no son válidos. */
+    public static final int SALIDA_USO = 2;
+
+    /** La ejecución se detuvo por un error. */
+    public static final int SALIDA_FALLO = 3;
+
+    // ========================================================================
+    // ATRIBUTOS PRIVADOS
+    // ========================================================================
+
+    /** Fecha de referencia del período. */
+    private LocalDate fechaPeriodo;
+
+    /** Tipo de planilla a procesar. */
+    private String tipoPlanilla;
+
+    /** Indica si se envían los comprobantes por correo. */
+    private boolean enviarCorreos;
+
+    /** Indica si se genera el reporte patronal consolidado. */
+    private boolean reportePatronal;
+
+    /** Identificador de la ejecución, o null para usar el período. */
+    private String idEjecucion;
+
+    /** Indica si solo se calculan los totales del período, fuera del heap. */
+    private boolean soloTotales;
+
+    /** Primer período del recálculo retroactivo, o null si no se recalcula. */
+    private String recalcularDesde;
+
+    /** Último período del recálculo retroactivo. */
+    private String recalcularHasta;
+
+    /** Archivo de tasas del recálculo, o null para usar las vigentes. */
+    private Path archivoTasas;
+
+    /**
+     * Archivos de tasas que rigen desde un período, por período codificado
+     * con {@link Periodos#codificar(String)}.
+     */
+    private final TreeMap<Integer, Path> tasasDesde = new TreeMap<>();
+
+    /** Archivo del reporte de diferencias, o null para usar el nombre por defecto. */
+    private Path archivoSalida;
+
+    // ========================================================================
+    // MÉTODO PRINCIPAL
+    // ========================================================================
+
+    /**
+     * Ejecuta la nómina del período indicado y termina el proceso con el
+     * código de salida correspondiente.
+     *
+     * @param args argumentos de línea de comandos (ver la documentación de la clase)
+     */
+    public static void main(String[] args) {
+        // Garantiza que ninguna biblioteca intente abrir una pantalla
+        System.setProperty("java.awt.headless", "true");
+        System.exit(ejecutar(args, System.out, System.err));
+    }
+
+    /**
+     * Ejecuta la nómina del período indicado (o el recálculo retroactivo)
+     * sin terminar el proceso.
+     *
+     * @param args argumentos de línea de comandos
+     * @param salida destino del resumen
+     * @param errores destino de los mensajes de error
+     * @return el código de salida
+     */
+    public static int ejecutar(String[] args, PrintStream salida, PrintStream errores) {
+        NominaConsola consola = new NominaConsola();
+        try {
+            consola.leerArgumentos(args);
+        } catch (IllegalArgumentException e) {
+            errores.println("Error: " + e.getMessage());
+            imprimirUso(errores);
+            return SALIDA_USO;
+        }
+        if (consola.recalcularDesde != null) {
+            return consola.recalcular(salida, errores);
+        }
+        return consola.soloTotales
+            ? consola.totalizar(salida, errores)
+            : consola.procesar(salida, errores);
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS
+    // ========================================================================
+
+    /**
+     * Interpreta los argumentos de línea de comandos.
+     *
+     * @param args los argumentos
+     * @throws IllegalArgumentException si falta un argumento obligatorio o
+     *                                  alguno no es válido
+     */
+    private void leerArgumentos(String[] args) {
+        String periodo = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--periodo":
+                    periodo = valor(args, ++i, "--periodo");
+                    break;
+                case "--planilla":
+                    tipoPlanilla = valor(args, ++i, "--planilla").toUpperCase();
+                    if (!Constantes.PLANILLA_MENSUAL.equals(tipoPlanilla)
+                            && !Constantes.PLANILLA_QUINCENAL.equals(tipoPlanilla)) {
+                        throw new IllegalArgumentException("Tipo de planilla inválido: " + args[i]);
+                    }
+                    break;
+                case "--correo":
+                    enviarCorreos = true;
+                    break;
+                case "--reporte-patronal":
+                    reportePatronal = true;
+                    break;
+                case "--id":
+                    idEjecucion = valor(args, ++i, "--id");
+                    break;
+                case "--totales":
+                    soloTotales = true;
+                    break;
+                case "--recalcular":
+                    recalcularDesde = valor(args, ++i, "--recalcular");
+                    recalcularHasta = valor(args, ++i, "--recalcular");
+                    break;
+                case "--tasas":
+                    leerTasas(valor(args, ++i, "--tasas"));
+                    break;
+                case "--salida":
+                    archivoSalida = Paths.get(valor(args, ++i, "--salida"));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Argumento desconocido: " + args[i]);
+            }
+        }
+        if (recalcularDesde != null) {
+            validarRecalculo(periodo);
+            return;
+        }
+        if (archivoTasas != null || !tasasDesde.isEmpty() || archivoSalida != null) {
+            throw new IllegalArgumentException("--tasas y --salida solo se usan con --recalcular");
+        }
+        if (periodo == null) {
+            throw new IllegalArgumentException("Falta el argumento --periodo");
+        }
+        if (soloTotales && (enviarCorreos || reportePatronal || idEjecucion != null)) {
+            throw new IllegalArgumentException("--totales no genera comprobantes: no se combina con --correo, --reporte-patronal ni --id");
+        }
+
+        if (esCodigoPeriodo(periodo)) {
+            // La planilla se deduce del sufijo del código
+            fechaPeriodo = Periodos.fechaFin(periodo);
+            String planillaPeriodo = periodo.endsWith("-M")
+                ? Constantes.PLANILLA_MENSUAL : Constantes.PLANILLA_QUINCENAL;
+            if (tipoPlanilla != null && !tipoPlanilla.equals(planillaPeriodo)) {
+                throw new IllegalArgumentException("El período " + periodo
+                    + " no corresponde a la planilla " + tipoPlanilla);
+            }
+            tipoPlanilla = planillaPeriodo;
+            return;
+        }
+
+        // Fecha de referencia: la planilla debe indicarse
+        try {
+            fechaPeriodo = LocalDate.parse(periodo);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Período inválido: " + periodo);
+        }
+        if (tipoPlanilla == null) {
+            throw new IllegalArgumentException("Falta el argumento --planilla");
+        }
+    }
+
+    /**
+     * Interpreta el valor de una opción --tasas: un archivo para todo el rango
+     * o {@code <periodo>=<archivo>} para las tasas que rigen desde un período.
+     *
+     * @param valor el valor de la opción
+     * @throws IllegalArgumentException si se repite el archivo general o el
+     *                                  mismo período
+     */
+    private void leerTasas(String valor) {
+        int igual = valor.indexOf('=');
+        if (igual > 0 && esCodigoPeriodo(valor.substring(0, igual))) {
+            String periodo = valor.substring(0, igual);
+            if (tasasDesde.put(Periodos.codificar(periodo), Paths.get(valor.substring(igual + 1))) != null) {
+                throw new IllegalArgumentException("--tasas repetido para el período " + periodo);
+            }
+            return;
+        }
+        if (archivoTasas != null) {
+            throw new IllegalArgumentException("--tasas sin período solo puede indicarse una vez");
+        }
+        archivoTasas = Paths.get(valor);
+    }
+
+    /**
+     * Valida las opciones del recálculo retroactivo.
+     *
+     * @param periodo el valor de --periodo, que no debe indicarse
+     * @throws IllegalArgumentException si el rango no es válido o se
+     *                                  combinó con opciones de la nómina
+     */
+    private void validarRecalculo(String periodo) {
+        if (periodo != null || tipoPlanilla != null || enviarCorreos || reportePatronal || idEjecucion != null
+                || soloTotales) {
+            throw new IllegalArgumentException("--recalcular no se combina con las opciones de ejecución de la nómina");
+        }
+        for (String extremo : new String[] {recalcularDesde, recalcularHasta}) {
+            if (!esCodigoPeriodo(extremo)) {
+                throw new IllegalArgumentException("Período inválido: " + extremo);
+            }
+        }
+        if (Periodos.codificar(recalcularDesde) > Periodos.codificar(recalcularHasta)) {
+            throw new IllegalArgumentException("El período " + recalcularDesde
+                + " es posterior a " + recalcularHasta);
+        }
+    }
+
+    /**
+     * Indica si un texto es un código de período de {@link Periodos}.
+     *
+     * @param periodo el texto
+     * @return true si es un código de período válido
+     */
+    private static boolean esCodigoPeriodo(String periodo) {
+        try {
+            Periodos.codificar(periodo);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene el valor de una opción.
+     *
+     * @param args los argumentos
+     * @param i posición del valor
+     * @param opcion nombre de la opción, para el mensaje de error
+     * @return el valor
+     */
+    private static String valor(String[] args, int i, String opcion) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException("Falta el valor de " + opcion);
+        }
+        return args[i];
+    }
+
+    /**
+     * Ejecuta el proceso masivo e imprime el resumen.
+     *
+     * @param salida destino del resumen
+     * @param errores destino de los mensajes de error
+     * @return el código de salida
+     */
+    private int procesar(PrintStream salida, PrintStream errores) {
+        long inicio = System.nanoTime();
+        try {
+            ProcesoNominaMasiva.Resumen resumen = new ProcesoNominaMasiva()
+                .ejecutar(idEjecucion, fechaPeriodo, tipoPlanilla, enviarCorreos);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            salida.println("Período:     " + resumen.getPeriodo() + " (" + tipoPlanilla + ")");
+            salida.println("Ejecución:   " + resumen.getIdEjecucion());
+            salida.println("Procesados:  " + resumen.getProcesados());
+            salida.println("Omitidos:    " + resumen.getOmitidos());
+            salida.println("Excluidos:   " + resumen.getExcluidos());
+            salida.println("Errores:     " + resumen.getErrores());
+            salida.println(String.format("Tiempo:      %.2f s (%.1f nóminas/s)",
+                segundos, segundos > 0 ? resumen.getProcesados() / segundos : 0));
+
+            if (reportePatronal) {
+                // Incluye también las nóminas guardadas en ejecuciones anteriores del período
+                List<Nomina> nominas = new LogicaNomina().listarPorPeriodo(resumen.getPeriodo());
+                if (nominas.isEmpty()) {
+                    salida.println("Reporte patronal: sin nóminas en el período");
+                } else {
+                    String archivo = new GeneradorPDF().generarReportePatronoMensual(nominas, resumen.getPeriodo());
+                    salida.println("Reporte patronal: " + archivo);
+                }
+            }
+
+            return resumen.getErrores() > 0 ? SALIDA_ERRORES_EMPLEADOS : SALIDA_EXITO;
+        } catch (Exception e) {
+            errores.println("Error: la ejecución se detuvo: " + e.getMessage());
+            e.printStackTrace();
+            return SALIDA_FALLO;
+        }
+    }
+
+    /**
+     * Calcula los totales del período e imprime el resumen, sin generar
+     * comprobantes ni guardar nóminas.
+     *
+     * <p>Los empleados se cargan en un {@link AlmacenEmpleadosFueraHeap} y las
+     * nóminas se calculan en un {@link AlmacenNominasFueraHeap}, ambos sobre
+     * archivos de trabajo mapeados en el directorio temporal del sistema que
+     * se eliminan al terminar. Así la cantidad de empleados no está limitada
+     * por el tamaño del heap.</p>
+     *
+     * @param salida destino del resumen
+     * @param errores destino de los mensajes de error
+     * @return el código de salida
+     */
+    private int totalizar(PrintStream salida, PrintStream errores) {
+        long inicio = System.nanoTime();
+        Path trabajo = Paths.get(System.getProperty("java.io.tmpdir"));
+        String periodo = Periodos.formatear(fechaPeriodo, tipoPlanilla);
+        try (AlmacenEmpleadosFueraHeap empleados = AlmacenEmpleadosFueraHeap.mapeado(trabajo);
+             AlmacenNominasFueraHeap nominas = AlmacenNominasFueraHeap.mapeado(trabajo)) {
+            new LogicaEmpleado().cargarFueraHeap(empleados);
+            int calculadas = nominas.calcular(empleados, fechaPeriodo, tipoPlanilla,
+                new CalculadoraNomina(), new LogicaHistorialSalarial());
+            long[] totales = nominas.totalizar(periodo);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            salida.println("Período:      " + periodo + " (" + tipoPlanilla + ")");
+            salida.println("Calculadas:   " + calculadas);
+            salida.println("Excluidos:    " + (empleados.getCantidad() - calculadas));
+            salida.println("Bruto:        " + monto(totales[0]));
+            salida.println("Deducciones:  " + monto(totales[2]));
+            salida.println("Neto:         " + monto(totales[1]));
+            salida.println("Aportes:      " + monto(totales[3]));
+            salida.println("Costo total:  " + monto(totales[0] + totales[3]));
+            salida.println(String.format("Fuera heap:   %.1f MB",
+                (empleados.getBytesFueraHeap() + nominas.getBytesFueraHeap()) / (1024.0 * 1024.0)));
+            salida.println(String.format("Tiempo:       %.2f s (%.1f nóminas/s)",
+                segundos, segundos > 0 ? calculadas / segundos : 0));
+            return SALIDA_EXITO;
+        } catch (Exception e) {
+            errores.println("Error: el cálculo de totales se detuvo: " + e.getMessage());
+            e.printStackTrace();
+            return SALIDA_FALLO;
+        }
+    }
+
+    /**
+     * Formatea un monto en céntimos.
+     *
+     * @param centimos el monto en céntimos
+     * @return el monto en colones, con dos decimales
+     */
+    private static String monto(long centimos) {
+        return String.format("₡%.2f", centimos / 100.0);
+    }
+
+    /**
+     * Ejecuta el recálculo retroactivo, escribe el reporte de diferencias e
+     * imprime el resumen. Las nóminas guardadas no se modifican.
+     *
+     * @param salida destino del resumen
+     * @param errores destino de los mensajes de error
+     * @return el código de salida
+     */
+    private int recalcular(PrintStream salida, PrintStream errores) {
+        long inicio = System.nanoTime();
+        TasasNomina tasasBase;
+        TreeMap<Integer, TasasNomina> tasasPorInicio = new TreeMap<>();
+        Path archivo = archivoTasas;
+        try {
+            tasasBase = archivo == null ? new TasasNomina() : TasasNomina.cargar(archivo);
+            for (Map.Entry<Integer, Path> entrada : tasasDesde.entrySet()) {
+                archivo = entrada.getValue();
+                tasasPorInicio.put(entrada.getKey(), TasasNomina.cargar(archivo));
+            }
+        } catch (IllegalArgumentException e) {
+            errores.println("Error: archivo de tasas " + archivo + ": " + e.getMessage());
+            return SALIDA_USO;
+        } catch (Exception e) {
+            errores.println("Error: no se pudo leer el archivo de tasas " + archivo + ": " + e.getMessage());
+            return SALIDA_FALLO;
+        }
+        // Cada período usa las últimas tasas que rigen desde un período anterior o igual
+        Function<String, TasasNomina> tasas = periodo -> {
+            Map.Entry<Integer, TasasNomina> vigentes = tasasPorInicio.floorEntry(Periodos.codificar(periodo));
+            return vigentes != null ? vigentes.getValue() : tasasBase;
+        };
+        Path reporte = archivoSalida != null ? archivoSalida
+            : Paths.get("diferencias_" + recalcularDesde + "_" + recalcularHasta + ".csv");
+        try {
+            RecalculoRetroactivo.Resumen resumen;
+            try (Writer escritor = Files.newBufferedWriter(reporte, StandardCharsets.UTF_8)) {
+                resumen = new RecalculoRetroactivo(new LogicaNomina(), new LogicaHistorialSalarial())
+                    .ejecutar(recalcularDesde, recalcularHasta, tasas, RecalculoRetroactivo.reporteCsv(escritor));
+            }
+            double segundos = (System.nanoTime() - inicio) / 1e9;
+
+            salida.println("Rango:       " + recalcularDesde + " a " + recalcularHasta);
+            salida.println("Tasas:       " + (archivoTasas == null ? "vigentes" : archivoTasas.toString()));
+            for (Map.Entry<Integer, Path> entrada : tasasDesde.entrySet()) {
+                salida.println("             desde " + Periodos.decodificar(entrada.getKey()) + ": " + entrada.getValue());
+            }
+            salida.println("Períodos:    " + resumen.getPeriodos());
+            salida.println("Nóminas:     " + resumen.getNominas());
+            salida.println("Diferencias: " + resumen.getDiferencias());
+            salida.println("Reporte:     " + reporte);
+            salida.println(String.format("Tiempo:      %.2f s (%.1f nóminas/s)",
+                segundos, segundos > 0 ? resumen.getNominas() / segundos : 0));
+            return SALIDA_EXITO;
+        } catch (Exception e) {
+            errores.println("Error: el recálculo se detuvo: " + e.getMessage());
+            e.printStackTrace();
+            return SALIDA_FALLO;
+        }
+    }
+
+    /**
+     * Imprime la forma de uso.
+     *
+     * @param destino el destino del texto
+     */
+    private static void imprimirUso(PrintStream destino) {
+        destino.println("Uso: java Presentacion.NominaConsola --periodo <aaaa-mm-M|aaaa-mm-Q1|aaaa-mm-Q2|aaaa-mm-dd>");
+        destino.println("                                     [--planilla MENSUAL|QUINCENAL] [--correo]");
+        destino.println("                                     [--reporte-patronal] [--id <ejecucion>] [--totales]");
+        destino.println("       java Presentacion.NominaConsola --recalcular <desde> <hasta>");
+        destino.println("                                     [--tasas [<periodo>=]<archivo.properties>]...");
+        destino.println("                                     [--salida <archivo.csv>]");
+    }
+}
@@ -0,0 +1,153 @@
+package Presentacion;
+
+import java.awt.BorderLayout;
+import javax.swing.JButton;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+
+/**
+ * Panel reutilizable que muestra el avance de una tarea en segundo plano y
+ * permite cancelarla.
+ *
+ * <p>Los formularios ejecutan la lectura de archivos, los cálculos y la
+ * generación de PDF en un {@link SwingWorker} para no bloquear el hilo de
+ * eventos (EDT). Este panel se enlaza con el worker mediante
+ * {@link #vigilar(SwingWorker, String)}:
+ * <ul>
+ *   <li>Muestra una barra indeterminada hasta que el worker reporte avance
+ *       con {@code setProgress}</li>
+ *   <li>Habilita el botón "Cancelar", que invoca {@code cancel(true)}</li>
+ *   <li>Se reinicia automáticamente cuando el worker termina</li>
+ * </ul>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * SwingWorker&lt;Void, Empleado&gt; tarea = ...;
+ * panelProgreso.vigilar(tarea, "Cargando empleados...");
+ * tarea.execute();
+ * </pre>
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ */
+public class PanelProgreso extends JPanel {
+
+    // ========================================================================
+    // COMPONENTES VISUALES
+    // ========================================================================
+
+    /** Barra que muestra el avance de la tarea actual */
+    private final JProgressBar barraProgreso;
+
+    /** Botón para cancelar la tarea actual */
+    private final JButton btnCancelar;
+
+    // ========================================================================
+    // ATRIBUTOS
+    // ========================================================================
+
+    /** Tarea que se está vigilando, o null si no hay ninguna en curso */
+    private SwingWorker<?, ?> tareaActual;
+
+    // ========================================================================
+    // CONSTRUCTOR
+    // ========================================================================
+
+    /**
+     * Crea el panel con la barra de progreso vacía y el botón deshabilitado.
+     */
+    public PanelProgreso() {
+        super(new BorderLayout(10, 0));
+        barraProgreso = new JProgressBar(0, 100);
+        barraProgreso.setStringPainted(true);
+        barraProgreso.setString("");
+
+        btnCancelar = new JButton("Cancelar");
+        btnCancelar.setEnabled(false);
+        btnCancelar.addActionListener(evt -> cancelar());
+
+        add(barraProgreso, BorderLayout.CENTER);
+        add(btnCancelar, BorderLayout.EAST);
+    }
+
+    // ========================================================================
+    // MÉTODOS PÚBLICOS
+    // ========================================================================
+
+    /**
+     * Enlaza el panel con una tarea en segundo plano.
+     *
+     * <p>Debe invocarse desde el EDT antes de ejecutar la tarea. Si había otra
+     * tarea vigilada en curso, se cancela.
+     *
+     * @param tarea la tarea a vigilar
+     * @param descripcion texto mostrado en la barra mientras la tarea avanza
+     */
+    public void vigilar(SwingWorker<?, ?> tarea, String descripcion) {
+        if (tareaActual != null && !tareaActual.isDone()) {
+            tareaActual.cancel(true);
+        }
+        tareaActual = tarea;
+
+        barraProgreso.setIndeterminate(true);
+        barraProgreso.setValue(0);
+        barraProgreso.setString(descripcion);
+        btnCancelar.setEnabled(true);
+
+        tarea.addPropertyChangeListener(evt -> {
+            if (tarea != tareaActual) {
+                return; // Evento de una tarea anterior
+            }
+            if ("progress".equals(evt.getPropertyName())) {
+                barraProgreso.setIndeterminate(false);
+                barraProgreso.setValue((Integer) evt.getNewValue());
+            } else if ("state".equals(evt.getPropertyName())
+                    && evt.getNewValue() == SwingWorker.StateValue.DONE) {
+                reiniciar();
+            }
+        });
+    }
+
+    /**
+     * Actualiza el texto mostrado en la barra de progreso.
+     *
+     * @param descripcion el nuevo texto
+     */
+    public void setDescripcion(String descripcion) {
+        barraProgreso.setString(descripcion);
+    }
+
+    /**
+     * Indica si hay una tarea vigilada que aún no ha terminado.
+     *
+     * @return true si hay una tarea en curso
+     */
+    public boolean hayTareaEnCurso() {
+        return tareaActual != null && !tareaActual.isDone();
+    }
+
+    /**
+     * Cancela la tarea vigilada, si existe.
+     */
+    public void cancelar() {
+        if (tareaActual != null) {
+            tareaActual.cancel(true);
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS
+    // ========================================================================
+
+    /**
+     * Restablece el panel a su estado inicial cuando la tarea termina.
+     */
+    private void reiniciar() {
+        barraProgreso.setIndeterminate(false);
+        barraProgreso.setValue(0);
+        barraProgreso.setString("");
+        btnCancelar.setEnabled(false);
+        tareaActual = null;
+    }
+}
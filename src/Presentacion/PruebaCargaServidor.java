@@ -0,0 +1,189 @@
+package Presentacion;
+
+import Utilidades.Constantes;
+import Utilidades.Periodos;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prueba de carga del {@link ServidorNomina} en el equipo local.
+ *
+ * <p>Envía una cantidad fija de solicitudes GET desde varios clientes
+ * concurrentes (hilos virtuales) y reporta el rendimiento y la latencia
+ * p50, p99 y máxima de cada servicio. Si no se indica una URL base, inicia
+ * un servidor embebido en un puerto libre sobre los archivos del
+ * directorio actual; si se indica, usa el token que el servidor publicó en
+ * {@link ServidorNomina#ARCHIVO_TOKEN} del directorio actual.
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ * java -cp "ProyectoFinal.jar:lib/*" Presentacion.PruebaCargaServidor [solicitudes] [concurrencia] [urlBase]
+ *
+ *   solicitudes    solicitudes por servicio (por defecto 2000)
+ *   concurrencia   clientes simultáneos (por defecto 32)
+ *   urlBase        por ejemplo http://127.0.0.1:8085 (por defecto, servidor embebido)
+ * </pre>
+ *
+ * <p>Antes de medir se envía una ronda de calentamiento por servicio, para
+ * que la carga de clases y la construcción de los catálogos en memoria no
+ * afecten las latencias.
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ * @see ServidorNomina
+ */
+public class PruebaCargaServidor {
+
+    /** Solicitudes de calentamiento por servicio. */
+    private static final int CALENTAMIENTO = 200;
+
+    /**
+     * Servicios medidos, relativos a la URL base. El período de los cálculos
+     * es el de la fecha actual.
+     */
+    private static List<String> servicios() {
+        String periodo = Periodos.formatear(LocalDate.now(), Constantes.PLANILLA_QUINCENAL);
+        return Arrays.asList(
+            "/api/empleados?limite=50",
+            "/api/empleados?q=a&limite=10",
+            "/api/empleados/1",
+            "/api/nominas/calculo?idEmpleado=1&periodo=" + periodo,
+            "/api/nominas/resumen?periodo=" + periodo);
+    }
+
+    /**
+     * Ejecuta la prueba de carga e imprime los resultados.
+     *
+     * @param args solicitudes, concurrencia y URL base (todos opcionales)
+     * @throws Exception si la prueba no puede ejecutarse
+     */
+    public static void main(String[] args) throws Exception {
+        int solicitudes = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrencia = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        ServidorNomina embebido = null;
+        String base;
+        String token;
+        if (args.length > 2) {
+            base = args[2].replaceAll("/+$", "");
+            token = ServidorNomina.leerToken();
+        } else {
+            System.setProperty("java.awt.headless", "true");
+            embebido = ServidorNomina.iniciar(0);
+            base = "http://127.0.0.1:" + embebido.getPuerto();
+            token = embebido.getToken();
+        }
+
+        HttpClient cliente = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+        System.out.println("Servidor: " + base + "  solicitudes: " + solicitudes + "  concurrencia: " + concurrencia);
+        System.out.println(String.format("%-60s %10s %9s %9s %9s %7s",
+            "servicio", "sol/s", "p50 ms", "p99 ms", "max ms", "fallos"));
+        try {
+            for (String servicio : servicios()) {
+                HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + servicio))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+                medir(cliente, solicitud, CALENTAMIENTO, concurrencia);
+                Resultado r = medir(cliente, solicitud, solicitudes, concurrencia);
+                System.out.println(String.format(Locale.ROOT, "%-60s %10.0f %9.2f %9.2f %9.2f %7d",
+                    servicio, r.porSegundo, r.percentil(50), r.percentil(99), r.percentil(100), r.fallos));
+            }
+        } finally {
+            if (embebido != null) {
+                embebido.detener();
+            }
+        }
+    }
+
+    /**
+     * Resultado de medir un servicio.
+     */
+    private static final class Resultado {
+
+        /** Latencias de cada solicitud en nanosegundos, ordenadas. */
+        private final long[] latencias;
+
+        /** Solicitudes con error o con código distinto de 2xx/404. */
+        private final int fallos;
+
+        /** Rendimiento en solicitudes por segundo. */
+        private final double porSegundo;
+
+        Resultado(long[] latencias, int fallos, double porSegundo) {
+            this.latencias = latencias;
+            this.fallos = fallos;
+            this.porSegundo = porSegundo;
+        }
+
+        /**
+         * @param p el percentil, entre 0 y 100
+         * @return la latencia del percentil en milisegundos
+         */
+        double percentil(double p) {
+            int i = (int) Math.ceil(p / 100.0 * latencias.length) - 1;
+            return latencias[Math.max(0, Math.min(i, latencias.length - 1))] / 1e6;
+        }
+    }
+
+    /**
+     * Envía las solicitudes repartidas entre los clientes y mide cada una.
+     *
+     * @param cliente el cliente HTTP
+     * @param solicitud la solicitud al servicio
+     * @param solicitudes cantidad total de solicitudes
+     * @param concurrencia cantidad de clientes simultáneos
+     * @return las latencias medidas
+     * @throws Exception si un cliente falla de forma inesperada
+     */
+    private static Resultado medir(HttpClient cliente, HttpRequest solicitud, int solicitudes,
+                                   int concurrencia) throws Exception {
+        long[] latencias = new long[solicitudes];
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicInteger fallos = new AtomicInteger();
+
+        long inicio = System.nanoTime();
+        try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int c = 0; c < concurrencia; c++) {
+                tareas.add(clientes.submit(() -> {
+                    for (int i; (i = siguiente.getAndIncrement()) < solicitudes; ) {
+                        long t0 = System.nanoTime();
+                        try {
+                            int codigo = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (codigo / 100 != 2 && codigo != 404) {
+                                fallos.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            fallos.incrementAndGet();
+                        }
+                        latencias[i] = System.nanoTime() - t0;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        Arrays.sort(latencias);
+        return new Resultado(latencias, fallos.get(), solicitudes / segundos);
+    }
+}
@@ -0,0 +1,187 @@
+package Presentacion;
+
+import Entidades.Correo;
+import Entidades.Empleado;
+import Entidades.Nomina;
+import LogicaNegocio.CalculadoraNomina;
+import LogicaNegocio.GeneradorPDF;
+import LogicaNegocio.LogicaCorreo;
+import LogicaNegocio.LogicaEmpleado;
+import Utilidades.Constantes;
+import Utilidades.Periodos;
+import Utilidades.SumideroSmtp;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prueba de extremo a extremo del flujo de nómina sobre los datos del
+ * directorio actual, normalmente generados con
+ * {@link Utilidades.GeneradorDatos}.
+ *
+ * <p>Ejecuta en orden las etapas del proceso real y reporta, para cada una,
+ * los elementos procesados, el tiempo, el rendimiento y el pico de memoria
+ * heap:</p>
+ * <ol>
+ *   <li><b>listar:</b> carga de todos los empleados (sin caché)</li>
+ *   <li><b>calcular:</b> nómina completa de cada empleado en el período
+ *       actual de su planilla</li>
+ *   <li><b>pdf consolidado:</b> reporte patronal de cada planilla</li>
+ *   <li><b>pdf empleados:</b> comprobante de una muestra de empleados</li>
+ *   <li><b>correos:</b> envío de esos comprobantes a un
+ *       {@link SumideroSmtp} local, sin salir a la red</li>
+ * </ol>
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ * java -cp "ProyectoFinal.jar:lib/*" Utilidades.GeneradorDatos 100000
+ * java -Xmx1g -cp "ProyectoFinal.jar:lib/*" Presentacion.PruebaExtremoAExtremo [muestra]
+ *
+ *   muestra   empleados con comprobante PDF y correo (por defecto 500)
+ * </pre>
+ *
+ * <p>El pico de heap es la suma de los picos de cada zona de memoria
+ * durante la etapa, por lo que es una cota superior del uso real. Las
+ * nóminas calculadas no se guardan en el archivo de nóminas, para poder
+ * repetir la prueba sobre los mismos datos.
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ */
+public class PruebaExtremoAExtremo {
+
+    /** Comprobantes y correos por defecto. */
+    private static final int MUESTRA_POR_DEFECTO = 500;
+
+    /** Zonas de memoria heap, para medir el pico de cada etapa. */
+    private static final List<MemoryPoolMXBean> ZONAS_HEAP = new ArrayList<>();
+
+    /** Instante de inicio de la etapa en curso. */
+    private static long inicioEtapa;
+
+    static {
+        for (MemoryPoolMXBean zona : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (zona.getType() == MemoryType.HEAP) {
+                ZONAS_HEAP.add(zona);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta la prueba e imprime los resultados.
+     *
+     * @param args la muestra (opcional)
+     * @throws Exception si alguna etapa falla
+     */
+    public static void main(String[] args) throws Exception {
+        int muestra = args.length > 0 ? Integer.parseInt(args[0]) : MUESTRA_POR_DEFECTO;
+        System.setProperty("java.awt.headless", "true");
+
+        try (SumideroSmtp sumidero = SumideroSmtp.iniciar(0)) {
+            // Antes del primer envío: JavaMail crea la sesión una sola vez por proceso
+            System.setProperty("nomina.smtp.host", "127.0.0.1");
+            System.setProperty("nomina.smtp.puerto", String.valueOf(sumidero.getPuerto()));
+            System.setProperty("nomina.smtp.ssl", "false");
+
+            System.out.println("Directorio: " + new File("").getAbsolutePath());
+            System.out.println(String.format("%-16s %10s %9s %12s %12s",
+                "etapa", "elementos", "segundos", "elem/s", "heap pico MB"));
+
+            iniciarEtapa();
+            List<Empleado> empleados = new LogicaEmpleado().obtenerEmpleados();
+            terminarEtapa("listar", empleados.size());
+
+            iniciarEtapa();
+            LocalDate hoy = LocalDate.now();
+            CalculadoraNomina calculadora = new CalculadoraNomina();
+            List<Nomina> quincenales = new ArrayList<>();
+            List<Nomina> mensuales = new ArrayList<>();
+            for (Empleado emp : empleados) {
+                Nomina nomina = new Nomina(emp.getId(), emp, Periodos.formatear(hoy, emp.getTipoPlanilla()));
+                calculadora.calcularNominaCompleta(nomina);
+                (Constantes.PLANILLA_MENSUAL.equals(emp.getTipoPlanilla()) ? mensuales : quincenales).add(nomina);
+            }
+            terminarEtapa("calcular", empleados.size());
+
+            GeneradorPDF generador = new GeneradorPDF();
+            iniciarEtapa();
+            if (!quincenales.isEmpty()) {
+                generador.generarReportePatronoMensual(quincenales, quincenales.get(0).getPeriodo());
+            }
+            if (!mensuales.isEmpty()) {
+                generador.generarReportePatronoMensual(mensuales, mensuales.get(0).getPeriodo());
+            }
+            terminarEtapa("pdf consolidado", quincenales.size() + mensuales.size());
+
+            List<Nomina> seleccion = new ArrayList<>(quincenales);
+            seleccion.addAll(mensuales);
+            seleccion = seleccion.subList(0, Math.min(muestra, seleccion.size()));
+            List<String> comprobantes = new ArrayList<>();
+            iniciarEtapa();
+            for (Nomina nomina : seleccion) {
+                comprobantes.add(generador.generarReporteEmpleado(nomina));
+            }
+            terminarEtapa("pdf empleados", seleccion.size());
+
+            LogicaCorreo logicaCorreo = new LogicaCorreo();
+            iniciarEtapa();
+            for (int i = 0; i < seleccion.size(); i++) {
+                logicaCorreo.enviarCorreo(crearCorreo(seleccion.get(i), comprobantes.get(i)));
+            }
+            terminarEtapa("correos", seleccion.size());
+
+            System.out.println("Sumidero SMTP: " + sumidero.getMensajes() + " mensajes, "
+                + sumidero.getBytes() / 1024 + " KB");
+        }
+    }
+
+    /**
+     * Prepara la medición de una etapa: limpia la memoria de la etapa
+     * anterior y reinicia los picos.
+     */
+    private static void iniciarEtapa() {
+        System.gc();
+        for (MemoryPoolMXBean zona : ZONAS_HEAP) {
+            zona.resetPeakUsage();
+        }
+        inicioEtapa = System.nanoTime();
+    }
+
+    /**
+     * Imprime la fila de una etapa.
+     *
+     * @param etapa el nombre de la etapa
+     * @param elementos los elementos procesados
+     */
+    private static void terminarEtapa(String etapa, int elementos) {
+        double segundos = (System.nanoTime() - inicioEtapa) / 1e9;
+        long pico = 0;
+        for (MemoryPoolMXBean zona : ZONAS_HEAP) {
+            pico += zona.getPeakUsage().getUsed();
+        }
+        System.out.println(String.format(Locale.ROOT, "%-16s %10d %9.2f %12.0f %12.1f",
+            etapa, elementos, segundos, elementos / segundos, pico / (1024.0 * 1024.0)));
+    }
+
+    /**
+     * Arma el correo del comprobante de un empleado.
+     *
+     * @param nomina la nómina
+     * @param archivoPdf el comprobante
+     * @return el correo
+     */
+    private static Correo crearCorreo(Nomina nomina, String archivoPdf) {
+        Correo correo = new Correo();
+        correo.setEmail(nomina.getEmpleado().getEmail());
+        correo.setAsunto("Comprobante de Pago - " + nomina.getPeriodo());
+        correo.setMensaje("Estimado(a) " + nomina.getEmpleado().getNombreCompleto()
+            + ",\n\nAdjunto encontrará su comprobante de pago.");
+        correo.agregarArchivoAdjunto(new File(archivoPdf));
+        return correo;
+    }
+}
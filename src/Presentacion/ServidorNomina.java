@@ -0,0 +1,674 @@
+package Presentacion;
+
+import Entidades.Empleado;
+import Entidades.Nomina;
+import LogicaNegocio.CalculadoraNomina;
+import LogicaNegocio.GeneradorPDF;
+import LogicaNegocio.IndiceNominasPeriodo;
+import LogicaNegocio.LogicaEmpleado;
+import LogicaNegocio.LogicaHistorialSalarial;
+import LogicaNegocio.LogicaNomina;
+import LogicaNegocio.ProcesoNominaMasiva;
+import Utilidades.Constantes;
+import Utilidades.Periodos;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Servidor HTTP local que expone las consultas y procesos de nómina en
+ * formato JSON, para que otras herramientas internas no tengan que leer
+ * los archivos CSV directamente.
+ *
+ * <p>Es opcional: se inicia con {@link #main(String[])} o, desde otra
+ * aplicación, con {@link #iniciar(int)}. Utiliza el servidor
+ * {@code com.sun.net.httpserver} del JDK con un hilo virtual por solicitud,
+ * y una sola instancia de cada lógica, de modo que todas las solicitudes
+ * comparten el catálogo de empleados, los índices de nóminas y el historial
+ * salarial en memoria. Solo escucha en 127.0.0.1.
+ *
+ * <h3>Servicios:</h3>
+ * <ul>
+ *   <li>{@code GET /api/empleados?q=texto&limite=n}: lista o busca empleados</li>
+ *   <li>{@code GET /api/empleados/{id}}: un empleado</li>
+ *   <li>{@code GET /api/nominas/calculo?idEmpleado=n&periodo=p}: calcula la
+ *       nómina de un empleado sin guardarla</li>
+ *   <li>{@code GET /api/nominas?periodo=p}: nóminas guardadas de un período</li>
+ *   <li>{@code GET /api/nominas/resumen?periodo=p}: totales de un período</li>
+ *   <li>{@code POST /api/nominas/ejecutar?periodo=p&correo=true}: ejecuta la
+ *       nómina masiva del período</li>
+ *   <li>{@code GET /api/reportes/empleado?idEmpleado=n&periodo=p}: comprobante PDF</li>
+ *   <li>{@code GET /api/reportes/patronal?periodo=p}: reporte patronal consolidado PDF</li>
+ * </ul>
+ *
+ * <p>Los períodos usan el formato de {@link Periodos} (por ejemplo,
+ * {@code 2024-12-Q2}). Los errores se responden con el código HTTP
+ * correspondiente y un objeto {@code {"error": "..."}}.
+ *
+ * <p><b>Acceso:</b> escuchar en 127.0.0.1 no basta, porque cualquier página
+ * abierta en el navegador del equipo puede enviar solicitudes a esa
+ * dirección. Por eso:
+ * <ul>
+ *   <li>Cada inicio genera un token aleatorio y lo escribe en
+ *       {@link #ARCHIVO_TOKEN} (legible solo por el usuario). Toda solicitud
+ *       debe enviarlo en la cabecera {@code Authorization: Bearer <token>};
+ *       un formulario de otro sitio no puede agregar esa cabecera</li>
+ *   <li>La cabecera {@code Host} debe ser {@code 127.0.0.1} o
+ *       {@code localhost} con el puerto del servidor, lo que rechaza los
+ *       ataques de <i>DNS rebinding</i></li>
+ *   <li>Si la solicitud trae cabecera {@code Origin}, debe ser el propio
+ *       servidor</li>
+ * </ul>
+ *
+ * <p><b>Concurrencia:</b> las consultas se atienden en paralelo. La
+ * generación de PDF escribe archivos con nombre fijo y la nómina masiva
+ * mantiene una bitácora por período, por lo que ambas se serializan con un
+ * {@link ReentrantLock} (que, a diferencia de {@code synchronized}, no fija
+ * el hilo virtual a su hilo portador mientras espera).
+ *
+ * @author Rachell Mora Reyes
+ * @version 1.0
+ * @see PruebaCargaServidor
+ */
+public class ServidorNomina {
+
+    // ========================================================================
+    // CONSTANTES
+    // ========================================================================
+
+    /**
+     * Archivo, en el directorio de trabajo, donde se publica el token de
+     * acceso del servidor en ejecución.
+     */
+    public static final String ARCHIVO_TOKEN = "servidor.token";
+
+    // ========================================================================
+    // ATRIBUTOS PRIVADOS
+    // ========================================================================
+
+    /** Token de acceso de este inicio (64 dígitos hexadecimales). */
+    private final String token;
+
+    /** Servidor HTTP del JDK. */
+    private final HttpServer servidor;
+
+    /** Ejecutor con un hilo virtual por solicitud. */
+    private final ExecutorService ejecutor;
+
+    /** Lógica de empleados compartida por todas las solicitudes. */
+    private final LogicaEmpleado logicaEmpleado = new LogicaEmpleado();
+
+    /** Lógica de nóminas compartida por todas las solicitudes. */
+    private final LogicaNomina logicaNomina = new LogicaNomina();
+
+    /** Historial salarial compartido por todas las solicitudes. */
+    private final LogicaHistorialSalarial historialSalarial = new LogicaHistorialSalarial();
+
+    /** Calculadora con las tasas vigentes. */
+    private final CalculadoraNomina calculadora = new CalculadoraNomina();
+
+    /** Generador de los reportes PDF. */
+    private final GeneradorPDF generadorPDF = new GeneradorPDF();
+
+    /** Serializa la generación de PDF. */
+    private final ReentrantLock bloqueoReportes = new ReentrantLock();
+
+    /** Impide ejecutar dos nóminas masivas a la vez. */
+    private final ReentrantLock bloqueoEjecucion = new ReentrantLock();
+
+    // ========================================================================
+    // CONSTRUCTOR
+    // ========================================================================
+
+    /**
+     * Crea el servidor sin iniciarlo.
+     *
+     * @param puerto el puerto local, o 0 para elegir uno libre
+     * @throws IOException si el puerto no está disponible
+     */
+    private ServidorNomina(int puerto) throws IOException {
+        // Sin TCP_NODELAY, las respuestas pequeñas esperan el ACK retardado del cliente (~40 ms)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        byte[] aleatorio = new byte[32];
+        new SecureRandom().nextBytes(aleatorio);
+        token = HexFormat.of().formatHex(aleatorio);
+        servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 0);
+        ejecutor = Executors.newVirtualThreadPerTaskExecutor();
+        servidor.setExecutor(ejecutor);
+        servidor.createContext("/api/empleados", this::atenderEmpleados);
+        servidor.createContext("/api/nominas", this::atenderNominas);
+        servidor.createContext("/api/reportes", this::atenderReportes);
+    }
+
+    // ========================================================================
+    // MÉTODOS PÚBLICOS
+    // ========================================================================
+
+    /**
+     * Inicia el servidor en el puerto indicado por argumento o, si no se
+     * indica, en {@link Constantes#PUERTO_SERVIDOR_HTTP}.
+     *
+     * @param args opcionalmente, el puerto
+     * @throws IOException si el puerto no está disponible
+     */
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : Constantes.PUERTO_SERVIDOR_HTTP;
+        ServidorNomina servidor = iniciar(puerto);
+        System.out.println("Servidor de nómina escuchando en http://127.0.0.1:" + servidor.getPuerto() + "/api/");
+        System.out.println("Token de acceso en " + Paths.get(ARCHIVO_TOKEN).toAbsolutePath()
+                           + " (cabecera Authorization: Bearer <token>)");
+    }
+
+    /**
+     * Crea e inicia un servidor y publica su token en {@link #ARCHIVO_TOKEN}.
+     *
+     * @param puerto el puerto local, o 0 para elegir uno libre
+     * @return el servidor iniciado
+     * @throws IOException si el puerto no está disponible o no se puede
+     *                     escribir el archivo del token
+     */
+    public static ServidorNomina iniciar(int puerto) throws IOException {
+        ServidorNomina servidor = new ServidorNomina(puerto);
+        servidor.publicarToken();
+        servidor.servidor.start();
+        return servidor;
+    }
+
+    /**
+     * Lee el token publicado por el servidor en ejecución en el directorio
+     * de trabajo.
+     *
+     * @return el token
+     * @throws IOException si no existe el archivo del token
+     */
+    public static String leerToken() throws IOException {
+        return new String(Files.readAllBytes(Paths.get(ARCHIVO_TOKEN)), StandardCharsets.US_ASCII).trim();
+    }
+
+    /**
+     * Obtiene el token de acceso de este servidor.
+     *
+     * @return el token
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servidor.
+     *
+     * @return el puerto
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Detiene el servidor, esperando hasta un segundo a que terminen las
+     * solicitudes en curso.
+     */
+    public void detener() {
+        servidor.stop(1);
+        ejecutor.shutdown();
+        try {
+            if (token.equals(leerToken())) { // No borrar el de otro servidor iniciado después
+                Files.deleteIfExists(Paths.get(ARCHIVO_TOKEN));
+            }
+        } catch (IOException e) {
+            // El archivo ya no existe
+        }
+    }
+
+    // ========================================================================
+    // SERVICIOS
+    // ========================================================================
+
+    /**
+     * Atiende {@code /api/empleados} y {@code /api/empleados/{id}}.
+     *
+     * @param intercambio la solicitud
+     * @throws IOException si falla la respuesta
+     */
+    private void atenderEmpleados(HttpExchange intercambio) throws IOException {
+        atender(intercambio, "GET", parametros -> {
+            String resto = subruta(intercambio, "/api/empleados");
+            if (!resto.isEmpty()) {
+                Empleado empleado = logicaEmpleado.buscarPorId(Integer.parseInt(resto));
+                return empleado == null ? noEncontrado("Empleado no encontrado") : new Respuesta(200, json(empleado));
+            }
+            String texto = parametros.get("q");
+            int limite = Integer.parseInt(parametros.getOrDefault("limite", "100"));
+            List<Empleado> empleados = texto != null
+                ? logicaEmpleado.buscarEmpleados(texto, limite)
+                : logicaEmpleado.obtenerEmpleados();
+            StringBuilder json = new StringBuilder("[");
+            for (int i = 0; i < empleados.size() && i < limite; i++) {
+                json.append(i > 0 ? "," : "").append(json(empleados.get(i)));
+            }
+            return new Respuesta(200, json.append(']').toString());
+        });
+    }
+
+    /**
+     * Atiende {@code /api/nominas}, {@code /api/nominas/calculo},
+     * {@code /api/nominas/resumen} y {@code /api/nominas/ejecutar}.
+     *
+     * @param intercambio la solicitud
+     * @throws IOException si falla la respuesta
+     */
+    private void atenderNominas(HttpExchange intercambio) throws IOException {
+        String resto = subruta(intercambio, "/api/nominas");
+        atender(intercambio, resto.equals("ejecutar") ? "POST" : "GET", parametros -> {
+            String periodo = periodo(parametros);
+            switch (resto) {
+                case "": {
+                    StringBuilder json = new StringBuilder("[");
+                    for (Nomina nomina : logicaNomina.listarPorPeriodo(periodo)) {
+                        json.append(json.length() > 1 ? "," : "").append(json(nomina));
+                    }
+                    return new Respuesta(200, json.append(']').toString());
+                }
+                case "calculo": {
+                    Nomina nomina = calcular(parametros, periodo);
+                    return nomina == null ? noEncontrado("Empleado no encontrado") : new Respuesta(200, json(nomina));
+                }
+                case "resumen": {
+                    IndiceNominasPeriodo resumen = logicaNomina.obtenerResumen(periodo);
+                    return new Respuesta(200, "{\"periodo\":" + texto(periodo)
+                        + ",\"empleados\":" + resumen.getCantidadEmpleados()
+                        + ",\"totalSalarioBruto\":" + monto(resumen.getTotalSalarioBruto())
+                        + ",\"totalDeducciones\":" + monto(resumen.getTotalDeducciones())
+                        + ",\"totalAportesPatronales\":" + monto(resumen.getTotalAportesPatronales())
+                        + ",\"totalSalarioNeto\":" + monto(resumen.getTotalSalarioNeto()) + "}");
+                }
+                case "ejecutar":
+                    return ejecutar(periodo, Boolean.parseBoolean(parametros.get("correo")));
+                default:
+                    return noEncontrado("Servicio no encontrado");
+            }
+        });
+    }
+
+    /**
+     * Atiende {@code /api/reportes/empleado} y {@code /api/reportes/patronal}.
+     *
+     * @param intercambio la solicitud
+     * @throws IOException si falla la respuesta
+     */
+    private void atenderReportes(HttpExchange intercambio) throws IOException {
+        atender(intercambio, "GET", parametros -> {
+            String periodo = periodo(parametros);
+            String resto = subruta(intercambio, "/api/reportes");
+            bloqueoReportes.lock();
+            try {
+                String archivo;
+                if (resto.equals("empleado")) {
+                    Nomina nomina = calcular(parametros, periodo);
+                    if (nomina == null) {
+                        return noEncontrado("Empleado no encontrado");
+                    }
+                    archivo = generadorPDF.generarReporteEmpleado(nomina);
+                } else if (resto.equals("patronal")) {
+                    List<Nomina> nominas = logicaNomina.listarPorPeriodo(periodo);
+                    if (nominas.isEmpty()) {
+                        return noEncontrado("El período no tiene nóminas guardadas");
+                    }
+                    archivo = generadorPDF.generarReportePatronoMensual(nominas, periodo);
+                } else {
+                    return noEncontrado("Servicio no encontrado");
+                }
+                intercambio.getResponseHeaders().set("Content-Disposition", "attachment; filename=\"" + archivo + "\"");
+                return new Respuesta(200, "application/pdf", Files.readAllBytes(Paths.get(archivo)));
+            } finally {
+                bloqueoReportes.unlock();
+            }
+        });
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS - NÓMINA
+    // ========================================================================
+
+    /**
+     * Calcula la nómina de un empleado con el salario vigente en el período.
+     *
+     * @param parametros parámetros de la solicitud (requiere idEmpleado)
+     * @param periodo el código del período
+     * @return la nómina calculada, o null si el empleado no existe
+     * @throws IOException si ocurre un error al leer los datos
+     */
+    private Nomina calcular(Map<String, String> parametros, String periodo) throws IOException {
+        Empleado empleado = logicaEmpleado.buscarPorId(Integer.parseInt(obligatorio(parametros, "idEmpleado")));
+        if (empleado == null) {
+            return null;
+        }
+        Nomina nomina = new Nomina(0, empleado, periodo);
+        historialSalarial.aplicarSalarioVigente(nomina);
+        calculadora.calcularNominaCompleta(nomina);
+        return nomina;
+    }
+
+    /**
+     * Ejecuta la nómina masiva de un período, si no hay otra en curso.
+     *
+     * @param periodo el código del período
+     * @param enviarCorreos true para enviar los comprobantes por correo
+     * @return el resumen de la ejecución, o 409 si hay otra en curso
+     * @throws IOException si la ejecución se detuvo por un error
+     */
+    private Respuesta ejecutar(String periodo, boolean enviarCorreos) throws IOException {
+        if (!bloqueoEjecucion.tryLock()) {
+            return new Respuesta(409, error("Ya hay una ejecución de nómina en curso"));
+        }
+        try {
+            String planilla = periodo.endsWith("-M") ? Constantes.PLANILLA_MENSUAL : Constantes.PLANILLA_QUINCENAL;
+            LocalDate fecha = Periodos.fechaFin(periodo);
+            long inicio = System.nanoTime();
+            ProcesoNominaMasiva.Resumen resumen;
+            bloqueoReportes.lock(); // La ejecución también genera comprobantes PDF
+            try {
+                resumen = new ProcesoNominaMasiva().ejecutar(null, fecha, planilla, enviarCorreos);
+            } finally {
+                bloqueoReportes.unlock();
+            }
+            long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+            return new Respuesta(200, "{\"periodo\":" + texto(resumen.getPeriodo())
+                + ",\"procesados\":" + resumen.getProcesados()
+                + ",\"omitidos\":" + resumen.getOmitidos()
+                + ",\"excluidos\":" + resumen.getExcluidos()
+                + ",\"errores\":" + resumen.getErrores()
+                + ",\"milisegundos\":" + milisegundos + "}");
+        } finally {
+            bloqueoEjecucion.unlock();
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS - HTTP
+    // ========================================================================
+
+    /**
+     * Lógica de un servicio, que puede lanzar cualquier excepción.
+     */
+    private interface Servicio {
+        Respuesta atender(Map<String, String> parametros) throws Exception;
+    }
+
+    /**
+     * Respuesta de un servicio.
+     */
+    private static final class Respuesta {
+
+        private final int codigo;
+        private final String tipo;
+        private final byte[] cuerpo;
+
+        Respuesta(int codigo, String json) {
+            this(codigo, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+        }
+
+        Respuesta(int codigo, String tipo, byte[] cuerpo) {
+            this.codigo = codigo;
+            this.tipo = tipo;
+            this.cuerpo = cuerpo;
+        }
+    }
+
+    /**
+     * Valida el acceso y el método, ejecuta el servicio y envía su respuesta,
+     * traduciendo las excepciones a códigos HTTP.
+     *
+     * @param intercambio la solicitud
+     * @param metodo el método HTTP aceptado
+     * @param servicio la lógica del servicio
+     * @throws IOException si falla el envío de la respuesta
+     */
+    private void atender(HttpExchange intercambio, String metodo, Servicio servicio) throws IOException {
+        Respuesta respuesta;
+        try {
+            Respuesta rechazo = validarAcceso(intercambio);
+            if (rechazo != null) {
+                respuesta = rechazo;
+            } else if (!metodo.equals(intercambio.getRequestMethod())) {
+                intercambio.getResponseHeaders().set("Allow", metodo);
+                respuesta = new Respuesta(405, error("Método no permitido"));
+            } else {
+                respuesta = servicio.atender(parametros(intercambio.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Incluye NumberFormatException y períodos inválidos
+            respuesta = new Respuesta(400, error(e.getMessage()));
+        } catch (Exception e) {
+            e.printStackTrace();
+            respuesta = new Respuesta(500, error("Error interno: " + e.getMessage()));
+        }
+
+        intercambio.getResponseHeaders().set("Content-Type", respuesta.tipo);
+        intercambio.sendResponseHeaders(respuesta.codigo, respuesta.cuerpo.length);
+        try (OutputStream cuerpo = intercambio.getResponseBody()) {
+            cuerpo.write(respuesta.cuerpo);
+        }
+    }
+
+    /**
+     * Verifica las cabeceras {@code Host}, {@code Origin} y
+     * {@code Authorization} de una solicitud.
+     *
+     * @param intercambio la solicitud
+     * @return la respuesta de rechazo, o null si la solicitud es válida
+     */
+    private Respuesta validarAcceso(HttpExchange intercambio) {
+        String host = intercambio.getRequestHeaders().getFirst("Host");
+        if (host == null || !esLocal(host)) {
+            return new Respuesta(403, error("Host no permitido"));
+        }
+        String origen = intercambio.getRequestHeaders().getFirst("Origin");
+        if (origen != null && !(origen.regionMatches(true, 0, "http://", 0, 7) && esLocal(origen.substring(7)))) {
+            return new Respuesta(403, error("Origen no permitido"));
+        }
+        String autorizacion = intercambio.getRequestHeaders().getFirst("Authorization");
+        byte[] recibido = autorizacion != null && autorizacion.startsWith("Bearer ")
+            ? autorizacion.substring(7).trim().getBytes(StandardCharsets.US_ASCII)
+            : new byte[0];
+        if (!MessageDigest.isEqual(recibido, token.getBytes(StandardCharsets.US_ASCII))) {
+            intercambio.getResponseHeaders().set("WWW-Authenticate", "Bearer");
+            return new Respuesta(401, error("Falta el token de acceso o no es válido (ver " + ARCHIVO_TOKEN + ")"));
+        }
+        return null;
+    }
+
+    /**
+     * Indica si un valor {@code host:puerto} es este servidor.
+     */
+    private boolean esLocal(String hostPuerto) {
+        String puerto = ":" + getPuerto();
+        return hostPuerto.equalsIgnoreCase("127.0.0.1" + puerto)
+            || hostPuerto.equalsIgnoreCase("localhost" + puerto);
+    }
+
+    /**
+     * Escribe el token en {@link #ARCHIVO_TOKEN}, con permisos solo para el
+     * usuario donde el sistema de archivos lo permite.
+     *
+     * @throws IOException si no se puede escribir el archivo
+     */
+    private void publicarToken() throws IOException {
+        Path archivo = Paths.get(ARCHIVO_TOKEN);
+        Files.deleteIfExists(archivo);
+        try {
+            Files.createFile(archivo, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } catch (UnsupportedOperationException e) {
+            Files.createFile(archivo); // Sin permisos POSIX (Windows)
+        }
+        Files.write(archivo, token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Obtiene la parte de la ruta posterior al contexto, sin barras.
+     */
+    private static String subruta(HttpExchange intercambio, String contexto) {
+        String ruta = intercambio.getRequestURI().getPath().substring(contexto.length());
+        return ruta.replaceAll("^/+|/+$", "");
+    }
+
+    /**
+     * Interpreta los parámetros de la consulta.
+     */
+    private static Map<String, String> parametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null || consulta.isEmpty()) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8),
+                           URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    /**
+     * Obtiene un parámetro obligatorio.
+     *
+     * @throws IllegalArgumentException si falta
+     */
+    private static String obligatorio(Map<String, String> parametros, String nombre) {
+        String valor = parametros.get(nombre);
+        if (valor == null || valor.isEmpty()) {
+            throw new IllegalArgumentException("Falta el parámetro " + nombre);
+        }
+        return valor;
+    }
+
+    /**
+     * Obtiene y valida el parámetro {@code periodo}.
+     *
+     * @throws IllegalArgumentException si falta o no tiene el formato de {@link Periodos}
+     */
+    private static String periodo(Map<String, String> parametros) {
+        String periodo = obligatorio(parametros, "periodo");
+        Periodos.codificar(periodo);
+        return periodo;
+    }
+
+    private static Respuesta noEncontrado(String mensaje) {
+        return new Respuesta(404, error(mensaje));
+    }
+
+    private static String error(String mensaje) {
+        return "{\"error\":" + texto(mensaje) + "}";
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS - JSON
+    // ========================================================================
+
+    /**
+     * Convierte un empleado a JSON.
+     */
+    private static String json(Empleado e) {
+        return "{\"id\":" + e.getId()
+            + ",\"cedula\":" + texto(e.getCedula())
+            + ",\"nombre\":" + texto(e.getNombre())
+            + ",\"apellido1\":" + texto(e.getApellido1())
+            + ",\"apellido2\":" + texto(e.getApellido2())
+            + ",\"email\":" + texto(e.getEmail())
+            + ",\"telefono\":" + texto(e.getTelefono())
+            + ",\"salarioBruto\":" + monto(e.getSalarioBruto())
+            + ",\"tipoPlanilla\":" + texto(e.getTipoPlanilla())
+            + ",\"puesto\":" + texto(e.getPuesto())
+            + ",\"fechaIngreso\":" + texto(e.getFechaIngreso() == null ? null : e.getFechaIngreso().toString())
+            + "}";
+    }
+
+    /**
+     * Convierte una nómina a JSON.
+     */
+    private static String json(Nomina n) {
+        return "{\"id\":" + n.getId()
+            + ",\"idEmpleado\":" + n.getEmpleado().getId()
+            + ",\"periodo\":" + texto(n.getPeriodo())
+            + ",\"fechaEmision\":" + texto(n.getFechaEmision() == null ? null : n.getFechaEmision().toString())
+            + ",\"salarioBruto\":" + monto(n.getSalarioBruto())
+            + ",\"deduccionIVM\":" + monto(n.getDeduccionIVM())
+            + ",\"deduccionSEM\":" + monto(n.getDeduccionSEM())
+            + ",\"deduccionBancoPop\":" + monto(n.getDeduccionBancoPop())
+            + ",\"deduccionImpuestoRenta\":" + monto(n.getDeduccionImpuestoRenta())
+            + ",\"totalDeducciones\":" + monto(n.getTotalDeducciones())
+            + ",\"aporteIVM\":" + monto(n.getAporteIVM())
+            + ",\"aporteSEM\":" + monto(n.getAporteSEM())
+            + ",\"aporteINA\":" + monto(n.getAporteINA())
+            + ",\"aporteFCL\":" + monto(n.getAporteFCL())
+            + ",\"aporteAsignaciones\":" + monto(n.getAporteAsignaciones())
+            + ",\"totalAportesPatronales\":" + monto(n.getTotalAportesPatronales())
+            + ",\"salarioNeto\":" + monto(n.getSalarioNeto())
+            + "}";
+    }
+
+    /**
+     * Formatea un monto con dos decimales y punto decimal.
+     */
+    private static String monto(double monto) {
+        return String.format(Locale.ROOT, "%.2f", monto);
+    }
+
+    /**
+     * Convierte un texto en una cadena JSON escapada, o {@code null}.
+     */
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(valor.length() + 2).append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        return json.append('"').toString();
+    }
+}
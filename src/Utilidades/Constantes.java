@@ -266,6 +266,31 @@ public class Constantes {
      */
     public static final String PLANILLA_MENSUAL = "MENSUAL";
     
+    // ========================================================================
+    // ARCHIVO HISTÓRICO
+    // ========================================================================
+    
+    /**
+     * Antigüedad, en meses, a partir de la cual las nóminas de un período se
+     * trasladan al archivo histórico comprimido.
+     * 
+     * <p>Es el valor inicial; puede cambiarse en ejecución con
+     * {@code ArchivadorNominas.setMesesAntiguedad(int)}.
+     */
+    public static final int MESES_ANTIGUEDAD_ARCHIVO = 12;
+    
+    // ========================================================================
+    // SERVIDOR HTTP LOCAL
+    // ========================================================================
+    
+    /**
+     * Puerto por defecto del servidor HTTP local de consultas.
+     * 
+     * <p>El servidor solo escucha en la interfaz local (127.0.0.1), por lo
+     * que únicamente las herramientas del mismo equipo pueden consultarlo.
+     */
+    public static final int PUERTO_SERVIDOR_HTTP = 8085;
+    
     /**
      * Constructor privado para prevenir la instanciación de esta clase.
      * 
@@ -0,0 +1,88 @@
+package Utilidades;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diccionario que asigna a cada cadena distinta un código {@code int}
+ * consecutivo, empezando en 0.
+ *
+ * <p>Permite guardar columnas con pocos valores distintos (tipo de planilla,
+ * puesto, nombres) como arreglos de códigos en lugar de una referencia a
+ * un {@code String} por fila: cada valor distinto se guarda una sola vez y
+ * todas las filas que lo repiten comparten la misma instancia.</p>
+ *
+ * <p>El valor {@code null} se codifica como {@link #NULO}.</p>
+ *
+ * <p><b>Concurrencia:</b> no es seguro para escrituras concurrentes;
+ * después de construido puede leerse desde varios hilos si se publicó de
+ * forma segura.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * DiccionarioCadenas puestos = new DiccionarioCadenas();
+ * int codigo = puestos.codificar("Contador");   // 0
+ * puestos.codificar("Contador");                // 0 de nuevo
+ * String puesto = puestos.decodificar(codigo);  // "Contador"
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public class DiccionarioCadenas {
+
+    /**
+     * Código del valor {@code null}.
+     */
+    public static final int NULO = -1;
+
+    /**
+     * Código de cada cadena registrada.
+     */
+    private final Map<String, Integer> codigos = new HashMap<>();
+
+    /**
+     * Cadenas registradas, en la posición de su código.
+     */
+    private final List<String> valores = new ArrayList<>();
+
+    /**
+     * Obtiene el código de una cadena, registrándola si es nueva.
+     *
+     * @param valor la cadena (puede ser null)
+     * @return su código, o {@link #NULO} si es null
+     */
+    public int codificar(String valor) {
+        if (valor == null) {
+            return NULO;
+        }
+        Integer codigo = codigos.get(valor);
+        if (codigo == null) {
+            codigo = valores.size();
+            codigos.put(valor, codigo);
+            valores.add(valor);
+        }
+        return codigo;
+    }
+
+    /**
+     * Obtiene la cadena de un código.
+     *
+     * @param codigo un código devuelto por {@link #codificar(String)}
+     * @return la cadena, o null si el código es {@link #NULO}
+     */
+    public String decodificar(int codigo) {
+        return codigo == NULO ? null : valores.get(codigo);
+    }
+
+    /**
+     * Obtiene la cantidad de cadenas distintas registradas.
+     *
+     * @return la cantidad de códigos asignados
+     */
+    public int getCantidad() {
+        return valores.size();
+    }
+}
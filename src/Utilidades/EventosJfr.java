@@ -0,0 +1,185 @@
+package Utilidades;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// ================================================================================
+// CLASE EventosJfr
+// ================================================================================
+
+/**
+ * Eventos de JDK Flight Recorder de las operaciones principales del sistema,
+ * para correlacionarlas en una misma grabación con la recolección de basura,
+ * la E/S y los hilos de la JVM.
+ *
+ * <p>Todos los eventos están <b>deshabilitados por defecto</b>. Mientras no
+ * se habiliten, {@code begin()}, {@code shouldCommit()} y {@code commit()}
+ * no hacen nada y el compilador JIT los elimina; por eso los campos que
+ * tienen algún costo (tamaño de archivos, páginas de un PDF) se calculan
+ * solo dentro de {@code if (evento.shouldCommit())}.</p>
+ *
+ * <p><b>Uso típico:</b></p>
+ * <pre>
+ * EventosJfr.LecturaArchivo evento = new EventosJfr.LecturaArchivo();
+ * evento.begin();
+ * ... // la operación
+ * if (evento.shouldCommit()) {
+ *     evento.archivo = archivo;
+ *     evento.commit();
+ * }
+ * </pre>
+ *
+ * <p><b>Grabación:</b> se habilitan por nombre en la línea de comandos o en
+ * un archivo de configuración de JFR, por ejemplo:</p>
+ * <pre>
+ * java -XX:StartFlightRecording:filename=nomina.jfr,+ProyectoFinal.LecturaArchivo#enabled=true,...
+ * </pre>
+ * <p>o con {@code jcmd <pid> JFR.start settings=nomina.jfc}, donde el archivo
+ * {@code .jfc} habilita los eventos {@code ProyectoFinal.*}.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see Metricas
+ */
+public final class EventosJfr {
+
+    /** Categoría raíz de todos los eventos. */
+    private static final String CATEGORIA = "ProyectoFinal";
+
+    /**
+     * Constructor privado para evitar la instanciación de la clase.
+     */
+    private EventosJfr() {
+    }
+
+    // ================================================================================
+    // ARCHIVOS
+    // ================================================================================
+
+    /**
+     * Lectura completa de un archivo CSV.
+     */
+    @Name("ProyectoFinal.LecturaArchivo")
+    @Label("Lectura de archivo")
+    @Description("Recorrido completo de un archivo de registros CSV")
+    @Category({CATEGORIA, "Archivos"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class LecturaArchivo extends Event {
+
+        @Label("Archivo")
+        public String archivo;
+
+        @Label("Líneas")
+        public int lineas;
+
+        @Label("Tamaño")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * Reescritura completa de un archivo CSV (modificación, eliminación o
+     * aplicación de un lote del diario).
+     */
+    @Name("ProyectoFinal.ReescrituraArchivo")
+    @Label("Reescritura de archivo")
+    @Description("Reescritura de un archivo de registros en un temporal y reemplazo atómico")
+    @Category({CATEGORIA, "Archivos"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class ReescrituraArchivo extends Event {
+
+        @Label("Archivo")
+        public String archivo;
+
+        @Label("Tamaño resultante")
+        @DataAmount
+        public long bytes;
+    }
+
+    // ================================================================================
+    // NÓMINA
+    // ================================================================================
+
+    /**
+     * Ejecución de una nómina masiva.
+     */
+    @Name("ProyectoFinal.LoteNominas")
+    @Label("Lote de nóminas")
+    @Description("Cálculo, comprobantes y correos de la nómina masiva de un período")
+    @Category({CATEGORIA, "Nómina"})
+    @Enabled(false)
+    public static final class LoteNominas extends Event {
+
+        @Label("Período")
+        public String periodo;
+
+        @Label("Tipo de planilla")
+        public String tipoPlanilla;
+
+        @Label("Procesadas")
+        public int procesadas;
+
+        @Label("Omitidas")
+        @Description("Empleados cuyas etapas ya estaban completas en la bitácora")
+        public int omitidas;
+
+        @Label("Errores")
+        public int errores;
+    }
+
+    /**
+     * Generación de un reporte PDF.
+     */
+    @Name("ProyectoFinal.GeneracionPDF")
+    @Label("Generación de PDF")
+    @Category({CATEGORIA, "Reportes"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class GeneracionPDF extends Event {
+
+        @Label("Tipo de reporte")
+        public String tipo;
+
+        @Label("Archivo")
+        public String archivo;
+
+        @Label("Páginas")
+        public int paginas;
+
+        @Label("Tamaño")
+        @DataAmount
+        public long bytes;
+    }
+
+    /**
+     * Envío de un correo por SMTP. La duración del evento es la del envío.
+     */
+    @Name("ProyectoFinal.EnvioCorreo")
+    @Label("Envío de correo")
+    @Category({CATEGORIA, "Correo"})
+    @Enabled(false)
+    @StackTrace(false)
+    public static final class EnvioCorreo extends Event {
+
+        @Label("Destinatarios")
+        public int destinatarios;
+
+        @Label("Adjuntos")
+        public int adjuntos;
+
+        @Label("Tamaño de adjuntos")
+        @DataAmount
+        public long bytesAdjuntos;
+
+        @Label("Exitoso")
+        public boolean exitoso;
+    }
+}
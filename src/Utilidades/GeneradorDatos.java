@@ -0,0 +1,362 @@
+package Utilidades;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+// ================================================================================
+// CLASE GeneradorDatos
+// ================================================================================
+
+/**
+ * Generador de datos sintéticos para reproducir localmente el volumen de
+ * producción.
+ *
+ * <p>Escribe {@code empleados.txt}, {@code usuarios.txt} e
+ * {@code idControl.txt} en el directorio de ejecución, con el mismo formato
+ * que usa el sistema, y elimina los datos derivados de los empleados
+ * anteriores (ver {@link #generar(int)}):</p>
+ * <ul>
+ *   <li><b>Cédulas:</b> formato físico {@code P-TTTT-AAAA}, con la provincia
+ *       ponderada por población (San José y Alajuela son las más comunes) y
+ *       sin repetidos.</li>
+ *   <li><b>Salarios:</b> distribución log-normal con mediana cercana a
+ *       ₡650 000 y cola larga hacia salarios altos, de modo que hay
+ *       empleados en todos los tramos de renta; el mínimo es
+ *       {@link #SALARIO_MINIMO}.</li>
+ *   <li><b>Planillas:</b> 70 % {@link Constantes#PLANILLA_QUINCENAL} y 30 %
+ *       {@link Constantes#PLANILLA_MENSUAL}.</li>
+ *   <li><b>Fecha de ingreso:</b> hasta 20 años atrás, con más ingresos
+ *       recientes que antiguos.</li>
+ * </ul>
+ *
+ * <p>Con la misma semilla se generan los mismos empleados; solo las fechas
+ * de ingreso se calculan a partir de la fecha actual.</p>
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ * java -cp "ProyectoFinal.jar:lib/*" Utilidades.GeneradorDatos empleados [semilla] [--sobrescribir]
+ * </pre>
+ *
+ * <p>Para no perder datos reales, se niega a reemplazar un
+ * {@code empleados.txt} existente salvo que se indique
+ * {@code --sobrescribir}; lo normal es ejecutarlo en un directorio vacío.</p>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public final class GeneradorDatos {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Salario bruto mínimo generado. */
+    public static final double SALARIO_MINIMO = 365000;
+
+    /** Mediana de la distribución de salarios. */
+    private static final double SALARIO_MEDIANA = 650000;
+
+    /** Dispersión (sigma) del logaritmo del salario. */
+    private static final double SALARIO_DISPERSION = 0.55;
+
+    /** Proporción de empleados en planilla quincenal. */
+    private static final double PROPORCION_QUINCENAL = 0.7;
+
+    /** Empleados por cada usuario del sistema generado. */
+    private static final int EMPLEADOS_POR_USUARIO = 1000;
+
+    /** Formato de la fecha de ingreso, igual al de LogicaEmpleado. */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    /**
+     * Provincias 1 a 7 repetidas según su peso aproximado en la población.
+     */
+    private static final int[] PROVINCIAS = {1, 1, 1, 1, 1, 2, 2, 2, 3, 3, 4, 4, 5, 6, 6, 7};
+
+    /**
+     * Multiplicador impar y no divisible entre 5: recorre los 10^8 pares
+     * tomo-asiento sin repetir ninguno.
+     */
+    private static final long MULTIPLICADOR_CEDULA = 48271;
+
+    /**
+     * Archivos derivados de los empleados anteriores que se eliminan al
+     * generar: particiones de nóminas y sus índices, períodos archivados y
+     * bitácoras de ejecución ({@code AccesoDatos.BitacoraEjecucion}).
+     */
+    private static final String[] DERIVADOS = {
+        NombresArchivos.NOMINAS_BINARIO.getNombreParticion("*"),
+        NombresArchivos.NOMINAS_BINARIO.getNombreParticion("*") + ".idx",
+        NombresArchivos.NOMINAS_ARCHIVADAS.getNombreParticion("*"),
+        "bitacora_*.txt"
+    };
+
+    /**
+     * Diarios de escrituras pendientes ({@code AccesoDatos.DiarioEscrituras}):
+     * al iniciar se reaplicarían sobre los empleados nuevos.
+     */
+    private static final String DIARIOS = "diario*.wal";
+
+    /** Marcas diacríticas que quedan al descomponer un texto. */
+    private static final Pattern TILDES = Pattern.compile("\\p{M}");
+
+    /** Nombres de pila. */
+    private static final String[] NOMBRES = {
+        "José", "María", "Luis", "Ana", "Carlos", "Laura", "Jorge", "Sofía", "Andrés", "Daniela",
+        "Juan", "Valeria", "Diego", "Gabriela", "Alejandro", "Fernanda", "Pablo", "Natalia",
+        "Ricardo", "Mariana", "Esteban", "Paola", "Mauricio", "Carolina", "Fabián", "Rachell", "Justin"
+    };
+
+    /** Apellidos. */
+    private static final String[] APELLIDOS = {
+        "Rodríguez", "Vargas", "Jiménez", "Mora", "Rojas", "González", "Sánchez", "Hernández",
+        "Ramírez", "Castro", "Solano", "Araya", "Quesada", "Chaves", "Alvarado", "Campos",
+        "Méndez", "Salazar", "Espinoza", "Reyes", "Brenes", "Calderón", "Zúñiga", "Umaña"
+    };
+
+    /** Puestos. */
+    private static final String[] PUESTOS = {
+        "Asistente", "Cajero", "Contador", "Desarrollador", "Analista", "Ingeniero",
+        "Supervisor", "Recepcionista", "Técnico", "Gerente"
+    };
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Fuente de aleatoriedad con semilla fija. */
+    private final Random aleatorio;
+
+    /** Fecha de referencia para las fechas de ingreso. */
+    private final LocalDate hoy = LocalDate.now();
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un generador.
+     *
+     * @param semilla la semilla de la secuencia aleatoria
+     */
+    public GeneradorDatos(long semilla) {
+        this.aleatorio = new Random(semilla);
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Genera los archivos de datos en el directorio de ejecución,
+     * reemplazando los existentes. Todo lo que corresponde a los empleados
+     * anteriores se elimina: el historial salarial, las particiones de
+     * nóminas con sus índices, los períodos archivados, las bitácoras de
+     * ejecución y los diarios de escrituras pendientes.
+     *
+     * @param empleados cantidad de empleados
+     * @throws IOException si ocurre un error al escribir, o si la aplicación
+     *                     está en ejecución en el directorio (su diario está
+     *                     bloqueado)
+     */
+    public void generar(int empleados) throws IOException {
+        eliminarDatosAnteriores();
+        try (BufferedWriter bW = new BufferedWriter(new FileWriter(NombresArchivos.EMPLEADOS.getNombreArchivo()))) {
+            for (int id = 1; id <= empleados; id++) {
+                bW.append(registroEmpleado(id));
+                bW.newLine();
+            }
+        }
+
+        int usuarios = 1 + empleados / EMPLEADOS_POR_USUARIO;
+        try (BufferedWriter bW = new BufferedWriter(new FileWriter(NombresArchivos.USUARIOS.getNombreArchivo()))) {
+            bW.append("1,RecursosHumanos,Sistema,Nómina,rrhh@empresa.com,rrhh,nominas123");
+            bW.newLine();
+            for (int id = 2; id <= usuarios; id++) {
+                bW.append(id + ",Usuario" + id + ",Planillas,Sistema,usuario" + id
+                          + "@empresa.com,usuario" + id + ",clave" + id);
+                bW.newLine();
+            }
+        }
+
+        // Los próximos IDs continúan después de los generados
+        try (BufferedWriter bW = new BufferedWriter(new FileWriter(NombresArchivos.ID_CONTROL.getNombreArchivo()))) {
+            bW.append(NombresArchivos.EMPLEADOS.getNombreArchivo() + "=" + (empleados + 1));
+            bW.newLine();
+            bW.append(NombresArchivos.USUARIOS.getNombreArchivo() + "=" + (usuarios + 1));
+            bW.newLine();
+        }
+    }
+
+    /**
+     * Genera el registro CSV de un empleado (11 campos, con fecha de
+     * ingreso). Cada llamada avanza la secuencia aleatoria.
+     *
+     * @param id el ID del empleado
+     * @return el registro
+     */
+    public String registroEmpleado(int id) {
+        String nombre = elegir(NOMBRES);
+        String apellido1 = elegir(APELLIDOS);
+        String apellido2 = elegir(APELLIDOS);
+        String planilla = aleatorio.nextDouble() < PROPORCION_QUINCENAL
+            ? Constantes.PLANILLA_QUINCENAL : Constantes.PLANILLA_MENSUAL;
+        return id + "," + cedula(id) + "," + nombre + "," + apellido1 + "," + apellido2
+            + "," + sinTildes(nombre + "." + apellido1).toLowerCase() + id + "@empresa.cr"
+            + "," + telefono() + "," + salario() + "," + planilla + "," + elegir(PUESTOS)
+            + "," + fechaIngreso().format(FORMATO_FECHA);
+    }
+
+    /**
+     * Genera los datos desde la línea de comandos.
+     *
+     * @param args cantidad de empleados, semilla (opcional) y
+     *             {@code --sobrescribir} (opcional)
+     * @throws IOException si ocurre un error al escribir
+     */
+    public static void main(String[] args) throws IOException {
+        boolean sobrescribir = false;
+        Integer empleados = null;
+        long semilla = 42;
+        for (String arg : args) {
+            if (arg.equals("--sobrescribir")) {
+                sobrescribir = true;
+            } else if (empleados == null) {
+                empleados = Integer.valueOf(arg);
+            } else {
+                semilla = Long.parseLong(arg);
+            }
+        }
+        if (empleados == null) {
+            System.err.println("Uso: GeneradorDatos empleados [semilla] [--sobrescribir]");
+            System.exit(2);
+        }
+        File existente = new File(NombresArchivos.EMPLEADOS.getNombreArchivo());
+        if (existente.length() > 0 && !sobrescribir) {
+            System.err.println(existente.getAbsolutePath() + " ya existe; use --sobrescribir para reemplazarlo");
+            System.exit(2);
+        }
+
+        long inicio = System.nanoTime();
+        new GeneradorDatos(semilla).generar(empleados);
+        System.out.printf("%d empleados generados en %.1f s (%s)%n", empleados,
+                          (System.nanoTime() - inicio) / 1e9, existente.getAbsoluteFile().getParent());
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Elimina del directorio de ejecución los archivos que dependen de los
+     * empleados anteriores.
+     *
+     * <p>Primero verifica que ningún diario esté bloqueado por una aplicación
+     * en ejecución, para no eliminar nada mientras se usa.</p>
+     *
+     * @throws IOException si un diario está en uso o no se puede eliminar un archivo
+     */
+    private static void eliminarDatosAnteriores() throws IOException {
+        Path directorio = Paths.get("").toAbsolutePath();
+        try (DirectoryStream<Path> diarios = Files.newDirectoryStream(directorio, DIARIOS)) {
+            for (Path diario : diarios) {
+                if (enUso(diario)) {
+                    throw new IOException("La aplicación está en ejecución en " + directorio
+                                          + " (" + diario.getFileName() + " está en uso); ciérrela antes de generar");
+                }
+            }
+        }
+        Files.deleteIfExists(Paths.get(NombresArchivos.HISTORIAL_SALARIAL.getNombreArchivo()));
+        for (String patron : DERIVADOS) {
+            eliminar(directorio, patron);
+        }
+        eliminar(directorio, DIARIOS);
+    }
+
+    /**
+     * Indica si un diario está bloqueado por una aplicación en ejecución.
+     */
+    private static boolean enUso(Path diario) throws IOException {
+        try (FileChannel canal = FileChannel.open(diario, StandardOpenOption.WRITE)) {
+            FileLock bloqueo = canal.tryLock(); // Se libera al cerrar el canal
+            return bloqueo == null;
+        } catch (OverlappingFileLockException e) {
+            return true; // Bloqueado por este mismo proceso
+        }
+    }
+
+    /**
+     * Elimina los archivos de un directorio que coinciden con un patrón.
+     */
+    private static void eliminar(Path directorio, String patron) throws IOException {
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, patron)) {
+            for (Path archivo : archivos) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+    }
+
+    /**
+     * Cédula física única para el ID: la provincia es aleatoria y el par
+     * tomo-asiento se obtiene del ID con {@link #MULTIPLICADOR_CEDULA}.
+     */
+    private String cedula(int id) {
+        long k = (id - 1) * MULTIPLICADOR_CEDULA % 100_000_000L;
+        int provincia = PROVINCIAS[aleatorio.nextInt(PROVINCIAS.length)];
+        return String.format("%d-%04d-%04d", provincia, k / 10_000, k % 10_000);
+    }
+
+    /**
+     * Teléfono de ocho dígitos que empieza con 6, 7 u 8 (móvil) o 2 (fijo).
+     */
+    private String telefono() {
+        int prefijo = new int[] {6, 7, 8, 8, 2}[aleatorio.nextInt(5)];
+        return prefijo + String.format("%07d", aleatorio.nextInt(10_000_000));
+    }
+
+    /**
+     * Salario log-normal redondeado a múltiplos de ₡500.
+     */
+    private double salario() {
+        double valor = SALARIO_MEDIANA * Math.exp(SALARIO_DISPERSION * aleatorio.nextGaussian());
+        return Math.max(SALARIO_MINIMO, Math.round(valor / 500) * 500.0);
+    }
+
+    /**
+     * Fecha de ingreso con distribución exponencial (media de cuatro años)
+     * acotada a veinte años.
+     */
+    private LocalDate fechaIngreso() {
+        double anios = Math.min(20, -4 * Math.log(1 - aleatorio.nextDouble()));
+        return hoy.minusDays((long) (anios * 365.25));
+    }
+
+    /**
+     * Elige un elemento al azar.
+     */
+    private String elegir(String[] opciones) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+
+    /**
+     * Quita las tildes para formar direcciones de correo ASCII.
+     */
+    private static String sinTildes(String texto) {
+        return TILDES.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    }
+}
@@ -0,0 +1,314 @@
+package Utilidades;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// ================================================================================
+// CLASE Histograma
+// ================================================================================
+
+/**
+ * Histograma de latencias con cubetas logarítmico-lineales, al estilo de
+ * HdrHistogram.
+ *
+ * <p>Los valores menores que {@code 2 * SUBCUBETAS} se cuentan de forma
+ * exacta; a partir de ahí cada potencia de dos se divide en
+ * {@link #SUBCUBETAS} cubetas iguales, de modo que el error relativo de
+ * cualquier percentil es menor que {@code 1 / SUBCUBETAS} (~3 %) en todo el
+ * rango de {@code long}, con un arreglo fijo de cubetas.</p>
+ *
+ * <p><b>Costo:</b> registrar un valor no reserva memoria ni toma bloqueos:
+ * calcula el índice de la cubeta con operaciones de bits e incrementa un
+ * contador atómico, por lo que cuesta unas decenas de nanosegundos incluso
+ * con varios hilos registrando a la vez. Los percentiles se calculan solo
+ * al consultar un {@link Resumen}.</p>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * private static final Histograma LATENCIA = Metricas.histograma("accesoDatos.listarRegistros");
+ *
+ * long inicio = System.nanoTime();
+ * try {
+ *     ...
+ * } finally {
+ *     LATENCIA.registrarDesde(inicio);
+ * }
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see Metricas
+ */
+public final class Histograma implements Metricas.HistogramaMXBean {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Resumen inmutable del histograma en un momento dado. Los valores están
+     * en las unidades registradas (nanosegundos para latencias).
+     */
+    public static final class Resumen {
+
+        private final long cantidad;
+        private final double media;
+        private final long p50;
+        private final long p90;
+        private final long p99;
+        private final long p999;
+        private final long maximo;
+
+        Resumen(long cantidad, double media, long p50, long p90, long p99, long p999, long maximo) {
+            this.cantidad = cantidad;
+            this.media = media;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.maximo = maximo;
+        }
+
+        /** @return la cantidad de valores registrados */
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        /** @return el promedio de los valores */
+        public double getMedia() {
+            return media;
+        }
+
+        /** @return el percentil 50 */
+        public long getP50() {
+            return p50;
+        }
+
+        /** @return el percentil 90 */
+        public long getP90() {
+            return p90;
+        }
+
+        /** @return el percentil 99 */
+        public long getP99() {
+            return p99;
+        }
+
+        /** @return el percentil 99.9 */
+        public long getP999() {
+            return p999;
+        }
+
+        /** @return el valor máximo registrado */
+        public long getMaximo() {
+            return maximo;
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Bits de precisión dentro de cada potencia de dos. */
+    private static final int BITS_SUBCUBETA = 5;
+
+    /** Cubetas por potencia de dos. */
+    public static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+
+    /** Cantidad total de cubetas, suficiente para cualquier {@code long} positivo. */
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Nombre con el que se registró. */
+    private final String nombre;
+
+    /** Cantidad de valores en cada cubeta. */
+    private final AtomicLongArray cubetas = new AtomicLongArray(CUBETAS);
+
+    /** Suma de los valores, para la media. */
+    private final LongAdder suma = new LongAdder();
+
+    /** Valor máximo registrado. */
+    private final AtomicLong maximo = new AtomicLong();
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea un histograma vacío. Normalmente se obtiene con
+     * {@link Metricas#histograma(String)}.
+     *
+     * @param nombre el nombre de la métrica
+     */
+    Histograma(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // ================================================================================
+    // REGISTRO
+    // ================================================================================
+
+    /**
+     * Registra un valor. Los valores negativos se registran como cero.
+     *
+     * @param valor el valor (por ejemplo, una duración en nanosegundos)
+     */
+    public void registrar(long valor) {
+        if (valor < 0) {
+            valor = 0;
+        }
+        cubetas.getAndIncrement(indice(valor));
+        suma.add(valor);
+        // Solo se intenta actualizar cuando el valor supera el máximo, que es lo infrecuente
+        for (long actual = maximo.get(); valor > actual; actual = maximo.get()) {
+            if (maximo.compareAndSet(actual, valor)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde un instante de {@link System#nanoTime()}.
+     *
+     * @param inicioNanos el instante de inicio
+     */
+    public void registrarDesde(long inicioNanos) {
+        registrar(System.nanoTime() - inicioNanos);
+    }
+
+    // ================================================================================
+    // CONSULTA
+    // ================================================================================
+
+    /**
+     * @return el nombre de la métrica
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Calcula un resumen con los valores registrados hasta ahora.
+     *
+     * <p>Los registros concurrentes pueden quedar incluidos o no; el
+     * resumen nunca bloquea a quienes registran.</p>
+     *
+     * @return el resumen
+     */
+    public Resumen resumen() {
+        long[] copia = new long[CUBETAS];
+        long cantidad = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            copia[i] = cubetas.get(i);
+            cantidad += copia[i];
+        }
+        if (cantidad == 0) {
+            return new Resumen(0, 0, 0, 0, 0, 0, 0);
+        }
+        long max = maximo.get();
+        return new Resumen(cantidad, suma.sum() / (double) cantidad,
+            percentil(copia, cantidad, 50, max), percentil(copia, cantidad, 90, max),
+            percentil(copia, cantidad, 99, max), percentil(copia, cantidad, 99.9, max), max);
+    }
+
+    /**
+     * Descarta todos los valores registrados.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas.set(i, 0);
+        }
+        suma.reset();
+        maximo.set(0);
+    }
+
+    // ================================================================================
+    // VISTA JMX
+    // ================================================================================
+
+    @Override
+    public long getCantidad() {
+        return resumen().getCantidad();
+    }
+
+    @Override
+    public double getMediaMicros() {
+        return resumen().getMedia() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return resumen().getP50() / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return resumen().getP99() / 1000.0;
+    }
+
+    @Override
+    public double getMaximoMicros() {
+        return resumen().getMaximo() / 1000.0;
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Obtiene la cubeta de un valor.
+     *
+     * @param valor el valor, no negativo
+     * @return el índice de la cubeta
+     */
+    static int indice(long valor) {
+        if (valor < 2 * SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int desplazamiento = exponente - BITS_SUBCUBETA;
+        int mantisa = (int) (valor >>> desplazamiento); // Entre SUBCUBETAS y 2 * SUBCUBETAS - 1
+        return (desplazamiento + 1) * SUBCUBETAS + mantisa - SUBCUBETAS;
+    }
+
+    /**
+     * Obtiene el mayor valor que cae en una cubeta.
+     *
+     * @param indice el índice de la cubeta
+     * @return el límite superior de la cubeta
+     */
+    static long limiteSuperior(int indice) {
+        if (indice < 2 * SUBCUBETAS) {
+            return indice;
+        }
+        int desplazamiento = indice / SUBCUBETAS - 1;
+        long mantisa = indice % SUBCUBETAS + SUBCUBETAS;
+        return ((mantisa + 1) << desplazamiento) - 1;
+    }
+
+    /**
+     * Calcula un percentil sobre una copia de las cubetas.
+     *
+     * @param copia la cantidad de cada cubeta
+     * @param cantidad el total de valores
+     * @param percentil el percentil, entre 0 y 100
+     * @param maximo el máximo registrado, que acota el resultado
+     * @return el límite superior de la cubeta que contiene el percentil
+     */
+    private static long percentil(long[] copia, long cantidad, double percentil, long maximo) {
+        long objetivo = Math.max(1, (long) Math.ceil(percentil / 100.0 * cantidad));
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+}
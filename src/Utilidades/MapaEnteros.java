@@ -0,0 +1,255 @@
+package Utilidades;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Mapa de claves {@code int} primitivas a valores, con direccionamiento
+ * abierto y sondeo lineal.
+ *
+ * <p>A diferencia de {@code HashMap<Integer, V>}, las claves se guardan en un
+ * arreglo {@code int[]}: no se crea un objeto {@code Integer} por entrada ni
+ * por consulta, y la búsqueda recorre posiciones contiguas de memoria. Se
+ * utiliza para indexar entidades por su ID numérico.
+ *
+ * <p><b>Características:</b>
+ * <ul>
+ *   <li>Consulta, inserción y eliminación en tiempo constante promedio</li>
+ *   <li>Factor de carga máximo de {@link #FACTOR_CARGA}; al superarlo la
+ *       tabla duplica su capacidad</li>
+ *   <li>La eliminación desplaza las entradas siguientes, por lo que no deja
+ *       marcas de "borrado" que degraden las búsquedas</li>
+ *   <li>No es segura para acceso concurrente: el llamador debe sincronizar</li>
+ * </ul>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * MapaEnteros&lt;Empleado&gt; porId = new MapaEnteros&lt;&gt;();
+ * porId.put(emp.getId(), emp);
+ * Empleado encontrado = porId.get(5);
+ * </pre>
+ *
+ * @param <V> tipo de los valores almacenados
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public class MapaEnteros<V> {
+
+    /**
+     * Proporción máxima de posiciones ocupadas antes de crecer.
+     */
+    public static final double FACTOR_CARGA = 0.5;
+
+    /**
+     * Claves almacenadas; una posición está libre si su valor es null.
+     */
+    private int[] claves;
+
+    /**
+     * Valores almacenados, en la misma posición que su clave.
+     */
+    private Object[] valores;
+
+    /**
+     * Cantidad de entradas almacenadas.
+     */
+    private int tamano;
+
+    /**
+     * Máscara para reducir el hash a una posición (capacidad - 1).
+     */
+    private int mascara;
+
+    /**
+     * Crea un mapa vacío con capacidad inicial para 16 entradas.
+     */
+    public MapaEnteros() {
+        this(16);
+    }
+
+    /**
+     * Crea un mapa vacío con capacidad para la cantidad de entradas indicada
+     * sin necesidad de crecer.
+     *
+     * @param capacidadEsperada cantidad de entradas esperadas
+     */
+    public MapaEnteros(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit((int) Math.max(2, capacidadEsperada / FACTOR_CARGA) - 1) << 1;
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+    }
+
+    /**
+     * Obtiene el valor asociado a una clave.
+     *
+     * @param clave la clave a buscar
+     * @return el valor asociado, o null si la clave no existe
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int clave) {
+        int pos = posicion(clave);
+        while (valores[pos] != null) {
+            if (claves[pos] == clave) {
+                return (V) valores[pos];
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Indica si existe una entrada con la clave indicada.
+     *
+     * @param clave la clave a buscar
+     * @return true si la clave existe
+     */
+    public boolean containsKey(int clave) {
+        return get(clave) != null;
+    }
+
+    /**
+     * Asocia un valor a una clave, reemplazando el anterior si existía.
+     *
+     * @param clave la clave
+     * @param valor el valor (no puede ser null)
+     * @return el valor anterior, o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int clave, V valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("MapaEnteros no admite valores null");
+        }
+        int pos = posicion(clave);
+        while (valores[pos] != null) {
+            if (claves[pos] == clave) {
+                V anterior = (V) valores[pos];
+                valores[pos] = valor;
+                return anterior;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        claves[pos] = clave;
+        valores[pos] = valor;
+        if (++tamano > claves.length * FACTOR_CARGA) {
+            redimensionar(claves.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Elimina la entrada de una clave.
+     *
+     * @param clave la clave a eliminar
+     * @return el valor eliminado, o null si la clave no existía
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int clave) {
+        int pos = posicion(clave);
+        while (valores[pos] != null) {
+            if (claves[pos] == clave) {
+                V anterior = (V) valores[pos];
+                desplazarDesde(pos);
+                tamano--;
+                return anterior;
+            }
+            pos = (pos + 1) & mascara;
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas almacenadas.
+     *
+     * @return cantidad de entradas
+     */
+    public int size() {
+        return tamano;
+    }
+
+    /**
+     * Elimina todas las entradas.
+     */
+    public void clear() {
+        Arrays.fill(valores, null);
+        tamano = 0;
+    }
+
+    /**
+     * Recorre todos los valores almacenados (sin orden definido).
+     *
+     * @param accion función que recibe cada valor
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachValor(Consumer<? super V> accion) {
+        for (Object valor : valores) {
+            if (valor != null) {
+                accion.accept((V) valor);
+            }
+        }
+    }
+
+    // ========================================================================
+    // MÉTODOS PRIVADOS
+    // ========================================================================
+
+    /**
+     * Calcula la posición inicial de una clave mezclando sus bits, para que
+     * IDs consecutivos no ocupen posiciones consecutivas.
+     *
+     * @param clave la clave
+     * @return posición inicial en la tabla
+     */
+    private int posicion(int clave) {
+        int h = clave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mascara;
+    }
+
+    /**
+     * Libera una posición y desplaza hacia atrás las entradas siguientes que
+     * quedarían inaccesibles (eliminación sin marcas de borrado).
+     *
+     * @param libre la posición a liberar
+     */
+    private void desplazarDesde(int libre) {
+        int pos = libre;
+        while (true) {
+            pos = (pos + 1) & mascara;
+            if (valores[pos] == null) {
+                break;
+            }
+            int ideal = posicion(claves[pos]);
+            // Mover la entrada si su posición ideal no está entre libre (excl.) y pos (incl.)
+            boolean entre = libre <= pos ? (libre < ideal && ideal <= pos) : (libre < ideal || ideal <= pos);
+            if (!entre) {
+                claves[libre] = claves[pos];
+                valores[libre] = valores[pos];
+                libre = pos;
+            }
+        }
+        valores[libre] = null;
+    }
+
+    /**
+     * Reubica todas las entradas en una tabla de la capacidad indicada.
+     *
+     * @param capacidad nueva capacidad (potencia de 2)
+     */
+    private void redimensionar(int capacidad) {
+        int[] clavesAnteriores = claves;
+        Object[] valoresAnteriores = valores;
+        claves = new int[capacidad];
+        valores = new Object[capacidad];
+        mascara = capacidad - 1;
+        for (int i = 0; i < clavesAnteriores.length; i++) {
+            if (valoresAnteriores[i] != null) {
+                int pos = posicion(clavesAnteriores[i]);
+                while (valores[pos] != null) {
+                    pos = (pos + 1) & mascara;
+                }
+                claves[pos] = clavesAnteriores[i];
+                valores[pos] = valoresAnteriores[i];
+            }
+        }
+    }
+}
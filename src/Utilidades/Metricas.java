@@ -0,0 +1,355 @@
+package Utilidades;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// ================================================================================
+// CLASE Metricas
+// ================================================================================
+
+/**
+ * Registro de métricas del proceso: contadores, indicadores y histogramas
+ * de latencia, compartidos por todas las capas.
+ *
+ * <p>Cada métrica se obtiene una sola vez por nombre (normalmente en una
+ * constante estática de la clase instrumentada) y después se actualiza sin
+ * búsquedas ni bloqueos. Los nombres siguen la forma
+ * {@code capa.operacion}, por ejemplo {@code accesoDatos.listarRegistros}.</p>
+ *
+ * <p><b>Publicación:</b></p>
+ * <ul>
+ *   <li><b>Archivo:</b> {@link #iniciarVolcado(Path, long)} agrega cada
+ *       cierto tiempo un bloque con el estado de todas las métricas. Se
+ *       activa al iniciar con {@code -Dnomina.metricas.archivo=metricas.log}
+ *       (y opcionalmente {@code -Dnomina.metricas.intervalo=segundos}).</li>
+ *   <li><b>JMX:</b> {@link #habilitarJmx()} publica cada métrica como MXBean
+ *       bajo el dominio {@code ProyectoFinal}, visible en JConsole o
+ *       VisualVM. Se activa con {@code -Dnomina.metricas.jmx=true}; no se
+ *       activa por defecto para no cargar JMX en el arranque.</li>
+ * </ul>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see Histograma
+ */
+public final class Metricas {
+
+    // ================================================================================
+    // TIPOS
+    // ================================================================================
+
+    /**
+     * Vista JMX de un histograma de latencias.
+     */
+    public interface HistogramaMXBean {
+        long getCantidad();
+        double getMediaMicros();
+        double getP50Micros();
+        double getP99Micros();
+        double getMaximoMicros();
+    }
+
+    /**
+     * Vista JMX de un contador o un indicador.
+     */
+    public interface ValorMXBean {
+        long getValor();
+    }
+
+    /**
+     * Contador que solo aumenta, sin contención entre hilos.
+     */
+    public static final class Contador implements ValorMXBean {
+
+        /** Valor acumulado. */
+        private final LongAdder valor = new LongAdder();
+
+        Contador() {
+        }
+
+        /** Suma uno al contador. */
+        public void incrementar() {
+            valor.increment();
+        }
+
+        /**
+         * Suma una cantidad al contador.
+         *
+         * @param cantidad la cantidad a sumar
+         */
+        public void sumar(long cantidad) {
+            valor.add(cantidad);
+        }
+
+        @Override
+        public long getValor() {
+            return valor.sum();
+        }
+    }
+
+    /**
+     * Indicador cuyo valor se obtiene al consultarlo.
+     */
+    private static final class Indicador implements ValorMXBean {
+
+        /** Fuente del valor. */
+        private final LongSupplier fuente;
+
+        Indicador(LongSupplier fuente) {
+            this.fuente = fuente;
+        }
+
+        @Override
+        public long getValor() {
+            return fuente.getAsLong();
+        }
+    }
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Dominio de los nombres JMX. */
+    private static final String DOMINIO_JMX = "ProyectoFinal";
+
+    /** Intervalo por defecto entre volcados, en segundos. */
+    public static final long INTERVALO_VOLCADO_SEGUNDOS = 60;
+
+    /** Formato de la marca de tiempo de cada volcado. */
+    private static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Histogramas registrados por nombre. */
+    private static final Map<String, Histograma> HISTOGRAMAS = new ConcurrentHashMap<>();
+
+    /** Contadores registrados por nombre. */
+    private static final Map<String, Contador> CONTADORES = new ConcurrentHashMap<>();
+
+    /** Indicadores registrados por nombre. */
+    private static final Map<String, Indicador> INDICADORES = new ConcurrentHashMap<>();
+
+    /** Servidor JMX, o null si la vista JMX no está habilitada. */
+    private static volatile MBeanServer servidorJmx;
+
+    /** Programador de los volcados, o null si no se inició. */
+    private static ScheduledExecutorService volcador;
+
+    static {
+        String archivo = System.getProperty("nomina.metricas.archivo");
+        if (archivo != null && !archivo.isEmpty()) {
+            iniciarVolcado(Paths.get(archivo),
+                Long.getLong("nomina.metricas.intervalo", INTERVALO_VOLCADO_SEGUNDOS));
+        }
+        if (Boolean.getBoolean("nomina.metricas.jmx")) {
+            habilitarJmx();
+        }
+    }
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Constructor privado para evitar la instanciación de la clase.
+     */
+    private Metricas() {
+    }
+
+    // ================================================================================
+    // REGISTRO
+    // ================================================================================
+
+    /**
+     * Obtiene el histograma con un nombre, creándolo si no existe.
+     *
+     * @param nombre el nombre de la métrica
+     * @return el histograma
+     */
+    public static Histograma histograma(String nombre) {
+        return HISTOGRAMAS.computeIfAbsent(nombre, n -> publicar(new Histograma(n), "Histograma", n));
+    }
+
+    /**
+     * Obtiene el contador con un nombre, creándolo si no existe.
+     *
+     * @param nombre el nombre de la métrica
+     * @return el contador
+     */
+    public static Contador contador(String nombre) {
+        return CONTADORES.computeIfAbsent(nombre, n -> publicar(new Contador(), "Contador", n));
+    }
+
+    /**
+     * Registra un indicador cuyo valor se calcula al consultarlo. Si ya
+     * existía uno con el mismo nombre, se reemplaza su fuente.
+     *
+     * @param nombre el nombre de la métrica
+     * @param fuente la fuente del valor; debe ser barata y segura entre hilos
+     */
+    public static void indicador(String nombre, LongSupplier fuente) {
+        Indicador indicador = new Indicador(fuente);
+        if (INDICADORES.put(nombre, indicador) != null) {
+            retirar("Indicador", nombre);
+        }
+        publicar(indicador, "Indicador", nombre);
+    }
+
+    // ================================================================================
+    // PUBLICACIÓN
+    // ================================================================================
+
+    /**
+     * Genera un informe de texto con el estado de todas las métricas, una
+     * por línea y en orden alfabético. Las latencias se expresan en
+     * microsegundos.
+     *
+     * @return el informe
+     */
+    public static String informe() {
+        StringBuilder informe = new StringBuilder();
+        for (Map.Entry<String, Contador> e : new TreeMap<>(CONTADORES).entrySet()) {
+            informe.append(String.format(Locale.ROOT, "contador   %-45s %d%n", e.getKey(), e.getValue().getValor()));
+        }
+        for (Map.Entry<String, Indicador> e : new TreeMap<>(INDICADORES).entrySet()) {
+            informe.append(String.format(Locale.ROOT, "indicador  %-45s %d%n", e.getKey(), e.getValue().getValor()));
+        }
+        for (Map.Entry<String, Histograma> e : new TreeMap<>(HISTOGRAMAS).entrySet()) {
+            Histograma.Resumen r = e.getValue().resumen();
+            informe.append(String.format(Locale.ROOT,
+                "histograma %-45s n=%d media=%.1f p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f us%n",
+                e.getKey(), r.getCantidad(), r.getMedia() / 1000.0, r.getP50() / 1000.0, r.getP90() / 1000.0,
+                r.getP99() / 1000.0, r.getP999() / 1000.0, r.getMaximo() / 1000.0));
+        }
+        return informe.toString();
+    }
+
+    /**
+     * Agrega periódicamente el {@link #informe()} a un archivo, precedido
+     * por la fecha y hora, en un hilo que no impide que la aplicación
+     * termine. Solo se admite un volcado por proceso.
+     *
+     * @param archivo el archivo de destino
+     * @param intervaloSegundos segundos entre volcados
+     */
+    public static synchronized void iniciarVolcado(Path archivo, long intervaloSegundos) {
+        if (volcador != null) {
+            return;
+        }
+        volcador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+            Thread hilo = new Thread(tarea, "volcado-metricas");
+            hilo.setDaemon(true); // No impide que la aplicación termine
+            return hilo;
+        });
+        volcador.scheduleAtFixedRate(() -> {
+            try {
+                volcar(archivo);
+            } catch (IOException e) {
+                e.printStackTrace(); // Se reintenta en el siguiente volcado
+            }
+        }, intervaloSegundos, intervaloSegundos, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Agrega el {@link #informe()} actual a un archivo.
+     *
+     * @param archivo el archivo de destino
+     * @throws IOException si ocurre un error al escribir
+     */
+    public static void volcar(Path archivo) throws IOException {
+        try (Writer escritor = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            escritor.write("# " + LocalDateTime.now().format(FORMATO_FECHA) + System.lineSeparator());
+            escritor.write(informe());
+        }
+    }
+
+    /**
+     * Publica todas las métricas, actuales y futuras, como MXBeans del
+     * servidor de plataforma. No hace nada si ya estaba habilitado.
+     */
+    public static synchronized void habilitarJmx() {
+        if (servidorJmx != null) {
+            return;
+        }
+        servidorJmx = ManagementFactory.getPlatformMBeanServer();
+        HISTOGRAMAS.forEach((nombre, histograma) -> publicar(histograma, "Histograma", nombre));
+        CONTADORES.forEach((nombre, contador) -> publicar(contador, "Contador", nombre));
+        INDICADORES.forEach((nombre, indicador) -> publicar(indicador, "Indicador", nombre));
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Registra una métrica en JMX si la vista está habilitada.
+     *
+     * @param metrica la métrica
+     * @param tipo el tipo, usado en el nombre JMX
+     * @param nombre el nombre de la métrica
+     * @return la misma métrica
+     */
+    private static <T> T publicar(T metrica, String tipo, String nombre) {
+        MBeanServer servidor = servidorJmx;
+        if (servidor != null) {
+            try {
+                ObjectName nombreJmx = nombreJmx(tipo, nombre);
+                if (!servidor.isRegistered(nombreJmx)) {
+                    servidor.registerMBean(metrica, nombreJmx);
+                }
+            } catch (Exception e) {
+                e.printStackTrace(); // La métrica sigue funcionando sin vista JMX
+            }
+        }
+        return metrica;
+    }
+
+    /**
+     * Retira una métrica de JMX si estaba registrada.
+     *
+     * @param tipo el tipo, usado en el nombre JMX
+     * @param nombre el nombre de la métrica
+     */
+    private static void retirar(String tipo, String nombre) {
+        MBeanServer servidor = servidorJmx;
+        if (servidor != null) {
+            try {
+                ObjectName nombreJmx = nombreJmx(tipo, nombre);
+                if (servidor.isRegistered(nombreJmx)) {
+                    servidor.unregisterMBean(nombreJmx);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Construye el nombre JMX de una métrica.
+     */
+    private static ObjectName nombreJmx(String tipo, String nombre) throws Exception {
+        return new ObjectName(DOMINIO_JMX + ":type=" + tipo + ",name=" + ObjectName.quote(nombre));
+    }
+}
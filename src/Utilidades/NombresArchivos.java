@@ -47,6 +47,42 @@ public enum NombresArchivos {
      */
     NOMINAS("nominas.txt"),
     
+    /**
+     * Segmentos binarios con el historial de nóminas calculadas, uno por período.
+     * 
+     * <p>Cada nómina ocupa un registro de ancho fijo (montos en céntimos,
+     * ID de empleado y período codificado), de modo que el registro N se
+     * ubica directamente por su desplazamiento. Ver {@code LogicaNegocio.CodecNomina}.
+     * 
+     * <p>Las nóminas de cada período se guardan en su propia partición,
+     * cuyo nombre se obtiene con {@link #getNombreParticion(String)}.
+     * 
+     * <p>Nombre base: {@code nominas.bin} (por ejemplo, {@code nominas_2024-12-Q2.bin})
+     */
+    NOMINAS_BINARIO("nominas.bin"),
+    
+    /**
+     * Archivo histórico comprimido de las nóminas de períodos antiguos, uno por período.
+     * 
+     * <p>Los períodos que superan la antigüedad configurada se trasladan desde
+     * {@link #NOMINAS_BINARIO} a este formato, comprimido por bloques y con un
+     * índice disperso por empleado. Ver {@code LogicaNegocio.ArchivadorNominas}.
+     * 
+     * <p>Nombre base: {@code nominas.zbin} (por ejemplo, {@code nominas_2023-01-M.zbin})
+     */
+    NOMINAS_ARCHIVADAS("nominas.zbin"),
+    
+    /**
+     * Archivo que almacena el historial de salarios y puestos de los empleados.
+     * 
+     * <p>Cada registro es un cambio con su fecha de vigencia; los registros
+     * solo se agregan, nunca se modifican, lo que permite recalcular la nómina
+     * de un período pasado con el salario vigente en ese momento.
+     * 
+     * <p>Nombre del archivo: {@code historialSalarial.txt}
+     */
+    HISTORIAL_SALARIAL("historialSalarial.txt"),
+    
     /**
      * Archivo que almacena las credenciales y perfiles de los usuarios del sistema.
      * 
@@ -100,7 +136,7 @@ public enum NombresArchivos {
     }
     
     // ========================================================================
-    // MÉTODO PÚBLICO
+    // MÉTODOS PÚBLICOS
     // ========================================================================
     
     /**
@@ -121,4 +157,25 @@ public enum NombresArchivos {
     public String getNombreArchivo() {
         return nombreArchivo;
     }
+    
+    /**
+     * Obtiene el nombre del archivo de una partición de esta constante.
+     * 
+     * <p>El nombre de la partición se inserta antes de la extensión.
+     * 
+     * <h3>Ejemplo de uso:</h3>
+     * <pre>
+     * String archivo = NombresArchivos.NOMINAS_BINARIO.getNombreParticion("2024-12-Q2");
+     * System.out.println(archivo); // Imprime: nominas_2024-12-Q2.bin
+     * </pre>
+     * 
+     * @param particion el nombre de la partición (por ejemplo, un código de período)
+     * @return el nombre del archivo de la partición
+     */
+    public String getNombreParticion(String particion) {
+        int punto = nombreArchivo.lastIndexOf('.');
+        return punto < 0 
+            ? nombreArchivo + "_" + particion
+            : nombreArchivo.substring(0, punto) + "_" + particion + nombreArchivo.substring(punto);
+    }
 }
\ No newline at end of file
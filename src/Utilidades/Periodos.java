@@ -0,0 +1,135 @@
+package Utilidades;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Utilidades para construir los códigos de período de nómina.
+ *
+ * <p>Centraliza el formato de período que antes solo existía dentro de
+ * {@code FrmGenerarNomina}, de modo que los procesos masivos y la capa de
+ * presentación generen exactamente los mismos códigos.
+ *
+ * <p>El formato del período varía según el tipo de planilla:
+ * <ul>
+ *   <li><b>Mensual:</b> YYYY-MM-M (ejemplo: 2024-12-M)</li>
+ *   <li><b>Quincenal:</b> YYYY-MM-Q1 (días 1 al 15) o YYYY-MM-Q2 (día 16 al fin de mes)</li>
+ * </ul>
+ *
+ * <h3>Ejemplo de uso:</h3>
+ * <pre>
+ * String periodo = Periodos.formatear(LocalDate.of(2024, 12, 20), Constantes.PLANILLA_QUINCENAL);
+ * // Retorna: "2024-12-Q2"
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ * @see Constantes#PLANILLA_MENSUAL
+ * @see Constantes#PLANILLA_QUINCENAL
+ */
+public class Periodos {
+
+    /**
+     * Formato base año-mes utilizado como prefijo de todos los períodos.
+     */
+    private static final DateTimeFormatter FORMATO_BASE = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    /**
+     * Constructor privado para evitar la instanciación de la clase.
+     */
+    private Periodos() {
+    }
+
+    /**
+     * Genera el código del período de nómina para una fecha y tipo de planilla.
+     *
+     * @param fecha la fecha de referencia del período
+     * @param tipoPlanilla el tipo de planilla ({@link Constantes#PLANILLA_MENSUAL}
+     *                     o {@link Constantes#PLANILLA_QUINCENAL})
+     * @return el código del período formateado
+     */
+    public static String formatear(LocalDate fecha, String tipoPlanilla) {
+        String fechaBase = fecha.format(FORMATO_BASE);
+
+        if (Constantes.PLANILLA_MENSUAL.equals(tipoPlanilla)) {
+            return fechaBase + "-M";
+        }
+
+        // Q1 va del 1 al 15, Q2 del 16 al final del mes
+        return fechaBase + (fecha.getDayOfMonth() <= 15 ? "-Q1" : "-Q2");
+    }
+
+    /**
+     * Codifica un código de período como entero, para almacenarlo en
+     * formatos binarios de ancho fijo.
+     *
+     * <p>El entero es {@code aaaamm * 10 + t}, donde {@code t} es 0 para
+     * mensual, 1 para Q1 y 2 para Q2. Por ejemplo, {@code "2024-12-Q2"} se
+     * codifica como {@code 2024122}. El orden de los enteros coincide con el
+     * orden cronológico de los períodos.</p>
+     *
+     * @param periodo el código del período (por ejemplo, {@code "2024-12-M"})
+     * @return el período codificado
+     * @throws IllegalArgumentException si el código no tiene el formato esperado
+     */
+    public static int codificar(String periodo) {
+        if (periodo == null || periodo.length() < 9 || periodo.charAt(4) != '-' || periodo.charAt(7) != '-') {
+            throw new IllegalArgumentException("Período inválido: " + periodo);
+        }
+        int tipo;
+        switch (periodo.substring(8)) {
+            case "M":
+                tipo = 0;
+                break;
+            case "Q1":
+                tipo = 1;
+                break;
+            case "Q2":
+                tipo = 2;
+                break;
+            default:
+                throw new IllegalArgumentException("Período inválido: " + periodo);
+        }
+        try {
+            int anio = Integer.parseInt(periodo.substring(0, 4));
+            int mes = Integer.parseInt(periodo.substring(5, 7));
+            if (mes < 1 || mes > 12) {
+                throw new IllegalArgumentException("Período inválido: " + periodo);
+            }
+            return (anio * 100 + mes) * 10 + tipo;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Período inválido: " + periodo, e);
+        }
+    }
+
+    /**
+     * Decodifica un período codificado con {@link #codificar(String)}.
+     *
+     * @param codigo el período codificado
+     * @return el código del período (por ejemplo, {@code "2024-12-Q2"})
+     */
+    public static String decodificar(int codigo) {
+        int tipo = codigo % 10;
+        int anioMes = codigo / 10;
+        String sufijo = tipo == 0 ? "M" : "Q" + tipo;
+        return String.format("%04d-%02d-%s", anioMes / 100, anioMes % 100, sufijo);
+    }
+
+    /**
+     * Obtiene el último día de un período.
+     *
+     * <p>Para Q1 es el día 15; para Q2 y los períodos mensuales, el último
+     * día del mes. Se utiliza como fecha de referencia para determinar el
+     * salario vigente de un período.</p>
+     *
+     * @param periodo el código del período (por ejemplo, {@code "2024-12-Q1"})
+     * @return el último día del período
+     * @throws IllegalArgumentException si el código no tiene el formato esperado
+     */
+    public static LocalDate fechaFin(String periodo) {
+        int codigo = codificar(periodo);
+        int anioMes = codigo / 10;
+        LocalDate inicioMes = LocalDate.of(anioMes / 100, anioMes % 100, 1);
+        return codigo % 10 == 1 ? inicioMes.withDayOfMonth(15) : inicioMes.withDayOfMonth(inicioMes.lengthOfMonth());
+    }
+}
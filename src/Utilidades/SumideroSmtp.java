@@ -0,0 +1,230 @@
+package Utilidades;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+// ================================================================================
+// CLASE SumideroSmtp
+// ================================================================================
+
+/**
+ * Servidor SMTP mínimo que acepta todos los correos y los descarta.
+ *
+ * <p>Sirve para medir el envío de comprobantes sin un servidor de correo
+ * real: acepta cualquier autenticación (PLAIN o LOGIN), cualquier remitente
+ * y destinatario, lee el mensaje completo y solo cuenta los mensajes y los
+ * bytes recibidos. No soporta SSL, por lo que el cliente debe configurarse
+ * con {@code -Dnomina.smtp.ssl=false}.</p>
+ *
+ * <p>Escucha solo en la interfaz de loopback y atiende cada conexión en un
+ * hilo virtual.</p>
+ *
+ * <h3>Uso:</h3>
+ * <pre>
+ * java -cp "ProyectoFinal.jar:lib/*" Utilidades.SumideroSmtp [puerto]
+ *
+ * java -Dnomina.smtp.host=127.0.0.1 -Dnomina.smtp.puerto=2525 -Dnomina.smtp.ssl=false ...
+ * </pre>
+ *
+ * @author Justin Espinoza
+ * @version 1.0
+ */
+public final class SumideroSmtp implements AutoCloseable {
+
+    // ================================================================================
+    // CONSTANTES
+    // ================================================================================
+
+    /** Puerto por defecto al ejecutarlo desde la línea de comandos. */
+    public static final int PUERTO_POR_DEFECTO = 2525;
+
+    // ================================================================================
+    // ATRIBUTOS
+    // ================================================================================
+
+    /** Socket de escucha. */
+    private final ServerSocket servidor;
+
+    /** Hilos de las conexiones. */
+    private final ExecutorService conexiones = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** Mensajes recibidos completos. */
+    private final LongAdder mensajes = new LongAdder();
+
+    /** Bytes recibidos en el contenido de los mensajes. */
+    private final LongAdder bytes = new LongAdder();
+
+    // ================================================================================
+    // CONSTRUCTOR
+    // ================================================================================
+
+    /**
+     * Crea el sumidero; usar {@link #iniciar(int)}.
+     */
+    private SumideroSmtp(ServerSocket servidor) {
+        this.servidor = servidor;
+    }
+
+    // ================================================================================
+    // MÉTODOS PÚBLICOS
+    // ================================================================================
+
+    /**
+     * Inicia un sumidero en la interfaz de loopback.
+     *
+     * @param puerto el puerto, o 0 para uno libre
+     * @return el sumidero en ejecución
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public static SumideroSmtp iniciar(int puerto) throws IOException {
+        SumideroSmtp sumidero = new SumideroSmtp(
+            new ServerSocket(puerto, 128, InetAddress.getLoopbackAddress()));
+        Thread aceptador = new Thread(sumidero::aceptar, "sumidero-smtp");
+        aceptador.setDaemon(true); // No impide que la aplicación termine
+        aceptador.start();
+        return sumidero;
+    }
+
+    /**
+     * @return el puerto en que escucha
+     */
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    /**
+     * @return la cantidad de mensajes recibidos completos
+     */
+    public long getMensajes() {
+        return mensajes.sum();
+    }
+
+    /**
+     * @return los bytes recibidos en el contenido de los mensajes
+     */
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Deja de aceptar conexiones y cierra las abiertas.
+     */
+    @Override
+    public void close() {
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        conexiones.shutdownNow();
+    }
+
+    /**
+     * Ejecuta el sumidero hasta que se detenga el proceso, mostrando cada
+     * diez segundos los mensajes recibidos.
+     *
+     * @param args el puerto (opcional, por defecto {@value #PUERTO_POR_DEFECTO})
+     * @throws Exception si no se puede abrir el puerto
+     */
+    public static void main(String[] args) throws Exception {
+        int puerto = args.length > 0 ? Integer.parseInt(args[0]) : PUERTO_POR_DEFECTO;
+        try (SumideroSmtp sumidero = iniciar(puerto)) {
+            System.out.println("Sumidero SMTP en 127.0.0.1:" + sumidero.getPuerto());
+            while (true) {
+                Thread.sleep(10_000);
+                System.out.println(sumidero.getMensajes() + " mensajes, " + sumidero.getBytes() + " bytes");
+            }
+        }
+    }
+
+    // ================================================================================
+    // MÉTODOS PRIVADOS
+    // ================================================================================
+
+    /**
+     * Acepta conexiones hasta que se cierre el socket de escucha.
+     */
+    private void aceptar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                conexiones.execute(() -> atender(socket));
+            } catch (IOException e) {
+                // El socket se cerró con close()
+            }
+        }
+    }
+
+    /**
+     * Atiende una sesión SMTP completa.
+     *
+     * @param socket la conexión del cliente
+     */
+    private void atender(Socket socket) {
+        try (socket;
+             BufferedReader entrada = new BufferedReader(
+                 new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+             Writer salida = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.ISO_8859_1)) {
+            responder(salida, "220 sumidero ESMTP");
+            String linea;
+            while ((linea = entrada.readLine()) != null) {
+                String comando = linea.length() >= 4 ? linea.substring(0, 4).toUpperCase() : linea.toUpperCase();
+                switch (comando) {
+                    case "EHLO":
+                        salida.write("250-sumidero\r\n250-AUTH PLAIN LOGIN\r\n250-8BITMIME\r\n");
+                        responder(salida, "250 OK");
+                        break;
+                    case "AUTH":
+                        if (linea.toUpperCase().startsWith("AUTH LOGIN")) {
+                            responder(salida, "334 VXNlcm5hbWU6"); // "Username:"
+                            entrada.readLine();
+                            responder(salida, "334 UGFzc3dvcmQ6"); // "Password:"
+                            entrada.readLine();
+                        } else if (linea.trim().indexOf(' ', 5) < 0) {
+                            responder(salida, "334 "); // PLAIN sin credenciales en la misma línea
+                            entrada.readLine();
+                        }
+                        responder(salida, "235 Autenticado");
+                        break;
+                    case "DATA":
+                        responder(salida, "354 Fin con <CRLF>.<CRLF>");
+                        long tamano = 0;
+                        while ((linea = entrada.readLine()) != null && !linea.equals(".")) {
+                            tamano += linea.length() + 2;
+                        }
+                        mensajes.increment();
+                        bytes.add(tamano);
+                        responder(salida, "250 Aceptado");
+                        break;
+                    case "QUIT":
+                        responder(salida, "221 Adios");
+                        return;
+                    default: // HELO, MAIL, RCPT, RSET, NOOP...
+                        responder(salida, "250 OK");
+                        break;
+                }
+            }
+        } catch (IOException e) {
+            // El cliente cerró la conexión o el sumidero se detuvo
+        }
+    }
+
+    /**
+     * Envía una línea de respuesta.
+     */
+    private static void responder(Writer salida, String respuesta) throws IOException {
+        salida.write(respuesta);
+        salida.write("\r\n");
+        salida.flush();
+    }
+}